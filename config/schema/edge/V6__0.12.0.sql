@@ -0,0 +1,19 @@
+/*
+ * Copyright 2024 Ant Group Co., Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+-- job history retention scan
+create index if not exists `idx_project_job_status_modified` on project_job (`status`, `gmt_modified`);
+create index if not exists `idx_project_job_task_graph_node` on project_job_task (`project_id`, `graph_node_id`);
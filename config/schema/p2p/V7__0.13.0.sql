@@ -0,0 +1,33 @@
+/*
+ * Copyright 2024 Ant Group Co., Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+-- graph version for incremental updates
+alter table project_graph add column version bigint default 0;
+
+-- vote monitors look up committed votes by status
+create index if not exists `idx_vote_request_status` on vote_request (`status`, `execute_status`);
+
+-- model export jobs, replaces the model export cache
+create table if not exists `model_export_job`
+(
+    job_id       varchar(64) primary key,                       -- kuscia job id
+    project_id   varchar(64)                          not null, -- project ID
+    status       varchar(16)                          not null, -- export task status
+    err_msg      text,                                          -- failed msg
+    export_info  text                                 not null, -- model export info json
+    gmt_create   datetime default CURRENT_TIMESTAMP not null,   -- create time
+    gmt_modified datetime default CURRENT_TIMESTAMP not null    -- modified time
+);
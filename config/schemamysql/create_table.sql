@@ -236,6 +236,7 @@ create table if not exists `project_job`
 
 create unique index `upk_project_job_id` on `project_job` (`project_id`, `job_id`);
 create unique index `upk_job_id` on `project_job` (`job_id`); -- Kuscia，Job unique
+create index `idx_project_job_status_modified` on `project_job` (`status`, `gmt_modified`);
 
 
 create table if not exists `project_job_task`
@@ -255,6 +256,7 @@ create table if not exists `project_job_task`
 );
 
 create unique index `upk_project_job_task_id` on `project_job_task` (`project_id`, `job_id`, `task_id`);
+create index `idx_project_job_task_graph_node` on `project_job_task` (`project_id`, `graph_node_id`);
 
 create table if not exists `project_graph`
 (
@@ -266,6 +268,7 @@ create table if not exists `project_graph`
     `owner_id`       varchar(64) default '' not null,
     `node_max_index` int not null,
     `max_parallelism` int default 1 not null,
+    `version`        bigint default 0, -- graph version, increased on every graph update
     `is_deleted`     tinyint(1) default '0' not null, -- delete flag
     `gmt_create`     datetime default current_timestamp not null, -- create time
     `gmt_modified`   datetime default current_timestamp not null -- modified time
@@ -443,6 +446,7 @@ create table if not exists `vote_request`
 );
 
 create unique index `upk_vote_id` on `vote_request` (`vote_id`);
+create index `idx_vote_request_status` on `vote_request` (`status`, `execute_status`);
 
 create table if not exists `tee_download_approval_config`
 (
@@ -554,6 +558,17 @@ create table if not exists `project_model_serving`
 
 create unique index `upk_serving_id` on `project_model_serving` (`serving_id`);
 
+create table if not exists `model_export_job`
+(
+    `job_id`       varchar(64) primary key, -- kuscia job id
+    `project_id`   varchar(64) not null, -- project ID
+    `status`       varchar(16) not null, -- export task status
+    `err_msg`      text, -- failed msg
+    `export_info`  text not null, -- model export info json
+    `gmt_create`   datetime default current_timestamp not null, -- create time
+    `gmt_modified` datetime default current_timestamp not null -- modified time
+);
+
 create table if not exists `feature_table`
 (
     `id`                 int auto_increment primary key,
@@ -18,6 +18,7 @@ package org.secretflow.secretpad.kuscia.v1alpha1.configuration;
 
 
 import org.secretflow.secretpad.common.dto.UserContextDTO;
+import org.secretflow.secretpad.common.util.RequestTimings;
 import org.secretflow.secretpad.common.util.UserContext;
 
 import lombok.extern.slf4j.Slf4j;
@@ -79,6 +80,7 @@ public class KusciaApiFutureThreadPoolConfig {
     public TaskDecorator logTaskDecorator() {
         return runnable -> {
             UserContextDTO user = UserContext.getUserOrNotExist();
+            RequestTimings timings = RequestTimings.current();
             if (user == null) {
                 log.info("KusciaApiFutureThreadPoolConfig user is null");
                 return runnable;
@@ -88,10 +90,12 @@ public class KusciaApiFutureThreadPoolConfig {
                 try {
                     UserContext.setBaseUser(user);
                     MDC.setContextMap(map);
+                    RequestTimings.attach(timings);
                     runnable.run();
                 } finally {
                     MDC.clear();
                     UserContext.remove();
+                    RequestTimings.remove();
                 }
             };
         };
@@ -20,6 +20,7 @@ import org.secretflow.secretpad.common.util.FileUtils;
 import org.secretflow.secretpad.kuscia.v1alpha1.constant.KusciaProtocolEnum;
 import org.secretflow.secretpad.kuscia.v1alpha1.factory.KusciaApiChannelFactory;
 import org.secretflow.secretpad.kuscia.v1alpha1.interceptor.KusciaGrpcLoggingInterceptor;
+import org.secretflow.secretpad.kuscia.v1alpha1.interceptor.KusciaGrpcMetricsInterceptor;
 import org.secretflow.secretpad.kuscia.v1alpha1.interceptor.TokenAuthClientInterceptor;
 import org.secretflow.secretpad.kuscia.v1alpha1.listener.ManagedChannelStateListener;
 import org.secretflow.secretpad.kuscia.v1alpha1.model.KusciaGrpcConfig;
@@ -53,6 +54,7 @@ public class GrpcKusciaApiChannelFactory implements KusciaApiChannelFactory {
     private final AtomicReference<ConnectivityState> state = new AtomicReference<>(ConnectivityState.SHUTDOWN);
     private final KusciaGrpcConfig kusciaGrpcConfig;
     private final ClientInterceptor loggingInterceptor;
+    private final ClientInterceptor metricsInterceptor;
     private final ClientInterceptor tokenAuthClientInterceptor;
     private ManagedChannel channel;
 
@@ -62,6 +64,7 @@ public class GrpcKusciaApiChannelFactory implements KusciaApiChannelFactory {
         kusciaGrpcConfig.validateAndProcess();
         this.kusciaGrpcConfig = kusciaGrpcConfig;
         this.loggingInterceptor = new KusciaGrpcLoggingInterceptor(kusciaGrpcConfig.getDomainId());
+        this.metricsInterceptor = new KusciaGrpcMetricsInterceptor(kusciaGrpcConfig.getDomainId());
         this.tokenAuthClientInterceptor = new TokenAuthClientInterceptor(kusciaGrpcConfig.getToken(), kusciaGrpcConfig.getDomainId());
     }
 
@@ -104,7 +107,7 @@ public class GrpcKusciaApiChannelFactory implements KusciaApiChannelFactory {
     private void initChannel() {
         NettyChannelBuilder nettyChannelBuilder = NettyChannelBuilder
                 .forAddress(kusciaGrpcConfig.getHost(), kusciaGrpcConfig.getPort())
-                .intercept(loggingInterceptor)
+                .intercept(loggingInterceptor, metricsInterceptor)
                 .maxInboundMessageSize(MAX_INBOUND_MESSAGE_SIZE);
 
         if (kusciaGrpcConfig.getProtocol() == KusciaProtocolEnum.NOTLS) {
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2024 Ant Group Co., Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.secretflow.secretpad.kuscia.v1alpha1.interceptor;
+
+import org.secretflow.secretpad.common.util.RequestTimings;
+
+import io.grpc.*;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records kuscia call latency per domain, method and status, and adds it to the calling request
+ */
+public class KusciaGrpcMetricsInterceptor implements ClientInterceptor {
+
+    private final String domainId;
+
+    public KusciaGrpcMetricsInterceptor(String domainId) {
+        this.domainId = domainId;
+    }
+
+    @Override
+    public <ReqT, RespT> ClientCall<ReqT, RespT> interceptCall(
+            MethodDescriptor<ReqT, RespT> method, CallOptions callOptions, Channel next) {
+        long startTime = System.nanoTime();
+        // captured on the calling thread, the call may complete on a transport thread
+        RequestTimings timings = RequestTimings.current();
+        return new ForwardingClientCall.SimpleForwardingClientCall<>(next.newCall(method, callOptions)) {
+            @Override
+            public void start(Listener<RespT> responseListener, Metadata headers) {
+                super.start(new ForwardingClientCallListener.SimpleForwardingClientCallListener<>(responseListener) {
+                    @Override
+                    public void onClose(Status status, Metadata trailers) {
+                        long elapsed = System.nanoTime() - startTime;
+                        if (timings != null) {
+                            timings.addRpc(elapsed);
+                        }
+                        Timer.builder("kuscia.rpc")
+                                .tag("domain", domainId)
+                                .tag("method", method.getFullMethodName())
+                                .tag("status", status.getCode().name())
+                                .register(Metrics.globalRegistry)
+                                .record(elapsed, TimeUnit.NANOSECONDS);
+                        super.onClose(status, trailers);
+                    }
+                }, headers);
+            }
+        };
+    }
+}
@@ -25,7 +25,5 @@ package org.secretflow.secretpad.common.constant;
 public class CacheConstants {
     public static final String USER_LOCK_CACHE = "user_lock";
 
-    public static final String MODEL_EXPORT_CACHE = "model_export_cache";
-
     public static final String PROJECT_VOTE_PARTIES_CACHE = "project_vote_parties_cache";
 }
\ No newline at end of file
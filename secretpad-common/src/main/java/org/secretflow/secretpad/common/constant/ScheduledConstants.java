@@ -22,6 +22,8 @@ package org.secretflow.secretpad.common.constant;
  */
 public class ScheduledConstants {
     public static final String SCHEDULED_TASK_DAG_JOB_KEY = "DAG_JOB_KEY";
+    public static final String SCHEDULED_SCHEDULE_ID_KEY = "SCHEDULE_ID_KEY";
+    public static final String SCHEDULED_CRON_KEY = "CRON_KEY";
     public static final String SCHEDULED_ID_DELIMITER = "-";
     public static final String SCHEDULED_CYCLE_MONTH = "M";
     public static final String SCHEDULED_CYCLE_WEEK = "W";
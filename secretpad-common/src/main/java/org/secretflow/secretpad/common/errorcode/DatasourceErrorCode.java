@@ -41,6 +41,10 @@ public enum DatasourceErrorCode implements ErrorCode {
      */
     QUERY_DATASOURCE_FAILED(202012505),
     UPDATE_DATASOURCE_FAILED(202012511),
+    /**
+     * Too many calls are running against the datasource backend
+     */
+    DATA_SOURCE_BUSY(202012512),
     ;
 
 
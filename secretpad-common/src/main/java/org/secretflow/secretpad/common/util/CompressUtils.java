@@ -164,6 +164,34 @@ public class CompressUtils {
         return outPutFile;
     }
 
+    /**
+     * Compress files into a tar.gz target in one pass, the tar stream is gzipped as it is written
+     * so no intermediate tar file is created
+     *
+     * @param files     the collection of files to compress
+     * @param inPutPath the path prefix removed from entry names
+     * @param target    the target tar.gz file
+     * @return target file
+     * @throws IOException
+     */
+    public static File compressTarGz(List<File> files, String inPutPath, File target) throws IOException {
+        try (OutputStream out = new BufferedOutputStream(new FileOutputStream(target), BUFFER_SIZE);
+             GZIPOutputStream gzp = new GZIPOutputStream(out, BUFFER_SIZE);
+             TarArchiveOutputStream os = new TarArchiveOutputStream(gzp)) {
+            os.setLongFileMode(TarArchiveOutputStream.LONGFILE_GNU);
+            os.setBigNumberMode(TarArchiveOutputStream.BIGNUMBER_POSIX);
+            for (File file : files) {
+                os.putArchiveEntry(new TarArchiveEntry(file, file.getAbsolutePath().replace(inPutPath, "")));
+                try (FileInputStream fis = new FileInputStream(file)) {
+                    IOUtils.copy(fis, os);
+                }
+                os.closeArchiveEntry();
+            }
+            os.finish();
+        }
+        return target;
+    }
+
     /**
      * Decompress file from filePath to outputDir
      *
@@ -0,0 +1,364 @@
+/*
+ * Copyright 2024 Ant Group Co., Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.secretflow.secretpad.common.util;
+
+import org.quartz.CronExpression;
+
+import java.text.ParseException;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Compiled quartz cron expression evaluated on java.time
+ * <p>
+ * Seconds, minutes, hours, days of month, months and days of week are compiled into bitsets and the next fire time
+ * jumps field by field instead of stepping through time. Expressions using L, W or # beyond a plain L day of month,
+ * wrapping ranges or years are evaluated by quartz. Instances are immutable and safe to share between threads.
+ */
+public final class CronSchedule {
+
+    private static final String[] MONTH_NAMES = {"JAN", "FEB", "MAR", "APR", "MAY", "JUN", "JUL", "AUG", "SEP", "OCT", "NOV", "DEC"};
+    private static final String[] DAY_NAMES = {"SUN", "MON", "TUE", "WED", "THU", "FRI", "SAT"};
+    /**
+     * no fire time is searched further than this many years after the start, an expression with no fire time within it has none
+     */
+    private static final int SEARCH_YEARS = 8;
+
+    private final String expression;
+    private final long seconds;
+    private final long minutes;
+    private final long hours;
+    /**
+     * bit n is day of month n
+     */
+    private final long daysOfMonth;
+    private final boolean lastDayOfMonth;
+    /**
+     * bit n is month n
+     */
+    private final int months;
+    /**
+     * bit n is {@link DayOfWeek} value n, Monday is 1
+     */
+    private final int daysOfWeek;
+    private final CronExpression fallback;
+
+    private CronSchedule(String expression, long[] fields, boolean lastDayOfMonth) {
+        this.expression = expression;
+        this.seconds = fields[0];
+        this.minutes = fields[1];
+        this.hours = fields[2];
+        this.daysOfMonth = fields[3];
+        this.months = (int) fields[4];
+        this.daysOfWeek = (int) fields[5];
+        this.lastDayOfMonth = lastDayOfMonth;
+        this.fallback = null;
+    }
+
+    private CronSchedule(String expression, CronExpression fallback) {
+        this.expression = expression;
+        this.seconds = 0;
+        this.minutes = 0;
+        this.hours = 0;
+        this.daysOfMonth = 0;
+        this.months = 0;
+        this.daysOfWeek = 0;
+        this.lastDayOfMonth = false;
+        this.fallback = fallback;
+    }
+
+    /**
+     * compile a quartz cron expression
+     *
+     * @param expression cron expression
+     * @return compiled cron schedule
+     * @throws IllegalArgumentException if the expression is not a valid quartz cron expression
+     */
+    public static CronSchedule compile(String expression) {
+        if (expression == null) {
+            throw new IllegalArgumentException("Invalid cron expression");
+        }
+        try {
+            return compileFields(expression);
+        } catch (IllegalArgumentException e) {
+            try {
+                return new CronSchedule(expression, new CronExpression(expression));
+            } catch (ParseException parseException) {
+                throw new IllegalArgumentException("Invalid cron expression", parseException);
+            }
+        }
+    }
+
+    public String getExpression() {
+        return expression;
+    }
+
+    /**
+     * next fire time strictly after the given time
+     *
+     * @param after time to search from
+     * @return next fire time, null if there is none
+     */
+    public LocalDateTime next(LocalDateTime after) {
+        if (fallback != null) {
+            ZoneId zoneId = ZoneId.systemDefault();
+            Date next = fallback.getNextValidTimeAfter(Date.from(after.atZone(zoneId).toInstant()));
+            return next == null ? null : LocalDateTime.ofInstant(next.toInstant(), zoneId);
+        }
+        int limitYear = after.getYear() + SEARCH_YEARS;
+        LocalDateTime t = after.withNano(0).plusSeconds(1);
+        while (t.getYear() <= limitYear) {
+            if ((months & (1 << t.getMonthValue())) == 0) {
+                int month = nextBit(months, t.getMonthValue() + 1);
+                t = month < 0
+                        ? LocalDateTime.of(t.getYear() + 1, 1, 1, 0, 0)
+                        : LocalDateTime.of(t.getYear(), month, 1, 0, 0);
+                continue;
+            }
+            int day = nextDay(t.toLocalDate());
+            if (day < 0) {
+                t = t.toLocalDate().withDayOfMonth(1).plusMonths(1).atStartOfDay();
+                continue;
+            }
+            if (day != t.getDayOfMonth()) {
+                t = t.withDayOfMonth(day).toLocalDate().atStartOfDay();
+            }
+            int hour = nextBit(hours, t.getHour());
+            if (hour < 0) {
+                t = t.toLocalDate().plusDays(1).atStartOfDay();
+                continue;
+            }
+            if (hour != t.getHour()) {
+                t = t.withHour(hour).withMinute(0).withSecond(0);
+            }
+            int minute = nextBit(minutes, t.getMinute());
+            if (minute < 0) {
+                t = t.withMinute(0).withSecond(0).plusHours(1);
+                continue;
+            }
+            if (minute != t.getMinute()) {
+                t = t.withMinute(minute).withSecond(0);
+            }
+            int second = nextBit(seconds, t.getSecond());
+            if (second < 0) {
+                t = t.withSecond(0).plusMinutes(1);
+                continue;
+            }
+            return t.withSecond(second);
+        }
+        return null;
+    }
+
+    /**
+     * latest fire time after the start time and not after the end time
+     *
+     * @param after start time, exclusive
+     * @param until end time, inclusive
+     * @return latest fire time, null if there is none
+     */
+    public LocalDateTime last(LocalDateTime after, LocalDateTime until) {
+        LocalDateTime last = null;
+        for (Iterator<LocalDateTime> it = iterator(after, until); it.hasNext(); ) {
+            last = it.next();
+        }
+        return last;
+    }
+
+    /**
+     * fire times after the start time and not after the end time, computed lazily
+     *
+     * @param after start time, exclusive
+     * @param until end time, inclusive
+     * @return stream of fire times, use {@link Stream#limit(long)} to bound it
+     */
+    public Stream<LocalDateTime> stream(LocalDateTime after, LocalDateTime until) {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator(after, until),
+                Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.SORTED | Spliterator.NONNULL), false);
+    }
+
+    /**
+     * iterator of fire times after the start time and not after the end time
+     *
+     * @param after start time, exclusive
+     * @param until end time, inclusive
+     * @return iterator of fire times
+     */
+    public Iterator<LocalDateTime> iterator(LocalDateTime after, LocalDateTime until) {
+        return new Iterator<>() {
+            private LocalDateTime next = advance(after);
+
+            private LocalDateTime advance(LocalDateTime from) {
+                LocalDateTime candidate = CronSchedule.this.next(from);
+                return candidate == null || candidate.isAfter(until) ? null : candidate;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return next != null;
+            }
+
+            @Override
+            public LocalDateTime next() {
+                if (next == null) {
+                    throw new NoSuchElementException();
+                }
+                LocalDateTime current = next;
+                next = advance(current);
+                return current;
+            }
+        };
+    }
+
+    @Override
+    public String toString() {
+        return expression;
+    }
+
+    private int nextDay(LocalDate date) {
+        int length = date.lengthOfMonth();
+        int dayOfWeek = date.getDayOfWeek().getValue();
+        for (int day = date.getDayOfMonth(); day <= length; day++) {
+            if (((daysOfMonth & (1L << day)) != 0 || (lastDayOfMonth && day == length))
+                    && (daysOfWeek & (1 << dayOfWeek)) != 0) {
+                return day;
+            }
+            dayOfWeek = dayOfWeek == 7 ? 1 : dayOfWeek + 1;
+        }
+        return -1;
+    }
+
+    private static int nextBit(long bits, int from) {
+        if (from > 63) {
+            return -1;
+        }
+        long remaining = bits & (-1L << from);
+        return remaining == 0 ? -1 : Long.numberOfTrailingZeros(remaining);
+    }
+
+    private static CronSchedule compileFields(String expression) {
+        String[] parts = expression.trim().toUpperCase(Locale.ROOT).split("\\s+");
+        if (parts.length != 6 && !(parts.length == 7 && "*".equals(parts[6]))) {
+            throw new IllegalArgumentException("unsupported field count");
+        }
+        boolean domUnspecified = "?".equals(parts[3]);
+        boolean dowUnspecified = "?".equals(parts[5]);
+        if (domUnspecified == dowUnspecified) {
+            throw new IllegalArgumentException("exactly one of day of month and day of week must be ?");
+        }
+        long[] fields = new long[6];
+        fields[0] = parseField(parts[0], 0, 59, null);
+        fields[1] = parseField(parts[1], 0, 59, null);
+        fields[2] = parseField(parts[2], 0, 23, null);
+        boolean lastDayOfMonth = false;
+        if (domUnspecified) {
+            fields[3] = bits(1, 31);
+        } else if ("L".equals(parts[3])) {
+            lastDayOfMonth = true;
+        } else {
+            fields[3] = parseField(parts[3], 1, 31, null);
+        }
+        fields[4] = parseField(parts[4], 1, 12, MONTH_NAMES);
+        if (dowUnspecified) {
+            fields[5] = bits(1, 7);
+        } else {
+            long quartzDays = parseField(parts[5], 1, 7, DAY_NAMES);
+            // quartz counts Sunday as 1, java.time counts Monday as 1
+            fields[5] = ((quartzDays >>> 1) & ~1L) | ((quartzDays & 0b10) << 6);
+        }
+        return new CronSchedule(expression, fields, lastDayOfMonth);
+    }
+
+    private static long parseField(String field, int min, int max, String[] names) {
+        long result = 0;
+        for (String item : field.split(",", -1)) {
+            result |= parseItem(item, min, max, names);
+        }
+        return result;
+    }
+
+    private static long parseItem(String item, int min, int max, String[] names) {
+        if (item.isEmpty()) {
+            throw new IllegalArgumentException("empty cron item");
+        }
+        int step = 1;
+        String range = item;
+        int slash = item.indexOf('/');
+        if (slash >= 0) {
+            step = parseNumber(item.substring(slash + 1), 1, max, null);
+            range = item.substring(0, slash);
+        }
+        int start;
+        int end;
+        if ("*".equals(range)) {
+            start = min;
+            end = max;
+        } else {
+            int dash = range.indexOf('-');
+            if (dash >= 0) {
+                start = parseNumber(range.substring(0, dash), min, max, names);
+                end = parseNumber(range.substring(dash + 1), min, max, names);
+                if (end < start) {
+                    throw new IllegalArgumentException("wrapping range");
+                }
+            } else {
+                start = parseNumber(range, min, max, names);
+                end = slash >= 0 ? max : start;
+            }
+        }
+        long result = 0;
+        for (int value = start; value <= end; value += step) {
+            result |= 1L << value;
+        }
+        return result;
+    }
+
+    private static int parseNumber(String value, int min, int max, String[] names) {
+        if (names != null) {
+            for (int i = 0; i < names.length; i++) {
+                if (names[i].equals(value)) {
+                    return i + 1;
+                }
+            }
+        }
+        if (value.isEmpty() || value.length() > 2) {
+            throw new IllegalArgumentException("invalid cron value");
+        }
+        for (int i = 0; i < value.length(); i++) {
+            if (!Character.isDigit(value.charAt(i))) {
+                throw new IllegalArgumentException("invalid cron value");
+            }
+        }
+        int number = Integer.parseInt(value);
+        if (number < min || number > max) {
+            throw new IllegalArgumentException("cron value out of range");
+        }
+        return number;
+    }
+
+    private static long bits(int from, int to) {
+        long result = 0;
+        for (int value = from; value <= to; value++) {
+            result |= 1L << value;
+        }
+        return result;
+    }
+}
@@ -19,12 +19,12 @@ package org.secretflow.secretpad.common.util;
 import org.secretflow.secretpad.common.constant.ScheduledConstants;
 
 import lombok.extern.slf4j.Slf4j;
-import org.quartz.CronExpression;
 
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
 import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * @author yutu
@@ -33,42 +33,89 @@ import java.util.*;
 @Slf4j
 public class CronUtils {
 
-    public static List<String> getMatchingDates(String cronExpression, String startTime, String endTime) {
-        log.info("getMatchingDates, cronExpression:{}, startTime:{}, endTime:{}", cronExpression, startTime, endTime);
-        SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
-        Date nextValidTime;
-        Date endDate;
-        try {
-            nextValidTime = sdf.parse(startTime);
-            endDate = sdf.parse(endTime);
-        } catch (Exception e) {
-            log.error("getMatchingDates, startTime:{}, endTime:{}", startTime, endTime, e);
-            throw new IllegalArgumentException("Invalid startTime format. must be yyyy-MM-dd HH:mm:ss", e);
+    private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final int COMPILED_CACHE_SIZE = 1024;
+    private static final Map<String, CronSchedule> COMPILED_SCHEDULES = new ConcurrentHashMap<>();
+
+    /**
+     * compiled cron schedule of a cron expression, compiled schedules are cached
+     *
+     * @param cronExpression cron expression
+     * @return compiled cron schedule
+     */
+    public static CronSchedule compile(String cronExpression) {
+        CronSchedule schedule = COMPILED_SCHEDULES.get(cronExpression == null ? "" : cronExpression);
+        if (schedule != null) {
+            return schedule;
         }
-        CronExpression cron;
         try {
-            cron = new CronExpression(cronExpression);
-        } catch (ParseException e) {
-            log.error("getMatchingDates, cronExpression:{}", cronExpression, e);
-            throw new IllegalArgumentException("Invalid cron expression", e);
+            schedule = CronSchedule.compile(cronExpression);
+        } catch (IllegalArgumentException e) {
+            log.error("compile, cronExpression:{}", cronExpression, e);
+            throw e;
         }
-        List<String> matchingDates = new ArrayList<>();
-        Date now;
-        while (nextValidTime.before(endDate) || nextValidTime.equals(endDate)) {
-            nextValidTime = cron.getNextValidTimeAfter(nextValidTime);
-            now = new Date();
-            if (nextValidTime != null &&
-                    (!nextValidTime.after(endDate) || nextValidTime.equals(endDate)) &&
-                    (nextValidTime.after(now) || nextValidTime.equals(now))) {
-                matchingDates.add(sdf.format(nextValidTime));
-            } else {
-                break;
-            }
+        if (COMPILED_SCHEDULES.size() >= COMPILED_CACHE_SIZE) {
+            COMPILED_SCHEDULES.clear();
         }
+        COMPILED_SCHEDULES.put(cronExpression, schedule);
+        return schedule;
+    }
+
+    public static List<String> getMatchingDates(String cronExpression, String startTime, String endTime) {
+        return getMatchingDates(cronExpression, startTime, endTime, Integer.MAX_VALUE);
+    }
+
+    /**
+     * dates matching the cron expression after start time and not after end time, at most limit dates
+     *
+     * @param cronExpression cron expression
+     * @param startTime      startTime
+     * @param endTime        endTime
+     * @param limit          max number of dates
+     * @return matching dates
+     */
+    public static List<String> getMatchingDates(String cronExpression, String startTime, String endTime, int limit) {
+        log.info("getMatchingDates, cronExpression:{}, startTime:{}, endTime:{}", cronExpression, startTime, endTime);
+        LocalDateTime start = parse(startTime);
+        LocalDateTime end = parse(endTime);
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        List<String> matchingDates = compile(cronExpression).stream(start, end)
+                .takeWhile(date -> !date.isBefore(now))
+                .limit(limit)
+                .map(DATE_TIME_FORMATTER::format)
+                .toList();
         log.info("getMatchingDates, matchingDates:{}", matchingDates);
         return matchingDates;
     }
 
+    /**
+     * first date matching the cron expression that is not before now and not after end time
+     *
+     * @param cronExpression cron expression
+     * @param startTime      startTime
+     * @param endTime        endTime
+     * @return first matching date, null if there is none
+     */
+    public static String getFirstMatchingDate(String cronExpression, String startTime, String endTime) {
+        LocalDateTime start = parse(startTime);
+        LocalDateTime end = parse(endTime);
+        LocalDateTime now = LocalDateTime.now().withNano(0).minusSeconds(1);
+        LocalDateTime nextValidTime = compile(cronExpression).next(start.isBefore(now) ? now : start);
+        if (nextValidTime == null || nextValidTime.isAfter(end)) {
+            return null;
+        }
+        return DATE_TIME_FORMATTER.format(nextValidTime);
+    }
+
+    private static LocalDateTime parse(String time) {
+        try {
+            return LocalDateTime.parse(time, DATE_TIME_FORMATTER);
+        } catch (Exception e) {
+            log.error("parse, time:{}", time, e);
+            throw new IllegalArgumentException("Invalid startTime format. must be yyyy-MM-dd HH:mm:ss", e);
+        }
+    }
+
     /**
      * building a cron expression
      *
@@ -77,7 +124,7 @@ public class CronUtils {
      * @param scheduleTime  scheduleTime
      * @param startTime     startTime
      * @param endTime       endTime
-     * @return cron expression List
+     * @return cron expression List, one expression per schedule except for the last day of month
      */
     public static List<String> buildCronExpression(
             String scheduleCycle,
@@ -86,18 +133,16 @@ public class CronUtils {
             String startTime,
             String endTime
     ) {
-        SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
-        sdf.setTimeZone(TimeZone.getTimeZone("GMT+8"));
-        Date parsedStartTime;
-        Date parsedEndTime;
+        LocalDateTime parsedStartTime;
+        LocalDateTime parsedEndTime;
         try {
-            parsedStartTime = sdf.parse(startTime);
-            parsedEndTime = sdf.parse(endTime);
+            parsedStartTime = LocalDateTime.parse(startTime, DATE_TIME_FORMATTER);
+            parsedEndTime = LocalDateTime.parse(endTime, DATE_TIME_FORMATTER);
         } catch (Exception e) {
             throw new IllegalArgumentException("Invalid time format. must be yyyy-MM-dd HH:mm:ss", e);
         }
 
-        if (parsedEndTime.before(parsedStartTime)) {
+        if (parsedEndTime.isBefore(parsedStartTime)) {
             throw new IllegalArgumentException("End time must be greater than start time.");
         }
 
@@ -109,26 +154,30 @@ public class CronUtils {
         List<String> cronExpressions = new ArrayList<>();
 
         if (ScheduledConstants.SCHEDULED_CYCLE_DAY.equals(scheduleCycle)) {
-            long startMillis = parsedStartTime.getTime();
-            long endMillis = parsedEndTime.getTime();
-            long oneDayMillis = 24 * 60 * 60 * 1000;
-
-            for (long time = startMillis; time <= endMillis; time += oneDayMillis) {
-                Date currentDay = new Date(time);
-                String dateInCron = new SimpleDateFormat("dd").format(currentDay);
-                cronExpressions.add(String.format("%s %s %s %s * ?", second, minute, hour, dateInCron));
-            }
+            cronExpressions.add(String.format("%s %s %s * * ?", second, minute, hour));
         } else if (ScheduledConstants.SCHEDULED_CYCLE_WEEK.equals(scheduleCycle)) {
-            String[] weekDays = scheduleDate.split(",");
-            for (String dayStr : weekDays) {
+            StringJoiner weekDays = new StringJoiner(",");
+            for (String dayStr : scheduleDate.split(",")) {
                 DayOfWeek dayOfWeek = DayOfWeek.of(Integer.parseInt(dayStr));
-                cronExpressions.add(String.format("%s %s %s ? * %s", second, minute, hour, dayOfWeek.name().substring(0, 3).toLowerCase(Locale.getDefault())));
+                weekDays.add(dayOfWeek.name().substring(0, 3).toLowerCase(Locale.getDefault()));
             }
+            cronExpressions.add(String.format("%s %s %s ? * %s", second, minute, hour, weekDays));
         } else if (ScheduledConstants.SCHEDULED_CYCLE_MONTH.equals(scheduleCycle)) {
-            String[] monthDays = scheduleDate.split(",");
-            for (String day : monthDays) {
-                String cronExpression = String.format("%s %s %s %s * ?", second, minute, hour, "end".equals(day) ? "L" : day);
-                cronExpressions.add(cronExpression);
+            // quartz does not accept L inside a day list, the last day of month gets its own expression
+            StringJoiner monthDays = new StringJoiner(",");
+            boolean lastDay = false;
+            for (String day : scheduleDate.split(",")) {
+                if ("end".equals(day)) {
+                    lastDay = true;
+                } else {
+                    monthDays.add(day);
+                }
+            }
+            if (monthDays.length() > 0) {
+                cronExpressions.add(String.format("%s %s %s %s * ?", second, minute, hour, monthDays));
+            }
+            if (lastDay) {
+                cronExpressions.add(String.format("%s %s %s L * ?", second, minute, hour));
             }
         } else {
             throw new IllegalArgumentException("Invalid schedule cycle: " + scheduleCycle);
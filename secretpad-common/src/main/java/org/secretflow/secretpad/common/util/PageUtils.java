@@ -19,10 +19,7 @@ package org.secretflow.secretpad.common.util;
 import org.springframework.data.domain.Page;
 import org.springframework.util.CollectionUtils;
 
-import java.util.ArrayList;
-import java.util.Collection;
-import java.util.List;
-import java.util.Objects;
+import java.util.*;
 import java.util.function.Function;
 
 /**
@@ -71,4 +68,64 @@ public class PageUtils {
         return dataList.subList(startIndex, endIndex);
     }
 
+    /**
+     * the number of leading rows every source must provide so that a merged page can be cut from them
+     */
+    public static int windowEnd(int pageSize, int pageNumber) {
+        return Math.multiplyExact(pageSize, pageNumber);
+    }
+
+    /**
+     * sort and cut a single source down to the requested page
+     */
+    public static <T> List<T> sortedRange(List<T> dataList, Comparator<? super T> comparator, int pageSize, int pageNumber) {
+        List<T> sorted = new ArrayList<>(dataList);
+        sorted.sort(comparator);
+        if (pageSize * (pageNumber - 1) > sorted.size()) {
+            return new ArrayList<>();
+        }
+        return rangeList(sorted, pageSize, pageNumber);
+    }
+
+    /**
+     * k-way streaming merge of sources that are each already sorted by comparator,
+     * only the rows before the end of the requested page are ever visited
+     */
+    public static <T> List<T> mergeSorted(Collection<? extends List<T>> sortedSources, Comparator<? super T> comparator, int pageSize, int pageNumber) {
+        final int startIndex = pageSize * (pageNumber - 1);
+        final int endIndex = windowEnd(pageSize, pageNumber);
+        PriorityQueue<MergeCursor<T>> heap = new PriorityQueue<>(Math.max(1, sortedSources.size()),
+                (a, b) -> comparator.compare(a.head, b.head));
+        for (List<T> source : sortedSources) {
+            if (!CollectionUtils.isEmpty(source)) {
+                Iterator<T> iterator = source.iterator();
+                heap.add(new MergeCursor<>(iterator.next(), iterator));
+            }
+        }
+        List<T> result = new ArrayList<>(pageSize);
+        int index = 0;
+        while (!heap.isEmpty() && index < endIndex) {
+            MergeCursor<T> cursor = heap.poll();
+            if (index >= startIndex) {
+                result.add(cursor.head);
+            }
+            index++;
+            if (cursor.tail.hasNext()) {
+                cursor.head = cursor.tail.next();
+                heap.add(cursor);
+            }
+        }
+        return result;
+    }
+
+    private static final class MergeCursor<T> {
+        private T head;
+        private final Iterator<T> tail;
+
+        private MergeCursor(T head, Iterator<T> tail) {
+            this.head = head;
+            this.tail = tail;
+        }
+    }
+
 }
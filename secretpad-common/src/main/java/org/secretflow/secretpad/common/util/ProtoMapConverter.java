@@ -0,0 +1,237 @@
+/*
+ * Copyright 2024 Ant Group Co., Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.secretflow.secretpad.common.util;
+
+import com.google.protobuf.*;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Build protobuf messages directly from the maps and lists of a parsed json document, without printing and parsing
+ * json again. Field tables are resolved once per message type and reused.
+ * <p>
+ * Follows the json parser used by {@link ProtoUtils#fromObject} with unknown fields ignored. Values the converter
+ * does not handle exactly like the json parser (bytes, Any, well known wrapper types, map fields, numbers given as
+ * strings and so on) raise {@link UnsupportedValueException} so that the caller can fall back to the json path.
+ * Input the json parser rejects, such as a field set twice through its name and json name, falls back too
+ * and fails there with the parser's error.
+ */
+public final class ProtoMapConverter {
+
+    private static final Map<Descriptors.Descriptor, Map<String, Descriptors.FieldDescriptor>> FIELD_TABLES = new ConcurrentHashMap<>();
+
+    private ProtoMapConverter() {
+    }
+
+    /**
+     * Merge a map into a message builder
+     *
+     * @param map     json object as map
+     * @param builder target builder
+     * @throws UnsupportedValueException when the map holds a value only the json parser handles
+     */
+    public static void merge(Map<?, ?> map, Message.Builder builder) {
+        Descriptors.Descriptor descriptor = builder.getDescriptorForType();
+        if (descriptor.getFile().getPackage().equals("google.protobuf")) {
+            // well known types have their own json mapping
+            throw new UnsupportedValueException(descriptor.getFullName());
+        }
+        Map<String, Descriptors.FieldDescriptor> fields = FIELD_TABLES.computeIfAbsent(descriptor, ProtoMapConverter::fieldTable);
+        Set<Descriptors.FieldDescriptor> specified = new HashSet<>();
+        for (Map.Entry<?, ?> entry : map.entrySet()) {
+            Descriptors.FieldDescriptor field = fields.get(String.valueOf(entry.getKey()));
+            if (field == null) {
+                // unknown fields are ignored
+                continue;
+            }
+            // a field given by both its name and json name, or two fields of one oneof, are rejected by the json parser
+            if (!specified.add(field)
+                    || field.getContainingOneof() != null && builder.getOneofFieldDescriptor(field.getContainingOneof()) != null) {
+                throw new UnsupportedValueException(field.getFullName());
+            }
+            if (entry.getValue() == null) {
+                // null means default, except for Value where it is the null value
+                if (!field.isRepeated() && field.getJavaType() == Descriptors.FieldDescriptor.JavaType.MESSAGE
+                        && field.getMessageType().getFullName().equals(Value.getDescriptor().getFullName())) {
+                    builder.setField(field, value(null));
+                }
+                continue;
+            }
+            if (field.isMapField()) {
+                throw new UnsupportedValueException(field.getFullName());
+            }
+            if (field.isRepeated()) {
+                if (!(entry.getValue() instanceof List<?> values)) {
+                    throw new UnsupportedValueException(field.getFullName());
+                }
+                for (Object value : values) {
+                    if (value == null) {
+                        throw new UnsupportedValueException(field.getFullName());
+                    }
+                    builder.addRepeatedField(field, fieldValue(field, value, builder));
+                }
+            } else {
+                builder.setField(field, fieldValue(field, entry.getValue(), builder));
+            }
+        }
+    }
+
+    private static Map<String, Descriptors.FieldDescriptor> fieldTable(Descriptors.Descriptor descriptor) {
+        Map<String, Descriptors.FieldDescriptor> table = new HashMap<>();
+        for (Descriptors.FieldDescriptor field : descriptor.getFields()) {
+            table.put(field.getName(), field);
+            table.put(field.getJsonName(), field);
+        }
+        return table;
+    }
+
+    private static Object fieldValue(Descriptors.FieldDescriptor field, Object value, Message.Builder parent) {
+        switch (field.getJavaType()) {
+            case STRING:
+                if (value instanceof String) {
+                    return value;
+                }
+                break;
+            case BOOLEAN:
+                if (value instanceof Boolean) {
+                    return value;
+                }
+                break;
+            case INT:
+                if (isIntegral(value)) {
+                    long l = ((Number) value).longValue();
+                    boolean unsigned = field.getType() == Descriptors.FieldDescriptor.Type.UINT32
+                            || field.getType() == Descriptors.FieldDescriptor.Type.FIXED32;
+                    if (unsigned ? l >= 0 && l <= 0xFFFFFFFFL : l >= Integer.MIN_VALUE && l <= Integer.MAX_VALUE) {
+                        return (int) l;
+                    }
+                }
+                break;
+            case LONG:
+                if (isIntegral(value)) {
+                    long l = ((Number) value).longValue();
+                    boolean unsigned = field.getType() == Descriptors.FieldDescriptor.Type.UINT64
+                            || field.getType() == Descriptors.FieldDescriptor.Type.FIXED64;
+                    if (!unsigned || l >= 0) {
+                        return l;
+                    }
+                }
+                break;
+            case DOUBLE:
+                if (value instanceof Number number) {
+                    return number.doubleValue();
+                }
+                break;
+            case FLOAT:
+                if (value instanceof Number number && Math.abs(number.doubleValue()) <= Float.MAX_VALUE) {
+                    return number.floatValue();
+                }
+                break;
+            case ENUM:
+                Descriptors.EnumValueDescriptor enumValue = null;
+                if (value instanceof String name) {
+                    enumValue = field.getEnumType().findValueByName(name);
+                } else if (isIntegral(value)) {
+                    enumValue = field.getEnumType().findValueByNumber(((Number) value).intValue());
+                }
+                if (enumValue != null) {
+                    return enumValue;
+                }
+                break;
+            case MESSAGE:
+                return messageValue(field.getMessageType(), value, parent.newBuilderForField(field));
+            default:
+                break;
+        }
+        throw new UnsupportedValueException(field.getFullName());
+    }
+
+    private static Message messageValue(Descriptors.Descriptor type, Object value, Message.Builder builder) {
+        String name = type.getFullName();
+        if (name.equals(Struct.getDescriptor().getFullName())) {
+            if (value instanceof Map<?, ?> map) {
+                return struct(map);
+            }
+        } else if (name.equals(Value.getDescriptor().getFullName())) {
+            return value(value);
+        } else if (name.equals(ListValue.getDescriptor().getFullName())) {
+            if (value instanceof List<?> list) {
+                return listValue(list);
+            }
+        } else if (value instanceof Map<?, ?> map) {
+            merge(map, builder);
+            return builder.build();
+        }
+        throw new UnsupportedValueException(name);
+    }
+
+    private static Struct struct(Map<?, ?> map) {
+        Struct.Builder builder = Struct.newBuilder();
+        for (Map.Entry<?, ?> entry : map.entrySet()) {
+            builder.putFields(String.valueOf(entry.getKey()), value(entry.getValue()));
+        }
+        return builder.build();
+    }
+
+    private static ListValue listValue(List<?> list) {
+        ListValue.Builder builder = ListValue.newBuilder();
+        for (Object item : list) {
+            builder.addValues(value(item));
+        }
+        return builder.build();
+    }
+
+    private static Value value(Object value) {
+        if (value == null) {
+            return Value.newBuilder().setNullValue(NullValue.NULL_VALUE).build();
+        }
+        if (value instanceof String s) {
+            return Value.newBuilder().setStringValue(s).build();
+        }
+        if (value instanceof Boolean b) {
+            return Value.newBuilder().setBoolValue(b).build();
+        }
+        if (value instanceof Number n) {
+            return Value.newBuilder().setNumberValue(n.doubleValue()).build();
+        }
+        if (value instanceof Map<?, ?> map) {
+            return Value.newBuilder().setStructValue(struct(map)).build();
+        }
+        if (value instanceof List<?> list) {
+            return Value.newBuilder().setListValue(listValue(list)).build();
+        }
+        throw new UnsupportedValueException(value.getClass().getName());
+    }
+
+    private static boolean isIntegral(Object value) {
+        return value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte;
+    }
+
+    /**
+     * The value can only be converted through json
+     */
+    public static class UnsupportedValueException extends RuntimeException {
+        public UnsupportedValueException(String message) {
+            super(message, null, false, false);
+        }
+    }
+}
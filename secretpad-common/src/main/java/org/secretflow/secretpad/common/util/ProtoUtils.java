@@ -141,6 +141,8 @@ public class ProtoUtils {
 
     /**
      * Convert object to Message with messageBuilder
+     * <p>
+     * Maps are converted directly, anything else or any value the direct conversion does not cover goes through json
      *
      * @param object
      * @param messageBuilder
@@ -148,6 +150,16 @@ public class ProtoUtils {
      * @return converted message
      */
     public static <T extends Message.Builder> Message fromObject(Object object, T messageBuilder) {
+        if (object instanceof Map<?, ?> map) {
+            Message.Builder direct = messageBuilder.getDefaultInstanceForType().newBuilderForType();
+            try {
+                ProtoMapConverter.merge(map, direct);
+                messageBuilder.mergeFrom(direct.build());
+                return messageBuilder.build();
+            } catch (ProtoMapConverter.UnsupportedValueException e) {
+                // fall through to json
+            }
+        }
         return fromJsonString(JsonUtils.toJSONString(object), messageBuilder);
     }
 
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2024 Ant Group Co., Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.secretflow.secretpad.common.util;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Time spent in the database and in kuscia calls by the current request
+ * <p>
+ * Started by the web layer for each request and carried to worker threads by task decorators,
+ * times reported while no request is bound to the thread are ignored.
+ */
+public final class RequestTimings {
+
+    private static final ThreadLocal<RequestTimings> CURRENT = new ThreadLocal<>();
+
+    private final LongAdder dbNanos = new LongAdder();
+    private final LongAdder rpcNanos = new LongAdder();
+    private final LongAdder rpcCalls = new LongAdder();
+
+    /**
+     * Bind new timings to the current thread
+     *
+     * @return timings
+     */
+    public static RequestTimings start() {
+        RequestTimings timings = new RequestTimings();
+        CURRENT.set(timings);
+        return timings;
+    }
+
+    /**
+     * @return timings bound to the current thread, null if none
+     */
+    public static RequestTimings current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Bind timings captured on another thread
+     *
+     * @param timings timings, may be null
+     */
+    public static void attach(RequestTimings timings) {
+        if (timings == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(timings);
+        }
+    }
+
+    public static void remove() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Add database time to the current request
+     *
+     * @param nanos elapsed nanos
+     */
+    public static void addDb(long nanos) {
+        RequestTimings timings = CURRENT.get();
+        if (timings != null) {
+            timings.dbNanos.add(nanos);
+        }
+    }
+
+    /**
+     * Add a kuscia call to these timings
+     *
+     * @param nanos elapsed nanos
+     */
+    public void addRpc(long nanos) {
+        rpcNanos.add(nanos);
+        rpcCalls.increment();
+    }
+
+    public long getDbNanos() {
+        return dbNanos.sum();
+    }
+
+    public long getRpcNanos() {
+        return rpcNanos.sum();
+    }
+
+    public long getRpcCalls() {
+        return rpcCalls.sum();
+    }
+}
@@ -0,0 +1,206 @@
+/*
+ * Copyright 2024 Ant Group Co., Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.secretflow.secretpad.common.util;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HexFormat;
+
+/**
+ * Single pass upload pipeline, strips a leading UTF-8 BOM, counts bytes, computes the SHA-256 of the stored content
+ * and samples the first line while copying. Bytes are otherwise written unchanged, line endings are kept.
+ * <p>
+ * The state can be carried across several streams for chunked uploads, a {@link #snapshot()} taken before a chunk
+ * allows to roll back when the chunk fails half way.
+ */
+public class UploadStreamPipeline {
+
+    private static final byte[] UTF8_BOM = {(byte) 0xEF, (byte) 0xBB, (byte) 0xBF};
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * First line longer than this is not sampled
+     */
+    private static final int MAX_FIRST_LINE = 64 * 1024;
+
+    private final MessageDigest digest;
+    private final ByteArrayOutputStream firstLine;
+    private byte[] pending;
+    private boolean bomChecked;
+    private boolean firstLineDone;
+    private long received;
+    private long written;
+
+    public UploadStreamPipeline() {
+        try {
+            this.digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException(e);
+        }
+        this.firstLine = new ByteArrayOutputStream();
+        this.pending = new byte[0];
+    }
+
+    private UploadStreamPipeline(UploadStreamPipeline other) {
+        try {
+            this.digest = (MessageDigest) other.digest.clone();
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException(e);
+        }
+        this.firstLine = new ByteArrayOutputStream();
+        this.firstLine.writeBytes(other.firstLine.toByteArray());
+        this.pending = other.pending.clone();
+        this.bomChecked = other.bomChecked;
+        this.firstLineDone = other.firstLineDone;
+        this.received = other.received;
+        this.written = other.written;
+    }
+
+    /**
+     * Copy the whole input stream through the pipeline
+     *
+     * @param in  input stream
+     * @param out output stream
+     * @return bytes received from the input stream
+     * @throws IOException
+     */
+    public long transfer(InputStream in, OutputStream out) throws IOException {
+        byte[] buffer = new byte[BUFFER_SIZE];
+        long count = 0;
+        int len;
+        while ((len = in.read(buffer)) != -1) {
+            write(buffer, 0, len, out);
+            count += len;
+        }
+        return count;
+    }
+
+    /**
+     * Pass received bytes through the pipeline
+     *
+     * @param b   bytes
+     * @param off offset
+     * @param len length
+     * @param out output stream
+     * @throws IOException
+     */
+    public void write(byte[] b, int off, int len, OutputStream out) throws IOException {
+        received += len;
+        if (!bomChecked) {
+            byte[] head = new byte[pending.length + len];
+            System.arraycopy(pending, 0, head, 0, pending.length);
+            System.arraycopy(b, off, head, pending.length, len);
+            if (head.length < UTF8_BOM.length && Arrays.equals(head, 0, head.length, UTF8_BOM, 0, head.length)) {
+                // may still be a BOM, wait for more bytes
+                pending = head;
+                return;
+            }
+            bomChecked = true;
+            pending = new byte[0];
+            int skip = head.length >= UTF8_BOM.length && Arrays.equals(head, 0, UTF8_BOM.length, UTF8_BOM, 0, UTF8_BOM.length) ? UTF8_BOM.length : 0;
+            emit(head, skip, head.length - skip, out);
+            return;
+        }
+        emit(b, off, len, out);
+    }
+
+    /**
+     * Flush bytes held back while checking the BOM, call at the end of the upload
+     *
+     * @param out output stream
+     * @throws IOException
+     */
+    public void finish(OutputStream out) throws IOException {
+        if (!bomChecked) {
+            bomChecked = true;
+            emit(pending, 0, pending.length, out);
+            pending = new byte[0];
+        }
+        out.flush();
+    }
+
+    /**
+     * Copy of the current state
+     *
+     * @return snapshot
+     */
+    public UploadStreamPipeline snapshot() {
+        return new UploadStreamPipeline(this);
+    }
+
+    /**
+     * @return bytes received, including a stripped BOM
+     */
+    public long getReceived() {
+        return received;
+    }
+
+    /**
+     * @return bytes written to the output
+     */
+    public long getWritten() {
+        return written;
+    }
+
+    /**
+     * @return hex SHA-256 of the written bytes so far
+     */
+    public String getSha256() {
+        try {
+            return HexFormat.of().formatHex(((MessageDigest) digest.clone()).digest());
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * @return first line without line terminator, null if it is not complete or too long
+     */
+    public String getFirstLine() {
+        if (!firstLineDone || firstLine.size() > MAX_FIRST_LINE) {
+            return null;
+        }
+        String line = firstLine.toString(StandardCharsets.UTF_8);
+        return line.endsWith("\r") ? line.substring(0, line.length() - 1) : line;
+    }
+
+    private void emit(byte[] b, int off, int len, OutputStream out) throws IOException {
+        if (len <= 0) {
+            return;
+        }
+        out.write(b, off, len);
+        digest.update(b, off, len);
+        written += len;
+        if (!firstLineDone) {
+            int end = off;
+            while (end < off + len && b[end] != '\n') {
+                end++;
+            }
+            if (firstLine.size() <= MAX_FIRST_LINE) {
+                firstLine.write(b, off, Math.min(end - off, MAX_FIRST_LINE + 1 - firstLine.size()));
+            }
+            firstLineDone = end < off + len;
+        }
+    }
+}
@@ -19,7 +19,13 @@ package org.secretflow.secretpad.common.util;
 import lombok.extern.slf4j.Slf4j;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
 import java.util.Objects;
 
 /**
@@ -34,4 +40,20 @@ class CompressUtilsTest {
         String classPath = Objects.requireNonNull(Thread.currentThread().getContextClassLoader().getResource("")).getPath();
         Assertions.assertDoesNotThrow(() -> CompressUtils.getFiles(classPath));
     }
-}
\ No newline at end of file
+
+    @Test
+    void compressTarGz(@TempDir Path tempDir) throws Exception {
+        Path source = Files.createDirectories(tempDir.resolve("model"));
+        Files.writeString(source.resolve("a.txt"), "alice", StandardCharsets.UTF_8);
+        Files.writeString(source.resolve("b.txt"), "bob", StandardCharsets.UTF_8);
+        List<File> files = CompressUtils.getFiles(source.toString());
+        File target = tempDir.resolve("model.tar.gz").toFile();
+
+        CompressUtils.compressTarGz(files, source.toString(), target);
+
+        Path output = tempDir.resolve("output");
+        Assertions.assertTrue(CompressUtils.decompress(target.getPath(), output.toString()));
+        Assertions.assertEquals("alice", Files.readString(output.resolve("a.txt"), StandardCharsets.UTF_8));
+        Assertions.assertEquals("bob", Files.readString(output.resolve("b.txt"), StandardCharsets.UTF_8));
+    }
+}
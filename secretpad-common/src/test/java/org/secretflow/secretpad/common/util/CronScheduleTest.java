@@ -0,0 +1,74 @@
+/*
+ * Copyright 2024 Ant Group Co., Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.secretflow.secretpad.common.util;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Cron schedule test
+ */
+public class CronScheduleTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 0, 0);
+    private static final LocalDateTime END = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+    @Test
+    void testDaily() {
+        CronSchedule schedule = CronSchedule.compile("0 00 12 * * ?");
+        assertEquals(List.of(LocalDateTime.of(2024, 1, 1, 12, 0), LocalDateTime.of(2024, 1, 2, 12, 0)),
+                schedule.stream(START, END).limit(2).toList());
+        assertEquals(366, schedule.stream(START, END).count());
+    }
+
+    @Test
+    void testWeekDays() {
+        CronSchedule schedule = CronSchedule.compile("0 30 10 ? * mon,wed,fri");
+        assertEquals(List.of(LocalDateTime.of(2024, 1, 1, 10, 30), LocalDateTime.of(2024, 1, 3, 10, 30),
+                        LocalDateTime.of(2024, 1, 5, 10, 30), LocalDateTime.of(2024, 1, 8, 10, 30)),
+                schedule.stream(START, END).limit(4).toList());
+        assertEquals(LocalDateTime.of(2024, 1, 7, 12, 0), CronSchedule.compile("0 0 12 ? * 1").next(START));
+    }
+
+    @Test
+    void testMonthDays() {
+        assertEquals(List.of(LocalDateTime.of(2024, 1, 31, 12, 0), LocalDateTime.of(2024, 2, 29, 12, 0), LocalDateTime.of(2024, 3, 31, 12, 0)),
+                CronSchedule.compile("0 00 12 L * ?").stream(START, END).limit(3).toList());
+        assertEquals(List.of(LocalDateTime.of(2024, 1, 31, 0, 0), LocalDateTime.of(2024, 3, 31, 0, 0)),
+                CronSchedule.compile("0 0 0 31 * ?").stream(START, END).limit(2).toList());
+        assertEquals(LocalDateTime.of(2028, 2, 29, 0, 0), CronSchedule.compile("0 0 0 29 2 ?").next(LocalDateTime.of(2024, 3, 1, 0, 0)));
+    }
+
+    @Test
+    void testStepsAndRanges() {
+        assertEquals(List.of(LocalDateTime.of(2024, 1, 6, 0, 10, 5), LocalDateTime.of(2024, 1, 6, 0, 10, 25)),
+                CronSchedule.compile("5/20 10-20/3 */5 ? JAN-MAR,NOV SUN,SAT").stream(START, END).limit(2).toList());
+        assertEquals(LocalDateTime.of(2024, 4, 1, 0, 0), CronSchedule.compile("0 0 0 1 1/3 ?").next(START));
+    }
+
+    @Test
+    void testInvalid() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> CronSchedule.compile("asdkdasjkdh"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> CronSchedule.compile("0 0 25 * * ?"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> CronSchedule.compile("0 0 0 1 * mon"));
+    }
+}
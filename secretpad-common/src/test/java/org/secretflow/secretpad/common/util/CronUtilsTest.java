@@ -42,7 +42,7 @@ public class CronUtilsTest {
                 "2024-09-01 00:00:00",
                 "2024-09-10 23:59:59"
         );
-        assertEquals(10, cronExpressions.size());
+        assertEquals(List.of("0 00 12 * * ?"), cronExpressions);
     }
 
     @Test
@@ -54,7 +54,7 @@ public class CronUtilsTest {
                 "2024-09-01 00:00:00",
                 "2024-09-10 23:59:59"
         );
-        assertEquals(7, cronExpressions.size());
+        assertEquals(List.of("0 00 12 ? * mon,tue,wed,thu,fri,sat,sun"), cronExpressions);
     }
 
     @Test
@@ -66,7 +66,7 @@ public class CronUtilsTest {
                 "2024-09-01 00:00:00",
                 "2024-10-10 23:59:59"
         );
-        assertEquals(3, cronExpressions.size());
+        assertEquals(List.of("0 00 12 15,30 * ?", "0 00 12 L * ?"), cronExpressions);
     }
 
     @Test
@@ -105,4 +105,14 @@ public class CronUtilsTest {
         CronUtils.getMatchingDates("0 0 0 ? * mon", "2024-01-01 00:00:00", "2024-01-01 20:00:00");
         Assertions.assertThrows(IllegalArgumentException.class, () -> CronUtils.getMatchingDates("asdkdasjkdh", "2024-01-01 00:00:00", end));
     }
-}
\ No newline at end of file
+
+    @Test
+    void testFirstMatchingDate() {
+        String start = DateTimes.localDateTimeString(LocalDateTime.now().plusMinutes(1));
+        String end = DateTimes.localDateTimeString(LocalDateTime.now().plusDays(10));
+        String first = CronUtils.getFirstMatchingDate("0 00 12 ? * mon", start, end);
+        assertEquals(CronUtils.getMatchingDates("0 00 12 ? * mon", start, end).get(0), first);
+        Assertions.assertNull(CronUtils.getFirstMatchingDate("0 0 0 ? * mon", "2024-01-01 00:00:00", "2024-01-01 20:00:00"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> CronUtils.getFirstMatchingDate("asdkdasjkdh", start, end));
+    }
+}
@@ -19,15 +19,28 @@ package org.secretflow.secretpad.common.util;
 import com.google.common.collect.Lists;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.MockedStatic;
+import org.mockito.Mockito;
 
 import java.io.BufferedReader;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.Principal;
+import java.security.PublicKey;
 import java.security.cert.CertificateException;
 import java.security.cert.CertificateFactory;
 import java.security.cert.X509Certificate;
 import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * @author chenmingliang
@@ -86,6 +99,86 @@ public class EncryptUtilsTest {
 
     }
 
+    @Test
+    public void signAndVerifyRoundTrip(@TempDir Path dir) throws Exception {
+        Process process = new ProcessBuilder("/bin/sh", "-c",
+                "openssl req -x509 -newkey rsa:2048 -nodes -keyout sign.key -out sign.crt -days 1 -subj \"/CN=Signer\"")
+                .directory(dir.toFile()).redirectErrorStream(true).start();
+        process.getInputStream().transferTo(OutputStream.nullOutputStream());
+        Assertions.assertEquals(0, process.waitFor());
+        String privateKeyPem = Files.readString(dir.resolve("sign.key"));
+        String cert;
+        try (FileInputStream certStream = new FileInputStream(dir.resolve("sign.crt").toFile())) {
+            cert = Base64Utils.encode(CertificateFactory.getInstance("X.509").generateCertificate(certStream).getEncoded());
+        }
+        String privateKey = Base64Utils.encode(privateKeyPem.getBytes(StandardCharsets.UTF_8));
+
+        // the thread local signature is reused, each sign and verify starts from a clean state
+        for (int i = 0; i < 3; i++) {
+            byte[] data = ("data" + i).getBytes();
+            String sign = EncryptUtils.signSHA256withRSA(data, privateKey);
+            Assertions.assertTrue(EncryptUtils.verifySHA256withRSA(data, cert, sign));
+            Assertions.assertFalse(EncryptUtils.verifySHA256withRSA("tampered".getBytes(), cert, sign));
+        }
+        String pemSign = EncryptUtils.signSHA256RSA("data", privateKeyPem);
+        Assertions.assertTrue(EncryptUtils.verifySHA256withRSA("data".getBytes(), cert, pemSign));
+
+        // another thread verifies with its own signature instance
+        CompletableFuture<Boolean> verified = CompletableFuture.supplyAsync(() -> {
+            try {
+                return EncryptUtils.verifySHA256withRSA("data".getBytes(), cert, pemSign);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        Assertions.assertTrue(verified.get());
+    }
+
+    @Test
+    public void validateCertChainCached() throws Exception {
+        String leafCert = "stub_leaf_" + UUID.randomUUID();
+        String rootCert = "stub_root_" + UUID.randomUUID();
+        Principal rootName = Mockito.mock(Principal.class);
+        PublicKey rootKey = Mockito.mock(PublicKey.class);
+        X509Certificate leaf = Mockito.mock(X509Certificate.class);
+        X509Certificate root = Mockito.mock(X509Certificate.class);
+        Mockito.when(leaf.getIssuerDN()).thenReturn(rootName);
+        Mockito.when(root.getSubjectDN()).thenReturn(rootName);
+        Mockito.when(root.getPublicKey()).thenReturn(rootKey);
+        Map<String, X509Certificate> certs = Map.of(leafCert, leaf, rootCert, root);
+        try (MockedStatic<EncryptUtils> ignored = Mockito.mockStatic(EncryptUtils.class, invocation ->
+                "decodeCertificate".equals(invocation.getMethod().getName())
+                        ? certs.get(invocation.<String>getArgument(0)) : invocation.callRealMethod())) {
+            Assertions.assertTrue(EncryptUtils.validateCertChain(List.of(leafCert, rootCert)));
+            // a cached result is returned without validating the chain again
+            Assertions.assertTrue(EncryptUtils.validateCertChain(List.of(leafCert, rootCert)));
+        }
+        Mockito.verify(leaf, Mockito.times(1)).verify(rootKey);
+    }
+
+    @Test
+    public void batchVerifyInvalidItem(@TempDir Path dir) throws Exception {
+        Process process = new ProcessBuilder("/bin/sh", "-c",
+                "openssl req -x509 -newkey rsa:2048 -nodes -keyout sign.key -out sign.crt -days 1 -subj \"/CN=Signer\"")
+                .directory(dir.toFile()).redirectErrorStream(true).start();
+        process.getInputStream().transferTo(OutputStream.nullOutputStream());
+        Assertions.assertEquals(0, process.waitFor());
+        String privateKey = Base64Utils.encode(Files.readString(dir.resolve("sign.key")).getBytes(StandardCharsets.UTF_8));
+        String cert;
+        try (FileInputStream certStream = new FileInputStream(dir.resolve("sign.crt").toFile())) {
+            cert = Base64Utils.encode(CertificateFactory.getInstance("X.509").generateCertificate(certStream).getEncoded());
+        }
+        String sign = EncryptUtils.signSHA256withRSA("data".getBytes(), privateKey);
+
+        // a tampered or undecodable item fails on its own, the others are still verified
+        List<Boolean> results = EncryptUtils.verifySHA256withRSA(List.of(
+                new EncryptUtils.SignedData("data".getBytes(), cert, sign),
+                new EncryptUtils.SignedData("tampered".getBytes(), cert, sign),
+                new EncryptUtils.SignedData("data".getBytes(), "invalid_cert", sign),
+                new EncryptUtils.SignedData("data".getBytes(), cert, sign)));
+        Assertions.assertEquals(List.of(true, false, false, true), results);
+    }
+
     @Test
     public void testComparePubKeyFalse() {
         EncryptUtils.compareCertPubKey("", "");
@@ -0,0 +1,54 @@
+/*
+ * Copyright 2024 Ant Group Co., Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.secretflow.secretpad.common.util;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * PageUtils test
+ */
+public class PageUtilsTest {
+
+    private final List<List<Integer>> sources = List.of(
+            List.of(1, 4, 7, 10),
+            List.of(2, 5, 8),
+            List.of(3, 6, 9, 11, 12),
+            List.of());
+
+    @Test
+    public void testMergeSorted() {
+        Assertions.assertEquals(List.of(1, 2, 3), PageUtils.mergeSorted(sources, Comparator.naturalOrder(), 3, 1));
+        Assertions.assertEquals(List.of(7, 8, 9), PageUtils.mergeSorted(sources, Comparator.naturalOrder(), 3, 3));
+        Assertions.assertEquals(List.of(11, 12), PageUtils.mergeSorted(sources, Comparator.naturalOrder(), 5, 3));
+        Assertions.assertTrue(PageUtils.mergeSorted(sources, Comparator.naturalOrder(), 10, 3).isEmpty());
+    }
+
+    @Test
+    public void testSortedRange() {
+        Assertions.assertEquals(List.of(3, 4), PageUtils.sortedRange(List.of(5, 4, 3, 2, 1), Comparator.naturalOrder(), 2, 2));
+        Assertions.assertTrue(PageUtils.sortedRange(List.of(3, 1), Comparator.naturalOrder(), 2, 3).isEmpty());
+    }
+
+    @Test
+    public void testWindowEnd() {
+        Assertions.assertEquals(60, PageUtils.windowEnd(20, 3));
+    }
+}
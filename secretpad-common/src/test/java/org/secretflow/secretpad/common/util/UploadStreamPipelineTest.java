@@ -0,0 +1,89 @@
+/*
+ * Copyright 2024 Ant Group Co., Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.secretflow.secretpad.common.util;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+class UploadStreamPipelineTest {
+
+    private static final byte[] BOM = {(byte) 0xEF, (byte) 0xBB, (byte) 0xBF};
+
+    @Test
+    void transferStripsBomAndKeepsLineEndings() throws Exception {
+        byte[] csv = "id,age\r\n1,20\r\n2,30".getBytes(StandardCharsets.UTF_8);
+        byte[] input = new byte[BOM.length + csv.length];
+        System.arraycopy(BOM, 0, input, 0, BOM.length);
+        System.arraycopy(csv, 0, input, BOM.length, csv.length);
+        UploadStreamPipeline pipeline = new UploadStreamPipeline();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        pipeline.transfer(new ByteArrayInputStream(input), out);
+        pipeline.finish(out);
+
+        Assertions.assertArrayEquals(csv, out.toByteArray());
+        Assertions.assertEquals(input.length, pipeline.getReceived());
+        Assertions.assertEquals(csv.length, pipeline.getWritten());
+        Assertions.assertEquals(Sha256Utils.hash("id,age\r\n1,20\r\n2,30"), pipeline.getSha256());
+        Assertions.assertEquals("id,age", pipeline.getFirstLine());
+    }
+
+    @Test
+    void bomSplitAcrossChunks() throws Exception {
+        UploadStreamPipeline pipeline = new UploadStreamPipeline();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        pipeline.write(BOM, 0, 1, out);
+        pipeline.write(BOM, 1, 2, out);
+        byte[] rest = "a,b\n".getBytes(StandardCharsets.UTF_8);
+        pipeline.write(rest, 0, rest.length, out);
+        pipeline.finish(out);
+
+        Assertions.assertEquals("a,b\n", out.toString(StandardCharsets.UTF_8));
+        Assertions.assertEquals("a,b", pipeline.getFirstLine());
+    }
+
+    @Test
+    void shortInputWithoutBomIsKept() throws Exception {
+        UploadStreamPipeline pipeline = new UploadStreamPipeline();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] input = {(byte) 0xEF, 'a'};
+        pipeline.write(input, 0, 1, out);
+        pipeline.finish(out);
+
+        Assertions.assertArrayEquals(new byte[]{(byte) 0xEF}, out.toByteArray());
+        Assertions.assertNull(pipeline.getFirstLine());
+    }
+
+    @Test
+    void snapshotRollsBackState() throws Exception {
+        UploadStreamPipeline pipeline = new UploadStreamPipeline();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] first = "x,y\n".getBytes(StandardCharsets.UTF_8);
+        pipeline.write(first, 0, first.length, out);
+        UploadStreamPipeline snapshot = pipeline.snapshot();
+        byte[] second = "1,2\n".getBytes(StandardCharsets.UTF_8);
+        pipeline.write(second, 0, second.length, out);
+
+        Assertions.assertEquals(first.length, snapshot.getWritten());
+        Assertions.assertEquals(Sha256Utils.hash("x,y\n"), snapshot.getSha256());
+        Assertions.assertEquals(Sha256Utils.hash("x,y\n1,2\n"), pipeline.getSha256());
+    }
+}
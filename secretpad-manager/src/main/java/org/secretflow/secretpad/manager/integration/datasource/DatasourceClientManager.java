@@ -0,0 +1,323 @@
+/*
+ * Copyright 2024 Ant Group Co., Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.secretflow.secretpad.manager.integration.datasource;
+
+import org.secretflow.secretpad.common.errorcode.DatasourceErrorCode;
+import org.secretflow.secretpad.common.exception.SecretpadException;
+import org.secretflow.secretpad.manager.integration.datasource.mysql.MysqlConfig;
+import org.secretflow.secretpad.manager.integration.datasource.mysql.MysqlFactory;
+import org.secretflow.secretpad.manager.integration.datasource.odps.OdpsConfig;
+import org.secretflow.secretpad.manager.integration.datasource.odps.OdpsFactory;
+import org.secretflow.secretpad.manager.integration.datasource.oss.AwsOssConfig;
+import org.secretflow.secretpad.manager.integration.datasource.oss.OssAutoCloseableClient;
+
+import com.aliyun.odps.Odps;
+import com.amazonaws.services.s3.AmazonS3;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalListener;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.Assert;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Keeps the connections and clients of mysql, odps and oss datasources across calls.
+ * <p>
+ * Every datasource config gets one bounded connection pool or client, released when unused for idle-timeout.
+ * A pool or client evicted while connections or leases are still open is closed when the last one is closed.
+ * Calls against one backend are limited by a shared permit count, and table lookups are cached for metadata-ttl.
+ */
+@Slf4j
+@Component
+@EnableConfigurationProperties(DatasourceClientProperties.class)
+public class DatasourceClientManager {
+
+    private final DatasourceClientProperties properties;
+
+    private final Cache<MysqlConfig, LeasedClient<HikariDataSource>> mysqlDataSources;
+
+    private final Cache<OdpsConfig, Odps> odpsClients;
+
+    private final Cache<AwsOssConfig, LeasedClient<AmazonS3>> ossClients;
+
+    private final Cache<TableKey, Boolean> tables;
+
+    private final Map<Backend, Semaphore> permits = new EnumMap<>(Backend.class);
+
+    public DatasourceClientManager(DatasourceClientProperties properties) {
+        this.properties = properties;
+        this.mysqlDataSources = newClientCache(n -> n.getValue().evict());
+        this.odpsClients = newClientCache(n -> log.debug("odps client of {} released", n.getKey().getEndpoint()));
+        this.ossClients = newClientCache(n -> n.getValue().evict());
+        this.tables = CacheBuilder.newBuilder()
+                .maximumSize(properties.getMaxDatasources() * 64L)
+                .expireAfterWrite(properties.getMetadataTtl())
+                .build();
+        for (Backend backend : Backend.values()) {
+            permits.put(backend, new Semaphore(properties.getMaxConcurrency(), true));
+        }
+    }
+
+    /**
+     * Run a call against the backend once a permit is free
+     *
+     * @throws SecretpadException DATA_SOURCE_BUSY when no permit is freed within acquire-timeout
+     */
+    public <T> T execute(Backend backend, Supplier<T> call) {
+        Semaphore semaphore = acquire(backend);
+        try {
+            return call.get();
+        } finally {
+            semaphore.release();
+        }
+    }
+
+    /**
+     * Borrow a connection from the pool of the mysql datasource, closing it returns it to the pool
+     * <p>
+     * The connection leases its pool, a pool evicted meanwhile is closed once its last connection is closed.
+     *
+     * @throws IllegalArgumentException when the config is invalid or the datasource can not be connected
+     */
+    public Connection mysqlConnection(MysqlConfig mysqlConfig) {
+        Assert.notNull(mysqlConfig, "mysqlConfig must not be null");
+        mysqlConfig.validate();
+        LeasedClient<HikariDataSource> dataSource = lease(mysqlDataSources, mysqlConfig,
+                () -> new LeasedClient<>(newMysqlDataSource(mysqlConfig), HikariDataSource::close));
+        Connection connection;
+        try {
+            connection = dataSource.client().getConnection();
+        } catch (SQLException | RuntimeException e) {
+            dataSource.release();
+            throw new IllegalArgumentException("Failed to connect to MySQL: " + e.getMessage(), e);
+        }
+        return releasingOnClose(connection, dataSource::release);
+    }
+
+    /**
+     * Shared odps client of the datasource, the default project must not be changed on it
+     */
+    public Odps odpsClient(OdpsConfig odpsConfig) {
+        Assert.notNull(odpsConfig, "odpsConfig must not be null");
+        odpsConfig.validate();
+        return load(odpsClients, odpsConfig, () -> OdpsFactory.buildOdpsClient(odpsConfig));
+    }
+
+    /**
+     * Lease the shared oss client of the datasource, it holds an oss permit until closed
+     * <p>
+     * A client evicted meanwhile is shut down once its last lease is closed.
+     */
+    public OssAutoCloseableClient ossClient(AwsOssConfig ossConfig) {
+        Assert.notNull(ossConfig, "ossConfig must not be null");
+        Semaphore semaphore = acquire(Backend.OSS);
+        LeasedClient<AmazonS3> client;
+        try {
+            client = lease(ossClients, ossConfig, () -> new LeasedClient<>(newOssClient(ossConfig), AmazonS3::shutdown));
+        } catch (RuntimeException e) {
+            semaphore.release();
+            throw e;
+        }
+        return OssAutoCloseableClient.lease(client.client(), () -> {
+            semaphore.release();
+            client.release();
+        });
+    }
+
+    /**
+     * Whether the table exists, a found table is remembered for metadata-ttl while a missing one is looked up again
+     */
+    public boolean tableExists(Backend backend, Object datasource, String schema, String table, BooleanSupplier lookup) {
+        TableKey key = new TableKey(backend, datasource, schema, table);
+        if (tables.getIfPresent(key) != null) {
+            return true;
+        }
+        boolean exists = lookup.getAsBoolean();
+        if (exists) {
+            tables.put(key, Boolean.TRUE);
+        }
+        return exists;
+    }
+
+    /**
+     * Drop the cached tables of all datasources
+     */
+    public void invalidateMetadata() {
+        tables.invalidateAll();
+    }
+
+    @PreDestroy
+    public void close() {
+        mysqlDataSources.invalidateAll();
+        odpsClients.invalidateAll();
+        ossClients.invalidateAll();
+        tables.invalidateAll();
+    }
+
+    protected HikariDataSource newMysqlDataSource(MysqlConfig mysqlConfig) {
+        return MysqlFactory.buildMySQLDataSource(mysqlConfig, properties);
+    }
+
+    protected AmazonS3 newOssClient(AwsOssConfig ossConfig) {
+        return OssAutoCloseableClient.buildS3Client(ossConfig, properties.getMaxPoolSize());
+    }
+
+    private <K, V> Cache<K, V> newClientCache(RemovalListener<K, V> onRemoval) {
+        return CacheBuilder.newBuilder()
+                .maximumSize(properties.getMaxDatasources())
+                .expireAfterAccess(properties.getIdleTimeout())
+                .removalListener(onRemoval)
+                .build();
+    }
+
+    private Semaphore acquire(Backend backend) {
+        Semaphore semaphore = permits.get(backend);
+        try {
+            if (semaphore.tryAcquire(properties.getAcquireTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+                return semaphore;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        log.warn("no {} permit freed within {}", backend, properties.getAcquireTimeout());
+        throw SecretpadException.of(DatasourceErrorCode.DATA_SOURCE_BUSY, backend.name());
+    }
+
+    /**
+     * Take a lease of the cached client, a client evicted between the lookup and the lease is loaded again
+     */
+    private static <K, V> LeasedClient<V> lease(Cache<K, LeasedClient<V>> cache, K key, Supplier<LeasedClient<V>> loader) {
+        while (true) {
+            LeasedClient<V> client = load(cache, key, loader);
+            if (client.retain()) {
+                return client;
+            }
+        }
+    }
+
+    private static Connection releasingOnClose(Connection connection, Runnable release) {
+        AtomicBoolean released = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class}, (proxy, method, args) -> {
+            if ("close".equals(method.getName()) && method.getParameterCount() == 0) {
+                try {
+                    connection.close();
+                } finally {
+                    if (released.compareAndSet(false, true)) {
+                        release.run();
+                    }
+                }
+                return null;
+            }
+            try {
+                return method.invoke(connection, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        });
+    }
+
+    private static <K, V> V load(Cache<K, V> cache, K key, Supplier<V> loader) {
+        try {
+            return cache.get(key, loader::get);
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalArgumentException(e.getCause());
+        }
+    }
+
+    public enum Backend {
+        MYSQL,
+        ODPS,
+        OSS
+    }
+
+    private record TableKey(Backend backend, Object datasource, String schema, String table) {
+    }
+
+    /**
+     * A cached pool or client with the leases taken on it, it is closed once evicted and no lease is left
+     */
+    private static final class LeasedClient<V> {
+
+        private final V client;
+
+        private final Consumer<V> closer;
+
+        private int leases;
+
+        private boolean evicted;
+
+        LeasedClient(V client, Consumer<V> closer) {
+            this.client = client;
+            this.closer = closer;
+        }
+
+        V client() {
+            return client;
+        }
+
+        synchronized boolean retain() {
+            if (evicted) {
+                return false;
+            }
+            leases++;
+            return true;
+        }
+
+        void release() {
+            boolean close;
+            synchronized (this) {
+                leases--;
+                close = evicted && leases == 0;
+            }
+            if (close) {
+                closer.accept(client);
+            }
+        }
+
+        void evict() {
+            boolean close;
+            synchronized (this) {
+                close = !evicted && leases == 0;
+                evicted = true;
+            }
+            if (close) {
+                closer.accept(client);
+            }
+        }
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2024 Ant Group Co., Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.secretflow.secretpad.manager.integration.datasource;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Pooling of the clients secretpad opens against mysql, odps and oss datasources to test connectivity and look up tables
+ */
+@ConfigurationProperties(prefix = "secretpad.datasource.client")
+@Getter
+@Setter
+public class DatasourceClientProperties {
+
+    /**
+     * Connections one mysql datasource or oss client keeps open at most
+     */
+    private int maxPoolSize = 4;
+
+    /**
+     * Datasources of one backend whose pools and clients are kept, the least recently used one is closed beyond it after its last lease
+     */
+    private int maxDatasources = 64;
+
+    /**
+     * Idle connections are closed and unused pools and clients are released after it
+     */
+    private Duration idleTimeout = Duration.ofMinutes(5);
+
+    /**
+     * Wait for a pooled connection before the datasource is reported unreachable
+     */
+    private Duration connectionTimeout = Duration.ofSeconds(10);
+
+    /**
+     * Calls running against one backend at the same time, callers beyond it wait up to acquire-timeout
+     */
+    private int maxConcurrency = 16;
+
+    /**
+     * Wait for a backend permit before the call is rejected as busy
+     */
+    private Duration acquireTimeout = Duration.ofSeconds(30);
+
+    /**
+     * Lifetime of cached table metadata, tables dropped on the datasource are noticed after it
+     */
+    private Duration metadataTtl = Duration.ofMinutes(5);
+}
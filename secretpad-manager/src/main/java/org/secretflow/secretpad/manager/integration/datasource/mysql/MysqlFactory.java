@@ -16,12 +16,11 @@
 
 package org.secretflow.secretpad.manager.integration.datasource.mysql;
 
-import org.springframework.util.Assert;
+import org.secretflow.secretpad.manager.integration.datasource.DatasourceClientProperties;
 
-import java.sql.Connection;
-import java.sql.DriverManager;
-import java.sql.SQLException;
-import java.util.Properties;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.util.Assert;
 
 /**
  * @author lufeng
@@ -32,21 +31,31 @@ public final class MysqlFactory {
     private MysqlFactory() {
     }
 
-    public static Connection buildMySQLClient(MysqlConfig mysqlConfig) {
+    /**
+     * Pool of the mysql datasource, idle connections are closed after idle-timeout and none is kept open while unused
+     *
+     * @throws IllegalArgumentException when the first connection of the pool can not be established
+     */
+    public static HikariDataSource buildMySQLDataSource(MysqlConfig mysqlConfig, DatasourceClientProperties properties) {
         Assert.notNull(mysqlConfig, "mysqlConfig must not be null");
         mysqlConfig.validate();
-        String url = "jdbc:mysql://" + mysqlConfig.getEndpoint() + "/" + mysqlConfig.getDatabase();
-        Properties properties = new Properties();
-        properties.setProperty("allowLoadLocalInfile", "false");
-        properties.setProperty("allowUrlInLocalInfile", "false");
-        properties.setProperty("allowLoadLocalInfileInPath", "");
-        properties.setProperty("autoDeserialize", "false");
+        HikariConfig hikariConfig = new HikariConfig();
+        hikariConfig.setPoolName("mysql-" + mysqlConfig.getEndpoint() + "/" + mysqlConfig.getDatabase());
+        hikariConfig.setJdbcUrl("jdbc:mysql://" + mysqlConfig.getEndpoint() + "/" + mysqlConfig.getDatabase());
+        hikariConfig.setUsername(mysqlConfig.getUser());
+        hikariConfig.setPassword(mysqlConfig.getPassword());
+        hikariConfig.addDataSourceProperty("allowLoadLocalInfile", "false");
+        hikariConfig.addDataSourceProperty("allowUrlInLocalInfile", "false");
+        hikariConfig.addDataSourceProperty("allowLoadLocalInfileInPath", "");
+        hikariConfig.addDataSourceProperty("autoDeserialize", "false");
 
-        properties.setProperty("user", mysqlConfig.getUser());
-        properties.setProperty("password", mysqlConfig.getPassword());
+        hikariConfig.setMaximumPoolSize(properties.getMaxPoolSize());
+        hikariConfig.setMinimumIdle(0);
+        hikariConfig.setIdleTimeout(properties.getIdleTimeout().toMillis());
+        hikariConfig.setConnectionTimeout(properties.getConnectionTimeout().toMillis());
         try {
-            return DriverManager.getConnection(url, properties);
-        } catch (SQLException e) {
+            return new HikariDataSource(hikariConfig);
+        } catch (RuntimeException e) {
             throw new IllegalArgumentException("Failed to connect to MySQL: " + e.getMessage(), e);
         }
     }
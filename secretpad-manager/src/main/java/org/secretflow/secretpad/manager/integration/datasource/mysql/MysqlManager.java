@@ -16,6 +16,10 @@
 
 package org.secretflow.secretpad.manager.integration.datasource.mysql;
 
+import org.secretflow.secretpad.manager.integration.datasource.DatasourceClientManager;
+import org.secretflow.secretpad.manager.integration.datasource.DatasourceClientManager.Backend;
+
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
@@ -27,37 +31,46 @@ import java.sql.*;
  */
 @Slf4j
 @Service
+@RequiredArgsConstructor
 public class MysqlManager {
     private final static String MYSQL_TEST_QUERY = "SELECT 1;";
     private final static String MYSQL_TEST_TABLE = "SELECT COUNT(*) FROM information_schema.tables WHERE table_schema = ? AND table_name = ?;";
 
+    private final DatasourceClientManager datasourceClientManager;
+
     public boolean testConnection(MysqlConfig mysqlConfig) {
-        try (Connection connection = MysqlFactory.buildMySQLClient(mysqlConfig)) {
-            Statement statement = connection.createStatement();
-            return statement.execute(MYSQL_TEST_QUERY); // Connection is successful if we can execute the query
-        } catch (SQLException e) {
-            log.error("Test MySQL connection failed, error: {}", e.getMessage(), e);
-            throw new RuntimeException("MySQL test connection failed: " + e.getMessage(), e);
-        }
+        return datasourceClientManager.execute(Backend.MYSQL, () -> {
+            try (Connection connection = datasourceClientManager.mysqlConnection(mysqlConfig);
+                 Statement statement = connection.createStatement()) {
+                return statement.execute(MYSQL_TEST_QUERY); // Connection is successful if we can execute the query
+            } catch (SQLException e) {
+                log.error("Test MySQL connection failed, error: {}", e.getMessage(), e);
+                throw new RuntimeException("MySQL test connection failed: " + e.getMessage(), e);
+            }
+        });
     }
 
     public boolean testTableExists(MysqlConfig mysqlConfig, String databaseName, String tableName) {
-        try (Connection connection = MysqlFactory.buildMySQLClient(mysqlConfig)) {
-            try (PreparedStatement preparedStatement = connection.prepareStatement(MYSQL_TEST_TABLE)) {
-                preparedStatement.setString(1, databaseName);
-                preparedStatement.setString(2, tableName);
-                try (ResultSet resultSet = preparedStatement.executeQuery()) {
-                    if (resultSet.next()) {
-                        int count = resultSet.getInt(1);
-                        return count > 0;
-                    }
-                }
-            }
+        try {
+            return datasourceClientManager.tableExists(Backend.MYSQL, mysqlConfig, databaseName, tableName,
+                    () -> datasourceClientManager.execute(Backend.MYSQL, () -> queryTableExists(mysqlConfig, databaseName, tableName)));
         } catch (Exception e) {
             log.error("Table check failed, error: {}", e.getMessage(), e);
             return false;
         }
-        return false;
+    }
+
+    private boolean queryTableExists(MysqlConfig mysqlConfig, String databaseName, String tableName) {
+        try (Connection connection = datasourceClientManager.mysqlConnection(mysqlConfig);
+             PreparedStatement preparedStatement = connection.prepareStatement(MYSQL_TEST_TABLE)) {
+            preparedStatement.setString(1, databaseName);
+            preparedStatement.setString(2, tableName);
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                return resultSet.next() && resultSet.getInt(1) > 0;
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("MySQL table check failed: " + e.getMessage(), e);
+        }
     }
 
 }
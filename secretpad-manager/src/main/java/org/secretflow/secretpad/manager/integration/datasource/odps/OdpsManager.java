@@ -18,10 +18,13 @@ package org.secretflow.secretpad.manager.integration.datasource.odps;
 
 import org.secretflow.secretpad.common.errorcode.DatasourceErrorCode;
 import org.secretflow.secretpad.common.exception.SecretpadException;
+import org.secretflow.secretpad.manager.integration.datasource.DatasourceClientManager;
+import org.secretflow.secretpad.manager.integration.datasource.DatasourceClientManager.Backend;
 
 import com.aliyun.odps.Odps;
 import com.aliyun.odps.OdpsException;
 import com.aliyun.odps.task.SQLTask;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
@@ -31,29 +34,38 @@ import org.springframework.stereotype.Service;
  */
 @Slf4j
 @Service
+@RequiredArgsConstructor
 public class OdpsManager {
 
     private final static String ODPS_TASK_TEST_SQL = "show flags;";
 
+    private final DatasourceClientManager datasourceClientManager;
+
     public boolean testConnection(OdpsConfig odpsConfig) {
-        Odps odps = OdpsFactory.buildOdpsClient(odpsConfig);
-        try {
-            SQLTask.run(odps, ODPS_TASK_TEST_SQL);
-        } catch (Exception e) {
-            log.error("test odps connection failed, error: {}", e.getMessage(), e);
-            throw SecretpadException.of(DatasourceErrorCode.DATA_SOURCE_CREATE_FAIL, e, "odps test connection failed: " + e.getMessage());
-        }
-        return true;
+        Odps odps = datasourceClientManager.odpsClient(odpsConfig);
+        return datasourceClientManager.execute(Backend.ODPS, () -> {
+            try {
+                SQLTask.run(odps, ODPS_TASK_TEST_SQL);
+            } catch (Exception e) {
+                log.error("test odps connection failed, error: {}", e.getMessage(), e);
+                throw SecretpadException.of(DatasourceErrorCode.DATA_SOURCE_CREATE_FAIL, e, "odps test connection failed: " + e.getMessage());
+            }
+            return true;
+        });
     }
+
     public boolean testTableExists(OdpsConfig odpsConfig, String projectName, String tableName) {
-        Odps odps = OdpsFactory.buildOdpsClient(odpsConfig);
-        try {
-            odps.setDefaultProject(projectName);
-            return odps.tables().exists(tableName);
-        } catch (OdpsException e) {
-            log.error("check odps table exists failed, error: {}", e.getMessage(), e);
-            return false;
-        }
+        Odps odps = datasourceClientManager.odpsClient(odpsConfig);
+        return datasourceClientManager.tableExists(Backend.ODPS, odpsConfig, projectName, tableName,
+                () -> datasourceClientManager.execute(Backend.ODPS, () -> {
+                    try {
+                        // the client is shared, so the project is passed along instead of switching its default project
+                        return odps.tables().exists(projectName, tableName);
+                    } catch (OdpsException e) {
+                        log.error("check odps table exists failed, error: {}", e.getMessage(), e);
+                        return false;
+                    }
+                }));
     }
 
-}
\ No newline at end of file
+}
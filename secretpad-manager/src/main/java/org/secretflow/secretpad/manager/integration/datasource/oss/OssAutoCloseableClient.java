@@ -31,18 +31,35 @@ import com.amazonaws.services.s3.AmazonS3ClientBuilder;
  */
 public final class OssAutoCloseableClient implements AutoCloseable {
 
-    private static ClientConfiguration
-            clientConfiguration = new ClientConfiguration().withConnectionTimeout(500)
-            .withProtocol(Protocol.HTTP)
-            .withSocketTimeout(500);
     private AmazonS3 amazonS3Client;
 
-    private OssAutoCloseableClient(AmazonS3 amazonS3Client) {
+    /**
+     * Runs on close instead of shutting the client down when the client is shared
+     */
+    private Runnable release;
+
+    private OssAutoCloseableClient(AmazonS3 amazonS3Client, Runnable release) {
         this.amazonS3Client = amazonS3Client;
+        this.release = release;
     }
 
     public static OssAutoCloseableClient createClient(AwsOssConfig config) {
-        AmazonS3 s3Client = AmazonS3ClientBuilder.standard()
+        return new OssAutoCloseableClient(buildS3Client(config, ClientConfiguration.DEFAULT_MAX_CONNECTIONS), null);
+    }
+
+    /**
+     * Wrap a shared client, closing the wrapper runs release and leaves the client open
+     */
+    public static OssAutoCloseableClient lease(AmazonS3 amazonS3Client, Runnable release) {
+        return new OssAutoCloseableClient(amazonS3Client, release);
+    }
+
+    public static AmazonS3 buildS3Client(AwsOssConfig config, int maxConnections) {
+        ClientConfiguration clientConfiguration = new ClientConfiguration().withConnectionTimeout(500)
+                .withProtocol(Protocol.HTTP)
+                .withSocketTimeout(500)
+                .withMaxConnections(maxConnections);
+        return AmazonS3ClientBuilder.standard()
                 .withCredentials(new AWSStaticCredentialsProvider(new BasicAWSCredentials(config.getAccessKeyId(), config.getSecretAccessKey())))
                 .withClientConfiguration(clientConfiguration)
                 .withEndpointConfiguration(new AwsClientBuilder.EndpointConfiguration(
@@ -51,11 +68,16 @@ public final class OssAutoCloseableClient implements AutoCloseable {
                 .withPathStyleAccessEnabled(false)
                 .withChunkedEncodingDisabled(true)
                 .build();
-        return new OssAutoCloseableClient(s3Client);
     }
 
     @Override
     public void close() throws Exception {
+        if (release != null) {
+            Runnable onClose = release;
+            release = null;
+            onClose.run();
+            return;
+        }
         if (amazonS3Client != null) {
             amazonS3Client.shutdown();
         }
@@ -17,6 +17,9 @@
 package org.secretflow.secretpad.manager.integration.datasource.oss;
 
 
+import org.secretflow.secretpad.manager.integration.datasource.DatasourceClientManager;
+
+import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
 /**
@@ -25,8 +28,15 @@ import org.springframework.stereotype.Component;
  */
 
 @Component
+@RequiredArgsConstructor
 public class OssClientFactory {
+
+    private final DatasourceClientManager datasourceClientManager;
+
+    /**
+     * Lease the pooled client of the oss datasource, close it once done to free the oss permit
+     */
     public OssAutoCloseableClient getOssClient(AwsOssConfig config) {
-        return OssAutoCloseableClient.createClient(config);
+        return datasourceClientManager.ossClient(config);
     }
 }
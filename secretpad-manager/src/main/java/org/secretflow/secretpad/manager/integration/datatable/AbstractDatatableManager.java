@@ -22,6 +22,7 @@ import org.secretflow.secretpad.manager.integration.model.DatatableListDTO;
 import org.secretflow.secretpad.manager.integration.node.SearchTargetNodeManager;
 import org.secretflow.v1alpha1.kusciaapi.Domaindata;
 
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -38,6 +39,12 @@ public abstract class AbstractDatatableManager {
 
     public static final String DATA_VENDOR_GRANT = "grant";
 
+    /**
+     * Listing order of datatables, by datatableId then nodeId, every node pages in it so pages from several nodes can be merged
+     */
+    public static final Comparator<DatatableDTO> LIST_ORDER = Comparator.comparing(DatatableDTO::getDatatableId, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(DatatableDTO::getNodeId, Comparator.nullsLast(Comparator.naturalOrder()));
+
     /**
      * Find Optional of DatatableDTO by nodeDatatableId
      *
@@ -66,7 +73,7 @@ public abstract class AbstractDatatableManager {
 
 
     /**
-     * Find DatatableDTO list and number by params
+     * Find DatatableDTO list and number by params, only the requested page is returned in {@link #LIST_ORDER}
      *
      * @param nodeId              nodeId
      * @param pageSize
@@ -23,6 +23,7 @@ import org.secretflow.secretpad.common.enums.PlatformTypeEnum;
 import org.secretflow.secretpad.common.errorcode.DatatableErrorCode;
 import org.secretflow.secretpad.common.exception.SecretpadException;
 import org.secretflow.secretpad.common.util.JsonUtils;
+import org.secretflow.secretpad.common.util.PageUtils;
 import org.secretflow.secretpad.kuscia.v1alpha1.service.impl.KusciaGrpcClientAdapter;
 import org.secretflow.secretpad.manager.integration.model.DatatableDTO;
 import org.secretflow.secretpad.manager.integration.model.DatatableListDTO;
@@ -248,16 +249,14 @@ public class DatatableManager extends AbstractDatatableManager {
         LOGGER.info("After filter by name, the datatable list len = {}, now paging.", datatableDTOList.size());
         datatableDTOList = filterByDatasourceTypes(datatableDTOList, types);
         LOGGER.info("After filter by types, the datatable list len = {}, now paging.", datatableDTOList.size());
-//        int startIndex = pageSize * (pageNumber - 1);
-//        if (startIndex > datatableDTOList.size()) {
-//            LOGGER.error("When find by node id, the page start index {} > datatableDtolist len {}", startIndex, datatableDTOList.size());
-//            throw SecretpadException.of(SystemErrorCode.OUT_OF_RANGE_ERROR, "page start index > datatable list length.");
-//        }
-//        int endIndex = Math.min((startIndex + pageSize), datatableDTOList.size());
-//        LOGGER.info("After page, we show from {} to {}", startIndex, endIndex);
+        int totalDatatableNums = datatableDTOList.size();
+        if (pageSize != null && pageNumber != null) {
+            datatableDTOList = PageUtils.sortedRange(datatableDTOList, LIST_ORDER, pageSize, pageNumber);
+            LOGGER.info("After page {} with size {}, we show {} datatables", pageNumber, pageSize, datatableDTOList.size());
+        }
         return DatatableListDTO.builder()
                 .datatableDTOList(datatableDTOList)
-                .totalDatatableNums(datatableDTOList.size())
+                .totalDatatableNums(totalDatatableNums)
                 .build();
     }
 
@@ -16,7 +16,6 @@
 
 package org.secretflow.secretpad.manager.integration.job;
 
-import org.secretflow.secretpad.common.constant.CacheConstants;
 import org.secretflow.secretpad.common.enums.PlatformTypeEnum;
 import org.secretflow.secretpad.common.enums.ScheduledStatus;
 import org.secretflow.secretpad.common.errorcode.DatatableErrorCode;
@@ -30,6 +29,7 @@ import org.secretflow.secretpad.kuscia.v1alpha1.service.impl.KusciaGrpcClientAda
 import org.secretflow.secretpad.manager.integration.datatable.AbstractDatatableManager;
 import org.secretflow.secretpad.manager.integration.datatablegrant.DatatableGrantManager;
 import org.secretflow.secretpad.manager.integration.job.event.JobSyncErrorOrCompletedEvent;
+import org.secretflow.secretpad.manager.integration.job.event.ModelExportJobChangedEvent;
 import org.secretflow.secretpad.manager.integration.model.DatatableDTO;
 import org.secretflow.secretpad.manager.integration.model.ModelExportDTO;
 import org.secretflow.secretpad.persistence.datasync.producer.p2p.P2pDataSyncProducerTemplate;
@@ -48,6 +48,8 @@ import com.secretflow.spec.v1.IndividualTable;
 import com.secretflow.spec.v1.TableSchema;
 import io.grpc.stub.StreamObserver;
 import jakarta.annotation.Resource;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import lombok.Setter;
 import org.apache.commons.lang3.ObjectUtils;
 import org.apache.commons.lang3.StringUtils;
@@ -58,15 +60,16 @@ import org.secretflow.v1alpha1.kusciaapi.JobServiceGrpc;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.cache.Cache;
-import org.springframework.cache.CacheManager;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Lazy;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.util.CollectionUtils;
 
 import javax.annotation.Nonnull;
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import static org.secretflow.secretpad.common.constant.ComponentConstants.*;
@@ -107,7 +110,9 @@ public class JobManager extends AbstractJobManager {
     @Value("${secretpad.node-id}")
     private String nodeId;
     @Resource
-    private CacheManager cacheManager;
+    private ModelExportJobRepository modelExportJobRepository;
+    @Resource
+    private ProjectModelPackRepository projectModelPackRepository;
     @Resource
     private ApplicationEventPublisher applicationEventPublisher;
     @Resource
@@ -123,6 +128,10 @@ public class JobManager extends AbstractJobManager {
     private ProjectScheduleJobRepository projectScheduleJobRepository;
     @Resource
     private ProjectScheduleTaskRepository projectScheduleTaskRepository;
+    @Resource
+    private TransactionTemplate transactionTemplate;
+    @PersistenceContext
+    private EntityManager entityManager;
     private volatile boolean scheduleJob = false;
 
     public JobManager(ProjectJobRepository projectJobRepository,
@@ -331,7 +340,8 @@ public class JobManager extends AbstractJobManager {
                 projectScheduleTaskRepository.save(byScheduleJobId);
             });
         } else {
-            projectJobRepository.save(job);
+            // task logs raised by the status transitions are flushed with the job in one transaction
+            transactionTemplate.executeWithoutResult(status -> projectJobRepository.save(job));
         }
     }
 
@@ -342,177 +352,276 @@ public class JobManager extends AbstractJobManager {
      * @param taskDO
      */
     public void syncResult(ProjectTaskDO taskDO) {
-        LOGGER.info("watched jobEvent: sync result {}", taskDO.toString());
-        if (taskDO.getStatus() != GraphNodeTaskStatus.SUCCEED) {
+        syncResults(List.of(taskDO));
+    }
+
+    /**
+     * Synchronize results of the tasks of one job in bulk
+     * domain data of all tasks is looked up with one batch query per target node, domain data grants are
+     * created peer by peer, and all results are persisted in one transaction
+     *
+     * @param tasks tasks of one job
+     */
+    public void syncResults(List<ProjectTaskDO> tasks) {
+        List<ProjectTaskDO> succeededTasks = tasks.stream().filter(taskDO -> {
+            LOGGER.info("watched jobEvent: sync result {}", taskDO.toString());
+            return taskDO.getStatus() == GraphNodeTaskStatus.SUCCEED && !CollectionUtils.isEmpty(taskDO.getParties());
+        }).toList();
+        if (succeededTasks.isEmpty()) {
             return;
         }
-        List<String> parties = taskDO.getParties();
-        if (CollectionUtils.isEmpty(parties)) {
+        Map<String, ProjectTaskDO> domainDataMap = new HashMap<>();
+        Map<String, List<DatatableDTO.NodeDatatableId>> nodeDatatableIdsByTarget = new LinkedHashMap<>();
+        for (ProjectTaskDO taskDO : succeededTasks) {
+            List<DatatableDTO.NodeDatatableId> nodeDatatableIds = resultNodeDatatableIds(taskDO, domainDataMap);
+            if (!nodeDatatableIds.isEmpty()) {
+                nodeDatatableIdsByTarget.computeIfAbsent(searchTargetNodeId(taskDO.getParties()), k -> new ArrayList<>()).addAll(nodeDatatableIds);
+            }
+        }
+        createDomainGrantsByUnion(succeededTasks);
+        if (nodeDatatableIdsByTarget.isEmpty()) {
             return;
         }
-        List<DatatableDTO.NodeDatatableId> nodeDatatableIds = new ArrayList<>();
-        Map<String, ProjectTaskDO.UPK> domainDataMap = new HashMap<>();
-        ProjectGraphNodeDO graphNode = taskDO.getGraphNode();
-        String jobId = taskDO.getUpk().getJobId();
-        List<String> outputs = graphNode.getOutputs();
+        Map<DatatableDTO.NodeDatatableId, DatatableDTO> datatableDTOMap = new HashMap<>();
+        nodeDatatableIdsByTarget.forEach((targetNodeId, nodeDatatableIds) -> {
+            LOGGER.info("look up nodeDatatableIds from kusciaapi, msg: {}", nodeDatatableIds);
+            datatableDTOMap.putAll(datatableManager.findByIds(nodeDatatableIds, (currentNodeId, extra) -> targetNodeId));
+        });
+        LOGGER.info("looked up nodeDatatableIds from kusciaapi, datatableDTOMap size: {}", datatableDTOMap.size());
+        ResultBatch batch = new ResultBatch();
+        datatableDTOMap.forEach((key, val) -> {
+            LOGGER.info("nodeDatatableIds: {} {}", key, val);
+            if (ObjectUtils.isEmpty(key) || ObjectUtils.isEmpty(val)) {
+                return;
+            }
+            ProjectTaskDO taskDO = domainDataMap.get(val.getDatatableId());
+            if (taskDO == null) {
+                LOGGER.warn("unexpected domain data {} returned from kusciaapi, skip", val.getDatatableId());
+                return;
+            }
+            collectResult(batch, taskDO, key, val);
+        });
+        transactionTemplate.executeWithoutResult(status -> batch.saveAll());
+    }
 
+    /**
+     * Domain data ids of the task outputs to look up
+     *
+     * @param taskDO        succeeded task
+     * @param domainDataMap domain data id to task, filled with the task outputs
+     * @return node datatable ids
+     */
+    private List<DatatableDTO.NodeDatatableId> resultNodeDatatableIds(ProjectTaskDO taskDO, Map<String, ProjectTaskDO> domainDataMap) {
+        List<String> parties = taskDO.getParties();
+        List<String> outputs = taskDO.getGraphNode().getOutputs();
+        List<DatatableDTO.NodeDatatableId> nodeDatatableIds = new ArrayList<>();
         if (!CollectionUtils.isEmpty(outputs)) {
             for (String output : outputs) {
-                String domainDataId = String.format("%s-%s", jobId, output);
+                String domainDataId = resultDomainDataId(taskDO, output);
                 nodeDatatableIds.addAll(parties.stream().map(party ->
                         DatatableDTO.NodeDatatableId.from(party, domainDataId)).toList());
-                domainDataMap.put(domainDataId, taskDO.getUpk());
-                createDomainGrantByUnion(taskDO, domainDataId);
+                domainDataMap.put(domainDataId, taskDO);
             }
         }
         if (PlatformTypeEnum.EDGE.equals(getPlaformType())) {
             // remove other nodes' result
             nodeDatatableIds.removeIf(next -> !nodeId.equals(next.getNodeId()));
         }
-        LOGGER.info("look up nodeDatatableIds from kusciaapi, msg: {}", nodeDatatableIds);
-        if (!CollectionUtils.isEmpty(nodeDatatableIds)) {
-            /* single side task reset nodeId, but tee not **/
-            if (nodeDatatableIds.size() == 1 && taskDO.getParties().size() == 1) {
-                if (PlatformTypeEnum.AUTONOMY.equals(getPlaformType())) {
-                    nodeDatatableIds.get(0).setNodeId(this.nodeId);
-                }
+        /* single side task reset nodeId, but tee not **/
+        if (nodeDatatableIds.size() == 1 && parties.size() == 1) {
+            if (PlatformTypeEnum.AUTONOMY.equals(getPlaformType())) {
+                nodeDatatableIds.get(0).setNodeId(this.nodeId);
             }
-            Map<DatatableDTO.NodeDatatableId, DatatableDTO> datatableDTOMap = datatableManager.findByIds(nodeDatatableIds, (currentNodeId, extra) -> {
-                List<String> clone = new ArrayList<>(parties);
-                clone.retainAll(P2pDataSyncProducerTemplate.nodeIds);
-                if (!clone.isEmpty()) {
-                    return clone.get(0);
-                } else {
-                    return this.nodeId;
-                }
-            });
-            LOGGER.info("looked up nodeDatatableIds from kusciaapi, datatableDTOMap size: {}", datatableDTOMap.size());
-            datatableDTOMap.forEach((key, val) -> {
-                LOGGER.info("nodeDatatableIds: {} {}", key, val);
-                if (ObjectUtils.isEmpty(key) || ObjectUtils.isEmpty(val)) {
-                    return;
-                }
-                String type = val.getType();
-                String nodeId = key.getNodeId();
-                String datatableId = val.getDatatableId();
-                LOGGER.info("resolve {}", datatableId);
-                ResultKind resultKind = ResultKind.fromDatatable(type);
-                LOGGER.info("nodeDatatableIds type: {}", resultKind.toString());
-                if (resultKind == null) {
-                    throw SecretpadException.of(DatatableErrorCode.UNSUPPORTED_DATATABLE_TYPE, type);
-                }
-                ProjectTaskDO.UPK taskUpk = domainDataMap.get(datatableId);
-                String projectId = taskUpk.getProjectId();
-                ProjectResultDO resultDO = ProjectResultDO.builder()
-                        .upk(new ProjectResultDO.UPK(projectId, resultKind, val.getNodeId(), datatableId))
-                        .taskId(taskUpk.getTaskId())
-                        .jobId(taskUpk.getJobId())
-                        .build();
-                resultRepository.save(resultDO);
-
-                Map<String, String> attributes = val.getAttributes();
-                String distData = null;
-                if (!CollectionUtils.isEmpty(attributes) && attributes.containsKey(DIST_DATA)) {
-                    distData = attributes.get(DIST_DATA);
-                }
-                switch (resultKind) {
-                    case FedTable:
-                        List<ProjectFedTableDO.JoinItem> joins = parties.stream().map(party -> new ProjectFedTableDO.JoinItem(party, datatableId)).collect(Collectors.toList());
-                        ProjectFedTableDO fedTableDO = ProjectFedTableDO.builder()
-                                .upk(new ProjectFedTableDO.UPK(projectId, datatableId))
-                                .joins(joins)
-                                .build();
-                        List<DatatableDTO.TableColumnDTO> schema = CollectionUtils.isEmpty(val.getSchema()) ? parse(distData) : val.getSchema();
-                        ProjectDatatableDO datatableDO = ProjectDatatableDO.builder()
-                                .upk(new ProjectDatatableDO.UPK(projectId, nodeId, datatableId))
-                                .source(ProjectDatatableDO.ProjectDatatableSource.CREATED)
-                                .tableConfig(DatatableDTO.toTableConfig(schema))
-                                .build();
-                        datatableRepository.save(datatableDO);
-                        fedTableRepository.save(fedTableDO);
-                        break;
-                    case Rule:
-                        ProjectRuleDO ruleDO = ProjectRuleDO.builder()
-                                .upk(new ProjectRuleDO.UPK(projectId, datatableId))
-                                .build();
-                        ruleRepository.save(ruleDO);
-                        break;
-                    case Model:
-                        ProjectModelDO modelDO = ProjectModelDO.builder()
-                                .upk(new ProjectModelDO.UPK(projectId, datatableId))
-                                .build();
-                        modelRepository.save(modelDO);
-                        break;
-                    case Report:
-                        ProjectReportDO reportDO = ProjectReportDO.builder()
-                                .upk(new ProjectReportDO.UPK(projectId, datatableId))
-                                .content(distData)
-                                .build();
-                        reportRepository.save(reportDO);
-                        break;
-                    case READ_DATA:
-                        // find this input id mack which task and use task output to judge
-                        String inputId = taskDO.getGraphNode().getInputs().get(0);
-                        String graphNodeId = inputId;
-                        int i = graphNodeId.lastIndexOf("-");
-                        graphNodeId = graphNodeId.substring(0, i);
-                        i = graphNodeId.lastIndexOf("-");
-                        graphNodeId = graphNodeId.substring(0, i);
-                        LOGGER.debug("-- inputId {} graphNodeId {}", inputId, graphNodeId);
-                        Optional<ProjectTaskDO> projectTaskDOOptional = taskRepository.findLatestTasks(projectId, graphNodeId);
-                        if (projectTaskDOOptional.isEmpty()) {
-                            throw SecretpadException.of(DatatableErrorCode.DATATABLE_NOT_EXISTS);
-                        }
-                        String taskId = projectTaskDOOptional.get().getUpk().getJobId();
-                        String taskOutputId = genTaskOutputId(taskId, inputId);
-
-                        ProjectReadDataDO projectReadDataDO = readDataRepository.findByProjectIdAndOutputIdLaste(projectId, taskOutputId);
-                        LOGGER.debug("readDataOptional aleady exist {} ", ObjectUtils.isEmpty(projectReadDataDO));
-                        String raw = ObjectUtils.isEmpty(projectReadDataDO) ? null : projectReadDataDO.getRaw();
-                        LOGGER.debug("projectReadDataDO.raw is {}", raw);
-                        ProjectReadDataDO readDataDO;
-                        Gson gson = new Gson();
-                        JsonElement jsonElement = gson.fromJson(distData, JsonElement.class);
-                        distData = gson.toJson(jsonElement.getAsJsonObject().getAsJsonObject("meta"));
-
-                        String modelHash = jsonElement.getAsJsonObject().getAsJsonObject("meta").get("modelHash").getAsString();
-                        String outPutId = taskDO.getUpk().getTaskId().substring(0, 4);
-                        LOGGER.debug("read modelHash  {} task {} graphNodeId {} datatableId {}", modelHash, outPutId, taskDO.getGraphNodeId(), datatableId);
-
-                        JsonArray jsonArray = new JsonArray();
-                        if (ObjectUtils.isEmpty(projectReadDataDO)) {
-                            jsonArray.add(distData);
-                            jsonArray.add(distData);
-                            readDataDO = ProjectReadDataDO.builder()
-                                    .upk(new ProjectReadDataDO.UPK(projectId, datatableId))
-                                    .content(gson.toJson(jsonArray))
-                                    .raw(distData)
-                                    .hash(modelHash)
-                                    .task(outPutId)
-                                    .grapNodeId(taskDO.getGraphNodeId())
-                                    .outputId(taskOutputId)
-                                    .build();
-                        } else {
-                            jsonArray.add(projectReadDataDO.getRaw());
-                            jsonArray.add(distData);
-                            LOGGER.debug("disData is :{}", distData);
-                            LOGGER.debug("raw is {}", projectReadDataDO.getRaw());
-                            readDataDO = ProjectReadDataDO.builder()
-                                    .upk(new ProjectReadDataDO.UPK(projectId, datatableId))
-                                    .content(gson.toJson(jsonArray))
-                                    .raw(projectReadDataDO.getRaw())
-                                    .hash(modelHash)
-                                    .task(outPutId)
-                                    .grapNodeId(taskDO.getGraphNodeId())
-                                    .outputId(taskOutputId)
-                                    .build();
-                            readDataDO.setContent(gson.toJson(jsonArray));
-                        }
+        }
+        return nodeDatatableIds;
+    }
+
+    private static String resultDomainDataId(ProjectTaskDO taskDO, String output) {
+        return String.format("%s-%s", taskDO.getUpk().getJobId(), output);
+    }
+
+    /**
+     * The node whose kuscia answers domain data queries for the task parties
+     *
+     * @param parties task parties
+     * @return target node id
+     */
+    private String searchTargetNodeId(List<String> parties) {
+        List<String> clone = new ArrayList<>(parties);
+        clone.retainAll(P2pDataSyncProducerTemplate.nodeIds);
+        if (!clone.isEmpty()) {
+            return clone.get(0);
+        } else {
+            return this.nodeId;
+        }
+    }
+
+    private void collectResult(ResultBatch batch, ProjectTaskDO taskDO, DatatableDTO.NodeDatatableId key, DatatableDTO val) {
+        List<String> parties = taskDO.getParties();
+        String type = val.getType();
+        String nodeId = key.getNodeId();
+        String datatableId = val.getDatatableId();
+        LOGGER.info("resolve {}", datatableId);
+        ResultKind resultKind = ResultKind.fromDatatable(type);
+        if (resultKind == null) {
+            throw SecretpadException.of(DatatableErrorCode.UNSUPPORTED_DATATABLE_TYPE, type);
+        }
+        LOGGER.info("nodeDatatableIds type: {}", resultKind);
+        ProjectTaskDO.UPK taskUpk = taskDO.getUpk();
+        String projectId = taskUpk.getProjectId();
+        batch.results.add(ProjectResultDO.builder()
+                .upk(new ProjectResultDO.UPK(projectId, resultKind, val.getNodeId(), datatableId))
+                .taskId(taskUpk.getTaskId())
+                .jobId(taskUpk.getJobId())
+                .build());
+
+        Map<String, String> attributes = val.getAttributes();
+        String distData = null;
+        if (!CollectionUtils.isEmpty(attributes) && attributes.containsKey(DIST_DATA)) {
+            distData = attributes.get(DIST_DATA);
+        }
+        switch (resultKind) {
+            case FedTable:
+                List<ProjectFedTableDO.JoinItem> joins = parties.stream().map(party -> new ProjectFedTableDO.JoinItem(party, datatableId)).collect(Collectors.toList());
+                List<DatatableDTO.TableColumnDTO> schema = CollectionUtils.isEmpty(val.getSchema()) ? parse(distData) : val.getSchema();
+                batch.datatables.add(ProjectDatatableDO.builder()
+                        .upk(new ProjectDatatableDO.UPK(projectId, nodeId, datatableId))
+                        .source(ProjectDatatableDO.ProjectDatatableSource.CREATED)
+                        .tableConfig(DatatableDTO.toTableConfig(schema))
+                        .build());
+                batch.fedTables.add(ProjectFedTableDO.builder()
+                        .upk(new ProjectFedTableDO.UPK(projectId, datatableId))
+                        .joins(joins)
+                        .build());
+                break;
+            case Rule:
+                batch.rules.add(ProjectRuleDO.builder()
+                        .upk(new ProjectRuleDO.UPK(projectId, datatableId))
+                        .build());
+                break;
+            case Model:
+                batch.models.add(ProjectModelDO.builder()
+                        .upk(new ProjectModelDO.UPK(projectId, datatableId))
+                        .build());
+                break;
+            case Report:
+                batch.reports.add(ProjectReportDO.builder()
+                        .upk(new ProjectReportDO.UPK(projectId, datatableId))
+                        .content(distData)
+                        .build());
+                break;
+            case READ_DATA:
+                batch.readData.add(buildReadData(taskDO, projectId, datatableId, distData));
+                break;
+            default:
+                throw SecretpadException.of(DatatableErrorCode.UNSUPPORTED_DATATABLE_TYPE);
+        }
+    }
+
+    private ProjectReadDataDO buildReadData(ProjectTaskDO taskDO, String projectId, String datatableId, String distData) {
+        // find this input id mack which task and use task output to judge
+        String inputId = taskDO.getGraphNode().getInputs().get(0);
+        String graphNodeId = inputId;
+        int i = graphNodeId.lastIndexOf("-");
+        graphNodeId = graphNodeId.substring(0, i);
+        i = graphNodeId.lastIndexOf("-");
+        graphNodeId = graphNodeId.substring(0, i);
+        LOGGER.debug("-- inputId {} graphNodeId {}", inputId, graphNodeId);
+        Optional<ProjectTaskDO> projectTaskDOOptional = taskRepository.findLatestTasks(projectId, graphNodeId);
+        if (projectTaskDOOptional.isEmpty()) {
+            throw SecretpadException.of(DatatableErrorCode.DATATABLE_NOT_EXISTS);
+        }
+        String taskId = projectTaskDOOptional.get().getUpk().getJobId();
+        String taskOutputId = genTaskOutputId(taskId, inputId);
+
+        ProjectReadDataDO projectReadDataDO = readDataRepository.findByProjectIdAndOutputIdLaste(projectId, taskOutputId);
+        LOGGER.debug("readDataOptional aleady exist {} ", ObjectUtils.isEmpty(projectReadDataDO));
+        String raw = ObjectUtils.isEmpty(projectReadDataDO) ? null : projectReadDataDO.getRaw();
+        LOGGER.debug("projectReadDataDO.raw is {}", raw);
+        ProjectReadDataDO readDataDO;
+        Gson gson = new Gson();
+        JsonElement jsonElement = gson.fromJson(distData, JsonElement.class);
+        distData = gson.toJson(jsonElement.getAsJsonObject().getAsJsonObject("meta"));
+
+        String modelHash = jsonElement.getAsJsonObject().getAsJsonObject("meta").get("modelHash").getAsString();
+        String outPutId = taskDO.getUpk().getTaskId().substring(0, 4);
+        LOGGER.debug("read modelHash  {} task {} graphNodeId {} datatableId {}", modelHash, outPutId, taskDO.getGraphNodeId(), datatableId);
+
+        JsonArray jsonArray = new JsonArray();
+        if (ObjectUtils.isEmpty(projectReadDataDO)) {
+            jsonArray.add(distData);
+            jsonArray.add(distData);
+            readDataDO = ProjectReadDataDO.builder()
+                    .upk(new ProjectReadDataDO.UPK(projectId, datatableId))
+                    .content(gson.toJson(jsonArray))
+                    .raw(distData)
+                    .hash(modelHash)
+                    .task(outPutId)
+                    .grapNodeId(taskDO.getGraphNodeId())
+                    .outputId(taskOutputId)
+                    .build();
+        } else {
+            jsonArray.add(projectReadDataDO.getRaw());
+            jsonArray.add(distData);
+            LOGGER.debug("disData is :{}", distData);
+            LOGGER.debug("raw is {}", projectReadDataDO.getRaw());
+            readDataDO = ProjectReadDataDO.builder()
+                    .upk(new ProjectReadDataDO.UPK(projectId, datatableId))
+                    .content(gson.toJson(jsonArray))
+                    .raw(projectReadDataDO.getRaw())
+                    .hash(modelHash)
+                    .task(outPutId)
+                    .grapNodeId(taskDO.getGraphNodeId())
+                    .outputId(taskOutputId)
+                    .build();
+            readDataDO.setContent(gson.toJson(jsonArray));
+        }
+        return readDataDO;
+    }
 
-                        readDataRepository.save(readDataDO);
-                        break;
-                    default:
-                        throw SecretpadException.of(DatatableErrorCode.UNSUPPORTED_DATATABLE_TYPE);
+    /**
+     * Result rows of one job collected before they are written together
+     * <p>
+     * Rows already stored are loaded with one query per table and merged, the others are persisted as plain inserts
+     * so hibernate batches them instead of selecting each assigned id before its insert.
+     */
+    private class ResultBatch {
+        private final List<ProjectResultDO> results = new ArrayList<>();
+        private final List<ProjectDatatableDO> datatables = new ArrayList<>();
+        private final List<ProjectFedTableDO> fedTables = new ArrayList<>();
+        private final List<ProjectRuleDO> rules = new ArrayList<>();
+        private final List<ProjectModelDO> models = new ArrayList<>();
+        private final List<ProjectReportDO> reports = new ArrayList<>();
+        private final List<ProjectReadDataDO> readData = new ArrayList<>();
+
+        private void saveAll() {
+            persistAll(ProjectResultDO.class, results, ProjectResultDO::getUpk);
+            persistAll(ProjectDatatableDO.class, datatables, ProjectDatatableDO::getUpk);
+            persistAll(ProjectFedTableDO.class, fedTables, ProjectFedTableDO::getUpk);
+            persistAll(ProjectRuleDO.class, rules, ProjectRuleDO::getUpk);
+            persistAll(ProjectModelDO.class, models, ProjectModelDO::getUpk);
+            persistAll(ProjectReportDO.class, reports, ProjectReportDO::getUpk);
+            persistAll(ProjectReadDataDO.class, readData, ProjectReadDataDO::getUpk);
+        }
+
+        private <T, K> void persistAll(Class<T> entityClass, List<T> rows, Function<T, K> upkOf) {
+            if (rows.isEmpty()) {
+                return;
+            }
+            // the last row of a key wins, as it did when every row was merged in turn
+            Map<K, T> rowsByUpk = new LinkedHashMap<>();
+            rows.forEach(row -> rowsByUpk.put(upkOf.apply(row), row));
+            String entityName = entityManager.getMetamodel().entity(entityClass).getName();
+            Set<K> stored = entityManager.createQuery("select e from " + entityName + " e where e.upk in :upks", entityClass)
+                    .setParameter("upks", rowsByUpk.keySet())
+                    .getResultStream()
+                    .map(upkOf)
+                    .collect(Collectors.toSet());
+            rowsByUpk.forEach((upk, row) -> {
+                if (stored.contains(upk)) {
+                    entityManager.merge(row);
+                } else {
+                    entityManager.persist(row);
                 }
             });
         }
@@ -544,6 +653,7 @@ public class JobManager extends AbstractJobManager {
                 }
                 LOGGER.info("watched jobEvent: each job status");
                 Map<String, Job.TaskStatus> map = new HashMap<>();
+                List<ProjectTaskDO> syncTasks = new ArrayList<>();
                 kusciaJobStatus.getTasksList().forEach(kusciaTaskStatus -> {
                             LOGGER.info("watched jobEvent: kuscia status {}", kusciaTaskStatus.toString());
                             String rawTaskId = kusciaTaskStatus.getAlias();
@@ -563,9 +673,10 @@ public class JobManager extends AbstractJobManager {
                             task.setStatus(GraphNodeTaskStatus.formKusciaTaskStatus(kusciaTaskStatus.getState()));
                             task.setErrMsg(kusciaTaskStatus.getErrMsg());
                             task.setExtraInfo(mergeExtraInfo(kusciaTaskStatus, task.getExtraInfo()));
-                            syncResult(task);
+                            syncTasks.add(task);
                         }
                 );
+                syncResults(syncTasks);
                 return projectJob;
             default:
                 LOGGER.error("job sync find unknown type {}", it.getType());
@@ -729,67 +840,103 @@ public class JobManager extends AbstractJobManager {
     }
 
     /**
-     * sync model export job
+     * sync model export job, the model pack is registered when the job succeeded
      *
      * @param it event
      * @return whether success
      */
     private boolean syncModelExportJob(Job.WatchJobEventResponse it) {
         String jobId = it.getObject().getJobId();
-        Cache cache = Objects.requireNonNull(cacheManager.getCache(CacheConstants.MODEL_EXPORT_CACHE), "ERROR " + CacheConstants.MODEL_EXPORT_CACHE + "is null");
-        Cache.ValueWrapper valueWrapper = cache.get(jobId);
-        if (ObjectUtils.isEmpty(valueWrapper)) {
+        Optional<ModelExportJobDO> modelExportJobOpt = modelExportJobRepository.findById(jobId);
+        if (modelExportJobOpt.isEmpty()) {
             return false;
         }
         LOGGER.info("watched jobEvent: sync model export job: it={}", ProtoUtils.toJsonString(it));
-        Object o = valueWrapper.get();
-        if (ObjectUtils.isNotEmpty(o)) {
-            ModelExportDTO modelExportDTO = JsonUtils.toJavaObject(String.valueOf(o), ModelExportDTO.class);
-            switch (it.getType()) {
-                case ADDED, MODIFIED -> {
-                    LOGGER.info("watched jobEvent: update model export job: it={}", ProtoUtils.toJsonString(it));
-                    Job.JobStatusDetail kusciaJobStatus = it.getObject().getStatus();
-                    if (!(isFinishedState(it.getObject().getStatus().getState()) && Strings.isNullOrEmpty(it.getObject().getStatus().getEndTime()))) {
-                        modelExportDTO.setStatus(GraphNodeTaskStatus.formKusciaTaskStatus(kusciaJobStatus.getTasks(0).getState()));
-                        modelExportDTO.setErrMsg(kusciaJobStatus.getTasks(0).getErrMsg());
-                    }
+        ModelExportJobDO modelExportJobDO = modelExportJobOpt.get();
+        switch (it.getType()) {
+            case ADDED, MODIFIED -> {
+                Job.JobStatusDetail kusciaJobStatus = it.getObject().getStatus();
+                if (kusciaJobStatus.getTasksCount() == 0
+                        || (isFinishedState(kusciaJobStatus.getState()) && Strings.isNullOrEmpty(kusciaJobStatus.getEndTime()))) {
+                    return true;
                 }
+                GraphNodeTaskStatus status = GraphNodeTaskStatus.formKusciaTaskStatus(kusciaJobStatus.getTasks(0).getState());
+                String errMsg = kusciaJobStatus.getTasks(0).getErrMsg();
+                if (status == modelExportJobDO.getStatus() && Objects.equals(errMsg, modelExportJobDO.getErrMsg())) {
+                    return true;
+                }
+                LOGGER.info("watched jobEvent: update model export job: jobId={}, status={}", jobId, status);
+                modelExportJobDO.setStatus(status);
+                modelExportJobDO.setErrMsg(errMsg);
+                modelExportJobDO.setGmtModified(LocalDateTime.now(ZoneOffset.UTC));
+                ModelExportDTO modelExportDTO = ModelExportDTO.fromModelExportJob(modelExportJobDO);
+                transactionTemplate.executeWithoutResult(transactionStatus -> {
+                    modelExportJobRepository.save(modelExportJobDO);
+                    if (status == GraphNodeTaskStatus.SUCCEED) {
+                        projectModelPackRepository.save(ModelExportDTO.of(modelExportDTO));
+                    }
+                    applicationEventPublisher.publishEvent(new ModelExportJobChangedEvent(this, modelExportDTO));
+                });
+            }
+            default -> {
             }
-            Objects.requireNonNull(cacheManager.getCache(CacheConstants.MODEL_EXPORT_CACHE)).put(modelExportDTO.getJobId(), JsonUtils.toString(modelExportDTO));
-            return true;
         }
-        return false;
+        return true;
     }
 
-    private void createDomainGrantByUnion(ProjectTaskDO taskDO, String domainDataId) {
-        String codeName = taskDO.getGraphNode().getCodeName();
-        if (!DATA_PREP_UNION.equalsIgnoreCase(codeName) && !DATA_FILTER_EXPR_CONDITION_FILTER.equalsIgnoreCase(codeName)
-                && !DATA_FILTER_SAMPLE.equalsIgnoreCase(codeName)
-        ) {
-            return;
-        }
-        // Only one node and a union need to create a domain grant
-        // Table synchronization is only required when sample tables are merged, and kuscia will complete the union tables
-        if (taskDO.getParties().size() != 1) {
-            return;
-        }
-        String projectId = taskDO.getUpk().getProjectId();
-        List<String> nodeIdList;
-        List<ProjectNodeDO> projectNodeDOList = projectNodeRepository.findByProjectId(projectId);
-        if (!CollectionUtils.isEmpty(projectNodeDOList)) {
-            nodeIdList = projectNodeDOList.stream().map(ProjectNodeDO::getUpk)
-                    .map(ProjectNodeDO.UPK::getNodeId).filter(nodeId -> !taskDO.getParties().contains(nodeId)).toList();
-            if (!CollectionUtils.isEmpty(nodeIdList)) {
-                nodeIdList.forEach(nodeId -> {
-                    LOGGER.info("checkOrCreateDomainDataGrant: nodeId = {}, grantNodeId = {}, domainDataId = {}", taskDO.getParties().get(0), nodeId, domainDataId);
-                    checkOrCreateDomainDataGrant(taskDO.getParties().get(0), nodeId, domainDataId);
-                });
+    /**
+     * Create the domain data grants of union tasks, grouped per peer
+     * project nodes are loaded once per project and the grant sync wait is paid once for the whole batch
+     *
+     * @param tasks succeeded tasks of one job
+     */
+    private void createDomainGrantsByUnion(List<ProjectTaskDO> tasks) {
+        Map<String, List<String>> projectNodeIds = new HashMap<>();
+        boolean attempted = false;
+        for (ProjectTaskDO taskDO : tasks) {
+            String codeName = taskDO.getGraphNode().getCodeName();
+            if (!DATA_PREP_UNION.equalsIgnoreCase(codeName) && !DATA_FILTER_EXPR_CONDITION_FILTER.equalsIgnoreCase(codeName)
+                    && !DATA_FILTER_SAMPLE.equalsIgnoreCase(codeName)
+            ) {
+                continue;
+            }
+            // Only one node and a union need to create a domain grant
+            // Table synchronization is only required when sample tables are merged, and kuscia will complete the union tables
+            List<String> outputs = taskDO.getGraphNode().getOutputs();
+            if (taskDO.getParties().size() != 1 || CollectionUtils.isEmpty(outputs)) {
+                continue;
+            }
+            String ownerNodeId = taskDO.getParties().get(0);
+            List<String> nodeIdList = projectNodeIds.computeIfAbsent(taskDO.getUpk().getProjectId(), projectId ->
+                    projectNodeRepository.findByProjectId(projectId).stream().map(ProjectNodeDO::getUpk)
+                            .map(ProjectNodeDO.UPK::getNodeId).toList());
+            for (String grantNodeId : nodeIdList) {
+                if (taskDO.getParties().contains(grantNodeId)) {
+                    continue;
+                }
+                for (String output : outputs) {
+                    String domainDataId = resultDomainDataId(taskDO, output);
+                    LOGGER.info("checkOrCreateDomainDataGrant: nodeId = {}, grantNodeId = {}, domainDataId = {}", ownerNodeId, grantNodeId, domainDataId);
+                    createDomainDataGrant(ownerNodeId, grantNodeId, domainDataId);
+                    attempted = true;
+                }
             }
         }
+        if (attempted) {
+            awaitDomainDataGrantSync();
+        }
     }
 
 
     public boolean checkOrCreateDomainDataGrant(String nodeId, String grantNodeId, String domainDataId) {
+        try {
+            return createDomainDataGrant(nodeId, grantNodeId, domainDataId);
+        } finally {
+            awaitDomainDataGrantSync();
+        }
+    }
+
+    private boolean createDomainDataGrant(String nodeId, String grantNodeId, String domainDataId) {
         // kuscia Each namespace needs to ensure that domainDataId and domainDataGrantId are unique.
         String domainDataGrantId = domainDataId + "-" + grantNodeId;
         try {
@@ -805,17 +952,19 @@ public class JobManager extends AbstractJobManager {
             }
         } catch (Exception ex) {
             LOGGER.error("create domain data grant failed, nodeId = {}, domainDataGrantId = {}", nodeId, domainDataId, ex);
-        } finally {
-            //TODO: Unilateral tasks, data synchronization time difference, currently simply blocking 800ms to improve success rate
-            try {
-                Thread.sleep(600);
-            } catch (InterruptedException e) {
-                LOGGER.error("create domain data grant failed, nodeId = {}, domainDataGrantId = {}", nodeId, domainDataId, e);
-            }
         }
         return false;
     }
 
+    private void awaitDomainDataGrantSync() {
+        //TODO: Unilateral tasks, data synchronization time difference, currently simply blocking 800ms to improve success rate
+        try {
+            Thread.sleep(600);
+        } catch (InterruptedException e) {
+            LOGGER.error("wait domain data grant sync interrupted", e);
+        }
+    }
+
     public List<DatatableDTO.TableColumnDTO> parse(String distData) {
         List<DatatableDTO.TableColumnDTO> schema = new ArrayList<>();
         try {
@@ -13,24 +13,24 @@
  * See the License for the specific language governing permissions and
  * limitations under the License.
  */
-package org.secretflow.secretpad.web.caching;
 
-import lombok.extern.slf4j.Slf4j;
-import org.ehcache.event.CacheEvent;
-import org.ehcache.event.CacheEventListener;
-import org.springframework.stereotype.Component;
+package org.secretflow.secretpad.manager.integration.job.event;
 
+import org.secretflow.secretpad.manager.integration.model.ModelExportDTO;
+
+import lombok.Getter;
+import org.springframework.context.ApplicationEvent;
 
 /**
- * @author yutu
- * @date 2024/01/24
+ * Model export job status changed event, published by the kuscia job watch
  */
-@Slf4j
-@Component
-public class ModelExportCacheEventLogger implements CacheEventListener<Object, Object> {
-    @Override
-    public void onEvent(CacheEvent cacheEvent) {
-        log.info("Cache event = {}, Key = {},  Old value = {}, New value = {}", cacheEvent.getType(),
-                cacheEvent.getKey(), cacheEvent.getOldValue(), cacheEvent.getNewValue());
+public class ModelExportJobChangedEvent extends ApplicationEvent {
+
+    @Getter
+    private final ModelExportDTO modelExport;
+
+    public ModelExportJobChangedEvent(Object source, ModelExportDTO modelExport) {
+        super(source);
+        this.modelExport = modelExport;
     }
-}
\ No newline at end of file
+}
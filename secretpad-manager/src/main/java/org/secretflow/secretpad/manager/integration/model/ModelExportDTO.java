@@ -17,10 +17,13 @@
 package org.secretflow.secretpad.manager.integration.model;
 
 import org.secretflow.secretpad.common.enums.ModelStatsEnum;
+import org.secretflow.secretpad.common.util.JsonUtils;
+import org.secretflow.secretpad.persistence.entity.ModelExportJobDO;
 import org.secretflow.secretpad.persistence.entity.ProjectModelPackDO;
 import org.secretflow.secretpad.persistence.model.GraphNodeTaskStatus;
 import org.secretflow.secretpad.persistence.model.PartyDataSource;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import lombok.AllArgsConstructor;
@@ -30,7 +33,10 @@ import lombok.NoArgsConstructor;
 
 import java.io.Serial;
 import java.io.Serializable;
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
 
 /**
  * @author yutu
@@ -44,6 +50,12 @@ public class ModelExportDTO implements Serializable {
     @Serial
     private static final long serialVersionUID = 876598765L;
 
+    /**
+     * statuses after which the export job no longer changes
+     */
+    public static final Set<GraphNodeTaskStatus> FINISHED_STATUSES = Collections.unmodifiableSet(
+            EnumSet.of(GraphNodeTaskStatus.SUCCEED, GraphNodeTaskStatus.FAILED, GraphNodeTaskStatus.STOPPED));
+
     private String projectId;
 
     private String graphId;
@@ -92,4 +104,26 @@ public class ModelExportDTO implements Serializable {
                 .partyDataSources(modelExportDTO.getPartyDataSources())
                 .build();
     }
-}
\ No newline at end of file
+
+    public ModelExportJobDO toModelExportJob() {
+        return ModelExportJobDO.builder()
+                .jobId(jobId)
+                .projectId(projectId)
+                .status(status)
+                .errMsg(errMsg)
+                .exportInfo(JsonUtils.toJSONString(this))
+                .build();
+    }
+
+    public static ModelExportDTO fromModelExportJob(ModelExportJobDO modelExportJobDO) {
+        ModelExportDTO modelExportDTO = JsonUtils.toJavaObject(modelExportJobDO.getExportInfo(), ModelExportDTO.class);
+        modelExportDTO.setStatus(modelExportJobDO.getStatus());
+        modelExportDTO.setErrMsg(modelExportJobDO.getErrMsg());
+        return modelExportDTO;
+    }
+
+    @JsonIgnore
+    public boolean isFinished() {
+        return status != null && FINISHED_STATUSES.contains(status);
+    }
+}
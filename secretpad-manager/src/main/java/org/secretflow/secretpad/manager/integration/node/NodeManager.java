@@ -28,6 +28,7 @@ import org.secretflow.secretpad.manager.integration.model.*;
 import org.secretflow.secretpad.persistence.datasync.producer.p2p.P2pDataSyncProducerTemplate;
 import org.secretflow.secretpad.persistence.entity.*;
 import org.secretflow.secretpad.persistence.model.ParticipantNodeInstVO;
+import org.secretflow.secretpad.persistence.model.ResultKind;
 import org.secretflow.secretpad.persistence.repository.*;
 
 import com.google.common.collect.Lists;
@@ -41,6 +42,10 @@ import org.secretflow.v1alpha1.kusciaapi.Domaindata;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.CollectionUtils;
@@ -62,7 +67,6 @@ public class NodeManager extends AbstractNodeManager {
 
     private final static Logger LOGGER = LoggerFactory.getLogger(NodeManager.class);
     private final static String ASCENDING_SORT_RULE = "ascending";
-    private final static String DESCENDING_SORT_RULE = "descending";
     private final NodeRepository nodeRepository;
     private final NodeRouteRepository nodeRouteRepository;
     private final ProjectResultRepository projectResultRepository;
@@ -466,25 +470,27 @@ public class NodeManager extends AbstractNodeManager {
 
     @Override
     public NodeResultListDTO listResult(ListResultParam param) {
-        // find all node results from project result table first
-        LOGGER.info("Try select all project results in project_result table with node id = {}", param.getNodeId());
-        List<ProjectResultDO> allProjectResults = projectResultRepository.findByNodeId(param.getNodeId());
-        LOGGER.info("Filter project result with kind filter = {}", param.getKindFilters());
-        allProjectResults = filterByKind(allProjectResults, param.getKindFilters());
-        LOGGER.info("Querying the domain data map with every ref_id in all project results.");
-        //merge db like join
-        List<NodeResultDTO> nodeResultDTOS = allProjectResults.stream().map(this::mergeNodeResult).toList();
-
-        LOGGER.info("Filter node results with name filter = {}", param.getNameFilter());
-        nodeResultDTOS = filterByName(nodeResultDTOS, param.getNameFilter());
-        int totalNodeResultNums = nodeResultDTOS.size();
-        LOGGER.info("After filter, total node result nums = {}, now try to sort with the time sorting rule = {}", totalNodeResultNums, param.getTimeSortingRule());
-        nodeResultDTOS = new ArrayList<>(nodeResultDTOS);
-        sortNodeResults(nodeResultDTOS, param.getTimeSortingRule());
+        // filter, sort and page in project result table, only the rows of the requested page are merged
+        LOGGER.info("Try select project results in project_result table with node id = {}, kind filter = {}, name filter = {}, page = {}/{}",
+                param.getNodeId(), param.getKindFilters(), param.getNameFilter(), param.getPageNumber(), param.getPageSize());
+        List<ResultKind> kinds = resolveKinds(param.getKindFilters());
+        if (kinds.isEmpty()) {
+            return NodeResultListDTO.builder().nodeResultDTOList(new ArrayList<>()).totalResultNums(0).build();
+        }
+        // results without explicit rule are listed latest first, the order must be total so node pages can be merged
+        Sort.Direction direction = ASCENDING_SORT_RULE.equalsIgnoreCase(param.getTimeSortingRule()) ? Sort.Direction.ASC : Sort.Direction.DESC;
+        Sort sort = Sort.by(direction, "gmtCreate", "upk.refId");
+        int pageSize = Objects.isNull(param.getPageSize()) ? PageUtils.DEFAULT_PAGE_SIZE : param.getPageSize();
+        int pageNumber = Objects.isNull(param.getPageNumber()) ? PageUtils.DEFAULT_PAGE_NUM : param.getPageNumber();
+        Pageable pageable = PageRequest.of(pageNumber - 1, pageSize, sort);
+        String nameFilter = StringUtils.isEmpty(param.getNameFilter()) ? null : param.getNameFilter();
+        Page<ProjectResultDO> page = projectResultRepository.pageByNodeId(param.getNodeId(), kinds, nameFilter, pageable);
+        List<NodeResultDTO> nodeResultDTOS = page.getContent().stream().map(this::mergeNodeResult).toList();
+        LOGGER.info("After filter, total node result nums = {}, page size = {}", page.getTotalElements(), nodeResultDTOS.size());
 
         return NodeResultListDTO.builder()
                 .nodeResultDTOList(nodeResultDTOS)
-                .totalResultNums(totalNodeResultNums)
+                .totalResultNums((int) page.getTotalElements())
                 .build();
     }
 
@@ -828,48 +834,18 @@ public class NodeManager extends AbstractNodeManager {
     }
 
     /**
-     * Filter project result list by kind conditions
+     * Resolve the result kinds to query from the kind filters, all kinds when no filter is given
      *
-     * @param projectResultDOList projectResultDOList
-     * @param kindFilters         kindFilters
-     * @return filtered project result list
+     * @param kindFilters kindFilters
+     * @return result kinds matching the filters
      */
-    private List<ProjectResultDO> filterByKind(List<ProjectResultDO> projectResultDOList, List<String> kindFilters) {
+    private List<ResultKind> resolveKinds(List<String> kindFilters) {
         if (CollectionUtils.isEmpty(kindFilters)) {
-            return projectResultDOList;
-        }
-        return projectResultDOList.stream().filter(
-                it -> {
-                    for (String kindFilter : kindFilters) {
-                        if (it.getUpk().getKind().getName().equalsIgnoreCase(kindFilter)) {
-                            return true;
-                        }
-                    }
-                    return false;
-                }
-        ).collect(Collectors.toList());
-    }
-
-    /**
-     * Fuzzy filtering based on the name of the presentation, project and training flow
-     * Note that the filtering here, although called by name, is actually based on the domain data id
-     *
-     * @return node result list
-     */
-    private List<NodeResultDTO> filterByName(
-            List<NodeResultDTO> nodeResultDTOList,
-            String nameFilter
-    ) {
-        if (nameFilter == null || nameFilter.isEmpty()) {
-            return nodeResultDTOList;
+            return Arrays.asList(ResultKind.values());
         }
-        LOGGER.info("afy got name filter (actual id) {}", nameFilter);
-        return nodeResultDTOList.stream().filter(
-                it -> (it.getDomainDataId() != null && it.getDomainDataId().contains(nameFilter)) ||
-                        (it.getSourceProjectName() != null && it.getSourceProjectName().contains(nameFilter)) ||
-                        (it.getTrainFlow() != null && it.getTrainFlow().contains(nameFilter))
+        return Arrays.stream(ResultKind.values()).filter(
+                kind -> kindFilters.stream().anyMatch(kindFilter -> kind.getName().equalsIgnoreCase(kindFilter))
         ).collect(Collectors.toList());
-
     }
 
     /**
@@ -992,24 +968,6 @@ public class NodeManager extends AbstractNodeManager {
     }
 
 
-    /**
-     * Sort node results by timeSortingRule
-     *
-     * @param nodeResultDTOList
-     * @param timeSortingRule
-     */
-    private void sortNodeResults(List<NodeResultDTO> nodeResultDTOList, String timeSortingRule) {
-        if (ASCENDING_SORT_RULE.equalsIgnoreCase(timeSortingRule)) {
-            nodeResultDTOList.sort(
-                    (o1, o2) -> (int) (DateTimes.rfc3339ToLong(o1.getGmtCreate()) - DateTimes.rfc3339ToLong(o2.getGmtCreate()))
-            );
-        } else if (DESCENDING_SORT_RULE.equalsIgnoreCase(timeSortingRule)) {
-            nodeResultDTOList.sort(
-                    (o1, o2) -> (int) (DateTimes.rfc3339ToLong(o2.getGmtCreate()) - DateTimes.rfc3339ToLong(o1.getGmtCreate()))
-            );
-        }
-    }
-
     protected String genDomainId() {
         return UUIDUtils.random(8);
     }
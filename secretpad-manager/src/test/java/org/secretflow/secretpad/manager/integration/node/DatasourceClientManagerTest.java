@@ -0,0 +1,190 @@
+/*
+ * Copyright 2024 Ant Group Co., Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.secretflow.secretpad.manager.integration.node;
+
+import org.secretflow.secretpad.common.exception.SecretpadException;
+import org.secretflow.secretpad.manager.integration.datasource.DatasourceClientManager;
+import org.secretflow.secretpad.manager.integration.datasource.DatasourceClientProperties;
+import org.secretflow.secretpad.manager.integration.datasource.mysql.MysqlConfig;
+import org.secretflow.secretpad.manager.integration.datasource.mysql.MysqlManager;
+import org.secretflow.secretpad.manager.integration.datasource.oss.AwsOssConfig;
+import org.secretflow.secretpad.manager.integration.datasource.oss.OssAutoCloseableClient;
+
+import com.amazonaws.services.s3.AmazonS3;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.sql.Connection;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs the client manager against an embedded h2 database in place of mysql and a mocked s3 client in place of oss
+ */
+public class DatasourceClientManagerTest {
+
+    @Test
+    void mysqlPoolReusedAndTableCached() throws Exception {
+        StandInClientManager clientManager = new StandInClientManager(new DatasourceClientProperties());
+        MysqlManager mysqlManager = new MysqlManager(clientManager);
+        MysqlConfig mysqlConfig = MysqlConfig.builder()
+                .endpoint("localhost:3306")
+                .user("sa")
+                .password("")
+                .database("mysqlPoolReusedAndTableCached")
+                .build();
+
+        Assertions.assertTrue(mysqlManager.testConnection(mysqlConfig));
+        Assertions.assertTrue(mysqlManager.testConnection(mysqlConfig));
+        Assertions.assertEquals(1, clientManager.mysqlPools.get());
+
+        Assertions.assertFalse(mysqlManager.testTableExists(mysqlConfig, "PUBLIC", "ALICE_TABLE"));
+        execute(clientManager, mysqlConfig, "CREATE TABLE alice_table (id INT)");
+        Assertions.assertTrue(mysqlManager.testTableExists(mysqlConfig, "PUBLIC", "ALICE_TABLE"));
+
+        execute(clientManager, mysqlConfig, "DROP TABLE alice_table");
+        Assertions.assertTrue(mysqlManager.testTableExists(mysqlConfig, "PUBLIC", "ALICE_TABLE"));
+        clientManager.invalidateMetadata();
+        Assertions.assertFalse(mysqlManager.testTableExists(mysqlConfig, "PUBLIC", "ALICE_TABLE"));
+        clientManager.close();
+    }
+
+    @Test
+    void ossClientSharedWithinConcurrencyLimit() throws Exception {
+        DatasourceClientProperties properties = new DatasourceClientProperties();
+        properties.setMaxConcurrency(1);
+        properties.setAcquireTimeout(Duration.ofMillis(50));
+        StandInClientManager clientManager = new StandInClientManager(properties);
+        AwsOssConfig ossConfig = AwsOssConfig.builder().endpoint("endpoint").accessKeyId("ak").secretAccessKey("sk").build();
+
+        OssAutoCloseableClient first = clientManager.ossClient(ossConfig);
+        Assertions.assertThrows(SecretpadException.class, () -> clientManager.ossClient(ossConfig));
+        first.close();
+        try (OssAutoCloseableClient second = clientManager.ossClient(ossConfig)) {
+            Assertions.assertTrue(second.doesBucketExistV2("bucket"));
+        }
+        Assertions.assertEquals(1, clientManager.ossClients.get());
+        Mockito.verify(clientManager.s3("endpoint"), Mockito.never()).shutdown();
+
+        clientManager.close();
+        Mockito.verify(clientManager.s3("endpoint")).shutdown();
+    }
+
+    @Test
+    void evictedMysqlPoolClosedAfterLastConnection() throws Exception {
+        DatasourceClientProperties properties = new DatasourceClientProperties();
+        properties.setMaxDatasources(1);
+        StandInClientManager clientManager = new StandInClientManager(properties);
+        MysqlConfig alice = MysqlConfig.builder().endpoint("localhost:3306").user("sa").password("").database("alice").build();
+        MysqlConfig bob = MysqlConfig.builder().endpoint("localhost:3306").user("sa").password("").database("bob").build();
+
+        Connection connection = clientManager.mysqlConnection(alice);
+        execute(clientManager, bob, "SELECT 1");
+        Assertions.assertFalse(clientManager.pool("alice").isClosed());
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("SELECT 1");
+        }
+
+        connection.close();
+        connection.close();
+        Assertions.assertTrue(clientManager.pool("alice").isClosed());
+        Assertions.assertFalse(clientManager.pool("bob").isClosed());
+
+        execute(clientManager, alice, "SELECT 1");
+        Assertions.assertEquals(3, clientManager.mysqlPools.get());
+        clientManager.close();
+        Assertions.assertTrue(clientManager.pool("bob").isClosed());
+    }
+
+    @Test
+    void evictedOssClientShutDownAfterLastLease() {
+        DatasourceClientProperties properties = new DatasourceClientProperties();
+        properties.setMaxDatasources(1);
+        StandInClientManager clientManager = new StandInClientManager(properties);
+        AwsOssConfig alice = AwsOssConfig.builder().endpoint("alice").accessKeyId("ak").secretAccessKey("sk").build();
+        AwsOssConfig bob = AwsOssConfig.builder().endpoint("bob").accessKeyId("ak").secretAccessKey("sk").build();
+
+        OssAutoCloseableClient aliceClient = clientManager.ossClient(alice);
+        clientManager.ossClient(bob).close();
+        Mockito.verify(clientManager.s3("alice"), Mockito.never()).shutdown();
+        Assertions.assertTrue(aliceClient.doesBucketExistV2("bucket"));
+
+        aliceClient.close();
+        Mockito.verify(clientManager.s3("alice")).shutdown();
+        Mockito.verify(clientManager.s3("bob"), Mockito.never()).shutdown();
+
+        clientManager.close();
+        Mockito.verify(clientManager.s3("bob")).shutdown();
+    }
+
+    private static void execute(DatasourceClientManager clientManager, MysqlConfig mysqlConfig, String sql) throws Exception {
+        try (Connection connection = clientManager.mysqlConnection(mysqlConfig); Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+    private static class StandInClientManager extends DatasourceClientManager {
+
+        private final AtomicInteger mysqlPools = new AtomicInteger();
+
+        private final AtomicInteger ossClients = new AtomicInteger();
+
+        private final Map<String, HikariDataSource> pools = new ConcurrentHashMap<>();
+
+        private final Map<String, AmazonS3> s3Clients = new ConcurrentHashMap<>();
+
+        StandInClientManager(DatasourceClientProperties properties) {
+            super(properties);
+        }
+
+        HikariDataSource pool(String database) {
+            return pools.get(database);
+        }
+
+        AmazonS3 s3(String endpoint) {
+            return s3Clients.get(endpoint);
+        }
+
+        @Override
+        protected HikariDataSource newMysqlDataSource(MysqlConfig mysqlConfig) {
+            mysqlPools.incrementAndGet();
+            HikariConfig hikariConfig = new HikariConfig();
+            hikariConfig.setJdbcUrl("jdbc:h2:mem:" + mysqlConfig.getDatabase() + ";DB_CLOSE_DELAY=-1");
+            hikariConfig.setUsername(mysqlConfig.getUser());
+            hikariConfig.setPassword(mysqlConfig.getPassword());
+            hikariConfig.setMaximumPoolSize(2);
+            HikariDataSource dataSource = new HikariDataSource(hikariConfig);
+            pools.put(mysqlConfig.getDatabase(), dataSource);
+            return dataSource;
+        }
+
+        @Override
+        protected AmazonS3 newOssClient(AwsOssConfig ossConfig) {
+            ossClients.incrementAndGet();
+            AmazonS3 s3 = Mockito.mock(AmazonS3.class);
+            Mockito.when(s3.doesBucketExistV2("bucket")).thenReturn(true);
+            s3Clients.put(ossConfig.getEndpoint(), s3);
+            return s3;
+        }
+    }
+}
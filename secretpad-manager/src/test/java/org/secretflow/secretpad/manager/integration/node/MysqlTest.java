@@ -16,6 +16,8 @@
 
 package org.secretflow.secretpad.manager.integration.node;
 
+import org.secretflow.secretpad.manager.integration.datasource.DatasourceClientManager;
+import org.secretflow.secretpad.manager.integration.datasource.DatasourceClientProperties;
 import org.secretflow.secretpad.manager.integration.datasource.mysql.MysqlConfig;
 import org.secretflow.secretpad.manager.integration.datasource.mysql.MysqlManager;
 import org.junit.jupiter.api.Assertions;
@@ -29,7 +31,7 @@ public class MysqlTest {
 
     @Test
     void testMysqlBuild(){
-        MysqlManager mysqlManager = new MysqlManager();
+        MysqlManager mysqlManager = new MysqlManager(new DatasourceClientManager(new DatasourceClientProperties()));
         Assertions.assertThrows(IllegalArgumentException.class, () -> mysqlManager.testConnection(null));
         MysqlConfig mysqlConfig = MysqlConfig.builder()
                 .endpoint("localhost:3306")
@@ -17,6 +17,8 @@
 package org.secretflow.secretpad.manager.integration.node;
 
 import org.secretflow.secretpad.common.exception.SecretpadException;
+import org.secretflow.secretpad.manager.integration.datasource.DatasourceClientManager;
+import org.secretflow.secretpad.manager.integration.datasource.DatasourceClientProperties;
 import org.secretflow.secretpad.manager.integration.datasource.odps.OdpsConfig;
 import org.secretflow.secretpad.manager.integration.datasource.odps.OdpsManager;
 
@@ -33,7 +35,7 @@ public class OdpsTest {
 
     @Test
     void testOdpsBuild() {
-        OdpsManager odpsManager = new OdpsManager();
+        OdpsManager odpsManager = new OdpsManager(new DatasourceClientManager(new DatasourceClientProperties()));
 
         Assertions.assertThrows(IllegalArgumentException.class, () -> odpsManager.testConnection(null));
 
@@ -46,12 +46,16 @@ public class DataSourceConfig {
         return hikariDataSource;
     }
 
+    /**
+     * quartz holds at most one connection per worker thread plus a few for misfire and cluster management,
+     * override maximum-pool-size along with secretpad.quartz.thread-count
+     */
     @Bean(name = "quartzDataSource")
     @ConfigurationProperties("spring.datasource.quartz")
     public DataSource quartzDataSource() {
         HikariDataSource hikariDataSource = DataSourceBuilder.create().type(HikariDataSource.class).build();
-        hikariDataSource.setMaximumPoolSize(100);
-        hikariDataSource.setMinimumIdle(10);
+        hikariDataSource.setMaximumPoolSize(14);
+        hikariDataSource.setMinimumIdle(2);
         hikariDataSource.setConnectionTimeout(20000);
         hikariDataSource.setIdleTimeout(60000);
         return hikariDataSource;
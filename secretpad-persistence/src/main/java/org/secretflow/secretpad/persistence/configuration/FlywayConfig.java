@@ -65,6 +65,9 @@ public class FlywayConfig {
         Flyway flyway = Flyway.configure()
                 .dataSource(dataSource)
                 .locations(flywayProperties.getLocations().toArray(new String[size]))
+                // a separate history table and baseline version 0 let the quartz tables live in the primary database
+                .table(flywayProperties.getTable())
+                .baselineVersion(flywayProperties.getBaselineVersion())
                 .baselineOnMigrate(true)
                 .load();
         flyway.migrate();
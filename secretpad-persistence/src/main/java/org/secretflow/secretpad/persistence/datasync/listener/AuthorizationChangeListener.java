@@ -0,0 +1,59 @@
+/*
+ * Copyright 2024 Ant Group Co., Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.secretflow.secretpad.persistence.datasync.listener;
+
+import jakarta.annotation.Resource;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publishes an {@link AuthorizationChangedEvent} when an entity that authorization is resolved from changes,
+ * registered on the role, resource, user permission and project node entities
+ */
+@Slf4j
+@Component
+public class AuthorizationChangeListener {
+
+    @Resource
+    private ApplicationEventPublisher applicationEventPublisher;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onChange(Object entity) {
+        if (applicationEventPublisher == null) {
+            log.warn("applicationEventPublisher is null, authorization change of {} not published", entity.getClass().getSimpleName());
+            return;
+        }
+        applicationEventPublisher.publishEvent(new AuthorizationChangedEvent(entity));
+    }
+
+    /**
+     * Authorization source changed event, the source is the changed entity
+     */
+    public static class AuthorizationChangedEvent extends ApplicationEvent {
+
+        public AuthorizationChangedEvent(Object source) {
+            super(source);
+        }
+    }
+}
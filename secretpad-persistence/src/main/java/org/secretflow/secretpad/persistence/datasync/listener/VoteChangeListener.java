@@ -0,0 +1,74 @@
+/*
+ * Copyright 2024 Ant Group Co., Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.secretflow.secretpad.persistence.datasync.listener;
+
+import org.secretflow.secretpad.persistence.entity.VoteInviteDO;
+import org.secretflow.secretpad.persistence.entity.VoteRequestDO;
+
+import jakarta.annotation.Resource;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostUpdate;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publishes a {@link VoteChangedEvent} when a vote request or vote invite is written,
+ * whether by a local approval or by vote data synced from another node
+ */
+@Slf4j
+@Component
+public class VoteChangeListener {
+
+    @Resource
+    private ApplicationEventPublisher applicationEventPublisher;
+
+    @PostPersist
+    @PostUpdate
+    public void onChange(Object entity) {
+        String voteID = null;
+        if (entity instanceof VoteRequestDO voteRequestDO) {
+            voteID = voteRequestDO.getVoteID();
+        } else if (entity instanceof VoteInviteDO voteInviteDO && voteInviteDO.getUpk() != null) {
+            voteID = voteInviteDO.getUpk().getVoteID();
+        }
+        if (voteID == null) {
+            return;
+        }
+        if (applicationEventPublisher == null) {
+            log.warn("applicationEventPublisher is null, vote change of {} not published", voteID);
+            return;
+        }
+        applicationEventPublisher.publishEvent(new VoteChangedEvent(entity, voteID));
+    }
+
+    /**
+     * Vote changed event, the source is the changed entity
+     */
+    @Getter
+    public static class VoteChangedEvent extends ApplicationEvent {
+
+        private final String voteID;
+
+        public VoteChangedEvent(Object source, String voteID) {
+            super(source);
+            this.voteID = voteID;
+        }
+    }
+}
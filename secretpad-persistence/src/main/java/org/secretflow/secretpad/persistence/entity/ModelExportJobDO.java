@@ -0,0 +1,76 @@
+/*
+ * Copyright 2024 Ant Group Co., Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.secretflow.secretpad.persistence.entity;
+
+import org.secretflow.secretpad.persistence.converter.SqliteLocalDateTimeConverter;
+import org.secretflow.secretpad.persistence.model.GraphNodeTaskStatus;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * Model export job, the kuscia job packing a model, kept locally until the pack is registered
+ */
+@Getter
+@Setter
+@Entity
+@Table(name = "model_export_job")
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString
+public class ModelExportJobDO implements Serializable {
+    @Serial
+    private static final long serialVersionUID = 5180334279871552014L;
+
+    /**
+     * Kuscia job id
+     */
+    @Id
+    @Column(name = "job_id", nullable = false, length = 64)
+    private String jobId;
+
+    @Column(name = "project_id", nullable = false, length = 64)
+    private String projectId;
+
+    @Column(name = "status", nullable = false, length = 16)
+    @Enumerated(value = EnumType.STRING)
+    private GraphNodeTaskStatus status;
+
+    @Column(name = "err_msg", columnDefinition = "text")
+    private String errMsg;
+
+    /**
+     * Model export info in json, the model pack is built from it once the job succeeded
+     */
+    @Column(name = "export_info", nullable = false, columnDefinition = "text")
+    private String exportInfo;
+
+    @Column(name = "gmt_create", nullable = false, insertable = false, updatable = false)
+    private LocalDateTime gmtCreate;
+
+    /**
+     * Last status change in UTC, finished jobs are purged some time after it
+     */
+    @Column(name = "gmt_modified", nullable = false, insertable = false)
+    @Convert(converter = SqliteLocalDateTimeConverter.class)
+    private LocalDateTime gmtModified;
+}
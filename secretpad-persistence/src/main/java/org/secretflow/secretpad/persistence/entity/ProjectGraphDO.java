@@ -88,6 +88,13 @@ public class ProjectGraphDO extends BaseAggregationRoot<ProjectGraphDO> {
     @Column(name = "max_parallelism", nullable = false)
     private Integer maxParallelism;
 
+    /**
+     * Graph version, increased on every graph update
+     * the row is increased with a conditional update first, see ProjectGraphRepository#increaseVersion
+     */
+    @Column(name = "version")
+    private Long version;
+
     public void setNodes(List<ProjectGraphNodeDO> nodes) {
         if (this.nodes == null) {
             this.nodes = new ArrayList<>();
@@ -98,6 +105,15 @@ public class ProjectGraphDO extends BaseAggregationRoot<ProjectGraphDO> {
         }
     }
 
+    /**
+     * Current graph version, graphs created before versioning start from 0
+     *
+     * @return graph version
+     */
+    public long currentVersion() {
+        return version == null ? 0L : version;
+    }
+
     @Override
     public String getProjectId() {
         return this.upk.projectId;
@@ -20,6 +20,7 @@ import org.secretflow.secretpad.common.util.DateTimes;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.springframework.context.ApplicationEvent;
 import org.springframework.data.annotation.CreatedDate;
 
 import java.io.Serial;
@@ -174,4 +175,25 @@ public class ProjectJobTaskLogDO implements Serializable {
     public int hashCode() {
         return Objects.hash(id, projectId, jobId, taskId);
     }
+
+    /**
+     * Logs of a task were written, published by the task log listener once they are visible to readers
+     */
+    @Getter
+    public static class AppendedEvent extends ApplicationEvent {
+        /**
+         * Job id
+         */
+        private final String jobId;
+        /**
+         * Task id
+         */
+        private final String taskId;
+
+        public AppendedEvent(Object source, String jobId, String taskId) {
+            super(source);
+            this.jobId = jobId;
+            this.taskId = taskId;
+        }
+    }
 }
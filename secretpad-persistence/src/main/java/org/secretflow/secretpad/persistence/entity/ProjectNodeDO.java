@@ -16,10 +16,13 @@
 
 package org.secretflow.secretpad.persistence.entity;
 
+import org.secretflow.secretpad.persistence.datasync.listener.AuthorizationChangeListener;
+
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.Column;
 import jakarta.persistence.EmbeddedId;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.Table;
 import lombok.*;
 import org.hibernate.annotations.SQLDelete;
@@ -40,6 +43,7 @@ import java.util.List;
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
+@EntityListeners(AuthorizationChangeListener.class)
 @Table(name = "project_node")
 @SQLDelete(sql = "update project_node set is_deleted = 1 where node_id = ? and project_id = ?")
 @Where(clause = "is_deleted = 0")
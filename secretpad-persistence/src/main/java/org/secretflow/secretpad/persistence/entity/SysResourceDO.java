@@ -17,6 +17,7 @@
 package org.secretflow.secretpad.persistence.entity;
 
 import org.secretflow.secretpad.common.enums.ResourceTypeEnum;
+import org.secretflow.secretpad.persistence.datasync.listener.AuthorizationChangeListener;
 
 import jakarta.persistence.*;
 import lombok.*;
@@ -35,6 +36,7 @@ import org.hibernate.annotations.Where;
 @NoArgsConstructor
 @ToString
 @Entity
+@EntityListeners(AuthorizationChangeListener.class)
 @Table(name = "sys_resource")
 @SQLDelete(sql = "update sys_resource set is_deleted = 1 where id = ?")
 @Where(clause = "is_deleted = 0")
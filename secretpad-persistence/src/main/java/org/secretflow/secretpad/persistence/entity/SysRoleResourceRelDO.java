@@ -16,6 +16,8 @@
 
 package org.secretflow.secretpad.persistence.entity;
 
+import org.secretflow.secretpad.persistence.datasync.listener.AuthorizationChangeListener;
+
 import jakarta.persistence.*;
 import lombok.*;
 
@@ -33,6 +35,7 @@ import java.io.Serializable;
 @NoArgsConstructor
 @ToString
 @Entity
+@EntityListeners(AuthorizationChangeListener.class)
 @Table(name = "sys_role_resource_rel")
 public class SysRoleResourceRelDO extends SuperBaseAggregationRoot<SysRoleResourceRelDO> {
     /**
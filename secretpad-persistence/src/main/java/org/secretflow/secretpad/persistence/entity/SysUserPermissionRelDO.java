@@ -18,6 +18,7 @@ package org.secretflow.secretpad.persistence.entity;
 
 import org.secretflow.secretpad.common.enums.PermissionTargetTypeEnum;
 import org.secretflow.secretpad.common.enums.PermissionUserTypeEnum;
+import org.secretflow.secretpad.persistence.datasync.listener.AuthorizationChangeListener;
 
 import jakarta.persistence.*;
 import lombok.*;
@@ -36,6 +37,7 @@ import java.io.Serializable;
 @NoArgsConstructor
 @ToString
 @Entity
+@EntityListeners(AuthorizationChangeListener.class)
 @Table(name = "sys_user_permission_rel")
 public class SysUserPermissionRelDO extends SuperBaseAggregationRoot<SysUserPermissionRelDO> {
     @EmbeddedId
@@ -16,10 +16,13 @@
 
 package org.secretflow.secretpad.persistence.entity;
 
+import org.secretflow.secretpad.persistence.datasync.listener.VoteChangeListener;
+
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.Column;
 import jakarta.persistence.EmbeddedId;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.Table;
 import lombok.*;
 import org.hibernate.Hibernate;
@@ -42,6 +45,7 @@ import java.util.Objects;
 @NoArgsConstructor
 @Entity
 @Table(name = "vote_invite")
+@EntityListeners(VoteChangeListener.class)
 public class VoteInviteDO extends BaseAggregationRoot<VoteInviteDO> {
 
     /**
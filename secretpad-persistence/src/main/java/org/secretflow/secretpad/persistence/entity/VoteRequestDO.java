@@ -18,6 +18,7 @@ package org.secretflow.secretpad.persistence.entity;
 
 import org.secretflow.secretpad.persistence.converter.PartyVoteInfoSetJsonConverter;
 import org.secretflow.secretpad.persistence.converter.StringListJsonConverter;
+import org.secretflow.secretpad.persistence.datasync.listener.VoteChangeListener;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
@@ -44,6 +45,7 @@ import java.util.Set;
 @Setter
 @Entity
 @Table(name = "vote_request")
+@EntityListeners(VoteChangeListener.class)
 @ToString
 public class VoteRequestDO extends BaseAggregationRoot<VoteRequestDO> {
 
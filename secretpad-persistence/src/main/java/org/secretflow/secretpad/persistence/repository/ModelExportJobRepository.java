@@ -0,0 +1,46 @@
+/*
+ * Copyright 2024 Ant Group Co., Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.secretflow.secretpad.persistence.repository;
+
+import org.secretflow.secretpad.persistence.entity.ModelExportJobDO;
+
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+
+/**
+ * Model export job repository
+ */
+@Repository
+public interface ModelExportJobRepository extends BaseRepository<ModelExportJobDO, String> {
+
+    /**
+     * Delete model export jobs in the given statuses not modified since before
+     *
+     * @param statuses finished statuses
+     * @param before   gmt modified upper bound, yyyy-MM-dd HH:mm:ss in UTC
+     * @return deleted row count
+     */
+    @Modifying
+    @Transactional
+    @Query(nativeQuery = true, value = "delete from model_export_job where status in (:statuses) and gmt_modified < :before")
+    int deleteFinishedBefore(@Param("statuses") Collection<String> statuses, @Param("before") String before);
+}
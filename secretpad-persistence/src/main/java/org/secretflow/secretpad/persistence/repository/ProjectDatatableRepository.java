@@ -22,6 +22,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -51,6 +52,16 @@ public interface ProjectDatatableRepository extends BaseRepository<ProjectDatata
     @Query("from ProjectDatatableDO pd where pd.upk.projectId=:projectId and pd.upk.datatableId=:datatableId")
     List<ProjectDatatableDO> findByDatableId(@Param("projectId") String projectId, @Param("datatableId") String datatableId);
 
+    /**
+     * Query project datatable results by projectId and datatableIds
+     *
+     * @param projectId    target projectId
+     * @param datatableIds target datatableIds
+     * @return project datatable results
+     */
+    @Query("from ProjectDatatableDO pd where pd.upk.projectId=:projectId and pd.upk.datatableId in :datatableIds")
+    List<ProjectDatatableDO> findByDatableIds(@Param("projectId") String projectId, @Param("datatableIds") Collection<String> datatableIds);
+
     /**
      * Query project datatable unique primary key results by projectId and source
      *
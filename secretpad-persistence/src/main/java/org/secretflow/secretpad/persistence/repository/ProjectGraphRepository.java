@@ -18,9 +18,11 @@ package org.secretflow.secretpad.persistence.repository;
 
 import org.secretflow.secretpad.persistence.entity.ProjectGraphDO;
 
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -60,4 +62,40 @@ public interface ProjectGraphRepository extends BaseRepository<ProjectGraphDO, P
      */
     @Query("select count(*) from ProjectGraphDO pd where pd.upk.projectId=:projectId")
     Integer countByProjectId(@Param("projectId") String projectId);
-}
\ No newline at end of file
+
+    /**
+     * Increase the graph version if it still is the expected one, concurrent patches of one version update one row
+     *
+     * @param projectId target projectId
+     * @param graphId   target graphId
+     * @param version   expected current version
+     * @return updated row count, 0 when the graph version moved on
+     */
+    @Modifying
+    @Transactional
+    @Query(nativeQuery = true, value = "update project_graph set version = coalesce(version, 0) + 1 " +
+            "where project_id = :projectId and graph_id = :graphId and coalesce(version, 0) = :version")
+    int increaseVersion(@Param("projectId") String projectId, @Param("graphId") String graphId, @Param("version") long version);
+
+    /**
+     * Increase the graph version unconditionally, the row stays locked until the transaction ends
+     *
+     * @param projectId target projectId
+     * @param graphId   target graphId
+     * @return updated row count
+     */
+    @Modifying
+    @Transactional
+    @Query(nativeQuery = true, value = "update project_graph set version = coalesce(version, 0) + 1 where project_id = :projectId and graph_id = :graphId")
+    int increaseVersion(@Param("projectId") String projectId, @Param("graphId") String graphId);
+
+    /**
+     * Query the current graph version
+     *
+     * @param projectId target projectId
+     * @param graphId   target graphId
+     * @return graph version, 0 for graphs created before versioning
+     */
+    @Query(nativeQuery = true, value = "select coalesce(version, 0) from project_graph where project_id = :projectId and graph_id = :graphId")
+    long findVersion(@Param("projectId") String projectId, @Param("graphId") String graphId);
+}
@@ -31,6 +31,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -167,4 +168,56 @@ public interface ProjectJobRepository extends BaseRepository<ProjectJobDO, Proje
      */
     @Query(value = "select * from project_job where project_id=:projectId and graph_id=:graphId order by id desc limit 1", nativeQuery = true)
     Optional<ProjectJobDO> findLatestJob(@Param("projectId") String projectId, @Param("graphId") String graphId);
-}
\ No newline at end of file
+
+    /**
+     * Query finished job ids last modified before the given time, oldest first
+     * jobs holding the latest task of any graph node are kept, graph node status and outputs are read from them
+     *
+     * @param statuses finished job status names
+     * @param before   gmt modified upper bound, yyyy-MM-dd HH:mm:ss in UTC
+     * @param limit    max job ids returned
+     * @return job ids
+     */
+    @Query(nativeQuery = true, value = "select j.job_id from project_job j where j.is_deleted = 0 and j.status in (:statuses) and j.gmt_modified < :before " +
+            "and not exists (select 1 from project_job_task t where t.project_id = j.project_id and t.job_id = j.job_id " +
+            "and t.id = (select max(l.id) from project_job_task l where l.project_id = t.project_id and l.graph_node_id = t.graph_node_id)) " +
+            "order by j.id limit :limit")
+    List<String> findExpiredJobIds(@Param("statuses") Collection<String> statuses, @Param("before") String before, @Param("limit") int limit);
+
+    /**
+     * Query finished job ids beyond the newest keep jobs of each project, oldest first
+     * jobs holding the latest task of any graph node are kept, graph node status and outputs are read from them
+     *
+     * @param statuses finished job status names
+     * @param keep     jobs kept per project
+     * @param limit    max job ids returned
+     * @return job ids
+     */
+    @Query(nativeQuery = true, value = "select r.job_id from (select j.id, j.job_id, j.project_id, j.status, " +
+            "row_number() over (partition by j.project_id order by j.id desc) as rn from project_job j where j.is_deleted = 0) r " +
+            "where r.rn > :keep and r.status in (:statuses) " +
+            "and not exists (select 1 from project_job_task t where t.project_id = r.project_id and t.job_id = r.job_id " +
+            "and t.id = (select max(l.id) from project_job_task l where l.project_id = t.project_id and l.graph_node_id = t.graph_node_id)) " +
+            "order by r.id limit :limit")
+    List<String> findOverflowJobIds(@Param("statuses") Collection<String> statuses, @Param("keep") int keep, @Param("limit") int limit);
+
+    /**
+     * Query project job results by jobIds
+     *
+     * @param jobIds target jobId list
+     * @return project job results
+     */
+    @Query("from ProjectJobDO pj where pj.upk.jobId in :jobIds")
+    List<ProjectJobDO> findByJobIds(@Param("jobIds") Collection<String> jobIds);
+
+    /**
+     * Physically delete a job row, used when the job is archived
+     *
+     * @param projectId target projectId
+     * @param jobId     target jobId
+     */
+    @Query(nativeQuery = true, value = "delete from project_job where project_id=:projectId and job_id=:jobId")
+    @Modifying
+    @Transactional
+    void deleteAuthenticByJobId(@Param("projectId") String projectId, @Param("jobId") String jobId);
+}
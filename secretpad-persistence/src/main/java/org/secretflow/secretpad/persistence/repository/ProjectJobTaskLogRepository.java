@@ -18,9 +18,12 @@ package org.secretflow.secretpad.persistence.repository;
 
 import org.secretflow.secretpad.persistence.entity.ProjectJobTaskLogDO;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
@@ -31,7 +34,7 @@ import java.util.List;
  * @date 2023/5/31
  */
 @Repository
-public interface ProjectJobTaskLogRepository extends BaseRepository<ProjectJobTaskLogDO, String> {
+public interface ProjectJobTaskLogRepository extends BaseRepository<ProjectJobTaskLogDO, String>, ProjectJobTaskLogRepositoryCustom {
 
     /**
      * Query project job task log results by jobId and taskId
@@ -42,4 +45,49 @@ public interface ProjectJobTaskLogRepository extends BaseRepository<ProjectJobTa
      */
     @Query("from ProjectJobTaskLogDO d where d.jobId=:jobId and d.taskId=:taskId order by d.gmtCreate asc")
     List<ProjectJobTaskLogDO> findAllByJobTaskId(@Param("jobId") String jobId, @Param("taskId") String taskId);
+
+    /**
+     * Query one page of the logs of a task, the log id is the cursor
+     *
+     * @param jobId    target jobId
+     * @param taskId   target taskId
+     * @param afterId  last log id returned, logs with a greater id are returned
+     * @param pageable page size
+     * @return project job task log results in id order
+     */
+    @Query("from ProjectJobTaskLogDO d where d.jobId=:jobId and d.taskId=:taskId and d.id>:afterId order by d.id asc")
+    List<ProjectJobTaskLogDO> findLogsAfterId(@Param("jobId") String jobId, @Param("taskId") String taskId, @Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Whether a log of the task up to a log id matches the pattern and does not report a failure
+     *
+     * @param jobId   target jobId
+     * @param taskId  target taskId
+     * @param maxId   logs with an id not greater are checked
+     * @param pattern like pattern of the log
+     * @return whether such a log exists
+     */
+    @Query("select count(d) > 0 from ProjectJobTaskLogDO d where d.jobId=:jobId and d.taskId=:taskId and d.id<=:maxId and d.log like :pattern and d.log not like '%failed%'")
+    boolean existsLogUpTo(@Param("jobId") String jobId, @Param("taskId") String taskId, @Param("maxId") Long maxId, @Param("pattern") String pattern);
+
+    /**
+     * Query project job task log results by projectId and jobId
+     *
+     * @param projectId target projectId
+     * @param jobId     target jobId
+     * @return project job task log results
+     */
+    @Query("from ProjectJobTaskLogDO d where d.projectId=:projectId and d.jobId=:jobId order by d.id asc")
+    List<ProjectJobTaskLogDO> findAllByJobId(@Param("projectId") String projectId, @Param("jobId") String jobId);
+
+    /**
+     * Delete the task logs of a job, used when the job is archived
+     *
+     * @param projectId target projectId
+     * @param jobId     target jobId
+     */
+    @Query(nativeQuery = true, value = "delete from project_job_task_log where project_id=:projectId and job_id=:jobId")
+    @Modifying
+    @Transactional
+    void deleteByJobId(@Param("projectId") String projectId, @Param("jobId") String jobId);
 }
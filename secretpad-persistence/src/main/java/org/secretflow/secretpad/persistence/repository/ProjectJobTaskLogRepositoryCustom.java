@@ -0,0 +1,35 @@
+/*
+ * Copyright 2024 Ant Group Co., Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.secretflow.secretpad.persistence.repository;
+
+import org.secretflow.secretpad.persistence.entity.ProjectJobTaskLogDO;
+
+import java.util.Collection;
+
+/**
+ * Project job task log bulk write operations
+ */
+public interface ProjectJobTaskLogRepositoryCustom {
+
+    /**
+     * Insert task logs with one jdbc batch, joins the current transaction if any
+     * task logs are not synchronized to other nodes, so the entity lifecycle is skipped
+     *
+     * @param logs task logs
+     */
+    void insertAllInBatch(Collection<ProjectJobTaskLogDO> logs);
+}
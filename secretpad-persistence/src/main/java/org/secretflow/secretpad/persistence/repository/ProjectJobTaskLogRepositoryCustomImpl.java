@@ -0,0 +1,57 @@
+/*
+ * Copyright 2024 Ant Group Co., Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.secretflow.secretpad.persistence.repository;
+
+import org.secretflow.secretpad.persistence.entity.ProjectJobTaskLogDO;
+
+import jakarta.annotation.Resource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.util.CollectionUtils;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Collection;
+
+/**
+ * Project job task log bulk write operations implementation
+ */
+public class ProjectJobTaskLogRepositoryCustomImpl implements ProjectJobTaskLogRepositoryCustom {
+
+    private static final String INSERT_SQL = "insert into project_job_task_log (project_id, job_id, task_id, log, gmt_create) values (?, ?, ?, ?, ?)";
+
+    private static final DateTimeFormatter GMT_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    @Resource(name = "jdbcTemplate")
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void insertAllInBatch(Collection<ProjectJobTaskLogDO> logs) {
+        if (CollectionUtils.isEmpty(logs)) {
+            return;
+        }
+        // written in utc like the other gmt columns, the column default follows the database server zone
+        String gmtCreate = LocalDateTime.now(ZoneOffset.UTC).format(GMT_FORMATTER);
+        jdbcTemplate.batchUpdate(INSERT_SQL, logs, logs.size(), (ps, log) -> {
+            ps.setString(1, log.getProjectId());
+            ps.setString(2, log.getJobId());
+            ps.setString(3, log.getTaskId());
+            ps.setString(4, log.getLog());
+            ps.setString(5, gmtCreate);
+        });
+    }
+}
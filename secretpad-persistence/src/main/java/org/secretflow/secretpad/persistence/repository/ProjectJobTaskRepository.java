@@ -25,6 +25,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -46,6 +47,16 @@ public interface ProjectJobTaskRepository extends BaseRepository<ProjectTaskDO,
     @Query(value = "select t.* from project_job_task t join main.project_job j on t.job_id=j.job_id where t.project_id=:projectId and t.graph_node_id=:graphNodeId order by t.id desc limit 1", nativeQuery = true)
     Optional<ProjectTaskDO> findLatestTasks(@Param("projectId") String projectId, @Param("graphNodeId") String graphNodeId);
 
+    /**
+     * Query the latest project job task result of each graph node by projectId and graphNodeIds
+     *
+     * @param projectId    target projectId
+     * @param graphNodeIds target graphNodeIds
+     * @return the latest project job task results, at most one per graph node
+     */
+    @Query(value = "select * from project_job_task where id in (select max(t.id) from project_job_task t join main.project_job j on t.job_id=j.job_id where t.project_id=:projectId and t.graph_node_id in :graphNodeIds group by t.graph_node_id)", nativeQuery = true)
+    List<ProjectTaskDO> findLatestTasksByGraphNodeIds(@Param("projectId") String projectId, @Param("graphNodeIds") Collection<String> graphNodeIds);
+
     /**
      * Query the latest project job task result by projectId and graphNodeId
      *
@@ -79,4 +90,15 @@ public interface ProjectJobTaskRepository extends BaseRepository<ProjectTaskDO,
     @Modifying
     @Transactional
     void deleteAllAuthentic();
+
+    /**
+     * Physically delete the task rows of a job, used when the job is archived
+     *
+     * @param projectId target projectId
+     * @param jobId     target jobId
+     */
+    @Query(nativeQuery = true, value = "delete from project_job_task where project_id=:projectId and job_id=:jobId")
+    @Modifying
+    @Transactional
+    void deleteAuthenticByJobId(@Param("projectId") String projectId, @Param("jobId") String jobId);
 }
@@ -21,12 +21,15 @@ import org.secretflow.secretpad.persistence.entity.ProjectResultDO;
 import org.secretflow.secretpad.persistence.model.ResultKind;
 import org.secretflow.secretpad.persistence.projection.CountProjection;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -97,6 +100,23 @@ public interface ProjectResultRepository extends BaseRepository<ProjectResultDO,
     @Query("from ProjectResultDO d where d.upk.nodeId=:nodeId")
     List<ProjectResultDO> findByNodeId(@Param("nodeId") String nodeId);
 
+    /**
+     * Query one page of project results by nodeId, the filters are evaluated by the database
+     * nameFilter matches the refId, the source project name or the train flow name
+     *
+     * @param nodeId     target nodeId
+     * @param kinds      target result kinds
+     * @param nameFilter fuzzy name filter, null for all
+     * @param pageable   page request with sort
+     * @return page of project results
+     */
+    @Query("from ProjectResultDO d where d.upk.nodeId=:nodeId and d.upk.kind in :kinds " +
+            "and (:nameFilter is null or d.upk.refId like concat('%', :nameFilter, '%') " +
+            "or d.upk.projectId in (select p.projectId from ProjectDO p where p.name like concat('%', :nameFilter, '%')) " +
+            "or d.jobId in (select j.upk.jobId from ProjectJobDO j where j.name like concat('%', :nameFilter, '%')))")
+    Page<ProjectResultDO> pageByNodeId(@Param("nodeId") String nodeId, @Param("kinds") Collection<ResultKind> kinds,
+                                       @Param("nameFilter") String nameFilter, Pageable pageable);
+
     /**
      * Query project result Optional by nodeId and refId
      *
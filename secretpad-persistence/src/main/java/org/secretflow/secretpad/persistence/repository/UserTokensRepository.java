@@ -23,6 +23,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 /**
@@ -62,4 +63,14 @@ public interface UserTokensRepository extends BaseRepository<TokensDO, String> {
     @Transactional
     void deleteByName(@Param("name") String name);
 
+    /**
+     * Refresh the time when user uses token, the session data is left untouched
+     *
+     * @param token    user token
+     * @param gmtToken the time when user uses token
+     */
+    @Modifying
+    @Transactional
+    @Query("update TokensDO td set td.gmtToken=:gmtToken where td.token=:token")
+    void updateGmtToken(@Param("token") String token, @Param("gmtToken") LocalDateTime gmtToken);
 }
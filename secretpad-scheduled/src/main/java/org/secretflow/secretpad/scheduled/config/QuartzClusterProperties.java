@@ -0,0 +1,74 @@
+/*
+ * Copyright 2024 Ant Group Co., Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.secretflow.secretpad.scheduled.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Quartz scheduler tuning, clustered mode lets several center instances share one job store
+ */
+@ConfigurationProperties(prefix = "secretpad.quartz")
+@Getter
+@Setter
+public class QuartzClusterProperties {
+
+    /**
+     * Whether instances coordinate through row locks of the job store, spring.datasource.quartz must point at a database
+     * shared by all instances
+     */
+    private boolean clustered = false;
+
+    /**
+     * Worker threads of one instance, the quartz datasource pool should be a few connections larger
+     */
+    private int threadCount = 10;
+
+    /**
+     * Interval instances check in with the cluster, a silent instance is failed over after it
+     */
+    private Duration clusterCheckinInterval = Duration.ofSeconds(15);
+
+    /**
+     * Lateness a trigger is tolerated before it is handled as misfired
+     */
+    private Duration misfireThreshold = Duration.ofMinutes(1);
+
+    /**
+     * Triggers acquired in one lock round trip
+     */
+    private int batchTriggerAcquisitionMaxCount = 1;
+
+    /**
+     * Misfire handling of schedule triggers, applied to triggers registered afterwards
+     */
+    private MisfirePolicy misfirePolicy = MisfirePolicy.FIRE_ONCE_NOW;
+
+    public enum MisfirePolicy {
+        /**
+         * fire once as soon as possible, then continue with the cron
+         */
+        FIRE_ONCE_NOW,
+        /**
+         * skip the missed fire times and wait for the next one
+         */
+        DO_NOTHING
+    }
+}
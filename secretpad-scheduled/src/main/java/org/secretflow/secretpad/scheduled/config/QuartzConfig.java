@@ -18,29 +18,59 @@ package org.secretflow.secretpad.scheduled.config;
 
 import jakarta.annotation.Resource;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.quartz.QuartzProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.quartz.SchedulerFactoryBean;
 
 import javax.sql.DataSource;
 import java.io.IOException;
+import java.util.Properties;
 
 /**
  * @author yutu
  * @date 2024/08/23
  */
 @Configuration
+@EnableConfigurationProperties({QuartzProperties.class, QuartzClusterProperties.class})
 public class QuartzConfig {
 
     @Resource
     private SecretPadBeanJobFactory secretPadBeanJobFactory;
 
     @Bean
-    public SchedulerFactoryBean schedulerFactoryBean(@Qualifier("quartzDataSource") DataSource dataSource) throws IOException {
+    public SchedulerFactoryBean schedulerFactoryBean(@Qualifier("quartzDataSource") DataSource dataSource,
+                                                     QuartzProperties quartzProperties,
+                                                     QuartzClusterProperties clusterProperties) throws IOException {
         SchedulerFactoryBean factory = new SchedulerFactoryBean();
         factory.setDataSource(dataSource);
         factory.setJobFactory(secretPadBeanJobFactory);
+        factory.setQuartzProperties(buildQuartzProperties(quartzProperties, clusterProperties));
+        // let running jobs finish so that other instances do not recover them as failed
+        factory.setWaitForJobsToCompleteOnShutdown(clusterProperties.isClustered());
         return factory;
     }
 
-}
\ No newline at end of file
+    /**
+     * spring.quartz.properties first, then the settings derived from secretpad.quartz
+     */
+    public static Properties buildQuartzProperties(QuartzProperties quartzProperties, QuartzClusterProperties clusterProperties) {
+        Properties properties = new Properties();
+        properties.putAll(quartzProperties.getProperties());
+        properties.setProperty("org.quartz.threadPool.threadCount", String.valueOf(clusterProperties.getThreadCount()));
+        properties.setProperty("org.quartz.jobStore.misfireThreshold", String.valueOf(clusterProperties.getMisfireThreshold().toMillis()));
+        properties.setProperty("org.quartz.scheduler.batchTriggerAcquisitionMaxCount",
+                String.valueOf(clusterProperties.getBatchTriggerAcquisitionMaxCount()));
+        properties.setProperty("org.quartz.jobStore.isClustered", String.valueOf(clusterProperties.isClustered()));
+        if (clusterProperties.isClustered()) {
+            properties.setProperty("org.quartz.scheduler.instanceId", "AUTO");
+            properties.setProperty("org.quartz.jobStore.clusterCheckinInterval",
+                    String.valueOf(clusterProperties.getClusterCheckinInterval().toMillis()));
+            // trigger acquisition is serialized on the TRIGGER_ACCESS row lock, so no two instances fire the same trigger
+            properties.setProperty("org.quartz.jobStore.acquireTriggersWithinLock", "true");
+        }
+        return properties;
+    }
+
+}
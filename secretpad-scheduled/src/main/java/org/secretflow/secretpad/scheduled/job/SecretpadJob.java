@@ -18,15 +18,18 @@ package org.secretflow.secretpad.scheduled.job;
 
 import org.secretflow.secretpad.common.constant.ScheduledConstants;
 import org.secretflow.secretpad.common.enums.ScheduledStatus;
+import org.secretflow.secretpad.common.util.CronSchedule;
 import org.secretflow.secretpad.manager.integration.job.AbstractJobManager;
 import org.secretflow.secretpad.persistence.entity.ProjectScheduleTaskDO;
 import org.secretflow.secretpad.persistence.repository.ProjectScheduleTaskRepository;
 import org.secretflow.secretpad.scheduled.event.ScheduledJobStartEvent;
+import org.secretflow.secretpad.scheduled.service.ScheduledTaskMaterializer;
 
 import com.google.protobuf.InvalidProtocolBufferException;
 import jakarta.annotation.Resource;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.ObjectUtils;
+import org.quartz.DisallowConcurrentExecution;
 import org.quartz.JobDataMap;
 import org.quartz.JobExecutionContext;
 import org.secretflow.v1alpha1.kusciaapi.Job;
@@ -35,7 +38,9 @@ import org.springframework.scheduling.quartz.QuartzJobBean;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.Base64;
+import java.util.Date;
 
 /**
  * SecretpadJob
@@ -45,6 +50,7 @@ import java.util.Base64;
  */
 @Slf4j
 @Component
+@DisallowConcurrentExecution
 public class SecretpadJob extends QuartzJobBean {
 
     @Resource
@@ -56,6 +62,9 @@ public class SecretpadJob extends QuartzJobBean {
     @Resource
     private ProjectScheduleTaskRepository projectScheduleTaskRepository;
 
+    @Resource
+    private ScheduledTaskMaterializer scheduledTaskMaterializer;
+
     /**
      * Execute the actual job. The job data map will already have been
      * applied as bean property values by execute. The contract is
@@ -70,11 +79,24 @@ public class SecretpadJob extends QuartzJobBean {
         try {
             log.info("SecretpadJob execute group:{} args:{} trigger by :{}", context.getJobDetail().getKey().getGroup(), context.getJobDetail().getJobDataMap(), context.getTrigger().getJobDataMap());
             JobDataMap jobDataMap = context.getJobDetail().getJobDataMap();
-            o = (ProjectScheduleTaskDO) jobDataMap.get(ScheduledConstants.SCHEDULED_TASK_DAG_JOB_KEY);
-            if (o == null || !projectScheduleTaskRepository.existsById(o.getScheduleTaskId())) {
-                throw new RuntimeException("SecretpadJob execute data is null");
+            if (jobDataMap.containsKey(ScheduledConstants.SCHEDULED_SCHEDULE_ID_KEY)) {
+                // the cron slot is the identity of the schedule task, every trigger of the schedule shares the job
+                JobDataMap mergedJobDataMap = context.getMergedJobDataMap();
+                String cron = mergedJobDataMap.getString(ScheduledConstants.SCHEDULED_CRON_KEY);
+                LocalDateTime expectStartTime = cronSlot(context, cron);
+                o = scheduledTaskMaterializer.materialize(mergedJobDataMap.getString(ScheduledConstants.SCHEDULED_SCHEDULE_ID_KEY),
+                        cron, expectStartTime);
+                if (o == null) {
+                    log.info("SecretpadJob execute skip, schedule is not running, args:{}", jobDataMap);
+                    return;
+                }
+            } else {
+                o = (ProjectScheduleTaskDO) jobDataMap.get(ScheduledConstants.SCHEDULED_TASK_DAG_JOB_KEY);
+                if (o == null || !projectScheduleTaskRepository.existsById(o.getScheduleTaskId())) {
+                    throw new RuntimeException("SecretpadJob execute data is null");
+                }
+                o = projectScheduleTaskRepository.findById(o.getScheduleTaskId()).orElseThrow();
             }
-            o = projectScheduleTaskRepository.findById(o.getScheduleTaskId()).orElseThrow();
             if (o.getStatus() == ScheduledStatus.RUNNING
                     || o.getStatus() == ScheduledStatus.FAILED
                     || o.getStatus() == ScheduledStatus.SUCCEED
@@ -102,4 +124,21 @@ public class SecretpadJob extends QuartzJobBean {
         }
         applicationEventPublisher.publishEvent(new ScheduledJobStartEvent(this, context));
     }
+
+    /**
+     * The cron slot a fire belongs to, the latest cron time not after the scheduled fire time
+     * <p>
+     * A misfired trigger fires at the time it is recovered rather than at a cron time, its task is still the one of
+     * the last slot missed since the previous fire.
+     */
+    private static LocalDateTime cronSlot(JobExecutionContext context, String cron) {
+        ZoneId zoneId = ZoneId.systemDefault();
+        LocalDateTime fireTime = LocalDateTime.ofInstant(context.getScheduledFireTime().toInstant(), zoneId);
+        Date previous = context.getPreviousFireTime();
+        LocalDateTime after = previous != null
+                ? LocalDateTime.ofInstant(previous.toInstant(), zoneId)
+                : LocalDateTime.ofInstant(context.getTrigger().getStartTime().toInstant(), zoneId).minusSeconds(1);
+        LocalDateTime slot = CronSchedule.compile(cron).last(after, fireTime);
+        return slot == null ? fireTime : slot;
+    }
 }
\ No newline at end of file
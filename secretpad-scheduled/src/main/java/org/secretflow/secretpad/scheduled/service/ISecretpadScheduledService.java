@@ -16,18 +16,20 @@
 
 package org.secretflow.secretpad.scheduled.service;
 
-import org.secretflow.secretpad.persistence.entity.ProjectScheduleTaskDO;
 import org.secretflow.secretpad.scheduled.model.ScheduledIdRequest;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
 /**
  * @author yutu
  * @date 2024/08/21
  */
 public interface ISecretpadScheduledService {
     /**
-     * add scheduler
+     * add scheduler of a whole schedule as one job, schedule tasks are materialized when a trigger fires
      */
-    boolean addScheduler(String name, String group, ProjectScheduleTaskDO data, String cron);
+    boolean addScheduler(String scheduleId, List<String> crons, LocalDateTime startTime, LocalDateTime endTime);
 
     /**
      * pause scheduler
@@ -44,6 +46,11 @@ public interface ISecretpadScheduledService {
      */
     boolean resumeScheduler(String jobDetailName, String jobDetailGroup);
 
+    /**
+     * delete scheduler
+     */
+    boolean deleteScheduler(String jobDetailGroup);
+
     /**
      * build scheduler id
      */
@@ -0,0 +1,36 @@
+/*
+ * Copyright 2024 Ant Group Co., Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.secretflow.secretpad.scheduled.service;
+
+import org.secretflow.secretpad.persistence.entity.ProjectScheduleTaskDO;
+
+import java.time.LocalDateTime;
+
+/**
+ * Creates the schedule task of a fire time when the schedule fires
+ */
+public interface ScheduledTaskMaterializer {
+    /**
+     * materialize the schedule task of a fire time, the task is rendered only once per schedule and fire time
+     *
+     * @param scheduleId      schedule id
+     * @param cron            cron expression that fired
+     * @param expectStartTime cron slot of the fire, a misfired trigger still passes the slot it missed
+     * @return schedule task, null if the schedule no longer runs
+     */
+    ProjectScheduleTaskDO materialize(String scheduleId, String cron, LocalDateTime expectStartTime);
+}
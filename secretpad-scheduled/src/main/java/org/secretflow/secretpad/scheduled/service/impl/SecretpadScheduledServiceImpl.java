@@ -19,7 +19,7 @@ package org.secretflow.secretpad.scheduled.service.impl;
 import org.secretflow.secretpad.common.constant.ScheduledConstants;
 import org.secretflow.secretpad.common.util.DateTimes;
 import org.secretflow.secretpad.common.util.UUIDUtils;
-import org.secretflow.secretpad.persistence.entity.ProjectScheduleTaskDO;
+import org.secretflow.secretpad.scheduled.config.QuartzClusterProperties;
 import org.secretflow.secretpad.scheduled.job.SecretpadJob;
 import org.secretflow.secretpad.scheduled.model.ScheduledIdRequest;
 import org.secretflow.secretpad.scheduled.service.ISecretpadScheduledService;
@@ -33,8 +33,11 @@ import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
 import java.time.ZoneId;
-import java.time.ZonedDateTime;
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
 
 /**
  * @author yutu
@@ -48,32 +51,44 @@ public class SecretpadScheduledServiceImpl implements ISecretpadScheduledService
     @Setter
     private Scheduler scheduler;
 
+    @Resource
+    @Setter
+    private QuartzClusterProperties quartzClusterProperties;
+
     /**
-     * add scheduler
+     * add scheduler of a whole schedule, the schedule id is both the job name and group
      */
     @Override
-    public boolean addScheduler(String name, String group, ProjectScheduleTaskDO data, String cron) {
+    public boolean addScheduler(String scheduleId, List<String> crons, LocalDateTime startTime, LocalDateTime endTime) {
         try {
             ZoneId zoneId = ZoneId.systemDefault();
-            JobKey jobKey = JobKey.jobKey(name, group);
+            JobKey jobKey = JobKey.jobKey(scheduleId, scheduleId);
             if (scheduler.checkExists(jobKey)) {
                 return true;
             }
-            LocalDateTime scheduleTaskExpectStartTime = data.getScheduleTaskExpectStartTime();
-            ZonedDateTime zonedDateTime = scheduleTaskExpectStartTime.atZone(zoneId);
             JobDataMap jobDataMap = new JobDataMap();
-            jobDataMap.put(ScheduledConstants.SCHEDULED_TASK_DAG_JOB_KEY, data);
+            jobDataMap.put(ScheduledConstants.SCHEDULED_SCHEDULE_ID_KEY, scheduleId);
             JobDetail jobDetail = JobBuilder.newJob(SecretpadJob.class)
-                    .withIdentity(name, group)
+                    .withIdentity(jobKey)
                     .usingJobData(jobDataMap)
+                    // fire times are materialized idempotently, so a fire lost with a crashed instance is safe to rerun
+                    .requestRecovery()
                     .build();
-            Trigger trigger = TriggerBuilder.newTrigger()
-                    .withIdentity(name, group)
-                    .forJob(jobDetail)
-                    .withSchedule(CronScheduleBuilder.cronSchedule(cron))
-                    .startAt(Date.from(zonedDateTime.toInstant()))
-                    .build();
-            scheduler.scheduleJob(jobDetail, trigger);
+            LocalDateTime now = LocalDateTime.now();
+            Date startAt = Date.from((startTime.isBefore(now) ? now : startTime).atZone(zoneId).toInstant());
+            Date endAt = Date.from(endTime.atZone(zoneId).toInstant());
+            Set<Trigger> triggers = new LinkedHashSet<>();
+            for (String cron : new LinkedHashSet<>(crons)) {
+                triggers.add(TriggerBuilder.newTrigger()
+                        .withIdentity(scheduleId + ScheduledConstants.SCHEDULED_ID_DELIMITER + triggers.size(), scheduleId)
+                        .forJob(jobDetail)
+                        .usingJobData(ScheduledConstants.SCHEDULED_CRON_KEY, cron)
+                        .withSchedule(cronSchedule(cron))
+                        .startAt(startAt)
+                        .endAt(endAt)
+                        .build());
+            }
+            scheduler.scheduleJob(jobDetail, triggers, false);
             return true;
         } catch (SchedulerException e) {
             log.error("addScheduler error", e);
@@ -81,6 +96,14 @@ public class SecretpadScheduledServiceImpl implements ISecretpadScheduledService
         }
     }
 
+    private CronScheduleBuilder cronSchedule(String cron) {
+        CronScheduleBuilder builder = CronScheduleBuilder.cronSchedule(cron);
+        if (quartzClusterProperties.getMisfirePolicy() == QuartzClusterProperties.MisfirePolicy.DO_NOTHING) {
+            return builder.withMisfireHandlingInstructionDoNothing();
+        }
+        return builder.withMisfireHandlingInstructionFireAndProceed();
+    }
+
     /**
      * pause scheduler
      */
@@ -102,6 +125,12 @@ public class SecretpadScheduledServiceImpl implements ISecretpadScheduledService
     @Override
     public boolean pauseScheduler(String group) {
         try {
+            JobKey jobKey = JobKey.jobKey(group, group);
+            if (scheduler.checkExists(jobKey)) {
+                scheduler.pauseJob(jobKey);
+                return true;
+            }
+            // schedules created before one job per schedule keep a job per fire date
             scheduler.pauseJobs(GroupMatcher.jobGroupEquals(group));
         } catch (SchedulerException e) {
             log.error("pauseScheduler error", e);
@@ -115,7 +144,32 @@ public class SecretpadScheduledServiceImpl implements ISecretpadScheduledService
      */
     @Override
     public boolean resumeScheduler(String jobDetailName, String jobDetailGroup) {
-        return false;
+        try {
+            scheduler.resumeJob(JobKey.jobKey(jobDetailName, jobDetailGroup));
+        } catch (SchedulerException e) {
+            log.error("resumeScheduler error", e);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * delete scheduler
+     */
+    @Override
+    public boolean deleteScheduler(String group) {
+        try {
+            JobKey jobKey = JobKey.jobKey(group, group);
+            if (scheduler.checkExists(jobKey)) {
+                scheduler.deleteJob(jobKey);
+                return true;
+            }
+            scheduler.deleteJobs(new ArrayList<>(scheduler.getJobKeys(GroupMatcher.jobGroupEquals(group))));
+        } catch (SchedulerException e) {
+            log.error("deleteScheduler error", e);
+            return false;
+        }
+        return true;
     }
 
     /**
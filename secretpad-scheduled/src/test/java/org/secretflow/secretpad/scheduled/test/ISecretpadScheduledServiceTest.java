@@ -16,8 +16,38 @@
 
 package org.secretflow.secretpad.scheduled.test;
 
+import org.secretflow.secretpad.common.constant.ScheduledConstants;
+import org.secretflow.secretpad.common.enums.ScheduledStatus;
+import org.secretflow.secretpad.manager.integration.job.AbstractJobManager;
+import org.secretflow.secretpad.persistence.entity.ProjectScheduleTaskDO;
+import org.secretflow.secretpad.persistence.repository.ProjectScheduleTaskRepository;
+import org.secretflow.secretpad.scheduled.config.QuartzClusterProperties;
+import org.secretflow.secretpad.scheduled.config.QuartzConfig;
+import org.secretflow.secretpad.scheduled.job.SecretpadJob;
+import org.secretflow.secretpad.scheduled.service.ScheduledTaskMaterializer;
+import org.secretflow.secretpad.scheduled.service.impl.SecretpadScheduledServiceImpl;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.quartz.*;
+import org.quartz.impl.StdSchedulerFactory;
+import org.secretflow.v1alpha1.kusciaapi.Job;
+import org.springframework.boot.autoconfigure.quartz.QuartzProperties;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 /**
  * @author yutu
@@ -25,4 +55,107 @@ import org.mockito.junit.jupiter.MockitoExtension;
  */
 @ExtendWith(MockitoExtension.class)
 public class ISecretpadScheduledServiceTest {
-}
\ No newline at end of file
+
+    @Mock
+    private Scheduler scheduler;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void addSchedulerAppliesMisfirePolicy() throws Exception {
+        QuartzClusterProperties clusterProperties = new QuartzClusterProperties();
+        clusterProperties.setMisfirePolicy(QuartzClusterProperties.MisfirePolicy.DO_NOTHING);
+        SecretpadScheduledServiceImpl scheduledService = new SecretpadScheduledServiceImpl();
+        scheduledService.setScheduler(scheduler);
+        scheduledService.setQuartzClusterProperties(clusterProperties);
+
+        LocalDateTime now = LocalDateTime.now();
+        Assertions.assertTrue(scheduledService.addScheduler("s1", List.of("0 0 1 * * ?"), now, now.plusDays(7)));
+
+        ArgumentCaptor<JobDetail> jobDetail = ArgumentCaptor.forClass(JobDetail.class);
+        ArgumentCaptor<Set<Trigger>> triggers = ArgumentCaptor.forClass(Set.class);
+        Mockito.verify(scheduler).scheduleJob(jobDetail.capture(), triggers.capture(), Mockito.eq(false));
+        Assertions.assertTrue(jobDetail.getValue().requestsRecovery());
+        Assertions.assertEquals(1, triggers.getValue().size());
+        Assertions.assertEquals(CronTrigger.MISFIRE_INSTRUCTION_DO_NOTHING, triggers.getValue().iterator().next().getMisfireInstruction());
+    }
+
+    @Test
+    void misfiredTriggerReusesPreRenderedTask() throws Exception {
+        String cron = "0 0 * * * ?";
+        ZoneId zoneId = ZoneId.systemDefault();
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime slot = now.truncatedTo(ChronoUnit.HOURS);
+        ProjectScheduleTaskDO preRendered = new ProjectScheduleTaskDO();
+        preRendered.setScheduleTaskId("pre-rendered");
+        preRendered.setScheduleTaskExpectStartTime(slot);
+        preRendered.setStatus(ScheduledStatus.TO_BE_RUN);
+        preRendered.setJobRequest(Base64.getEncoder().encodeToString(Job.CreateJobRequest.newBuilder().setJobId("job").build().toByteArray()));
+        List<LocalDateTime> materialized = new CopyOnWriteArrayList<>();
+        ScheduledTaskMaterializer materializer = (scheduleId, firedCron, expectStartTime) -> {
+            materialized.add(expectStartTime);
+            return expectStartTime.equals(slot) ? preRendered : null;
+        };
+        CountDownLatch fired = new CountDownLatch(1);
+        ApplicationEventPublisher publisher = event -> fired.countDown();
+        SecretpadJob job = new SecretpadJob();
+        ReflectionTestUtils.setField(job, "scheduledTaskMaterializer", materializer);
+        ReflectionTestUtils.setField(job, "applicationEventPublisher", publisher);
+        ReflectionTestUtils.setField(job, "jobManager", Mockito.mock(AbstractJobManager.class));
+        ReflectionTestUtils.setField(job, "projectScheduleTaskRepository", Mockito.mock(ProjectScheduleTaskRepository.class));
+
+        Properties properties = new Properties();
+        properties.setProperty("org.quartz.scheduler.instanceName", "misfiredTriggerReusesPreRenderedTask");
+        properties.setProperty("org.quartz.scheduler.skipUpdateCheck", "true");
+        properties.setProperty("org.quartz.threadPool.threadCount", "1");
+        properties.setProperty("org.quartz.jobStore.class", "org.quartz.simpl.RAMJobStore");
+        properties.setProperty("org.quartz.jobStore.misfireThreshold", "1000");
+        Scheduler quartz = new StdSchedulerFactory(properties).getScheduler();
+        quartz.setJobFactory((bundle, s) -> job);
+        JobDetail jobDetail = JobBuilder.newJob(SecretpadJob.class)
+                .withIdentity("s1", "s1")
+                .usingJobData(ScheduledConstants.SCHEDULED_SCHEDULE_ID_KEY, "s1")
+                .build();
+        // a trigger recovered after the instance was down, its slots passed while nobody fired them
+        Trigger trigger = TriggerBuilder.newTrigger()
+                .withIdentity("s1" + ScheduledConstants.SCHEDULED_ID_DELIMITER + 0, "s1")
+                .usingJobData(ScheduledConstants.SCHEDULED_CRON_KEY, cron)
+                .withSchedule(CronScheduleBuilder.cronSchedule(cron).withMisfireHandlingInstructionFireAndProceed())
+                .startAt(Date.from(now.minusHours(2).atZone(zoneId).toInstant()))
+                .build();
+        quartz.scheduleJob(jobDetail, trigger);
+        quartz.start();
+        try {
+            Assertions.assertTrue(fired.await(10, TimeUnit.SECONDS));
+        } finally {
+            quartz.shutdown(true);
+        }
+
+        Assertions.assertEquals(List.of(slot), materialized);
+        Assertions.assertEquals(ScheduledStatus.RUNNING, preRendered.getStatus());
+    }
+
+    @Test
+    void buildQuartzPropertiesStandalone() {
+        QuartzProperties quartzProperties = new QuartzProperties();
+        quartzProperties.getProperties().put("org.quartz.scheduler.instanceName", "secretpadScheduler");
+        Properties properties = QuartzConfig.buildQuartzProperties(quartzProperties, new QuartzClusterProperties());
+        Assertions.assertEquals("secretpadScheduler", properties.getProperty("org.quartz.scheduler.instanceName"));
+        Assertions.assertEquals("false", properties.getProperty("org.quartz.jobStore.isClustered"));
+        Assertions.assertEquals("10", properties.getProperty("org.quartz.threadPool.threadCount"));
+        Assertions.assertEquals("60000", properties.getProperty("org.quartz.jobStore.misfireThreshold"));
+        Assertions.assertNull(properties.getProperty("org.quartz.scheduler.instanceId"));
+    }
+
+    @Test
+    void buildQuartzPropertiesClustered() {
+        QuartzClusterProperties clusterProperties = new QuartzClusterProperties();
+        clusterProperties.setClustered(true);
+        clusterProperties.setThreadCount(4);
+        Properties properties = QuartzConfig.buildQuartzProperties(new QuartzProperties(), clusterProperties);
+        Assertions.assertEquals("true", properties.getProperty("org.quartz.jobStore.isClustered"));
+        Assertions.assertEquals("AUTO", properties.getProperty("org.quartz.scheduler.instanceId"));
+        Assertions.assertEquals("15000", properties.getProperty("org.quartz.jobStore.clusterCheckinInterval"));
+        Assertions.assertEquals("true", properties.getProperty("org.quartz.jobStore.acquireTriggersWithinLock"));
+        Assertions.assertEquals("4", properties.getProperty("org.quartz.threadPool.threadCount"));
+    }
+}
@@ -16,6 +16,7 @@
 
 package org.secretflow.secretpad.service;
 
+import org.secretflow.secretpad.service.graph.ComponentRegistry;
 import org.secretflow.secretpad.service.model.component.ComponentVersion;
 import org.secretflow.secretpad.service.model.graph.CompListVO;
 import org.secretflow.secretpad.service.model.graph.ComponentKey;
@@ -66,6 +67,20 @@ public interface ComponentService {
      */
     Object listComponentI18n();
 
+    /**
+     * Serialized successful response of {@link #listComponents()}
+     *
+     * @return serialized response with its etag
+     */
+    ComponentRegistry.Serialized listComponentsResponse();
+
+    /**
+     * Serialized successful response of {@link #listComponentI18n()}
+     *
+     * @return serialized response with its etag
+     */
+    ComponentRegistry.Serialized listComponentI18nResponse();
+
     /**
      * Check component if secretpad component via graph node information
      *
@@ -20,6 +20,7 @@ import org.secretflow.secretpad.service.model.data.*;
 
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.InputStream;
 import java.util.List;
 
 /**
@@ -39,6 +40,41 @@ public interface DataService {
      */
     UploadDataResultVO upload(MultipartFile file, String nodeId);
 
+    /**
+     * Start a chunked upload
+     *
+     * @param request init chunk upload request
+     * @return upload id and offset
+     */
+    ChunkUploadVO initChunkUpload(InitChunkUploadRequest request);
+
+    /**
+     * Append a chunk to a chunked upload, the offset must equal the bytes received so far
+     *
+     * @param nodeId   target nodeId
+     * @param uploadId upload id
+     * @param offset   chunk offset
+     * @param chunk    chunk content
+     * @return upload id and next offset
+     */
+    ChunkUploadVO uploadChunk(String nodeId, String uploadId, long offset, InputStream chunk);
+
+    /**
+     * Query a chunked upload to resume it
+     *
+     * @param request chunk upload request
+     * @return upload id and next offset
+     */
+    ChunkUploadVO chunkUploadStatus(ChunkUploadRequest request);
+
+    /**
+     * Complete a chunked upload and move the file to its final name
+     *
+     * @param request chunk upload request
+     * @return data result view object
+     */
+    UploadDataResultVO completeChunkUpload(ChunkUploadRequest request);
+
     /**
      * Create data schema
      *
@@ -20,6 +20,7 @@ import org.secretflow.secretpad.service.model.graph.*;
 import org.secretflow.secretpad.service.model.project.GetProjectJobTaskOutputRequest;
 
 import com.secretflow.spec.v1.ComponentDef;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 import java.util.Map;
@@ -99,6 +100,14 @@ public interface GraphService {
      */
     void fullUpdateGraph(FullUpdateGraphRequest request);
 
+    /**
+     * Patch graph by patch graph request, only the listed nodes and edges are written
+     *
+     * @param request patch graph request
+     * @return patch graph view object
+     */
+    PatchGraphVO patchGraph(PatchGraphRequest request);
+
     /**
      * Update graph node by update graph node request
      *
@@ -155,12 +164,20 @@ public interface GraphService {
     GraphNodeOutputVO getGraphNodeOutput(GraphNodeOutputRequest request);
 
     /**
-     * Query graph node logs from graph node logs request
+     * Query the graph node logs after the request cursor, one page at most
+     *
+     * @param request graph node logs request
+     * @return graph node task logs page view object
+     */
+    GraphNodeTaskLogsPageVO getGraphNodeLogs(GraphNodeLogsRequest request);
+
+    /**
+     * Stream the graph node logs after the request cursor, later logs are pushed as they are written
      *
      * @param request graph node logs request
-     * @return graph node task logs view object
+     * @return sse emitter completed once the task is finished and all its logs are sent
      */
-    GraphNodeTaskLogsVO getGraphNodeLogs(GraphNodeLogsRequest request);
+    SseEmitter watchGraphNodeLogs(GraphNodeLogsRequest request);
 
     /**
      * Query graph node task output by get project job task output request
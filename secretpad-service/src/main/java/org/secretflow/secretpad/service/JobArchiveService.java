@@ -0,0 +1,41 @@
+/*
+ * Copyright 2024 Ant Group Co., Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.secretflow.secretpad.service;
+
+import org.secretflow.secretpad.service.model.project.ArchivedJobVO;
+
+/**
+ * Archive of finished job history
+ */
+public interface JobArchiveService {
+
+    /**
+     * Move finished jobs selected by the retention policy out of the hot tables
+     *
+     * @return archived job count
+     */
+    int archiveFinishedJobs();
+
+    /**
+     * Get an archived job with its tasks, logs and results
+     *
+     * @param projectId target projectId
+     * @param jobId     target jobId
+     * @return archived job
+     */
+    ArchivedJobVO getArchivedJob(String projectId, String jobId);
+}
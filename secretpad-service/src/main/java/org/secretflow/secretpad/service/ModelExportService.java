@@ -20,6 +20,7 @@ import org.secretflow.secretpad.manager.integration.model.ModelExportDTO;
 import org.secretflow.secretpad.service.model.model.export.*;
 
 import com.google.protobuf.InvalidProtocolBufferException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 
@@ -45,6 +46,15 @@ public interface ModelExportService {
      */
     ModelExportDTO queryModel(ModelExportStatusRequest request);
 
+    /**
+     * watch model status, the current status is pushed first and every change after it,
+     * the stream is completed once the export job is finished
+     *
+     * @param request request
+     * @return status event stream
+     */
+    SseEmitter watchModel(ModelExportStatusRequest request);
+
 
     /**
      * find model party path
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2024 Ant Group Co., Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.secretflow.secretpad.service.auth;
+
+import org.secretflow.secretpad.common.enums.PermissionUserTypeEnum;
+import org.secretflow.secretpad.common.enums.ResourceTypeEnum;
+import org.secretflow.secretpad.persistence.datasync.listener.AuthorizationChangeListener;
+import org.secretflow.secretpad.persistence.repository.ProjectNodeRepository;
+import org.secretflow.secretpad.service.SysResourcesBizService;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Authorization resolution cache
+ * <p>
+ * Resource codes are cached by (user type, resource type, principal) and project ids by node id.
+ * Everything is dropped after a role, resource, user permission or project node change commits,
+ * a load that raced with the change is not cached.
+ * <p>
+ * Change events are only seen by the instance that committed the change, with several instances
+ * behind one database (clustered mode) the cache is also dropped every permission refresh interval,
+ * secretpad.auth.permission-refresh-interval in millis, which bounds how long another instance serves stale grants.
+ */
+@Slf4j
+@Component
+public class PermissionCache {
+
+    @Autowired
+    private SysResourcesBizService sysResourcesBizService;
+
+    @Autowired
+    private ProjectNodeRepository projectNodeRepository;
+
+    private final Map<ResourceKey, Set<String>> resourceCodes = new ConcurrentHashMap<>();
+
+    private final Map<String, Set<String>> nodeProjectIds = new ConcurrentHashMap<>();
+
+    private final AtomicLong generation = new AtomicLong();
+
+    /**
+     * Query resource codes of a principal
+     *
+     * @param userType     user type
+     * @param resourceType resource type
+     * @param principal    user name or node id
+     * @return resource codes, unmodifiable
+     */
+    public Set<String> resourceCodes(PermissionUserTypeEnum userType, ResourceTypeEnum resourceType, String principal) {
+        return load(resourceCodes, new ResourceKey(userType, resourceType, principal),
+                key -> Set.copyOf(sysResourcesBizService.queryResourceCodeByUsername(key.userType(), key.resourceType(), key.principal())));
+    }
+
+    /**
+     * Query ids of the projects a node joins
+     *
+     * @param nodeId node id
+     * @return project ids, unmodifiable
+     */
+    public Set<String> projectIds(String nodeId) {
+        return load(nodeProjectIds, nodeId, key -> projectNodeRepository.findByNodeId(key).stream()
+                .map(t -> t.getUpk().getProjectId()).collect(Collectors.toUnmodifiableSet()));
+    }
+
+    /**
+     * Drop all cached authorization
+     */
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        resourceCodes.clear();
+        nodeProjectIds.clear();
+    }
+
+    /**
+     * Drop cached authorization periodically, picks up changes committed by other instances
+     */
+    @Scheduled(initialDelayString = "${secretpad.auth.permission-refresh-interval:60000}", fixedDelayString = "${secretpad.auth.permission-refresh-interval:60000}")
+    public void refresh() {
+        invalidateAll();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onAuthorizationChanged(AuthorizationChangeListener.AuthorizationChangedEvent event) {
+        log.debug("authorization source {} changed, invalidate permission cache", event.getSource().getClass().getSimpleName());
+        invalidateAll();
+    }
+
+    private <K> Set<String> load(Map<K, Set<String>> cache, K key, Function<K, Set<String>> loader) {
+        Set<String> value = cache.get(key);
+        if (value != null) {
+            return value;
+        }
+        long loadedAt = generation.get();
+        value = loader.apply(key);
+        if (generation.get() == loadedAt) {
+            cache.putIfAbsent(key, value);
+            if (generation.get() != loadedAt) {
+                // invalidated while caching
+                cache.remove(key, value);
+            }
+        }
+        return value;
+    }
+
+    private record ResourceKey(PermissionUserTypeEnum userType, ResourceTypeEnum resourceType, String principal) {
+    }
+}
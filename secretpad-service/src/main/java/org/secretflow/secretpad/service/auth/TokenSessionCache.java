@@ -0,0 +1,204 @@
+/*
+ * Copyright 2024 Ant Group Co., Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.secretflow.secretpad.service.auth;
+
+import org.secretflow.secretpad.common.dto.UserContextDTO;
+import org.secretflow.secretpad.persistence.entity.TokensDO;
+import org.secretflow.secretpad.persistence.repository.UserTokensRepository;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Login session cache
+ * <p>
+ * Sessions are parsed once and kept in memory while they are used, token use time is refreshed in memory
+ * and written back to the database at most once per token per refresh interval.
+ * Logout and session kick must go through {@link #evict(String)} and {@link #evictByName(String)}.
+ * <p>
+ * The cache is local to one instance, with several instances behind one database (clustered mode)
+ * a token removed by another instance is only noticed when the session is revalidated,
+ * at most one token refresh interval after it was last checked.
+ */
+@Slf4j
+@Component
+public class TokenSessionCache {
+
+    /**
+     * Session expiration time in seconds, one day
+     */
+    public static final long EXPIRE = 60 * 60 * 24;
+
+    @Autowired
+    private UserTokensRepository userTokensRepository;
+
+    /**
+     * Cached sessions are checked against the database again after this many millis
+     */
+    @Value("${secretpad.auth.token-refresh-interval:60000}")
+    private long revalidateInterval = 60000;
+
+    private final Map<String, Session> sessions = new ConcurrentHashMap<>();
+
+    /**
+     * Get the session of a token, loaded from the database on a miss
+     *
+     * @param token user token
+     * @return session, empty if the token is unknown
+     */
+    public Optional<Session> get(String token) {
+        if (StringUtils.isBlank(token)) {
+            return Optional.empty();
+        }
+        LocalDateTime now = LocalDateTime.now();
+        Session session = sessions.get(token);
+        if (session != null && session.validatedAt.plus(revalidateInterval, ChronoUnit.MILLIS).isAfter(now)) {
+            return Optional.of(session);
+        }
+        Optional<TokensDO> tokensDO = userTokensRepository.findByToken(token);
+        if (tokensDO.isEmpty()) {
+            if (session != null) {
+                // removed by another instance
+                sessions.remove(token, session);
+            }
+            return Optional.empty();
+        }
+        if (session != null) {
+            session.validatedAt = now;
+            return Optional.of(session);
+        }
+        session = new Session(tokensDO.get());
+        if (session.getUser() == null || session.isExpired(LocalDateTime.now())) {
+            // not cached, the caller rejects it and a later login creates a new token
+            return Optional.of(session);
+        }
+        Session existing = sessions.putIfAbsent(token, session);
+        return Optional.of(existing == null ? session : existing);
+    }
+
+    /**
+     * Mark the session as used now, the database is updated by the next write back
+     *
+     * @param session session
+     */
+    public void touch(Session session) {
+        session.gmtToken = LocalDateTime.now();
+    }
+
+    /**
+     * Drop the session of a token, used by logout
+     * inside a transaction the session is dropped after commit, a concurrent miss can not cache the deleted token again
+     *
+     * @param token user token
+     */
+    public void evict(String token) {
+        if (StringUtils.isNotBlank(token)) {
+            afterCommit(() -> sessions.remove(token));
+        }
+    }
+
+    /**
+     * Drop all sessions of a user, used when the user tokens are removed
+     * inside a transaction the sessions are dropped after commit
+     *
+     * @param name user name
+     */
+    public void evictByName(String name) {
+        afterCommit(() -> sessions.values().removeIf(session -> StringUtils.equals(name, session.getName())));
+    }
+
+    private void afterCommit(Runnable eviction) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            eviction.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                eviction.run();
+            }
+        });
+    }
+
+    /**
+     * Write token use time back to the database and drop expired sessions,
+     * the interval in millis is secretpad.auth.token-refresh-interval
+     */
+    @Scheduled(initialDelayString = "${secretpad.auth.token-refresh-interval:60000}", fixedDelayString = "${secretpad.auth.token-refresh-interval:60000}")
+    public void writeBack() {
+        LocalDateTime now = LocalDateTime.now();
+        sessions.forEach((token, session) -> {
+            if (session.isExpired(now)) {
+                sessions.remove(token, session);
+                return;
+            }
+            LocalDateTime gmtToken = session.gmtToken;
+            if (gmtToken.equals(session.gmtFlushed)) {
+                return;
+            }
+            try {
+                userTokensRepository.updateGmtToken(token, gmtToken);
+                session.gmtFlushed = gmtToken;
+            } catch (Exception e) {
+                log.warn("write back token use time failed, name = {}", session.getName(), e);
+            }
+        });
+    }
+
+    /**
+     * Cached login session
+     */
+    public static class Session {
+        @Getter
+        private final String name;
+        @Getter
+        private final UserContextDTO user;
+        private volatile LocalDateTime gmtToken;
+        private volatile LocalDateTime gmtFlushed;
+        private volatile LocalDateTime validatedAt = LocalDateTime.now();
+
+        private Session(TokensDO tokensDO) {
+            this.name = tokensDO.getName();
+            this.user = StringUtils.isBlank(tokensDO.getSessionData()) ? null : UserContextDTO.fromJson(tokensDO.getSessionData());
+            this.gmtToken = tokensDO.getGmtToken();
+            this.gmtFlushed = tokensDO.getGmtToken();
+        }
+
+        /**
+         * Whether the session is not used within the expiration time
+         *
+         * @param now current time
+         * @return true if expired
+         */
+        public boolean isExpired(LocalDateTime now) {
+            return gmtToken == null || gmtToken.until(now, ChronoUnit.SECONDS) > EXPIRE;
+        }
+    }
+}
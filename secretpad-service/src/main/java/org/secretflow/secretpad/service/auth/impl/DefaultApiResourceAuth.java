@@ -17,14 +17,19 @@
 package org.secretflow.secretpad.service.auth.impl;
 
 import org.secretflow.secretpad.common.constant.resource.ApiResourceCodeConstants;
+import org.secretflow.secretpad.common.enums.PermissionUserTypeEnum;
+import org.secretflow.secretpad.common.enums.ResourceTypeEnum;
 import org.secretflow.secretpad.common.enums.UserOwnerTypeEnum;
 import org.secretflow.secretpad.common.util.UserContext;
 import org.secretflow.secretpad.service.InstService;
 import org.secretflow.secretpad.service.auth.ApiResourceAuth;
+import org.secretflow.secretpad.service.auth.PermissionCache;
 
 import jakarta.annotation.Resource;
 import org.springframework.stereotype.Service;
 
+import java.util.Set;
+
 /**
  * default api resource auth check
  *
@@ -40,6 +45,9 @@ public class DefaultApiResourceAuth implements ApiResourceAuth {
     @Resource
     private InstService instService;
 
+    @Resource
+    private PermissionCache permissionCache;
+
     @Override
     public boolean check(String resourceCode) {
         // Ignore for current platform manager
@@ -48,6 +56,11 @@ public class DefaultApiResourceAuth implements ApiResourceAuth {
                 && instService.checkNodeInInst(UserContext.getUser().getOwnerId(), UserContext.getUser().getPlatformNodeId()))) {
             return true;
         }
+        if (Boolean.TRUE.equals(UserContext.getUser().getVirtualUserForNode())) {
+            // node rpc, resolved from the permission cache so that permission changes apply to the next request
+            Set<String> resourceCodes = permissionCache.resourceCodes(PermissionUserTypeEnum.NODE, ResourceTypeEnum.API, UserContext.getUser().getOwnerId());
+            return resourceCodes.contains(ApiResourceCodeConstants.ALL_INTERFACE_RESOURCE) || resourceCodes.contains(resourceCode);
+        }
         if (UserContext.getUser().containInterfaceResource(ApiResourceCodeConstants.ALL_INTERFACE_RESOURCE)) {
             return true;
         }
@@ -35,6 +35,10 @@ public class SecretpadComponentConfig {
      * hide components configs
      */
     private List<String> hide;
+    /**
+     * rebuild the component registry when component or i18n files change
+     */
+    private boolean watch;
 }
 
 @Data
@@ -17,8 +17,10 @@
 package org.secretflow.secretpad.service.factory;
 
 import org.secretflow.secretpad.persistence.repository.NodeRepository;
+import org.secretflow.secretpad.persistence.repository.ProjectJobTaskLogRepository;
 import org.secretflow.secretpad.persistence.repository.ProjectJobTaskRepository;
 import org.secretflow.secretpad.service.ICloudLogService;
+import org.secretflow.secretpad.service.impl.LocalCloudLogServiceImpl;
 import org.secretflow.secretpad.service.impl.SLSCloudLogServiceImpl;
 import org.secretflow.secretpad.service.properties.LogConfigProperties;
 import org.secretflow.secretpad.service.util.ValidationUtil;
@@ -50,6 +52,8 @@ public class CloudLogServiceFactory {
 
     private final NodeRepository nodeRepository;
 
+    private final ProjectJobTaskLogRepository jobTaskLogRepository;
+
     @Value("${secretpad.platform-type}")
     private String platformType;
 
@@ -57,10 +61,12 @@ public class CloudLogServiceFactory {
     private String nodeId;
 
 
-    public CloudLogServiceFactory(LogConfigProperties logConfigProperties, ProjectJobTaskRepository taskRepository, NodeRepository nodeRepository) {
+    public CloudLogServiceFactory(LogConfigProperties logConfigProperties, ProjectJobTaskRepository taskRepository, NodeRepository nodeRepository,
+                                  ProjectJobTaskLogRepository jobTaskLogRepository) {
         this.logConfigProperties = logConfigProperties;
         this.taskRepository = taskRepository;
         this.nodeRepository = nodeRepository;
+        this.jobTaskLogRepository = jobTaskLogRepository;
     }
 
     public ICloudLogService getLogServiceInstance() {
@@ -75,6 +81,9 @@ public class CloudLogServiceFactory {
                         nodeRepository
 
                 );
+            } else if (logConfigProperties.isLocalFallback()) {
+                log.info("cloud service is not configured,serve cloud logs from the local task logs");
+                return new LocalCloudLogServiceImpl(taskRepository, nodeRepository, jobTaskLogRepository, platformType, nodeId);
             } else {
                 log.warn("cloud service configuration is not available,please check your configuration,like ak,sk,host");
             }
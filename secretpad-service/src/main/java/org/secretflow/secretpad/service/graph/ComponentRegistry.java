@@ -0,0 +1,250 @@
+/*
+ * Copyright 2024 Ant Group Co., Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.secretflow.secretpad.service.graph;
+
+import org.secretflow.secretpad.common.errorcode.GraphErrorCode;
+import org.secretflow.secretpad.common.exception.SecretpadException;
+import org.secretflow.secretpad.common.util.FileUtils;
+import org.secretflow.secretpad.common.util.JsonUtils;
+import org.secretflow.secretpad.common.util.Sha256Utils;
+import org.secretflow.secretpad.service.configuration.SecretpadComponentConfig;
+import org.secretflow.secretpad.service.constant.ComponentConstants;
+import org.secretflow.secretpad.service.factory.JsonProtobufSourceFactory;
+import org.secretflow.secretpad.service.model.common.SecretPadResponse;
+import org.secretflow.secretpad.service.model.graph.CompListVO;
+import org.secretflow.secretpad.service.model.graph.ComponentKey;
+import org.secretflow.secretpad.service.model.graph.ComponentSummaryDef;
+
+import com.secretflow.spec.v1.CompListDef;
+import com.secretflow.spec.v1.ComponentDef;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.CollectionUtils;
+import org.springframework.util.ResourceUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+import static org.secretflow.secretpad.service.ComponentService.SF_HIDE_COMPONENTS;
+
+/**
+ * Component registry, the component catalog and its i18n config are built once into an immutable snapshot
+ * together with their serialized responses. With secretpad.component.watch enabled the snapshot is rebuilt when
+ * the component or i18n files change.
+ */
+@Slf4j
+@Component
+public class ComponentRegistry implements DisposableBean {
+
+    private static final long RELOAD_QUIET_MILLIS = 500;
+
+    private final String componentLocation;
+    private final String i18nLocation;
+    private final SecretpadComponentConfig secretpadComponentConfig;
+    private volatile Snapshot snapshot;
+    private volatile WatchService watchService;
+
+    public ComponentRegistry(List<CompListDef> components,
+                             SecretpadComponentConfig secretpadComponentConfig,
+                             @Value("${component.spec.location:./config/components}") String componentLocation,
+                             @Value("${component.i18n.location:./config/i18n}") String i18nLocation) {
+        this.componentLocation = componentLocation;
+        this.i18nLocation = i18nLocation;
+        this.secretpadComponentConfig = secretpadComponentConfig;
+        this.snapshot = build(components, 1);
+        if (secretpadComponentConfig.isWatch()) {
+            watch();
+        }
+    }
+
+    /**
+     * @return current snapshot
+     */
+    public Snapshot snapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Reload components and i18n config from their locations, the current snapshot is kept if loading fails
+     */
+    public synchronized void reload() {
+        try {
+            List<CompListDef> components = new JsonProtobufSourceFactory(new String[]{componentLocation}).load();
+            snapshot = build(components, snapshot.version() + 1);
+            log.info("component registry reloaded, version {}", snapshot.version());
+        } catch (Exception e) {
+            log.error("component registry reload failed, keep version {}", snapshot.version(), e);
+        }
+    }
+
+    private Snapshot build(List<CompListDef> components, long version) {
+        Map<ComponentKey, ComponentDef> index = new HashMap<>();
+        Map<String, CompListVO> compList = new HashMap<>();
+        List<String> hide = hideList();
+        components.stream().filter(compListDef -> !CollectionUtils.isEmpty(compListDef.getCompsList())).forEach(compListDef -> {
+            List<ComponentSummaryDef> summaries = new ArrayList<>();
+            for (ComponentDef componentDef : compListDef.getCompsList()) {
+                index.put(new ComponentKey(compListDef.getName(), componentDef.getDomain(), componentDef.getName()), componentDef);
+                //secretflow/domain/name:version
+                String hideKey = compListDef.getName() + "/" + componentDef.getDomain() + "/" + componentDef.getName() + ":" + componentDef.getVersion();
+                if (hide.contains(hideKey)) {
+                    log.info("hide {}", hideKey);
+                    SF_HIDE_COMPONENTS.put(componentDef.getName(), componentDef);
+                    continue;
+                }
+                summaries.add(ComponentSummaryDef.builder()
+                        .domain(componentDef.getDomain())
+                        .name(componentDef.getName())
+                        .version(componentDef.getVersion())
+                        .desc(componentDef.getDesc())
+                        .build());
+            }
+            compList.put(compListDef.getName(), CompListVO.builder()
+                    .name(compListDef.getName())
+                    .version(compListDef.getVersion())
+                    .desc(compListDef.getDesc())
+                    .comps(Collections.unmodifiableList(summaries)).build());
+        });
+        compList.remove(ComponentConstants.SECRETPAD);
+        compList.remove(ComponentConstants.SCQL);
+        Map<String, Map<String, Object>> i18n = loadI18n(hide);
+        return new Snapshot(version, Collections.unmodifiableMap(index), Collections.unmodifiableMap(compList),
+                Collections.unmodifiableMap(i18n), Serialized.of(compList), Serialized.of(i18n));
+    }
+
+    private Map<String, Map<String, Object>> loadI18n(List<String> hide) {
+        Map<String, Map<String, Object>> config = new HashMap<>();
+        Map<String, Object> secretpad = new HashMap<>();
+        Map<String, Object> scql = new HashMap<>();
+        try {
+            File dir = ResourceUtils.getFile(i18nLocation);
+            File[] files = dir.listFiles();
+            if (files != null) {
+                for (File file : files) {
+                    String fileName = file.getName();
+                    String app = fileName.substring(0, fileName.lastIndexOf('.'));
+                    Map<String, Object> content = JsonUtils.toJavaMap(FileUtils.readFile2String(file), Object.class);
+                    if (!CollectionUtils.isEmpty(content)) {
+                        if (app.equals(ComponentConstants.SECRETPAD)) {
+                            secretpad = content;
+                        } else if (app.equals(ComponentConstants.SCQL)) {
+                            scql = content;
+                        } else {
+                            config.put(app, content);
+                        }
+                    }
+                }
+                Map<String, Object> finalSecretpad = secretpad;
+                Map<String, Object> finalScql = scql;
+                config.keySet().forEach(k -> {
+                    config.get(k).putAll(finalSecretpad);
+                    config.get(ComponentConstants.SECRETFLOW).putAll(finalScql);
+                });
+            }
+        } catch (IOException e) {
+            throw SecretpadException.of(GraphErrorCode.COMPONENT_18N_ERROR, e);
+        }
+        config.forEach((app, map) -> map.keySet().removeIf(name -> hide.contains(app + "/" + name)));
+        return config;
+    }
+
+    private List<String> hideList() {
+        List<String> hide = secretpadComponentConfig.getHide();
+        return hide == null ? Collections.emptyList() : hide;
+    }
+
+    private void watch() {
+        try {
+            WatchService service = FileSystems.getDefault().newWatchService();
+            for (String location : List.of(componentLocation, i18nLocation)) {
+                ResourceUtils.getFile(location).toPath().register(service,
+                        StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+            }
+            watchService = service;
+        } catch (IOException e) {
+            log.warn("component registry watch disabled, {}", e.getMessage());
+            return;
+        }
+        Thread watcher = new Thread(this::watchLoop, "component-registry-watcher");
+        watcher.setDaemon(true);
+        watcher.start();
+    }
+
+    private void watchLoop() {
+        WatchService service = watchService;
+        try {
+            while (true) {
+                WatchKey key = service.take();
+                key.pollEvents();
+                key.reset();
+                // editors write files in several steps, wait until the directory is quiet
+                while ((key = service.poll(RELOAD_QUIET_MILLIS, TimeUnit.MILLISECONDS)) != null) {
+                    key.pollEvents();
+                    key.reset();
+                }
+                reload();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException e) {
+            // registry destroyed
+        }
+    }
+
+    @Override
+    public void destroy() throws IOException {
+        if (watchService != null) {
+            watchService.close();
+        }
+    }
+
+    /**
+     * Immutable component catalog
+     *
+     * @param version    snapshot version, increased on every reload
+     * @param components componentDef indexed by app, domain and name
+     * @param compList   component list view object by app
+     * @param i18n       component i18n config by app
+     * @param compListResponse serialized component list response
+     * @param i18nResponse     serialized component i18n response
+     */
+    public record Snapshot(long version,
+                           Map<ComponentKey, ComponentDef> components,
+                           Map<String, CompListVO> compList,
+                           Map<String, Map<String, Object>> i18n,
+                           Serialized compListResponse,
+                           Serialized i18nResponse) {
+    }
+
+    /**
+     * Serialized successful SecretPadResponse
+     *
+     * @param etag entity tag of the body
+     * @param body json body
+     */
+    public record Serialized(String etag, String body) {
+        static Serialized of(Object data) {
+            String body = JsonUtils.toJSONString(SecretPadResponse.success(data));
+            return new Serialized("\"" + Sha256Utils.hash(body).substring(0, 32) + "\"", body);
+        }
+    }
+}
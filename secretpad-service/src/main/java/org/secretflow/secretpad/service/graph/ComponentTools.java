@@ -30,6 +30,9 @@ import org.springframework.util.CollectionUtils;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * Component tools
@@ -40,6 +43,15 @@ import java.util.List;
 @Slf4j
 public class ComponentTools {
 
+    private static final JsonFormat.TypeRegistry CUSTOM_TYPE_REGISTRY = JsonFormat.TypeRegistry.newBuilder().add(IndividualTable.getDescriptor()).build();
+
+    private static final int MAX_COMPILED_NODE_DEFS = 10000;
+
+    /**
+     * compiled nodeDef by graph node id, only reused while the node definition content is unchanged
+     */
+    private static final ConcurrentMap<String, CompiledNodeDef> COMPILED_NODE_DEFS = new ConcurrentHashMap<>();
+
     /**
      *  background: check uniform or self-define node description
      *
@@ -59,6 +71,30 @@ public class ComponentTools {
         return pipelineNodeDef;
     }
 
+    /**
+     * Get nodeDef of a graph node, the compiled result is reused until the node definition changes
+     *
+     * @param nodeInfo graph node information
+     * @return pipeline nodeDef
+     */
+    public static Pipeline.NodeDef getNodeDef(GraphNodeInfo nodeInfo) {
+        Object nodeDef = nodeInfo.getNodeDef();
+        String graphNodeId = nodeInfo.getGraphNodeId();
+        if (graphNodeId == null || !(nodeDef instanceof Map<?, ?>)) {
+            return getNodeDef(nodeDef);
+        }
+        CompiledNodeDef compiled = COMPILED_NODE_DEFS.get(graphNodeId);
+        if (compiled != null && compiled.source().equals(nodeDef)) {
+            return compiled.nodeDef();
+        }
+        Pipeline.NodeDef pipelineNodeDef = getNodeDef(nodeDef);
+        if (COMPILED_NODE_DEFS.size() >= MAX_COMPILED_NODE_DEFS) {
+            COMPILED_NODE_DEFS.clear();
+        }
+        COMPILED_NODE_DEFS.put(graphNodeId, new CompiledNodeDef(GraphNodeInfo.copyNodeDef(nodeDef), pipelineNodeDef));
+        return pipelineNodeDef;
+    }
+
     /**
      * Get datatableId from graph node information
      *
@@ -66,7 +102,7 @@ public class ComponentTools {
      * @return datatableId
      */
     public static String getDataTableId(GraphNodeInfo nodeInfo) {
-        Pipeline.NodeDef nodeDef = getNodeDef(nodeInfo.getNodeDef());
+        Pipeline.NodeDef nodeDef = getNodeDef(nodeInfo);
         List<Struct> attrsList = nodeDef.getAttrsList();
         String tableId = "";
         if (!CollectionUtils.isEmpty(attrsList)) {
@@ -88,7 +124,7 @@ public class ComponentTools {
 
 
     public static String getDataTablePartition(GraphNodeInfo nodeInfo) {
-        Pipeline.NodeDef nodeDef = getNodeDef(nodeInfo.getNodeDef());
+        Pipeline.NodeDef nodeDef = getNodeDef(nodeInfo);
         List<Struct> attrsList = nodeDef.getAttrsList();
         String datatable_partition = "";
         if (!CollectionUtils.isEmpty(attrsList) && attrsList.size() == 2) {
@@ -102,17 +138,14 @@ public class ComponentTools {
      * @return nodeDef
      */
     public static Pipeline.NodeDef coverAttrByCustomAttr(GraphNodeInfo graphNodeInfo) {
-        Pipeline.NodeDef.Builder nodeDefBuilder = Pipeline.NodeDef.newBuilder();
-        ProtoUtils.fromObject(graphNodeInfo.getNodeDef(), nodeDefBuilder);
-        Pipeline.NodeDef nodeDef = nodeDefBuilder.build();
+        Pipeline.NodeDef nodeDef = getNodeDef(graphNodeInfo);
 
         List<Struct> attrsList = new ArrayList<>(nodeDef.getAttrsList());
         if (!attrsList.isEmpty()) {
             for (int i = 0; i < attrsList.size(); i++) {
                 Struct struct = attrsList.get(i);
                 if (struct.containsFields(ComponentConstants.CUSTOM_PROTOBUF_CLS)) {
-                    JsonFormat.TypeRegistry typeRegistry = JsonFormat.TypeRegistry.newBuilder().add(IndividualTable.getDescriptor()).build();
-                    String custom_value = ProtoUtils.toJsonString(struct.getFieldsOrThrow(ComponentConstants.CUSTOM_VALUE).getStructValue(), typeRegistry);
+                    String custom_value = ProtoUtils.toJsonString(struct.getFieldsOrThrow(ComponentConstants.CUSTOM_VALUE).getStructValue(), CUSTOM_TYPE_REGISTRY);
                     Struct s = Struct.newBuilder()
                             .putFields(
                                     ComponentConstants.ATTRIBUTE_S,
@@ -125,4 +158,7 @@ public class ComponentTools {
         nodeDef = nodeDef.toBuilder().clearAttrs().addAllAttrs(attrsList).build();
         return nodeDef;
     }
+
+    private record CompiledNodeDef(Object source, Pipeline.NodeDef nodeDef) {
+    }
 }
@@ -20,6 +20,7 @@ import org.secretflow.secretpad.common.constant.ProjectConstants;
 import org.secretflow.secretpad.common.errorcode.GraphErrorCode;
 import org.secretflow.secretpad.common.exception.SecretpadException;
 import org.secretflow.secretpad.persistence.entity.ProjectDO;
+import org.secretflow.secretpad.persistence.entity.ProjectGraphDO;
 import org.secretflow.secretpad.persistence.entity.ProjectJobDO;
 import lombok.*;
 import org.apache.commons.lang3.ObjectUtils;
@@ -202,6 +203,27 @@ public final class GraphContext {
         }
     }
 
+    /**
+     * graph snapshot a scheduled fire renders, null renders the live graph
+     *
+     * @return schedule graph snapshot
+     */
+    public static ProjectGraphDO getScheduleGraph() {
+        if (GRAPH_CONTEXT_BEAN_THREAD_LOCAL.get() == null) {
+            return null;
+        }
+        return GRAPH_CONTEXT_BEAN_THREAD_LOCAL.get().scheduleGraph;
+    }
+
+    public static void setScheduleGraph(ProjectGraphDO scheduleGraph) {
+        GraphContextBean graphContextBean = GRAPH_CONTEXT_BEAN_THREAD_LOCAL.get();
+        if (ObjectUtils.isNotEmpty(graphContextBean)) {
+            graphContextBean.scheduleGraph = scheduleGraph;
+        } else {
+            GRAPH_CONTEXT_BEAN_THREAD_LOCAL.set(new GraphContextBean(scheduleGraph));
+        }
+    }
+
     public static ProjectJobDO getProjectJobDO() {
         if (GRAPH_CONTEXT_BEAN_THREAD_LOCAL.get() == null) {
             return null;
@@ -241,6 +263,7 @@ public final class GraphContext {
         Job.CreateJobRequest request;
         String scheduleExpectStartDate;
         ProjectJobDO projectJobDO;
+        ProjectGraphDO scheduleGraph;
 
         public GraphContextBean(String scheduleExpectStartDate) {
             this.scheduleExpectStartDate = scheduleExpectStartDate;
@@ -279,6 +302,10 @@ public final class GraphContext {
             this.projectJobDO = projectJobDO;
         }
 
+        public GraphContextBean(ProjectGraphDO scheduleGraph) {
+            this.scheduleGraph = scheduleGraph;
+        }
+
         public GraphContextBean(ProjectDO projectDO, GraphParties graphParties, Boolean breakpoint, HashMap<String, PartitionInfo> table_partition_rule, List<TaskConfig.TableAttr> partyLists) {
             this.projectDO = projectDO;
             this.graphParties = graphParties;
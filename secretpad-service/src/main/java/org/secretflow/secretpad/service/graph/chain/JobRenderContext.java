@@ -0,0 +1,79 @@
+/*
+ * Copyright 2024 Ant Group Co., Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.secretflow.secretpad.service.graph.chain;
+
+import org.secretflow.secretpad.manager.integration.model.DatatableDTO;
+import org.secretflow.secretpad.persistence.entity.ProjectDatatableDO;
+import org.secretflow.secretpad.persistence.entity.ProjectTaskDO;
+import org.secretflow.secretpad.service.model.graph.GraphNodeInfo;
+import org.secretflow.secretpad.service.model.graph.ProjectJob;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * References resolved for rendering one job. Upstream tasks and datatables are loaded in batches before rendering,
+ * lookups made while rendering are memoized.
+ */
+final class JobRenderContext {
+
+    private final Predicate<GraphNodeInfo> secretpadComponent;
+    private final Function<ProjectJob.JobTask, String> localNodeIdResolver;
+    private final Map<String, Boolean> secretpadComponents = new HashMap<>();
+    private final Map<String, Optional<String>> localNodeIds = new HashMap<>();
+    private Map<String, ProjectTaskDO> latestTasks = Collections.emptyMap();
+    private Map<String, List<ProjectDatatableDO>> projectDatatables = Collections.emptyMap();
+    private final Map<DatatableDTO.NodeDatatableId, DatatableDTO> datatables = new HashMap<>();
+
+    JobRenderContext(Predicate<GraphNodeInfo> secretpadComponent, Function<ProjectJob.JobTask, String> localNodeIdResolver) {
+        this.secretpadComponent = secretpadComponent;
+        this.localNodeIdResolver = localNodeIdResolver;
+    }
+
+    boolean isSecretpadComponent(GraphNodeInfo node) {
+        return secretpadComponents.computeIfAbsent(node.getGraphNodeId(), id -> secretpadComponent.test(node));
+    }
+
+    String localNodeId(ProjectJob.JobTask task) {
+        return localNodeIds.computeIfAbsent(task.getTaskId(), id -> Optional.ofNullable(localNodeIdResolver.apply(task))).orElse(null);
+    }
+
+    Optional<ProjectTaskDO> latestTask(String graphNodeId) {
+        return Optional.ofNullable(latestTasks.get(graphNodeId));
+    }
+
+    List<ProjectDatatableDO> projectDatatables(String datatableId) {
+        return projectDatatables.getOrDefault(datatableId, Collections.emptyList());
+    }
+
+    Optional<DatatableDTO> datatable(String nodeId, String datatableId) {
+        return Optional.ofNullable(datatables.get(DatatableDTO.NodeDatatableId.from(nodeId, datatableId)));
+    }
+
+    void setLatestTasks(Map<String, ProjectTaskDO> latestTasks) {
+        this.latestTasks = latestTasks;
+    }
+
+    void setProjectDatatables(Map<String, List<ProjectDatatableDO>> projectDatatables) {
+        this.projectDatatables = projectDatatables;
+    }
+
+    void addDatatables(Map<DatatableDTO.NodeDatatableId, DatatableDTO> datatables) {
+        this.datatables.putAll(datatables);
+    }
+}
@@ -19,7 +19,6 @@ package org.secretflow.secretpad.service.graph.chain;
 import org.secretflow.secretpad.common.errorcode.DatatableErrorCode;
 import org.secretflow.secretpad.common.errorcode.GraphErrorCode;
 import org.secretflow.secretpad.common.exception.SecretpadException;
-import org.secretflow.secretpad.common.util.JsonUtils;
 import org.secretflow.secretpad.manager.integration.datatable.AbstractDatatableManager;
 import org.secretflow.secretpad.manager.integration.model.DatatableDTO;
 import org.secretflow.secretpad.manager.integration.model.OdpsPartitionParam;
@@ -49,6 +48,7 @@ import org.springframework.util.CollectionUtils;
 import org.springframework.util.ObjectUtils;
 
 import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -81,7 +81,7 @@ public class JobRenderHandler extends AbstractJobHandler<ProjectJob> {
      */
     @Override
     public void doHandler(ProjectJob job) {
-        ProjectJob newJob = JsonUtils.toJavaObject(JsonUtils.toJSONString(job), ProjectJob.class);
+        ProjectJob newJob = ProjectJob.copyOf(job);
         renderInputs(newJob);
         renderOutputs(newJob);
         renderCustomizeSpec(newJob);
@@ -100,10 +100,11 @@ public class JobRenderHandler extends AbstractJobHandler<ProjectJob> {
         String projectId = job.getProjectId();
         GraphBuilder graphBuilder = new GraphBuilder(job.getFullNodes());
         List<ProjectJob.JobTask> jobTasks = job.getTasks();
-        List<String> selectedNodes = jobTasks.stream().map(task -> task.getNode().getGraphNodeId()).toList();
+        Set<String> selectedNodes = jobTasks.stream().map(task -> task.getNode().getGraphNodeId()).collect(Collectors.toSet());
+        JobRenderContext context = resolveReferences(job, graphBuilder, selectedNodes);
         for (ProjectJob.JobTask task : jobTasks) {
             GraphNodeInfo graphNodeInfo = task.getNode();
-            if (componentService.isSecretpadComponent(graphNodeInfo)) {
+            if (context.isSecretpadComponent(graphNodeInfo)) {
                 String datatableId = ComponentTools.getDataTableId(graphNodeInfo);
                 if (StringUtils.isEmpty(datatableId)) {
                     throw SecretpadException.of(DatatableErrorCode.DATATABLE_NOT_EXISTS, graphNodeInfo.getGraphNodeId());
@@ -120,30 +121,26 @@ public class JobRenderHandler extends AbstractJobHandler<ProjectJob> {
                 for (String input : inputs) {
                     GraphNodeInfo dependencyGraphNode = graphBuilder.getNodeByInputId(input);
                     String dependencyGraphNodeId = dependencyGraphNode.getGraphNodeId();
-                    if (componentService.isSecretpadComponent(dependencyGraphNode)) {
+                    if (context.isSecretpadComponent(dependencyGraphNode)) {
                         // dependency graph node is read data
                         if (!selectedNodes.contains(dependencyGraphNodeId)) {
                             // read data not exists in selectNodes, must have been run
-                            Optional<ProjectTaskDO> projectTaskDOOptional = taskRepository.findLatestTasks(projectId, dependencyGraphNodeId);
-                            if (projectTaskDOOptional.isEmpty()) {
+                            if (context.latestTask(dependencyGraphNodeId).isEmpty()) {
                                 throw SecretpadException.of(GraphErrorCode.GRAPH_DEPENDENT_NODE_NOT_RUN, dependencyGraphNodeId);
                             }
                         }
                         String datatableId = ComponentTools.getDataTableId(dependencyGraphNode);
                         /* read data  */
                         if (ComponentConstants.COMP_READ_DATA_DATATABLE_ID.equals(dependencyGraphNode.codeName)) {
-                            List<ProjectDatatableDO> datatableDOS = datatableRepository.findByDatableId(projectId, datatableId);
+                            List<ProjectDatatableDO> datatableDOS = context.projectDatatables(datatableId);
                             if (CollectionUtils.isEmpty(datatableDOS)) {
                                 throw SecretpadException.of(DatatableErrorCode.DATATABLE_NOT_EXISTS);
                             }
                             Optional<DatatableDTO> datatableDTOOptional = Optional.empty();
                             for (ProjectDatatableDO projectDatatableDO : datatableDOS) {
                                 // domain data grant query , in p2p should be one of project node in local inst
-                                String localNodeId = envService.findLocalNodeId(task);
-                                String nodeId = projectDatatableDO.getUpk().getNodeId();
-                                nodeId = StringUtils.isBlank(localNodeId) ? nodeId : localNodeId;
-                                log.warn("[JobRenderHandler] find datatable, nodeId:{}, datatableId:{}", nodeId, datatableId);
-                                datatableDTOOptional = datatableManager.findById(DatatableDTO.NodeDatatableId.from(nodeId, datatableId));
+                                String nodeId = datatableNodeId(context, task, projectDatatableDO);
+                                datatableDTOOptional = context.datatable(nodeId, datatableId);
                                 if (datatableDTOOptional.isEmpty()) {
                                     throw SecretpadException.of(DatatableErrorCode.DATATABLE_NOT_EXISTS, "nodeId=" + nodeId, "tableId=" + datatableId);
                                 }
@@ -180,7 +177,7 @@ public class JobRenderHandler extends AbstractJobHandler<ProjectJob> {
                             dependencies.add(JobUtils.genTaskId(job.getJobId(), dependencyGraphNodeId));
                         } else {
                             // dependency sf graph node not exists in selectNodes
-                            Optional<ProjectTaskDO> projectTaskDOOptional = taskRepository.findLatestTasks(projectId, dependencyGraphNodeId);
+                            Optional<ProjectTaskDO> projectTaskDOOptional = context.latestTask(dependencyGraphNodeId);
                             if (projectTaskDOOptional.isEmpty()) {
                                 throw SecretpadException.of(DatatableErrorCode.DATATABLE_NOT_EXISTS);
                             }
@@ -197,6 +194,65 @@ public class JobRenderHandler extends AbstractJobHandler<ProjectJob> {
         }
     }
 
+    /**
+     * Resolve upstream tasks and datatables of all job inputs up front, one repository query for tasks, one for
+     * project datatables and one kuscia batch query per party
+     *
+     * @param job           target job
+     * @param graphBuilder  graph of the full nodes
+     * @param selectedNodes graph node ids of the job tasks
+     * @return render context
+     */
+    private JobRenderContext resolveReferences(ProjectJob job, GraphBuilder graphBuilder, Set<String> selectedNodes) {
+        String projectId = job.getProjectId();
+        JobRenderContext context = new JobRenderContext(componentService::isSecretpadComponent, envService::findLocalNodeId);
+        Set<String> finishedNodeIds = new LinkedHashSet<>();
+        Map<ProjectJob.JobTask, Set<String>> readDatatableIds = new LinkedHashMap<>();
+        for (ProjectJob.JobTask task : job.getTasks()) {
+            GraphNodeInfo graphNodeInfo = task.getNode();
+            if (CollectionUtils.isEmpty(graphNodeInfo.getInputs()) || context.isSecretpadComponent(graphNodeInfo)) {
+                continue;
+            }
+            for (String input : graphNodeInfo.getInputs()) {
+                GraphNodeInfo dependencyGraphNode = graphBuilder.getNodeByInputId(input);
+                if (!selectedNodes.contains(dependencyGraphNode.getGraphNodeId())) {
+                    finishedNodeIds.add(dependencyGraphNode.getGraphNodeId());
+                }
+                if (ComponentConstants.COMP_READ_DATA_DATATABLE_ID.equals(dependencyGraphNode.codeName) && context.isSecretpadComponent(dependencyGraphNode)) {
+                    readDatatableIds.computeIfAbsent(task, k -> new LinkedHashSet<>()).add(ComponentTools.getDataTableId(dependencyGraphNode));
+                }
+            }
+        }
+        if (!finishedNodeIds.isEmpty()) {
+            context.setLatestTasks(taskRepository.findLatestTasksByGraphNodeIds(projectId, finishedNodeIds).stream()
+                    .collect(Collectors.toMap(ProjectTaskDO::getGraphNodeId, Function.identity(), (a, b) -> a)));
+        }
+        if (readDatatableIds.isEmpty()) {
+            return context;
+        }
+        Set<String> datatableIds = readDatatableIds.values().stream().flatMap(Set::stream).collect(Collectors.toSet());
+        context.setProjectDatatables(datatableRepository.findByDatableIds(projectId, datatableIds).stream()
+                .collect(Collectors.groupingBy(datatableDO -> datatableDO.getUpk().getDatatableId())));
+        Map<String, Set<DatatableDTO.NodeDatatableId>> nodeDatatableIds = new LinkedHashMap<>();
+        readDatatableIds.forEach((task, ids) -> ids.forEach(datatableId -> context.projectDatatables(datatableId).forEach(projectDatatableDO -> {
+            String nodeId = datatableNodeId(context, task, projectDatatableDO);
+            nodeDatatableIds.computeIfAbsent(nodeId, k -> new LinkedHashSet<>()).add(DatatableDTO.NodeDatatableId.from(nodeId, datatableId));
+        })));
+        nodeDatatableIds.forEach((nodeId, ids) -> {
+            log.info("[JobRenderHandler] find datatables, nodeId:{}, datatableIds:{}", nodeId, ids);
+            context.addDatatables(datatableManager.findByIds(new ArrayList<>(ids), (currentNodeId, extra) -> nodeId));
+        });
+        return context;
+    }
+
+    /**
+     * Node to query the datatable from, in p2p the local node of the task
+     */
+    private String datatableNodeId(JobRenderContext context, ProjectJob.JobTask task, ProjectDatatableDO projectDatatableDO) {
+        String localNodeId = context.localNodeId(task);
+        return StringUtils.isBlank(localNodeId) ? projectDatatableDO.getUpk().getNodeId() : localNodeId;
+    }
+
     /**
      * Render job outputs
      *
@@ -257,7 +313,7 @@ public class JobRenderHandler extends AbstractJobHandler<ProjectJob> {
         for (int i = 0; i < tasks.size(); i++) {
             ProjectJob.JobTask task = tasks.get(i);
             GraphNodeInfo graphNodeInfo = task.getNode();
-            Pipeline.NodeDef pipelineNodeDef = ComponentTools.getNodeDef(graphNodeInfo.getNodeDef());
+            Pipeline.NodeDef pipelineNodeDef = ComponentTools.getNodeDef(graphNodeInfo);
             ProjectJob.JobTask process = nodeDefAdapterFactory.process(pipelineNodeDef, graphNodeInfo, task);
             if (!ObjectUtils.isEmpty(process)) {
                 log.info("extendTask tasks :{} ", process);
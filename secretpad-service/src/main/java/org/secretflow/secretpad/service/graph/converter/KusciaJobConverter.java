@@ -242,13 +242,16 @@ public class KusciaJobConverter implements JobConverter {
         List<ProjectDatatableDO> datatableDOS = new ArrayList<>();
         List<String> inputs = task.getNode().getInputs();
         String projectId = job.getProjectId();
-        ProjectGraphDO graphDO = ownerCheck(projectId, job.getGraphId());
+        // scheduled fires render the graph snapshot of the schedule
+        ProjectGraphDO graphDO = GraphContext.getScheduleGraph() != null ? GraphContext.getScheduleGraph() : ownerCheck(projectId, job.getGraphId());
         //Get the graphNodeId of the upstream sample table of the scql analysis component
         Set<String> topNodes = GraphUtils.findTopNodes(graphDO.getEdges(), task.getNode().getGraphNodeId());
         List<String> dataTableIds = new ArrayList<>();
         //Find the dataTableId of the upstream sample table based on the graphNodeId of the upstream sample table
         for (String graphNodeId : topNodes) {
-            Optional<ProjectGraphNodeDO> optionalProjectGraphNodeDO = graphNodeRepository.findById(new ProjectGraphNodeDO.UPK(projectId, job.getGraphId(), graphNodeId));
+            Optional<ProjectGraphNodeDO> optionalProjectGraphNodeDO = GraphContext.getScheduleGraph() != null
+                    ? graphDO.getNodes().stream().filter(node -> graphNodeId.equals(node.getUpk().getGraphNodeId())).findFirst()
+                    : graphNodeRepository.findById(new ProjectGraphNodeDO.UPK(projectId, job.getGraphId(), graphNodeId));
             if(optionalProjectGraphNodeDO.isEmpty()){
                 log.error("projectGraphNodeDO not found, projectId: {}, graphId: {}, graphNodeId: {}", projectId, job.getGraphId(), graphNodeId);
                 continue;
@@ -0,0 +1,169 @@
+/*
+ * Copyright 2024 Ant Group Co., Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.secretflow.secretpad.service.impl;
+
+import org.secretflow.secretpad.common.enums.PlatformTypeEnum;
+import org.secretflow.secretpad.common.errorcode.JobErrorCode;
+import org.secretflow.secretpad.common.errorcode.SystemErrorCode;
+import org.secretflow.secretpad.common.exception.SecretpadException;
+import org.secretflow.secretpad.persistence.entity.ProjectTaskDO;
+import org.secretflow.secretpad.persistence.repository.NodeRepository;
+import org.secretflow.secretpad.persistence.repository.ProjectJobTaskRepository;
+import org.secretflow.secretpad.service.ICloudLogService;
+import org.secretflow.secretpad.service.model.CloudGraphNodeTaskLogsVO;
+import org.secretflow.secretpad.service.model.graph.GraphNodeCloudLogsRequest;
+import org.secretflow.secretpad.service.model.node.NodeSimpleInfo;
+
+import org.apache.commons.lang3.StringUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Cloud log service reading the logs of one task page by page.
+ * <p>
+ * The logs are searched only within the task run time, from its creation to its last modification once finished.
+ * Task times are stored in UTC, the window bounds are UTC as well.
+ * Each page returns a continuation token, the position after its last line, bound to the task it was issued for.
+ */
+public abstract class AbstractCloudLogService implements ICloudLogService {
+
+    /**
+     * Logs may be stamped slightly before the task row is written or shipped after the task is finished
+     */
+    private static final Duration WINDOW_LEAD = Duration.ofMinutes(1);
+    private static final Duration WINDOW_LAG = Duration.ofMinutes(5);
+    private static final String CURSOR_SEPARATOR = ":";
+
+    protected final ProjectJobTaskRepository taskRepository;
+    protected final NodeRepository nodeRepository;
+    protected final String platformType;
+    protected final String localNodeId;
+
+    protected AbstractCloudLogService(ProjectJobTaskRepository taskRepository, NodeRepository nodeRepository, String platformType, String localNodeId) {
+        this.taskRepository = taskRepository;
+        this.nodeRepository = nodeRepository;
+        this.platformType = platformType;
+        this.localNodeId = localNodeId;
+    }
+
+    @Override
+    public CloudGraphNodeTaskLogsVO fetchLog(GraphNodeCloudLogsRequest request) {
+        Optional<ProjectTaskDO> taskDOOptional;
+        //query appointed job history log
+        if (StringUtils.isNotBlank(request.getJobId()) && StringUtils.isNotBlank(request.getTaskId())) {
+            taskDOOptional = taskRepository.findById(new ProjectTaskDO.UPK(request.getProjectId(), request.getJobId(), request.getTaskId()));
+        } else {
+            //query latest job parties to fronted
+            if (Objects.nonNull(request.getQueryParties()) && request.getQueryParties() && StringUtils.isNotBlank(request.getGraphNodeId())) {
+                taskDOOptional = taskRepository.findLatestTasks(request.getProjectId(), request.getGraphNodeId());
+                if (taskDOOptional.isPresent()) {
+                    List<String> parties = taskDOOptional.get().getParties();
+                    List<NodeSimpleInfo> simpleInfos = nodeRepository.findByNodeIdIn(parties).stream().map(e -> NodeSimpleInfo.builder().nodeName(e.getName()).nodeId(e.getNodeId()).build()).collect(Collectors.toList());
+                    return CloudGraphNodeTaskLogsVO.buildQueryNodePartiesResult(simpleInfos);
+                }
+            } else if (StringUtils.isBlank(request.getGraphNodeId()) && StringUtils.isBlank(request.getJobId()) && StringUtils.isBlank(request.getTaskId())) {
+                //query cloud log service ready status
+                return CloudGraphNodeTaskLogsVO.buildReadyResult();
+            } else {
+                //query latest job log
+                taskDOOptional = taskRepository.findLatestTasks(request.getProjectId(), request.getGraphNodeId());
+            }
+        }
+        if (taskDOOptional.isEmpty()) {
+            throw SecretpadException.of(JobErrorCode.PROJECT_JOB_TASK_NOT_EXISTS);
+        }
+        platformPermission(platformType, localNodeId, request.getNodeId());
+        ProjectTaskDO task = taskDOOptional.get();
+        String taskId = task.getUpk().getTaskId();
+        int pageSize = Objects.isNull(request.getPageSize()) || request.getPageSize() <= 0 ? maxPageSize() : Math.min(request.getPageSize(), maxPageSize());
+        LocalDateTime from = task.getGmtCreate().minus(WINDOW_LEAD);
+        LocalDateTime to = task.isFinished() ? task.getGmtModified().plus(WINDOW_LAG) : LocalDateTime.now(ZoneOffset.UTC);
+        LogPage page = queryLogs(task, request.getNodeId(), from, to, decodeCursor(request.getCursor(), taskId), pageSize);
+
+        CloudGraphNodeTaskLogsVO logsVO = new CloudGraphNodeTaskLogsVO(task.getStatus(), page.logs(), true);
+        logsVO.setHasMore(page.hasMore());
+        // a running task keeps its cursor so the client can come back for lines written later
+        if (page.hasMore() || !task.isFinished()) {
+            logsVO.setNextCursor(encodeCursor(taskId, page.nextPosition()));
+        }
+        return logsVO;
+    }
+
+    /**
+     * Query one page of task logs
+     *
+     * @param task      the task
+     * @param nodeId    the requester nodeId
+     * @param from      window start, inclusive
+     * @param to        window end, inclusive
+     * @param position  position after the last line already returned, 0 for the first page
+     * @param pageSize  max lines of the page
+     * @return the page
+     */
+    protected abstract LogPage queryLogs(ProjectTaskDO task, String nodeId, LocalDateTime from, LocalDateTime to, long position, int pageSize);
+
+    /**
+     * @return max lines of one page the log source accepts
+     */
+    protected abstract int maxPageSize();
+
+    private void platformPermission(String platform, String nodeId, String requesterNodeId) {
+        if (PlatformTypeEnum.valueOf(platform) == PlatformTypeEnum.AUTONOMY) {
+            if (!nodeId.equalsIgnoreCase(requesterNodeId)) {
+                throw SecretpadException.of(JobErrorCode.PROJECT_JOB_NODE_PERMISSION_ERROR);
+            }
+        }
+    }
+
+    private static String encodeCursor(String taskId, long position) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString((taskId + CURSOR_SEPARATOR + position).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static long decodeCursor(String cursor, String taskId) {
+        if (StringUtils.isBlank(cursor)) {
+            return 0;
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int index = decoded.lastIndexOf(CURSOR_SEPARATOR);
+            if (index > 0 && decoded.substring(0, index).equals(taskId)) {
+                return Long.parseLong(decoded.substring(index + 1));
+            }
+        } catch (IllegalArgumentException e) {
+            throw SecretpadException.of(SystemErrorCode.VALIDATION_ERROR, e, "invalid log cursor");
+        }
+        throw SecretpadException.of(SystemErrorCode.VALIDATION_ERROR, "log cursor does not belong to task " + taskId);
+    }
+
+    /**
+     * One page of task logs
+     *
+     * @param logs         log lines in time order
+     * @param nextPosition position after the last line of the page
+     * @param hasMore      whether the page is full, so more lines may already be there
+     */
+    protected record LogPage(List<String> logs, long nextPosition, boolean hasMore) {
+    }
+}
@@ -30,6 +30,7 @@ import org.secretflow.secretpad.service.AuthService;
 import org.secretflow.secretpad.service.EnvService;
 import org.secretflow.secretpad.service.SysResourcesBizService;
 import org.secretflow.secretpad.service.UserService;
+import org.secretflow.secretpad.service.auth.TokenSessionCache;
 
 import jakarta.annotation.Resource;
 import org.apache.commons.lang3.ObjectUtils;
@@ -90,6 +91,8 @@ public class AuthServiceImpl implements AuthService {
     private InstRepository instRepository;
     @Resource
     private NodeRepository nodeRepository;
+    @Resource
+    private TokenSessionCache tokenSessionCache;
 
     @Override
     @Transactional(rollbackFor = Exception.class, noRollbackFor = SecretpadException.class)
@@ -135,6 +138,7 @@ public class AuthServiceImpl implements AuthService {
     @Transactional(rollbackFor = Exception.class)
     public void logout(String name, String token) {
         userTokensRepository.deleteByNameAndToken(name, token);
+        tokenSessionCache.evict(token);
     }
 
 
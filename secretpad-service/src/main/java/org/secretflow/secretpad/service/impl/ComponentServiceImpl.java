@@ -18,31 +18,23 @@ package org.secretflow.secretpad.service.impl;
 
 import org.secretflow.secretpad.common.errorcode.GraphErrorCode;
 import org.secretflow.secretpad.common.exception.SecretpadException;
-import org.secretflow.secretpad.common.util.FileUtils;
-import org.secretflow.secretpad.common.util.JsonUtils;
 import org.secretflow.secretpad.service.ComponentService;
 import org.secretflow.secretpad.service.configuration.ScqlConfig;
 import org.secretflow.secretpad.service.configuration.SecretFlowVersionConfig;
-import org.secretflow.secretpad.service.configuration.SecretpadComponentConfig;
 import org.secretflow.secretpad.service.constant.ComponentConstants;
+import org.secretflow.secretpad.service.graph.ComponentRegistry;
 import org.secretflow.secretpad.service.graph.ComponentTools;
 import org.secretflow.secretpad.service.model.component.ComponentVersion;
 import org.secretflow.secretpad.service.model.graph.CompListVO;
 import org.secretflow.secretpad.service.model.graph.ComponentKey;
-import org.secretflow.secretpad.service.model.graph.ComponentSummaryDef;
 import org.secretflow.secretpad.service.model.graph.GraphNodeInfo;
-import com.secretflow.spec.v1.CompListDef;
 import com.secretflow.spec.v1.ComponentDef;
 import jakarta.annotation.Resource;
 import lombok.extern.slf4j.Slf4j;
 import org.secretflow.proto.pipeline.Pipeline;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.util.CollectionUtils;
-import org.springframework.util.ResourceUtils;
 
-import java.io.File;
-import java.io.IOException;
 import java.util.*;
 
 import static org.secretflow.secretpad.common.constant.DeployModeConstants.*;
@@ -57,14 +49,8 @@ import static org.secretflow.secretpad.common.constant.DeployModeConstants.*;
 @Service
 public class ComponentServiceImpl implements ComponentService {
 
-    @Value("${component.i18n.location:./config/i18n}")
-    private String i18nLocation;
-
-    @Resource
-    private List<CompListDef> components;
-
     @Resource
-    private SecretpadComponentConfig secretpadComponentConfig;
+    private ComponentRegistry componentRegistry;
 
     @Resource
     private SecretFlowVersionConfig secretFlowVersionConfig;
@@ -74,38 +60,7 @@ public class ComponentServiceImpl implements ComponentService {
 
     @Override
     public Map<String, CompListVO> listComponents() {
-        Map<String, CompListVO> resp = new HashMap<>();
-        components.forEach(compListDef -> {
-            List<ComponentDef> comps = compListDef.getCompsList();
-            if (!CollectionUtils.isEmpty(comps)) {
-                CompListVO compListVO = CompListVO.builder()
-                        .name(compListDef.getName())
-                        .version(compListDef.getVersion())
-                        .desc(compListDef.getDesc())
-                        .comps(new ArrayList<>()).build();
-                compListVO.getComps().addAll(comps.stream()
-                        .map(componentDef -> {
-                            //secretflow/domain/name:version
-                            String hide = compListDef.getName() + "/" + componentDef.getDomain() + "/" + componentDef.getName() + ":" + componentDef.getVersion();
-                            if (secretpadComponentConfig.getHide().contains(hide)) {
-                                log.info("hide {}", hide);
-                                SF_HIDE_COMPONENTS.put(componentDef.getName(), componentDef);
-                                return null;
-                            }
-                            return ComponentSummaryDef.builder()
-                                    .domain(componentDef.getDomain())
-                                    .name(componentDef.getName())
-                                    .version(componentDef.getVersion())
-                                    .desc(componentDef.getDesc())
-                                    .build();
-                        })
-                        .filter(Objects::nonNull).toList());
-                resp.put(compListVO.getName(), compListVO);
-            }
-        });
-        resp.remove(ComponentConstants.SECRETPAD);
-        resp.remove(ComponentConstants.SCQL);
-        return resp;
+        return componentRegistry.snapshot().compList();
     }
 
     @Override
@@ -116,14 +71,14 @@ public class ComponentServiceImpl implements ComponentService {
     @Override
     public List<ComponentDef> batchGetComponent(List<ComponentKey> keys) {
         List<ComponentDef> result = new ArrayList<>();
-        Map<ComponentKey, ComponentDef> componentMap = new HashMap<>();
-        components.stream().filter(compListDef -> !CollectionUtils.isEmpty(compListDef.getCompsList())).forEach(compListDef -> compListDef.getCompsList().forEach(componentDef -> componentMap.put(new ComponentKey(compListDef.getName(), componentDef.getDomain(), componentDef.getName()), componentDef)));
+        Map<ComponentKey, ComponentDef> componentMap = componentRegistry.snapshot().components();
         if (!CollectionUtils.isEmpty(keys)) {
             keys.forEach(key -> {
-                if (!componentMap.containsKey(key)) {
+                ComponentDef componentDef = componentMap.get(key);
+                if (componentDef == null) {
                     throw SecretpadException.of(GraphErrorCode.COMPONENT_NOT_EXISTS, key.toString());
                 }
-                result.add(componentMap.get(key));
+                result.add(componentDef);
             });
         }
         return result;
@@ -131,55 +86,22 @@ public class ComponentServiceImpl implements ComponentService {
 
     @Override
     public Object listComponentI18n() {
-        Map<String, Map<String, Object>> config = new HashMap<>();
-        Map<String, Object> secretpad = new HashMap<>();
-        Map<String, Object> scql = new HashMap<>();
-        try {
-            File dir = ResourceUtils.getFile(i18nLocation);
-            File[] files = dir.listFiles();
-            if (files != null) {
-                for (File file : files) {
-                    String fileName = file.getName();
-                    String app = fileName.substring(0, fileName.lastIndexOf('.'));
-                    String str = FileUtils.readFile2String(file);
-                    Map<String, Object> content = JsonUtils.toJavaMap(str, Object.class);
-                    if (!CollectionUtils.isEmpty(content)) {
-                        if (app.equals(ComponentConstants.SECRETPAD)) {
-                            secretpad = content;
-                        }else if (app.equals(ComponentConstants.SCQL)){
-                            scql = content;
-                        } else {
-                            config.put(app, content);
-                        }
-                    }
-                }
-                Map<String, Object> finalSecretpad = secretpad;
-                Map<String, Object> finalScql = scql;
-                config.keySet().forEach(k -> {
-                    config.get(k).putAll(finalSecretpad);
-                    config.get(ComponentConstants.SECRETFLOW).putAll(finalScql);
-                });
-            }
-        } catch (IOException e) {
-            throw SecretpadException.of(GraphErrorCode.COMPONENT_18N_ERROR, e);
-        }
-        config.keySet().forEach(key -> {
-            Map<String, Object> map = config.get(key);
-            Iterator<Map.Entry<String, Object>> iterator = map.entrySet().iterator();
-            while (iterator.hasNext()) {
-                Map.Entry<String, Object> entry = iterator.next();
-                String hide = key + "/" + entry.getKey();
-                if (secretpadComponentConfig.getHide().contains(hide)) {
-                    iterator.remove();
-                }
-            }
-        });
-        return config;
+        return componentRegistry.snapshot().i18n();
+    }
+
+    @Override
+    public ComponentRegistry.Serialized listComponentsResponse() {
+        return componentRegistry.snapshot().compListResponse();
+    }
+
+    @Override
+    public ComponentRegistry.Serialized listComponentI18nResponse() {
+        return componentRegistry.snapshot().i18nResponse();
     }
 
     @Override
     public boolean isSecretpadComponent(GraphNodeInfo node) {
-        Pipeline.NodeDef pipelineNodeDef = ComponentTools.getNodeDef(node.getNodeDef());
+        Pipeline.NodeDef pipelineNodeDef = ComponentTools.getNodeDef(node);
         String componentId = pipelineNodeDef.getDomain() + ComponentConstants.COMP_ID_DELIMITER + pipelineNodeDef.getName();
         return ComponentConstants.PAD_COMP.contains(componentId);
     }
@@ -34,20 +34,34 @@ import org.secretflow.secretpad.service.DataService;
 import org.secretflow.secretpad.service.EnvService;
 import org.secretflow.secretpad.service.model.data.*;
 
+import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.nio.file.attribute.FileTime;
 import java.security.SecureRandom;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Collectors;
 
 import static org.secretflow.secretpad.common.constant.DomainDatasourceConstants.DEFAULT_DATASOURCE;
 import static org.secretflow.secretpad.common.constant.DomainDatasourceConstants.DEFAULT_DATASOURCE_TYPE;
@@ -69,6 +83,14 @@ public class DataServiceImpl implements DataService {
 
     private final static String FILE_SEPETATOR = "/";
 
+    private final static String CHUNK_UPLOAD_SUFFIX = ".part";
+
+    private final static long CHUNK_UPLOAD_IDLE_MILLIS = 24 * 60 * 60 * 1000L;
+
+    private final static long CHUNK_UPLOAD_ORPHAN_MILLIS = 60 * 60 * 1000L;
+
+    private final static Duration ARCHIVE_IN_USE_GRACE = Duration.ofMinutes(10);
+
     @Autowired
     private AbstractDataManager dataManager;
 
@@ -81,41 +103,157 @@ public class DataServiceImpl implements DataService {
     @Value("${secretpad.data.dir-path:/app/data/}")
     private String storeDir;
 
+    @Value("${secretpad.data.download-cache-dir:/app/data/.download-cache/}")
+    private String downloadCacheDir;
+
+    @Value("${secretpad.data.download-cache-max-size:10GB}")
+    private String downloadCacheMaxSize;
+
+    private final ConcurrentMap<String, Object> archiveLocks = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<String, ChunkUpload> chunkUploads = new ConcurrentHashMap<>();
+
     @Override
     public UploadDataResultVO upload(MultipartFile file, String nodeId) {
         checkDataPermissions(nodeId);
         String fileName = file.getOriginalFilename();
         fileNameCheck(fileName);
         nodeIdValidCheck(nodeId);
-        String dirPath = storeDir + nodeId + FILE_SEPETATOR;
-        String randomFileName = null;
-        File target = null;
-        for (int i = 0; i < 5; i++) {
-            randomFileName = getRandomFileName(fileName);
-            target = new File(dirPath + randomFileName);
-            if (!target.exists()) {
-                break;
-            }
-        }
-        SafeFileUtils.checkPathInWhitelist(target, List.of(storeDir));
-        if (target.exists()) {
-            LOGGER.warn("After try some times generate random file name, the target random file {} still exists.", dirPath + randomFileName);
-            throw SecretpadException.of(DataErrorCode.FILE_EXISTS_ERROR);
+        File target = newUploadTarget(fileName, nodeId);
+        UploadStreamPipeline pipeline = new UploadStreamPipeline();
+        try (InputStream in = file.getInputStream();
+             OutputStream out = Files.newOutputStream(target.toPath(), StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            pipeline.transfer(in, out);
+            pipeline.finish(out);
+        } catch (IOException e) {
+            LOGGER.error("IOException: {}", e.getMessage());
+            target.delete();
+            throw SecretpadException.of(SystemErrorCode.UNKNOWN_ERROR, e);
         }
-        createDirIfNotExist(dirPath);
+        return uploadResult(fileName, target.getName(), pipeline);
+    }
+
+    @Override
+    public ChunkUploadVO initChunkUpload(InitChunkUploadRequest request) {
+        String nodeId = request.getNodeId();
+        checkDataPermissions(nodeId);
+        fileNameCheck(request.getFileName());
+        nodeIdValidCheck(nodeId);
+        File target = newUploadTarget(request.getFileName(), nodeId);
+        Path part = Paths.get(target.getPath() + CHUNK_UPLOAD_SUFFIX);
         try {
-            file.transferTo(target);
-            FileUtils.removeBOMFromFile(dirPath + randomFileName);
+            Files.createFile(part);
         } catch (IOException e) {
             LOGGER.error("IOException: {}", e.getMessage());
             throw SecretpadException.of(SystemErrorCode.UNKNOWN_ERROR, e);
         }
-        return UploadDataResultVO.builder()
-                .name(fileName)
-                .realName(randomFileName)
-                .datasource(DEFAULT_DATASOURCE)
-                .datasourceType(DEFAULT_DATASOURCE_TYPE)
-                .build();
+        ChunkUpload upload = new ChunkUpload(UUIDUtils.newUUID(), nodeId, request.getFileName(), target.toPath(), part);
+        chunkUploads.put(upload.uploadId, upload);
+        LOGGER.info("Chunk upload {} started for {}", upload.uploadId, target);
+        return ChunkUploadVO.builder().uploadId(upload.uploadId).offset(0).build();
+    }
+
+    @Override
+    public ChunkUploadVO uploadChunk(String nodeId, String uploadId, long offset, InputStream chunk) {
+        ChunkUpload upload = getChunkUpload(nodeId, uploadId);
+        synchronized (upload) {
+            long received = upload.pipeline.getReceived();
+            if (offset != received) {
+                throw SecretpadException.of(DataErrorCode.ILLEGAL_PARAMS_ERROR,
+                        "chunk offset " + offset + " does not match the received size " + received);
+            }
+            UploadStreamPipeline snapshot = upload.pipeline.snapshot();
+            try (FileChannel channel = FileChannel.open(upload.part, StandardOpenOption.WRITE)) {
+                channel.position(snapshot.getWritten());
+                upload.pipeline.transfer(chunk, Channels.newOutputStream(channel));
+            } catch (IOException e) {
+                // drop the partial chunk, the client resumes from the last offset
+                LOGGER.warn("Chunk upload {} failed at offset {}: {}", uploadId, offset, e.getMessage());
+                upload.pipeline = snapshot;
+                truncate(upload.part, snapshot.getWritten());
+                throw SecretpadException.of(SystemErrorCode.UNKNOWN_ERROR, e);
+            }
+            upload.lastActive = System.currentTimeMillis();
+            return ChunkUploadVO.builder().uploadId(uploadId).offset(upload.pipeline.getReceived()).build();
+        }
+    }
+
+    @Override
+    public ChunkUploadVO chunkUploadStatus(ChunkUploadRequest request) {
+        ChunkUpload upload = getChunkUpload(request.getNodeId(), request.getUploadId());
+        synchronized (upload) {
+            return ChunkUploadVO.builder().uploadId(upload.uploadId).offset(upload.pipeline.getReceived()).build();
+        }
+    }
+
+    @Override
+    public UploadDataResultVO completeChunkUpload(ChunkUploadRequest request) {
+        ChunkUpload upload = getChunkUpload(request.getNodeId(), request.getUploadId());
+        synchronized (upload) {
+            try (FileChannel channel = FileChannel.open(upload.part, StandardOpenOption.WRITE)) {
+                channel.position(upload.pipeline.getWritten());
+                upload.pipeline.finish(Channels.newOutputStream(channel));
+                Files.move(upload.part, upload.target, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException e) {
+                LOGGER.error("IOException: {}", e.getMessage());
+                throw SecretpadException.of(SystemErrorCode.UNKNOWN_ERROR, e);
+            }
+            chunkUploads.remove(upload.uploadId);
+            LOGGER.info("Chunk upload {} completed, {} bytes", upload.uploadId, upload.pipeline.getWritten());
+            return uploadResult(upload.fileName, upload.target.getFileName().toString(), upload.pipeline);
+        }
+    }
+
+    /**
+     * Remove chunk uploads without activity for a day together with their part files,
+     * and part files left without an upload, upload state is kept in memory and lost on restart
+     */
+    @Scheduled(fixedDelay = 60 * 60 * 1000)
+    public void purgeIdleChunkUploads() {
+        long expireBefore = System.currentTimeMillis() - CHUNK_UPLOAD_IDLE_MILLIS;
+        chunkUploads.values().removeIf(upload -> {
+            synchronized (upload) {
+                if (upload.lastActive >= expireBefore) {
+                    return false;
+                }
+                LOGGER.info("Chunk upload {} is idle, remove {}", upload.uploadId, upload.part);
+                try {
+                    Files.deleteIfExists(upload.part);
+                } catch (IOException e) {
+                    LOGGER.warn("Failed to delete {}: {}", upload.part, e.getMessage());
+                }
+                return true;
+            }
+        });
+        purgeOrphanParts();
+    }
+
+    /**
+     * Delete part files under the node dirs that belong to no upload in progress,
+     * recently modified ones are kept, an upload registers right after creating its part file
+     */
+    private void purgeOrphanParts() {
+        Path root = Paths.get(storeDir);
+        if (!Files.isDirectory(root)) {
+            return;
+        }
+        Set<Path> live = chunkUploads.values().stream().map(upload -> upload.part.toAbsolutePath().normalize()).collect(Collectors.toSet());
+        long orphanBefore = System.currentTimeMillis() - CHUNK_UPLOAD_ORPHAN_MILLIS;
+        try (DirectoryStream<Path> nodeDirs = Files.newDirectoryStream(root, Files::isDirectory)) {
+            for (Path nodeDir : nodeDirs) {
+                try (DirectoryStream<Path> parts = Files.newDirectoryStream(nodeDir, "*" + CHUNK_UPLOAD_SUFFIX)) {
+                    for (Path part : parts) {
+                        if (live.contains(part.toAbsolutePath().normalize()) || part.toFile().lastModified() >= orphanBefore) {
+                            continue;
+                        }
+                        LOGGER.info("Part file {} belongs to no chunk upload, remove it", part);
+                        Files.deleteIfExists(part);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            LOGGER.warn("Failed to purge orphan part files under {}: {}", root, e.getMessage());
+        }
     }
 
     @Override
@@ -166,35 +304,34 @@ public class DataServiceImpl implements DataService {
                 LOGGER.error("The result ralative uri file {} is not in the storeDir {}", filePath, dir);
                 throw SecretpadException.of(DataErrorCode.FILE_NOT_EXISTS_ERROR);
             }
-            String fileName = null;
-            int fileLength = 0;
-            InputStream inputStream = null;
+            String fileName;
+            File sendFile;
+            String fingerprint;
             if (f.isDirectory()) {
                 LOGGER.info("Download process got a dir to download, whose relative uri = {}", relativeUri);
-                CompressUtils.compress(filePath, dir, relativeUri);
+                // since it is a compressed file, add a suffix
                 fileName = relativeUri + ".tar.gz";
-                // since it is a new compressed file, add a suffix
-                inputStream = new FileInputStream(dir + fileName);
-                fileLength = (int) new File(dir + fileName).length();
+                List<File> files = sortedFiles(CompressUtils.getFiles(filePath));
+                fingerprint = fingerprint(files, filePath);
+                sendFile = cachedArchive(f, files, filePath, fingerprint);
             } else {
                 ResultKind kind = ResultKind.fromDatatable(nodeResult.getResultKind());
                 switch (kind) {
                     case Model:
                     case Rule: {
-                        //model and rule
-                        CompressUtils.compressTar(List.of(new File(filePath)), filePath, dir, relativeUri);
-                        // a new compressed file, add a suffix
+                        //model and rule, a compressed file, add a suffix
                         fileName = relativeUri + ".tar.gz";
-                        inputStream = new FileInputStream(dir + fileName);
-                        fileLength = (int) new File(dir + fileName).length();
+                        List<File> files = List.of(f);
+                        fingerprint = fingerprint(files, filePath);
+                        sendFile = cachedArchive(f, files, filePath, fingerprint);
                         break;
                     }
                     default: {
                         LOGGER.info("Download process got a  real csv file to download, whose relative uri = {}", relativeUri);
                         fileName = relativeUri + ".csv";
                         // since the source file is already csv, there is no need to add a suffix, but the file name returned above is suffixed
-                        inputStream = new FileInputStream(dir + relativeUri);
-                        fileLength = inputStream.available();
+                        sendFile = f;
+                        fingerprint = fingerprint(List.of(f), dir);
                         break;
                     }
                 }
@@ -202,8 +339,9 @@ public class DataServiceImpl implements DataService {
             LOGGER.info("When download, the ralative uri = {}. the real file path = {}", relativeUri, filePath);
             return DownloadInfo.builder()
                     .fileName(fileName)
-                    .fileLength(fileLength)
-                    .inputStream(inputStream)
+                    .fileLength(sendFile.length())
+                    .file(sendFile)
+                    .etag("\"" + fingerprint + "\"")
                     .build();
         } catch (IOException e) {
             LOGGER.error("IO exception: {}", e.getMessage());
@@ -214,6 +352,206 @@ public class DataServiceImpl implements DataService {
         }
     }
 
+    /**
+     * Pick a not existing random file under the node dir for an upload
+     *
+     * @param fileName user file name
+     * @param nodeId   target nodeId
+     * @return target file
+     */
+    private File newUploadTarget(String fileName, String nodeId) {
+        String dirPath = storeDir + nodeId + FILE_SEPETATOR;
+        String randomFileName = null;
+        File target = null;
+        for (int i = 0; i < 5; i++) {
+            randomFileName = getRandomFileName(fileName);
+            target = new File(dirPath + randomFileName);
+            if (!target.exists() && !new File(dirPath + randomFileName + CHUNK_UPLOAD_SUFFIX).exists()) {
+                break;
+            }
+        }
+        SafeFileUtils.checkPathInWhitelist(target, List.of(storeDir));
+        if (target.exists()) {
+            LOGGER.warn("After try some times generate random file name, the target random file {} still exists.", dirPath + randomFileName);
+            throw SecretpadException.of(DataErrorCode.FILE_EXISTS_ERROR);
+        }
+        createDirIfNotExist(dirPath);
+        return target;
+    }
+
+    /**
+     * Build upload result from the pipeline state, columns are sampled from the csv header
+     *
+     * @param fileName user file name
+     * @param realName stored file name
+     * @param pipeline finished upload pipeline
+     * @return data result view object
+     */
+    private UploadDataResultVO uploadResult(String fileName, String realName, UploadStreamPipeline pipeline) {
+        String header = pipeline.getFirstLine();
+        List<String> columns = header == null || header.isBlank() ? List.of() : Arrays.stream(header.split(",", -1))
+                .map(column -> StringUtils.strip(column.trim(), "\""))
+                .toList();
+        return UploadDataResultVO.builder()
+                .name(fileName)
+                .realName(realName)
+                .datasource(DEFAULT_DATASOURCE)
+                .datasourceType(DEFAULT_DATASOURCE_TYPE)
+                .size(pipeline.getWritten())
+                .sha256(pipeline.getSha256())
+                .columns(columns)
+                .build();
+    }
+
+    /**
+     * Get a chunk upload of the node
+     *
+     * @param nodeId   target nodeId
+     * @param uploadId upload id
+     * @return chunk upload
+     */
+    private ChunkUpload getChunkUpload(String nodeId, String uploadId) {
+        checkDataPermissions(nodeId);
+        ChunkUpload upload = chunkUploads.get(uploadId);
+        if (upload == null || !upload.nodeId.equals(nodeId)) {
+            LOGGER.error("Chunk upload {} of node {} not exists.", uploadId, nodeId);
+            throw SecretpadException.of(DataErrorCode.FILE_NOT_EXISTS_ERROR, "upload " + uploadId + " not exists");
+        }
+        return upload;
+    }
+
+    private static void truncate(Path part, long size) {
+        try (FileChannel channel = FileChannel.open(part, StandardOpenOption.WRITE)) {
+            channel.truncate(size);
+        } catch (IOException e) {
+            LOGGER.warn("Failed to truncate {}: {}", part, e.getMessage());
+        }
+    }
+
+    /**
+     * Get the cached tar.gz archive of source files, compressing it only when the sources changed.
+     * Archives are named by source and content fingerprint, a cache hit refreshes the archive modified time.
+     *
+     * @param source      source file or directory
+     * @param files       files to compress, sorted
+     * @param inPutPath   the path prefix removed from entry names
+     * @param fingerprint content fingerprint of files
+     * @return cached archive file
+     * @throws IOException
+     */
+    private File cachedArchive(File source, List<File> files, String inPutPath, String fingerprint) throws IOException {
+        String sourceKey = Sha256Utils.hash(source.getCanonicalPath()).substring(0, 16);
+        Path cacheDir = Paths.get(downloadCacheDir);
+        Path archive = cacheDir.resolve(sourceKey + "-" + fingerprint + ".tar.gz");
+        if (touchArchive(archive)) {
+            LOGGER.info("Download archive cache hit {}", archive);
+            return archive.toFile();
+        }
+        Object lock = archiveLocks.computeIfAbsent(sourceKey, k -> new Object());
+        synchronized (lock) {
+            try {
+                if (touchArchive(archive)) {
+                    return archive.toFile();
+                }
+                Files.createDirectories(cacheDir);
+                Path temp = cacheDir.resolve(archive.getFileName() + "." + UUIDUtils.random(8) + ".tmp");
+                try {
+                    CompressUtils.compressTarGz(files, inPutPath, temp.toFile());
+                    Files.move(temp, archive, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                } finally {
+                    Files.deleteIfExists(temp);
+                }
+                LOGGER.info("Download archive cached {}", archive);
+            } finally {
+                archiveLocks.remove(sourceKey, lock);
+            }
+        }
+        pruneArchiveCache(cacheDir, sourceKey);
+        return archive.toFile();
+    }
+
+    /**
+     * Refresh the modified time of a cached archive, it marks the archive as in use for pruning
+     *
+     * @param archive archive path
+     * @return true if the archive exists
+     */
+    private static boolean touchArchive(Path archive) {
+        try {
+            Files.setLastModifiedTime(archive, FileTime.fromMillis(System.currentTimeMillis()));
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Remove outdated archives of the source and keep the cache within its max size, least recently used first.
+     * Archives used within the grace period are kept, a download may still be about to open them.
+     *
+     * @param cacheDir  archive cache directory
+     * @param sourceKey key of the source whose archive was just built
+     */
+    private void pruneArchiveCache(Path cacheDir, String sourceKey) {
+        long maxSize = DataSize.parse(downloadCacheMaxSize).toBytes();
+        long graceBefore = System.currentTimeMillis() - ARCHIVE_IN_USE_GRACE.toMillis();
+        List<Path> archives = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(cacheDir, "*.tar.gz")) {
+            stream.forEach(archives::add);
+        } catch (IOException e) {
+            LOGGER.warn("List download archive cache {} failed: {}", cacheDir, e.getMessage());
+            return;
+        }
+        archives.sort(Comparator.comparingLong(path -> path.toFile().lastModified()));
+        long totalSize = archives.stream().mapToLong(path -> path.toFile().length()).sum();
+        for (Path path : archives) {
+            File file = path.toFile();
+            if (file.lastModified() >= graceBefore) {
+                // ordered by modified time, the rest are in use too
+                break;
+            }
+            boolean outdated = path.getFileName().toString().startsWith(sourceKey + "-");
+            if (!outdated && totalSize <= maxSize) {
+                continue;
+            }
+            long length = file.length();
+            try {
+                Files.deleteIfExists(path);
+                totalSize -= length;
+            } catch (IOException e) {
+                LOGGER.warn("Remove download archive {} failed: {}", path, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Sort files by path so the archive and its fingerprint are stable
+     *
+     * @param files files
+     * @return sorted files
+     */
+    private static List<File> sortedFiles(List<File> files) {
+        return files.stream().sorted(Comparator.comparing(File::getPath)).toList();
+    }
+
+    /**
+     * Fingerprint of files content, built from entry name, length and modified time of each file
+     *
+     * @param files     files
+     * @param inPutPath the path prefix removed from entry names
+     * @return sha256 hex string
+     */
+    private static String fingerprint(List<File> files, String inPutPath) {
+        StringBuilder builder = new StringBuilder();
+        for (File file : files) {
+            builder.append(file.getAbsolutePath().replace(inPutPath, ""))
+                    .append(':').append(file.length())
+                    .append(':').append(file.lastModified())
+                    .append('\n');
+        }
+        return Sha256Utils.hash(builder.toString());
+    }
+
     /**
      * Create directory if not exists
      *
@@ -311,4 +649,25 @@ public class DataServiceImpl implements DataService {
             throw SecretpadException.of(AuthErrorCode.AUTH_FAILED, "no Permissions");
         }
     }
+
+    /**
+     * Chunked upload in progress, the content is appended to the part file next to the target
+     */
+    private static class ChunkUpload {
+        private final String uploadId;
+        private final String nodeId;
+        private final String fileName;
+        private final Path target;
+        private final Path part;
+        private UploadStreamPipeline pipeline = new UploadStreamPipeline();
+        private long lastActive = System.currentTimeMillis();
+
+        private ChunkUpload(String uploadId, String nodeId, String fileName, Path target, Path part) {
+            this.uploadId = uploadId;
+            this.nodeId = nodeId;
+            this.fileName = fileName;
+            this.target = target;
+            this.part = part;
+        }
+    }
 }
@@ -85,6 +85,13 @@ public class DatatableServiceImpl implements DatatableService {
     private final static Logger LOGGER = LoggerFactory.getLogger(DatatableServiceImpl.class);
 
     private static final String DOMAIN_DATA_GRANT_ID = "domaindatagrant_id";
+
+    /**
+     * Same order as {@link AbstractDatatableManager#LIST_ORDER}, used to merge the pages of several nodes
+     */
+    private static final Comparator<DatatableNodeVO> DATATABLE_NODE_ORDER = Comparator
+            .comparing((DatatableNodeVO it) -> it.getDatatableVO().getDatatableId(), Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(DatatableNodeVO::getNodeId, Comparator.nullsLast(Comparator.naturalOrder()));
     @Autowired
     @Qualifier("kusciaApiFutureTaskThreadPool")
     private Executor kusciaApiFutureThreadPool;
@@ -143,10 +150,12 @@ public class DatatableServiceImpl implements DatatableService {
             nodeIds.add(request.getOwnerId());
         }
 
-        List<DatatableNodeVO> datatableNodeVOList = new CopyOnWriteArrayList<>();
+        // every node only provides the head of its listing up to the end of the requested page
+        int windowEnd = PageUtils.windowEnd(request.getPageSize(), request.getPageNumber());
+        Map<String, List<DatatableNodeVO>> nodeDatatableVOs = new ConcurrentHashMap<>();
         AtomicInteger totalDatatableNum = new AtomicInteger();
         List<CompletableFuture<Void>> futures = nodeIds.stream().map(nodeId -> CompletableFuture.supplyAsync(() -> {
-            ListDatatableRequest nodeRequest = createNodeRequest(request, nodeId);
+            ListDatatableRequest nodeRequest = createNodeRequest(request, nodeId, windowEnd);
             return listDatatablesByNodeId(nodeRequest);
         }, kusciaApiFutureThreadPool).handle((datatableListVO, ex) -> {
             if (ex != null) {
@@ -156,6 +165,9 @@ public class DatatableServiceImpl implements DatatableService {
                 return datatableListVO;
             }
         }).thenAccept(datatableListVO -> {
+            if (datatableListVO == null) {
+                return;
+            }
             NodeDO nodeDO = nodeRepository.findByNodeId(nodeId);
             if (ObjectUtils.isEmpty(nodeDO)) {
                 LOGGER.error("getNodeToken Cannot find node by nodeId {}.", nodeId);
@@ -163,13 +175,11 @@ public class DatatableServiceImpl implements DatatableService {
             }
 
             totalDatatableNum.addAndGet(datatableListVO.getTotalDatatableNums());
-            datatableListVO.getDatatableVOList().forEach(datatableVO -> {
-                datatableNodeVOList.add(DatatableNodeVO.builder()
-                        .datatableVO(datatableVO)
-                        .nodeId(nodeId)
-                        .nodeName(nodeDO.getName())
-                        .build());
-            });
+            nodeDatatableVOs.put(nodeId, datatableListVO.getDatatableVOList().stream().map(datatableVO -> DatatableNodeVO.builder()
+                    .datatableVO(datatableVO)
+                    .nodeId(nodeId)
+                    .nodeName(nodeDO.getName())
+                    .build()).toList());
         })).toList();
 
         try {
@@ -188,7 +198,7 @@ public class DatatableServiceImpl implements DatatableService {
             throw SecretpadException.of(ConcurrentErrorCode.TASK_TIME_OUT_ERROR, e);
         }
 
-        List<DatatableNodeVO> rangeVOList = PageUtils.rangeList(datatableNodeVOList, request.getPageSize(), request.getPageNumber());
+        List<DatatableNodeVO> rangeVOList = PageUtils.mergeSorted(nodeDatatableVOs.values(), DATATABLE_NODE_ORDER, request.getPageSize(), request.getPageNumber());
 
         return AllDatatableListVO.builder()
                 .datatableNodeVOList(rangeVOList)
@@ -414,8 +424,8 @@ public class DatatableServiceImpl implements DatatableService {
     /**
      * query all then page
      */
-    private ListDatatableRequest createNodeRequest(ListDatatableRequest request, String nodeId) {
-        return ListDatatableRequest.builder().statusFilter(request.getStatusFilter()).datatableNameFilter(request.getDatatableNameFilter()).types(request.getTypes()).ownerId(nodeId).teeNodeId(request.getTeeNodeId()).build();
+    private ListDatatableRequest createNodeRequest(ListDatatableRequest request, String nodeId, int windowEnd) {
+        return ListDatatableRequest.builder().pageSize(windowEnd).pageNumber(PageUtils.DEFAULT_PAGE_NUM).statusFilter(request.getStatusFilter()).datatableNameFilter(request.getDatatableNameFilter()).types(request.getTypes()).ownerId(nodeId).teeNodeId(request.getTeeNodeId()).build();
     }
 
 
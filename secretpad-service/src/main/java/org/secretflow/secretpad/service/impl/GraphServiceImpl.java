@@ -32,6 +32,8 @@ import org.secretflow.secretpad.manager.integration.model.DatasourceDTO;
 import org.secretflow.secretpad.manager.integration.model.DatatableDTO;
 import org.secretflow.secretpad.manager.integration.node.AbstractNodeManager;
 import org.secretflow.secretpad.manager.integration.noderoute.AbstractNodeRouteManager;
+import org.secretflow.secretpad.persistence.datasync.listener.EntityChangeListener;
+import org.secretflow.secretpad.persistence.datasync.producer.AbstractDataSyncProducerTemplate;
 import org.secretflow.secretpad.persistence.datasync.producer.p2p.P2pDataSyncProducerTemplate;
 import org.secretflow.secretpad.persistence.entity.*;
 import org.secretflow.secretpad.persistence.model.*;
@@ -68,13 +70,23 @@ import org.apache.commons.lang3.StringUtils;
 import org.jetbrains.annotations.NotNull;
 import org.secretflow.proto.kuscia.TaskConfig;
 import org.secretflow.v1alpha1.kusciaapi.Domaindata;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
 import org.springframework.util.CollectionUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BooleanSupplier;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -94,6 +106,14 @@ import static org.secretflow.secretpad.service.util.JobUtils.genTaskOutputId;
 public class GraphServiceImpl implements GraphService {
 
     private static final Integer DEFAULT_INITIAL_INDEX = 32;
+    private static final int DEFAULT_LOG_PAGE_SIZE = 500;
+    private static final int MAX_LOG_PAGE_SIZE = 1000;
+    private static final long LOG_WATCH_TIMEOUT_MILLIS = 30 * 60 * 1000L;
+
+    /**
+     * jobId:taskId -> clients streaming the task logs
+     */
+    private final Map<String, Set<LogWatcher>> logWatchers = new ConcurrentHashMap<>();
     @Autowired
     private ProjectGraphRepository graphRepository;
     @Autowired
@@ -152,6 +172,8 @@ public class GraphServiceImpl implements GraphService {
     private ProjectModelPackRepository projectModelPackRepository;
     @Resource
     private ProjectScheduleJobRepository projectScheduleJobRepository;
+    @Resource
+    private ObjectProvider<AbstractDataSyncProducerTemplate> dataSyncProducerTemplate;
 
     @Override
     public Map<String, CompListVO> listComponents() {
@@ -241,6 +263,9 @@ public class GraphServiceImpl implements GraphService {
             }
             graphDO = graphOptional.get();
         }
+        // the row stays locked until commit, a concurrent patch sees the new version
+        graphRepository.increaseVersion(projectId, graphId);
+        graphDO.setVersion(graphRepository.findVersion(projectId, graphId));
         List<GraphNodeInfo> nodes = request.getNodes();
         if (nodes != null) {
             if (graphDO.getNodes() != null) {
@@ -260,6 +285,140 @@ public class GraphServiceImpl implements GraphService {
         projectGraphDomainDatasourceService.updateProjectGraphDomainDatasourceDOByFullUpdateGraphRequest(request);
     }
 
+    @SuppressWarnings(value = {"rawtypes", "unchecked"})
+    @Transactional(rollbackFor = Exception.class)
+    @Override
+    public PatchGraphVO patchGraph(PatchGraphRequest request) {
+        String projectId = request.getProjectId();
+        String graphId = request.getGraphId();
+        ProjectGraphDO graphDO;
+        if (envServiceImpl.isCenter()) {
+            graphDO = ownerCheck(projectId, graphId);
+        } else {
+            graphDO = graphRepository.findById(new ProjectGraphDO.UPK(projectId, graphId))
+                    .orElseThrow(() -> SecretpadException.of(GraphErrorCode.GRAPH_NOT_EXISTS));
+        }
+        if (request.getVersion() != graphDO.currentVersion()) {
+            throw SecretpadException.of(GraphErrorCode.GRAPH_VERSION_CONFLICT, String.valueOf(graphDO.currentVersion()));
+        }
+        // claim the base version, of concurrent patches against one version only the first updates the row
+        if (graphRepository.increaseVersion(projectId, graphId, request.getVersion()) == 0) {
+            throw SecretpadException.of(GraphErrorCode.GRAPH_VERSION_CONFLICT, String.valueOf(graphRepository.findVersion(projectId, graphId)));
+        }
+        graphDO.setVersion(request.getVersion() + 1);
+        Set<String> removedNodeIds = new HashSet<>();
+        int changedNodes = patchGraphNodes(graphDO, request, removedNodeIds);
+        patchGraphEdges(graphDO, request, removedNodeIds);
+        if (Objects.nonNull(request.getMaxParallelism())) {
+            graphDO.setMaxParallelism(request.getMaxParallelism());
+        }
+        AbstractDataSyncProducerTemplate producer = dataSyncProducerTemplate.getIfAvailable();
+        if (producer == null) {
+            graphRepository.save(graphDO);
+        } else {
+            // node rows are flushed without their own sync events, peers receive the graph with its nodes once
+            DataSyncConsumerContext.setConsumerSync();
+            try {
+                graphRepository.saveAndFlush(graphDO);
+            } finally {
+                DataSyncConsumerContext.remove();
+            }
+            producer.push(EntityChangeListener.DbChangeEvent.of(DbChangeAction.UPDATE, (BaseAggregationRoot) graphDO));
+        }
+        return PatchGraphVO.builder().version(graphDO.currentVersion()).changedNodes(changedNodes).build();
+    }
+
+    /**
+     * Apply node changes to the managed graph nodes, untouched nodes keep their rows
+     *
+     * @param graphDO        project graph data object
+     * @param request        patch graph request
+     * @param removedNodeIds filled with the ids of the removed graph nodes
+     * @return number of graph nodes added, replaced or removed
+     */
+    private int patchGraphNodes(ProjectGraphDO graphDO, PatchGraphRequest request, Set<String> removedNodeIds) {
+        if (graphDO.getNodes() == null) {
+            graphDO.setNodes(new ArrayList<>());
+        }
+        List<ProjectGraphNodeDO> nodes = graphDO.getNodes();
+        int changed = 0;
+        if (!CollectionUtils.isEmpty(request.getRemoveNodeIds())) {
+            Set<String> removeNodeIds = new HashSet<>(request.getRemoveNodeIds());
+            int before = nodes.size();
+            nodes.removeIf(node -> removeNodeIds.contains(node.getUpk().getGraphNodeId()));
+            removedNodeIds.addAll(removeNodeIds);
+            changed += before - nodes.size();
+        }
+        if (!CollectionUtils.isEmpty(request.getUpsertNodes())) {
+            Map<String, ProjectGraphNodeDO> existing = nodes.stream()
+                    .collect(Collectors.toMap(node -> node.getUpk().getGraphNodeId(), Function.identity(), (a, b) -> a));
+            for (GraphNodeInfo nodeInfo : request.getUpsertNodes()) {
+                ProjectGraphNodeDO target = GraphNodeInfo.toDO(graphDO.getUpk().getProjectId(), graphDO.getUpk().getGraphId(), nodeInfo);
+                ProjectGraphNodeDO current = existing.get(nodeInfo.getGraphNodeId());
+                if (current == null) {
+                    nodes.add(target);
+                    existing.put(nodeInfo.getGraphNodeId(), target);
+                    changed++;
+                } else if (copyGraphNode(target, current)) {
+                    changed++;
+                }
+            }
+        }
+        return changed;
+    }
+
+    private boolean copyGraphNode(ProjectGraphNodeDO source, ProjectGraphNodeDO target) {
+        if (Objects.equals(source.getCodeName(), target.getCodeName())
+                && Objects.equals(source.getLabel(), target.getLabel())
+                && Objects.equals(source.getX(), target.getX())
+                && Objects.equals(source.getY(), target.getY())
+                && Objects.equals(source.getInputs(), target.getInputs())
+                && Objects.equals(source.getOutputs(), target.getOutputs())
+                && Objects.equals(source.getNodeDef(), target.getNodeDef())) {
+            return false;
+        }
+        target.setCodeName(source.getCodeName());
+        target.setLabel(source.getLabel());
+        target.setX(source.getX());
+        target.setY(source.getY());
+        target.setInputs(source.getInputs());
+        target.setOutputs(source.getOutputs());
+        target.setNodeDef(source.getNodeDef());
+        return true;
+    }
+
+    /**
+     * Apply edge changes, edges of removed graph nodes are dropped and upserted edges must connect existing graph nodes
+     *
+     * @param graphDO        project graph data object
+     * @param request        patch graph request
+     * @param removedNodeIds ids of the graph nodes removed by the patch
+     */
+    private void patchGraphEdges(ProjectGraphDO graphDO, PatchGraphRequest request, Set<String> removedNodeIds) {
+        if (CollectionUtils.isEmpty(request.getRemoveEdgeIds()) && CollectionUtils.isEmpty(request.getUpsertEdges()) && removedNodeIds.isEmpty()) {
+            return;
+        }
+        Map<String, GraphEdgeDO> edges = new LinkedHashMap<>();
+        if (graphDO.getEdges() != null) {
+            graphDO.getEdges().forEach(edge -> edges.put(edge.getEdgeId(), edge));
+        }
+        if (!CollectionUtils.isEmpty(request.getRemoveEdgeIds())) {
+            request.getRemoveEdgeIds().forEach(edges::remove);
+        }
+        edges.values().removeIf(edge -> removedNodeIds.contains(edge.getSource()) || removedNodeIds.contains(edge.getTarget()));
+        if (!CollectionUtils.isEmpty(request.getUpsertEdges())) {
+            Set<String> nodeIds = graphDO.getNodes().stream().map(node -> node.getUpk().getGraphNodeId()).collect(Collectors.toSet());
+            for (GraphEdge edge : request.getUpsertEdges()) {
+                if (!nodeIds.contains(edge.getSource()) || !nodeIds.contains(edge.getTarget())) {
+                    throw SecretpadException.of(GraphErrorCode.GRAPH_NODE_NOT_EXISTS,
+                            nodeIds.contains(edge.getSource()) ? edge.getTarget() : edge.getSource());
+                }
+                edges.put(edge.getEdgeId(), GraphEdge.toDO(edge));
+            }
+        }
+        graphDO.setEdges(new ArrayList<>(edges.values()));
+    }
+
     @Override
     public void updateGraphNode(UpdateGraphNodeRequest request) {
         String projectId = request.getProjectId();
@@ -671,8 +830,12 @@ public class GraphServiceImpl implements GraphService {
     @Transactional
     @Override
     public StartGraphVO startGraph(StartGraphRequest request) {
-        // check project graph owner
-        ProjectGraphDO graphDO = ownerCheck(request.getProjectId(), request.getGraphId());
+        // scheduled fires run the graph snapshot of the schedule, its owner was checked when the schedule was created
+        ProjectGraphDO graphDO = GraphContext.getScheduleGraph();
+        if (graphDO == null) {
+            // check project graph owner
+            graphDO = ownerCheck(request.getProjectId(), request.getGraphId());
+        }
         List<ProjectGraphNodeDO> nodeDOList = graphDO.getNodes();
         if (CollectionUtils.isEmpty(nodeDOList)) {
             throw SecretpadException.of(GraphErrorCode.GRAPH_NODE_NOT_EXISTS);
@@ -793,28 +956,131 @@ public class GraphServiceImpl implements GraphService {
 
 
     @Override
-    public GraphNodeTaskLogsVO getGraphNodeLogs(GraphNodeLogsRequest request) {
+    public GraphNodeTaskLogsPageVO getGraphNodeLogs(GraphNodeLogsRequest request) {
+        ProjectTaskDO task = findLatestTask(request);
+        // clients sending neither cursor nor page size read the whole log in one response as before
+        Integer limit = request.getCursor() == null && request.getPageSize() == null ? null : logPageSize(request.getPageSize());
+        return tailLogs(task, request.getGraphNodeId(), request.getCursor(), limit);
+    }
+
+    @Override
+    public SseEmitter watchGraphNodeLogs(GraphNodeLogsRequest request) {
+        ProjectTaskDO task = findLatestTask(request);
+        String key = logWatchKey(task.getUpk().getJobId(), task.getUpk().getTaskId());
+        LogWatcher watcher = new LogWatcher(new SseEmitter(LOG_WATCH_TIMEOUT_MILLIS), task.getUpk(), request);
+        watcher.emitter.onCompletion(() -> removeLogWatcher(key, watcher));
+        watcher.emitter.onTimeout(() -> removeLogWatcher(key, watcher));
+        watcher.emitter.onError(err -> removeLogWatcher(key, watcher));
+        logWatchers.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet()).add(watcher);
+        pushLogs(watcher, task);
+        return watcher.emitter;
+    }
+
+    /**
+     * Push the logs written after the cursor of each watcher of the task, off the thread that committed the logs
+     *
+     * @param event task logs appended event
+     */
+    @Async("graphNodeLogThreadPool")
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTaskLogsAppended(ProjectJobTaskLogDO.AppendedEvent event) {
+        pushTaskLogs(event.getJobId(), event.getTaskId());
+    }
+
+    /**
+     * Complete the watchers of a task once it is finished, a transition such as a failure without reasons writes no log
+     *
+     * @param event task status transform event
+     */
+    @Async("graphNodeLogThreadPool")
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTaskStatusTransformed(ProjectJobDO.TaskStatusTransformEvent event) {
+        pushTaskLogs(event.getSource().getUpk().getJobId(), event.getTaskId());
+    }
+
+    private void pushTaskLogs(String jobId, String taskId) {
+        Set<LogWatcher> watchers = logWatchers.get(logWatchKey(jobId, taskId));
+        if (CollectionUtils.isEmpty(watchers)) {
+            return;
+        }
+        Optional<ProjectTaskDO> task = taskRepository.findById(watchers.iterator().next().upk);
+        task.ifPresent(t -> watchers.forEach(watcher -> pushLogs(watcher, t)));
+    }
+
+    private ProjectTaskDO findLatestTask(GraphNodeLogsRequest request) {
         Optional<ProjectTaskDO> taskDOOptional = taskRepository.findLatestTasks(request.getProjectId(), request.getGraphNodeId());
         if (taskDOOptional.isEmpty()) {
             throw SecretpadException.of(JobErrorCode.PROJECT_JOB_TASK_NOT_EXISTS);
         }
-        ProjectTaskDO task = taskDOOptional.get();
-        GraphNodeTaskLogsVO graphNodeTaskLogsVO = new GraphNodeTaskLogsVO(task.getStatus(),
-                jobTaskLogRepository.findAllByJobTaskId(task.getUpk().getJobId(), task.getUpk().getTaskId())
-                        .stream().map(ProjectJobTaskLogDO::getLog).distinct().collect(Collectors.toList()));
-        if (graphNodeTaskLogsVO.getLogs().isEmpty() && COMP_READ_DATA_DATATABLE_ID.equals(task.getGraphNode().getCodeName())) {
-            String jobId = task.getUpk().getJobId();
-            String taskId = task.getUpk().getTaskId();
-            graphNodeTaskLogsVO.setLogs(Arrays.asList(
+        return taskDOOptional.get();
+    }
+
+    private static int logPageSize(Integer pageSize) {
+        return pageSize == null || pageSize <= 0 ? DEFAULT_LOG_PAGE_SIZE : Math.min(pageSize, MAX_LOG_PAGE_SIZE);
+    }
+
+    /**
+     * Read one page of task logs after the cursor, only the new rows are loaded instead of the whole task log
+     *
+     * @param limit logs returned at most, null to return all logs after the cursor
+     */
+    private GraphNodeTaskLogsPageVO tailLogs(ProjectTaskDO task, String graphNodeId, Long cursor, Integer limit) {
+        String jobId = task.getUpk().getJobId();
+        String taskId = task.getUpk().getTaskId();
+        long afterId = cursor == null ? 0L : cursor;
+        Pageable pageable = limit == null ? Pageable.unpaged() : PageRequest.of(0, limit + 1);
+        List<ProjectJobTaskLogDO> rows = jobTaskLogRepository.findLogsAfterId(jobId, taskId, afterId, pageable);
+        boolean hasMore = limit != null && rows.size() > limit;
+        if (hasMore) {
+            rows = rows.subList(0, limit);
+        }
+        long nextCursor = rows.isEmpty() ? afterId : rows.get(rows.size() - 1).getId();
+        List<String> logs = rows.stream().map(ProjectJobTaskLogDO::getLog).distinct().collect(Collectors.toList());
+        if (logs.isEmpty() && cursor == null && COMP_READ_DATA_DATATABLE_ID.equals(task.getGraphNode().getCodeName())) {
+            logs = Arrays.asList(
                     ProjectJobTaskLogDO.makeLog(task.getGmtCreate(), String.format("the jobId=%s, taskId=%s start ...", jobId, taskId)),
                     ProjectJobTaskLogDO.makeLog(task.getGmtCreate(), String.format("the jobId=%s, taskId=%s succeed", jobId, taskId))
-            ));
+            );
         }
-        String logPrefix = String.format("INFO the jobId=%s, taskId=%s-%s", task.getUpk().getJobId(), task.getUpk().getJobId(), request.getGraphNodeId());
+        String logPrefix = String.format("INFO the jobId=%s, taskId=%s-%s", jobId, jobId, graphNodeId);
         log.info("log de duplication matching， {}", logPrefix);
-        distinctSpecifyLogs(graphNodeTaskLogsVO, logPrefix + " start");
-        distinctSpecifyLogs(graphNodeTaskLogsVO, logPrefix + " succeed");
-        return graphNodeTaskLogsVO;
+        for (String distinctValue : List.of(logPrefix + " start", logPrefix + " succeed")) {
+            logs = distinctSpecifyLogs(logs, distinctValue,
+                    () -> afterId > 0 && jobTaskLogRepository.existsLogUpTo(jobId, taskId, afterId, "%" + distinctValue + "%"));
+        }
+        return new GraphNodeTaskLogsPageVO(task.getStatus(), logs, nextCursor, hasMore);
+    }
+
+    private void pushLogs(LogWatcher watcher, ProjectTaskDO task) {
+        synchronized (watcher) {
+            try {
+                GraphNodeTaskLogsPageVO page;
+                do {
+                    page = tailLogs(task, watcher.graphNodeId, watcher.cursor, logPageSize(watcher.pageSize));
+                    if (!page.getLogs().isEmpty() || watcher.cursor == null) {
+                        watcher.emitter.send(SseEmitter.event().name("logs").data(page));
+                    }
+                    watcher.cursor = page.getNextCursor();
+                } while (page.getHasMore());
+                if (task.isFinished()) {
+                    watcher.emitter.complete();
+                }
+            } catch (IOException | IllegalStateException e) {
+                log.warn("send graph node logs error, taskId={}, msg={}", watcher.upk.getTaskId(), e.getMessage());
+                watcher.emitter.completeWithError(e);
+            }
+        }
+    }
+
+    private void removeLogWatcher(String key, LogWatcher watcher) {
+        logWatchers.computeIfPresent(key, (k, watchers) -> {
+            watchers.remove(watcher);
+            return watchers.isEmpty() ? null : watchers;
+        });
+    }
+
+    private static String logWatchKey(String jobId, String taskId) {
+        return jobId + ":" + taskId;
     }
 
     @Override
@@ -933,14 +1199,13 @@ public class GraphServiceImpl implements GraphService {
     }
 
 
-    //Delete redundant start and succeed logs
-    private void distinctSpecifyLogs(GraphNodeTaskLogsVO graphNodeTaskLogsVO, String distinctValue) {
-        List<String> logs = graphNodeTaskLogsVO.getLogs();
+    //Delete redundant start and succeed logs, including those already sent on earlier pages
+    private List<String> distinctSpecifyLogs(List<String> logs, String distinctValue, BooleanSupplier sentBefore) {
         List<String> uniqueList = new ArrayList<>();
         boolean flag = false;
         for (String str : logs) {
             if (str.contains(distinctValue) && !str.contains("failed")) {
-                if (!flag) {
+                if (!flag && !sentBefore.getAsBoolean()) {
                     uniqueList.add(str);
                 } else {
                     log.info("remove log {}", str);
@@ -950,7 +1215,7 @@ public class GraphServiceImpl implements GraphService {
                 uniqueList.add(str);
             }
         }
-        graphNodeTaskLogsVO.setLogs(uniqueList);
+        return uniqueList;
     }
 
     private Map<String, Set<String>> findTopNodes(List<GraphEdgeDO> edges, List<ProjectGraphNodeDO> selectedNodes) {
@@ -1019,4 +1284,23 @@ public class GraphServiceImpl implements GraphService {
         }
         return TaskConfig.ColumnAttr.newBuilder().setColName(columnConfig.getColName()).setColType(colType).build();
     }
+
+    /**
+     * A client streaming task logs, its cursor advances with every pushed page
+     */
+    private static final class LogWatcher {
+        private final SseEmitter emitter;
+        private final ProjectTaskDO.UPK upk;
+        private final String graphNodeId;
+        private final Integer pageSize;
+        private Long cursor;
+
+        private LogWatcher(SseEmitter emitter, ProjectTaskDO.UPK upk, GraphNodeLogsRequest request) {
+            this.emitter = emitter;
+            this.upk = upk;
+            this.graphNodeId = request.getGraphNodeId();
+            this.pageSize = request.getPageSize();
+            this.cursor = request.getCursor();
+        }
+    }
 }
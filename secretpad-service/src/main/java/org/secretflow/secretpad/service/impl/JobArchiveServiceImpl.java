@@ -0,0 +1,238 @@
+/*
+ * Copyright 2024 Ant Group Co., Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.secretflow.secretpad.service.impl;
+
+import org.secretflow.secretpad.common.errorcode.JobErrorCode;
+import org.secretflow.secretpad.common.errorcode.SystemErrorCode;
+import org.secretflow.secretpad.common.exception.SecretpadException;
+import org.secretflow.secretpad.common.util.DateTimes;
+import org.secretflow.secretpad.common.util.JsonUtils;
+import org.secretflow.secretpad.persistence.entity.ProjectJobDO;
+import org.secretflow.secretpad.persistence.entity.ProjectResultDO;
+import org.secretflow.secretpad.persistence.model.GraphJobStatus;
+import org.secretflow.secretpad.persistence.repository.ProjectJobRepository;
+import org.secretflow.secretpad.persistence.repository.ProjectJobTaskLogRepository;
+import org.secretflow.secretpad.persistence.repository.ProjectJobTaskRepository;
+import org.secretflow.secretpad.persistence.repository.ProjectResultRepository;
+import org.secretflow.secretpad.service.JobArchiveService;
+import org.secretflow.secretpad.service.model.project.ArchivedJobVO;
+import org.secretflow.secretpad.service.properties.JobRetentionProperties;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Job archive service implementation
+ * <p>
+ * Archived jobs are written as gzip compressed json lines segments, one segment per batch,
+ * and deleted from the hot tables in one transaction after the segment is on disk.
+ * A crash between the two leaves the rows in place, they are archived again by the next run.
+ */
+@Slf4j
+@Service
+@EnableConfigurationProperties(JobRetentionProperties.class)
+public class JobArchiveServiceImpl implements JobArchiveService {
+
+    private static final List<String> FINISHED_STATUSES = Stream.of(GraphJobStatus.SUCCEED, GraphJobStatus.FAILED, GraphJobStatus.STOPPED)
+            .map(Enum::name).toList();
+    private static final DateTimeFormatter GMT_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final String SEGMENT_PREFIX = "jobs-";
+    private static final String SEGMENT_SUFFIX = ".jsonl.gz";
+
+    @Autowired
+    private ProjectJobRepository jobRepository;
+    @Autowired
+    private ProjectJobTaskRepository taskRepository;
+    @Autowired
+    private ProjectJobTaskLogRepository taskLogRepository;
+    @Autowired
+    private ProjectResultRepository resultRepository;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private JobRetentionProperties properties;
+
+    /**
+     * jobKey -> segment file name, built lazily from the archive directory
+     */
+    private volatile Map<String, String> segmentIndex;
+
+    @Override
+    public synchronized int archiveFinishedJobs() {
+        int archived = 0;
+        for (int i = 0; i < properties.getMaxBatchesPerRun(); i++) {
+            List<String> jobIds = nextArchivableJobIds();
+            if (jobIds.isEmpty()) {
+                break;
+            }
+            int count = archiveBatch(jobIds);
+            if (count == 0) {
+                break;
+            }
+            archived += count;
+        }
+        return archived;
+    }
+
+    @Override
+    public ArchivedJobVO getArchivedJob(String projectId, String jobId) {
+        String segment = getSegmentIndex().get(jobKey(projectId, jobId));
+        if (segment == null) {
+            throw SecretpadException.of(JobErrorCode.PROJECT_JOB_NOT_EXISTS);
+        }
+        try (BufferedReader reader = openSegment(archiveDir().resolve(segment))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.contains(jobId)) {
+                    continue;
+                }
+                ArchivedJobVO job = JsonUtils.toJavaObject(line, ArchivedJobVO.class);
+                if (projectId.equals(job.getProjectId()) && jobId.equals(job.getJobId())) {
+                    return job;
+                }
+            }
+        } catch (IOException e) {
+            throw SecretpadException.of(SystemErrorCode.UNKNOWN_ERROR, e);
+        }
+        throw SecretpadException.of(JobErrorCode.PROJECT_JOB_NOT_EXISTS);
+    }
+
+    private List<String> nextArchivableJobIds() {
+        int limit = properties.getBatchSize();
+        if (properties.getTtl() != null) {
+            String before = LocalDateTime.now(ZoneOffset.UTC).minus(properties.getTtl()).format(GMT_FORMATTER);
+            List<String> expired = jobRepository.findExpiredJobIds(FINISHED_STATUSES, before, limit);
+            if (!expired.isEmpty()) {
+                return expired;
+            }
+        }
+        if (properties.getMaxJobsPerProject() > 0) {
+            return jobRepository.findOverflowJobIds(FINISHED_STATUSES, properties.getMaxJobsPerProject(), limit);
+        }
+        return Collections.emptyList();
+    }
+
+    private int archiveBatch(List<String> jobIds) {
+        List<ArchivedJobVO> archivedJobs = new ArrayList<>(jobIds.size());
+        for (ProjectJobDO jobDO : jobRepository.findByJobIds(jobIds)) {
+            String projectId = jobDO.getUpk().getProjectId();
+            String jobId = jobDO.getUpk().getJobId();
+            List<ProjectResultDO> results = properties.isArchiveResults()
+                    ? resultRepository.findByProjectJobId(projectId, jobId) : Collections.emptyList();
+            archivedJobs.add(ArchivedJobVO.from(jobDO, taskLogRepository.findAllByJobId(projectId, jobId), results));
+        }
+        if (archivedJobs.isEmpty()) {
+            return 0;
+        }
+        String segment = writeSegment(archivedJobs);
+        transactionTemplate.executeWithoutResult(status -> archivedJobs.forEach(job -> {
+            taskLogRepository.deleteByJobId(job.getProjectId(), job.getJobId());
+            taskRepository.deleteAuthenticByJobId(job.getProjectId(), job.getJobId());
+            if (properties.isArchiveResults()) {
+                resultRepository.deleteByJobId(job.getProjectId(), job.getJobId());
+            }
+            jobRepository.deleteAuthenticByJobId(job.getProjectId(), job.getJobId());
+        }));
+        Map<String, String> index = getSegmentIndex();
+        archivedJobs.forEach(job -> index.put(jobKey(job.getProjectId(), job.getJobId()), segment));
+        log.info("archived {} finished jobs into segment {}", archivedJobs.size(), segment);
+        return archivedJobs.size();
+    }
+
+    private String writeSegment(List<ArchivedJobVO> archivedJobs) {
+        String segment = SEGMENT_PREFIX + DateTimes.localTimeNoDelimiter() + "-" + UUID.randomUUID() + SEGMENT_SUFFIX;
+        try {
+            Path dir = Files.createDirectories(archiveDir());
+            Path tmp = dir.resolve(segment + ".tmp");
+            try (Writer writer = new OutputStreamWriter(new GZIPOutputStream(Files.newOutputStream(tmp)), StandardCharsets.UTF_8)) {
+                for (ArchivedJobVO job : archivedJobs) {
+                    writer.write(JsonUtils.toJSONString(job));
+                    writer.write('\n');
+                }
+            }
+            Files.move(tmp, dir.resolve(segment), StandardCopyOption.ATOMIC_MOVE);
+            return segment;
+        } catch (IOException e) {
+            throw SecretpadException.of(SystemErrorCode.UNKNOWN_ERROR, e);
+        }
+    }
+
+    private Map<String, String> getSegmentIndex() {
+        Map<String, String> index = segmentIndex;
+        if (index == null) {
+            synchronized (this) {
+                if (segmentIndex == null) {
+                    segmentIndex = loadSegmentIndex();
+                }
+                index = segmentIndex;
+            }
+        }
+        return index;
+    }
+
+    private Map<String, String> loadSegmentIndex() {
+        Map<String, String> index = new HashMap<>();
+        Path dir = archiveDir();
+        if (!Files.isDirectory(dir)) {
+            return Collections.synchronizedMap(index);
+        }
+        try (DirectoryStream<Path> segments = Files.newDirectoryStream(dir, SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+            List<Path> ordered = new ArrayList<>();
+            segments.forEach(ordered::add);
+            // later segments win, a job archived twice after a crash maps to its latest copy
+            ordered.sort(Comparator.comparing(Path::getFileName));
+            for (Path segment : ordered) {
+                try (BufferedReader reader = openSegment(segment)) {
+                    String line;
+                    while ((line = reader.readLine()) != null) {
+                        ArchivedJobVO job = JsonUtils.toJavaObject(line, ArchivedJobVO.class);
+                        index.put(jobKey(job.getProjectId(), job.getJobId()), segment.getFileName().toString());
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw SecretpadException.of(SystemErrorCode.UNKNOWN_ERROR, e);
+        }
+        return Collections.synchronizedMap(index);
+    }
+
+    private BufferedReader openSegment(Path segment) throws IOException {
+        return new BufferedReader(new InputStreamReader(new GZIPInputStream(Files.newInputStream(segment)), StandardCharsets.UTF_8));
+    }
+
+    private Path archiveDir() {
+        return Paths.get(properties.getArchiveDir());
+    }
+
+    private static String jobKey(String projectId, String jobId) {
+        return projectId + "/" + jobId;
+    }
+}
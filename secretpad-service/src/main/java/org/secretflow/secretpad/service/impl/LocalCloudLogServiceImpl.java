@@ -0,0 +1,58 @@
+/*
+ * Copyright 2024 Ant Group Co., Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.secretflow.secretpad.service.impl;
+
+import org.secretflow.secretpad.persistence.entity.ProjectJobTaskLogDO;
+import org.secretflow.secretpad.persistence.entity.ProjectTaskDO;
+import org.secretflow.secretpad.persistence.repository.NodeRepository;
+import org.secretflow.secretpad.persistence.repository.ProjectJobTaskLogRepository;
+import org.secretflow.secretpad.persistence.repository.ProjectJobTaskRepository;
+
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Cloud log service over the task logs synced into the local database, the position is the last log id returned
+ */
+public class LocalCloudLogServiceImpl extends AbstractCloudLogService {
+
+    private static final int MAX_PAGE_SIZE = 500;
+
+    private final ProjectJobTaskLogRepository jobTaskLogRepository;
+
+    public LocalCloudLogServiceImpl(ProjectJobTaskRepository taskRepository, NodeRepository nodeRepository, ProjectJobTaskLogRepository jobTaskLogRepository,
+                                    String platformType, String nodeId) {
+        super(taskRepository, nodeRepository, platformType, nodeId);
+        this.jobTaskLogRepository = jobTaskLogRepository;
+    }
+
+    @Override
+    protected LogPage queryLogs(ProjectTaskDO task, String nodeId, LocalDateTime from, LocalDateTime to, long position, int pageSize) {
+        // the local logs belong to the task by their ids already, the time window only bounds remote log searches
+        List<ProjectJobTaskLogDO> taskLogs = jobTaskLogRepository.findLogsAfterId(task.getUpk().getJobId(), task.getUpk().getTaskId(),
+                position, PageRequest.ofSize(pageSize));
+        long nextPosition = taskLogs.isEmpty() ? position : taskLogs.get(taskLogs.size() - 1).getId();
+        return new LogPage(taskLogs.stream().map(ProjectJobTaskLogDO::getLog).toList(), nextPosition, taskLogs.size() >= pageSize);
+    }
+
+    @Override
+    protected int maxPageSize() {
+        return MAX_PAGE_SIZE;
+    }
+}
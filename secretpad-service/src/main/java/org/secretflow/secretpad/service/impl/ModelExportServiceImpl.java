@@ -16,7 +16,6 @@
 
 package org.secretflow.secretpad.service.impl;
 
-import org.secretflow.secretpad.common.constant.CacheConstants;
 import org.secretflow.secretpad.common.constant.ComponentConstants;
 import org.secretflow.secretpad.common.constant.KusciaDataSourceConstants;
 import org.secretflow.secretpad.common.enums.DataSourceTypeEnum;
@@ -25,6 +24,7 @@ import org.secretflow.secretpad.common.errorcode.ModelExportErrorCode;
 import org.secretflow.secretpad.common.exception.SecretpadException;
 import org.secretflow.secretpad.common.util.*;
 import org.secretflow.secretpad.manager.integration.job.AbstractJobManager;
+import org.secretflow.secretpad.manager.integration.job.event.ModelExportJobChangedEvent;
 import org.secretflow.secretpad.manager.integration.model.ModelExportDTO;
 import org.secretflow.secretpad.persistence.entity.*;
 import org.secretflow.secretpad.persistence.model.PartyDataSource;
@@ -57,13 +57,23 @@ import org.secretflow.proto.pipeline.Pipeline;
 import org.secretflow.v1alpha1.kusciaapi.Job;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
-import org.springframework.cache.Cache;
-import org.springframework.cache.CacheManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
 import org.springframework.util.CollectionUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
 import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -76,6 +86,15 @@ import java.util.stream.Collectors;
 @Setter
 public class ModelExportServiceImpl implements ModelExportService {
 
+    private static final long WATCH_TIMEOUT_MILLIS = 30 * 60 * 1000L;
+    private static final DateTimeFormatter GMT_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final List<String> FINISHED_STATUSES = ModelExportDTO.FINISHED_STATUSES.stream().map(Enum::name).toList();
+
+    /**
+     * jobId -> emitters of the clients watching the export status
+     */
+    private final Map<String, Set<SseEmitter>> watchers = new ConcurrentHashMap<>();
+
     @Resource
     private ProjectGraphNodeKusciaParamsRepository projectGraphNodeKusciaParamsRepository;
     @Resource
@@ -84,7 +103,7 @@ public class ModelExportServiceImpl implements ModelExportService {
     @Qualifier("jobManager")
     private AbstractJobManager jobManager;
     @Resource
-    private CacheManager cacheManager;
+    private ModelExportJobRepository modelExportJobRepository;
     @Resource
     private NodeRepository nodeRepository;
     @Resource
@@ -104,9 +123,11 @@ public class ModelExportServiceImpl implements ModelExportService {
     @Resource
     private ProjectDatatableRepository datatableRepository;
     @Resource
-    private ProjectGraphDomainDatasourceServiceImpl projectGraphDomainDatasourceService;
+    private ProjectGraphDomainDatasourceRepository projectGraphDomainDatasourceRepository;
     @Resource
     private ProjectJobRepository projectJobRepository;
+    @Value("${secretpad.model.export-job-ttl:7d}")
+    private String exportJobTtl;
 
     @Override
     public ModelExportPackageResponse exportModel(ModelExportPackageRequest request) throws InvalidProtocolBufferException {
@@ -141,34 +162,86 @@ public class ModelExportServiceImpl implements ModelExportService {
                 .initiator(getInitiator(partyIds))
                 .build();
         String job = createJob(request, modelExportDTO);
-        Objects.requireNonNull(cacheManager.getCache(CacheConstants.MODEL_EXPORT_CACHE)).putIfAbsent(job, JsonUtils.toString(modelExportDTO));
+        modelExportJobRepository.save(modelExportDTO.toModelExportJob());
         return ModelExportPackageResponse.builder().jobId(job).build();
     }
 
     @Override
     public ModelExportDTO queryModel(ModelExportStatusRequest request) {
+        Optional<ModelExportJobDO> modelExportJobOpt = modelExportJobRepository.findById(request.getJobId());
+        if (modelExportJobOpt.isEmpty()) {
+            throw SecretpadException.of(ModelExportErrorCode.MODEL_EXPORT_FAILED, "job not found");
+        }
+        return ModelExportDTO.fromModelExportJob(modelExportJobOpt.get());
+    }
+
+    @Override
+    public SseEmitter watchModel(ModelExportStatusRequest request) {
         String jobId = request.getJobId();
-        Cache cache = Objects.requireNonNull(cacheManager.getCache(CacheConstants.MODEL_EXPORT_CACHE));
-        if (ObjectUtils.isEmpty(cache.get(jobId))) {
-            throw SecretpadException.of(ModelExportErrorCode.MODEL_EXPORT_FAILED, "job not found.");
+        SseEmitter sseEmitter = new SseEmitter(WATCH_TIMEOUT_MILLIS);
+        sseEmitter.onCompletion(() -> removeWatcher(jobId, sseEmitter));
+        sseEmitter.onTimeout(() -> removeWatcher(jobId, sseEmitter));
+        sseEmitter.onError(err -> removeWatcher(jobId, sseEmitter));
+        // register before reading the current status, a change committed after the read is pushed to the emitter
+        watchers.computeIfAbsent(jobId, k -> ConcurrentHashMap.newKeySet()).add(sseEmitter);
+        ModelExportDTO current;
+        try {
+            current = queryModel(request);
+        } catch (RuntimeException e) {
+            removeWatcher(jobId, sseEmitter);
+            throw e;
         }
-        Object o = Objects.requireNonNull(cache.get(jobId)).get();
-        if (ObjectUtils.isEmpty(o)) {
-            throw SecretpadException.of(ModelExportErrorCode.MODEL_EXPORT_FAILED, "job not found");
+        send(sseEmitter, current);
+        return sseEmitter;
+    }
+
+    /**
+     * purge finished model export jobs not modified within the ttl, their model packs are registered already
+     */
+    @Scheduled(initialDelayString = "${secretpad.model.export-job-purge-interval:3600000}", fixedDelayString = "${secretpad.model.export-job-purge-interval:3600000}")
+    public void purgeFinishedJobs() {
+        try {
+            String before = LocalDateTime.now(ZoneOffset.UTC).minus(DurationStyle.detectAndParse(exportJobTtl)).format(GMT_FORMATTER);
+            int purged = modelExportJobRepository.deleteFinishedBefore(FINISHED_STATUSES, before);
+            if (purged > 0) {
+                log.info("purged {} finished model export jobs modified before {}", purged, before);
+            }
+        } catch (Exception e) {
+            log.error("purge finished model export jobs error", e);
         }
-        ModelExportDTO modelExportDTO = JsonUtils.toJavaObject(String.valueOf(o), ModelExportDTO.class);
-        switch (modelExportDTO.getStatus()) {
-            case SUCCEED:
-                projectModelPackRepository.save(ModelExportDTO.of(modelExportDTO));
-                cache.evictIfPresent(jobId);
-                break;
-            case FAILED:
-                cache.evictIfPresent(jobId);
-                break;
-            default:
-                break;
+    }
+
+    /**
+     * push the committed status to the watchers off the job status thread, so it never waits on slow clients
+     */
+    @Async("modelExportWatchThreadPool")
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onModelExportJobChanged(ModelExportJobChangedEvent event) {
+        ModelExportDTO modelExport = event.getModelExport();
+        Set<SseEmitter> emitters = watchers.get(modelExport.getJobId());
+        if (CollectionUtils.isEmpty(emitters)) {
+            return;
         }
-        return modelExportDTO;
+        emitters.forEach(sseEmitter -> send(sseEmitter, modelExport));
+    }
+
+    private void send(SseEmitter sseEmitter, ModelExportDTO modelExport) {
+        try {
+            sseEmitter.send(SseEmitter.event().name("status").data(modelExport));
+            if (modelExport.isFinished()) {
+                sseEmitter.complete();
+            }
+        } catch (IOException | IllegalStateException e) {
+            log.warn("send model export status error, jobId={}, msg={}", modelExport.getJobId(), e.getMessage());
+            sseEmitter.completeWithError(e);
+        }
+    }
+
+    private void removeWatcher(String jobId, SseEmitter sseEmitter) {
+        watchers.computeIfPresent(jobId, (k, emitters) -> {
+            emitters.remove(sseEmitter);
+            return emitters.isEmpty() ? null : emitters;
+        });
     }
 
     @Override
@@ -186,13 +259,17 @@ public class ModelExportServiceImpl implements ModelExportService {
             throw SecretpadException.of(ModelExportErrorCode.MODEL_EXPORT_FAILED, "job not found");
         }
         String graphId = byJobId.get().getGraphId();
+        Map<String, NodeDO> nodeMap = nodeRepository.findByNodeIdIn(parties).stream()
+                .collect(Collectors.toMap(NodeDO::getNodeId, Function.identity(), (a, b) -> a));
+        Map<String, ProjectGraphDomainDatasourceDO> domainDatasourceMap = projectGraphDomainDatasourceRepository.findByProjectIdAndGraphId(request.getProjectId(), graphId).stream()
+                .collect(Collectors.toMap(d -> d.getUpk().getDomainId(), Function.identity(), (a, b) -> a));
         List<ModelPartyPathResponse> responses = new LinkedList<>();
         parties.forEach(p -> {
-            NodeDO node = nodeRepository.findByNodeId(p);
+            NodeDO node = nodeMap.get(p);
             if (ObjectUtils.isEmpty(node)) {
                 throw SecretpadException.of(ModelExportErrorCode.MODEL_EXPORT_FAILED, "node not found");
             }
-            ProjectGraphDomainDatasourceDO projectGraphDomainDatasourceDO = projectGraphDomainDatasourceService.getById(request.getProjectId(), graphId, p);
+            ProjectGraphDomainDatasourceDO projectGraphDomainDatasourceDO = domainDatasourceMap.get(p);
             String dataSourceId = KusciaDataSourceConstants.DEFAULT_DATA_SOURCE;
             String dataSourceName = KusciaDataSourceConstants.DEFAULT_DATA_SOURCE;
             if (!ObjectUtils.isEmpty(projectGraphDomainDatasourceDO)) {
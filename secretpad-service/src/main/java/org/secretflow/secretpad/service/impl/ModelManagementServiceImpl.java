@@ -26,7 +26,6 @@ import org.secretflow.secretpad.common.errorcode.SystemErrorCode;
 import org.secretflow.secretpad.common.exception.SecretpadException;
 import org.secretflow.secretpad.common.util.*;
 import org.secretflow.secretpad.kuscia.v1alpha1.service.impl.KusciaGrpcClientAdapter;
-import org.secretflow.secretpad.manager.integration.data.DataManager;
 import org.secretflow.secretpad.manager.integration.model.PartyDTO;
 import org.secretflow.secretpad.persistence.entity.*;
 import org.secretflow.secretpad.persistence.model.PartyDataSource;
@@ -41,7 +40,6 @@ import org.secretflow.secretpad.service.model.serving.ServingDetailVO;
 
 import com.google.gson.Gson;
 import com.google.gson.JsonArray;
-import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
 import com.google.gson.reflect.TypeToken;
 import com.google.protobuf.util.JsonFormat;
@@ -53,7 +51,6 @@ import jakarta.persistence.criteria.Predicate;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.ObjectUtils;
 import org.apache.commons.lang3.StringUtils;
-import org.secretflow.v1alpha1.common.Common;
 import org.secretflow.v1alpha1.kusciaapi.Domaindata;
 import org.secretflow.v1alpha1.kusciaapi.Serving;
 import org.springframework.data.domain.Page;
@@ -87,9 +84,6 @@ public class ModelManagementServiceImpl implements ModelManagementService {
     @Resource
     private ProjectModelPackRepository projectModelPackRepository;
 
-    @Resource
-    private DataManager dataManager;
-
     @Resource
     private ProjectJobTaskRepository taskRepository;
 
@@ -106,6 +100,8 @@ public class ModelManagementServiceImpl implements ModelManagementService {
     private FeatureTableRepository featureTableRepository;
     @Resource
     private EnvService envService;
+    @Resource
+    private ModelPackMetadataResolver modelPackMetadataResolver;
 
     public static String transferKeyword(String keyword) {
         if (StringUtils.isBlank(keyword)) {
@@ -174,27 +170,17 @@ public class ModelManagementServiceImpl implements ModelManagementService {
             throw SecretpadException.of(ProjectErrorCode.PROJECT_MODEL_NOT_FOUND);
         }
         ProjectModelPackDO projectModelPackDO = projectModelPackDOOptional.get();
-        String sampleTables = projectModelPackDO.getSampleTables();
-        Map<String, String> partyTableMap = JsonUtils.toJavaMap(sampleTables, String.class);
+        Map<String, String> partyTableMap = JsonUtils.toJavaMap(projectModelPackDO.getSampleTables(), String.class);
         List<NodeDO> nodeDOList = nodeRepository.findByNodeIdIn(partyTableMap.keySet());
         Map<String, String> nodeMap = nodeDOList.stream().collect(Collectors.toMap(NodeDO::getNodeId, NodeDO::getName));
 
         String targetNodeId = getTargetNode(partyTableMap.keySet());
         //model train.by this version single component
         List<ModelPackDetailVO.Parties> partiesListVO = new ArrayList<>();
-        partyTableMap.forEach((key, value) -> {
-            Domaindata.DomainData modelDomainData = dataManager.queryDomainData(key, projectModelPackDO.getModelReportId(), targetNodeId);
-            //attributes contains both party of schema.
-            Map<String, String> attributes = modelDomainData.getAttributesMap();
-            //get schema from attributes
-            List<String> columns = explainColumnFromDomainDataDistData(attributes);
-            //get its onw raw sample table, prepare to filter its own schema
-            Domaindata.DomainData rawTabbleDomainData = dataManager.queryDomainData(key, value, targetNodeId);
-            //do filter
-            List<String> ownSchema = filterOwnSchema(columns, rawTabbleDomainData.getColumnsList());
+        modelPackMetadataResolver.partyColumns(projectModelPackDO, targetNodeId).forEach((nodeId, ownSchema) -> {
             ModelPackDetailVO.Parties partiesVO = new ModelPackDetailVO.Parties();
-            partiesVO.setNodeId(key);
-            partiesVO.setNodeName(nodeMap.get(key));
+            partiesVO.setNodeId(nodeId);
+            partiesVO.setNodeName(nodeMap.get(nodeId));
             partiesVO.setColumns(ownSchema);
             partiesListVO.add(partiesVO);
         });
@@ -234,13 +220,6 @@ public class ModelManagementServiceImpl implements ModelManagementService {
         return ModelPackInfoVO.builder().modelGraphDetail(modelList).graphDetailVO(graphDetailVO).modelStats(ModelStatsEnum.parse(projectModelPackDO.getModelStats())).servingDetails(servingDetails).build();
     }
 
-    private List<String> filterOwnSchema(List<String> columns, List<Common.DataColumn> columnsList) {
-        if (CollectionUtils.isEmpty(columns)) {
-            return columns;
-        }
-        return columns.stream().filter(col -> columnsList.stream().map(Common.DataColumn::getName).toList().contains(col)).collect(Collectors.toList());
-    }
-
     @Override
     public ModelPartiesVO modelParties(String projectId, String outputId, String graphNodeId) {
         Optional<ProjectTaskDO> taskDOOptional = taskRepository.findLatestTasks(projectId, graphNodeId);
@@ -267,31 +246,28 @@ public class ModelManagementServiceImpl implements ModelManagementService {
         ProjectModelPackDO projectModelPackDO = projectModelPackDOOptional.get();
         List<Serving.ServingParty> servingParties = new ArrayList<>();
         List<String> servingPartiesStr = new ArrayList<>();
-        AtomicReference<ServingConfig.KusciaServingConfig> kusciaServingConfig = new AtomicReference<>(ServingConfig.KusciaServingConfig.newBuilder()
-                .build());
+        ServingConfig.KusciaServingConfig.Builder kusciaServingConfigBuilder = ServingConfig.KusciaServingConfig.newBuilder();
         if (!CollectionUtils.isEmpty(partyConfigs)) {
             String targetNode = getTargetNode(partyConfigs.stream().map(CreateModelServingRequest.PartyConfig::getNodeId).collect(Collectors.toSet()));
+            Map<String, Domaindata.DomainData> modelDomainData = modelPackMetadataResolver.queryDomainData(partyConfigs.stream()
+                    .collect(Collectors.toMap(CreateModelServingRequest.PartyConfig::getNodeId, party -> modelId, (a, b) -> a, LinkedHashMap::new)), targetNode);
+            //channel_desc
+            ClusterConfigOuterClass.ChannelDesc servingChannelDesc = ClusterConfigOuterClass.ChannelDesc.newBuilder()
+                    .setProtocol("http")
+                    .build();
 
             partyConfigs.forEach(party -> {
-                Map<String, String> featureMapping = new HashMap<>();
-                ServingConfig.KusciaServingConfig.PartyConfig kusciaServingConfigPartyConfig = ServingConfig.KusciaServingConfig.PartyConfig.newBuilder()
-                        .build();
                 String domainId = party.getNodeId();
-                List<CreateModelServingRequest.PartyConfig.Feature> features = party.getFeatures();
-                features.forEach(e -> featureMapping.put(e.getOnlineName(), e.getOfflineName()));
                 //serving config
-                ServerConfigOuterClass.ServerConfig serverConfig = ServerConfigOuterClass.ServerConfig.newBuilder()
-                        .putAllFeatureMapping(featureMapping)
-                        .build();
+                ServerConfigOuterClass.ServerConfig.Builder serverConfig = ServerConfigOuterClass.ServerConfig.newBuilder();
+                party.getFeatures().forEach(e -> serverConfig.putFeatureMapping(e.getOnlineName(), e.getOfflineName()));
 
                 //model config
-                Domaindata.DomainData domainData = dataManager.queryDomainData(domainId, modelId, targetNode);
-                ModelConfigOuterClass.ModelConfig servingModelConfig = ModelConfigOuterClass.ModelConfig.newBuilder()
+                ModelConfigOuterClass.ModelConfig.Builder servingModelConfig = ModelConfigOuterClass.ModelConfig.newBuilder()
                         .setModelId(modelId)
                         .setBasePath("/")
-                        .setSourcePath(domainData.getDomaindataId())
-                        .setSourceType(ModelConfigOuterClass.SourceType.ST_DP)
-                        .build();
+                        .setSourcePath(modelDomainData.get(domainId).getDomaindataId())
+                        .setSourceType(ModelConfigOuterClass.SourceType.ST_DP);
                 //featureSourceConfig
                 String endpoint = "mock";
                 if (!StringUtils.equalsIgnoreCase(party.getFeatureTableId(), "mock")) {
@@ -299,29 +275,17 @@ public class ModelManagementServiceImpl implements ModelManagementService {
                     Assert.isTrue(featureTableDOOptional.isPresent(), party.getFeatureTableId() + "not exist");
                     endpoint = featureTableDOOptional.get().getUrl();
                 }
-
-                FeatureConfig.FeatureSourceConfig servingFeatureSourceConfig = FeatureConfig.FeatureSourceConfig.newBuilder()
-                        .build();
+                FeatureConfig.FeatureSourceConfig.Builder servingFeatureSourceConfig = FeatureConfig.FeatureSourceConfig.newBuilder();
                 if (party.getIsMock()) {
-                    servingFeatureSourceConfig = servingFeatureSourceConfig.toBuilder().setMockOpts(
-                            FeatureConfig.MockOptions.newBuilder().build()).build();
+                    servingFeatureSourceConfig.setMockOpts(FeatureConfig.MockOptions.getDefaultInstance());
                 } else {
-                    servingFeatureSourceConfig = servingFeatureSourceConfig.toBuilder()
-                            .setHttpOpts(FeatureConfig.HttpOptions.newBuilder().setEndpoint(endpoint).build())
-                            .build();
+                    servingFeatureSourceConfig.setHttpOpts(FeatureConfig.HttpOptions.newBuilder().setEndpoint(endpoint));
                 }
-                //channel_desc
-                ClusterConfigOuterClass.ChannelDesc servingChannelDesc = ClusterConfigOuterClass.ChannelDesc.newBuilder()
-                        .setProtocol("http")
-                        .build();
-                kusciaServingConfigPartyConfig = kusciaServingConfigPartyConfig.toBuilder()
+                kusciaServingConfigBuilder.putPartyConfigs(domainId, ServingConfig.KusciaServingConfig.PartyConfig.newBuilder()
                         .setServerConfig(serverConfig)
                         .setModelConfig(servingModelConfig)
                         .setFeatureSourceConfig(servingFeatureSourceConfig)
                         .setChannelDesc(servingChannelDesc)
-                        .build();
-                kusciaServingConfig.set(kusciaServingConfig.get().toBuilder()
-                        .putPartyConfigs(domainId, kusciaServingConfigPartyConfig)
                         .build());
                 Serving.ServingParty.Builder servingPartyBuilder = Serving.ServingParty.newBuilder()
                         .setDomainId(domainId)
@@ -342,7 +306,7 @@ public class ModelManagementServiceImpl implements ModelManagementService {
 
             });
 
-            String servingInputConfig = ProtoUtils.toJsonString(kusciaServingConfig.get(), typeRegistry);
+            String servingInputConfig = ProtoUtils.toJsonString(kusciaServingConfigBuilder.build(), typeRegistry);
             String servingId = UUIDUtils.random(8);
             if (StringUtils.isNotEmpty(servingId) && Objects.equals(projectModelPackDO.getModelStats(), ModelStatsEnum.OFFLINE.getCode())) {
                 servingId = projectModelPackDO.getServingId();
@@ -599,21 +563,6 @@ public class ModelManagementServiceImpl implements ModelManagementService {
                 .build();
     }
 
-    private List<String> parse(String value) {
-        log.info("parse root {}", value);
-        JsonObject jsonObject = JsonParser.parseString(value).getAsJsonObject();
-        String desc = jsonObject.getAsJsonObject("meta").get("desc").getAsString();
-        if (StringUtils.isNotEmpty(desc)) {
-            return List.of(desc.split(","));
-        }
-        return new ArrayList<>();
-    }
-
-    private List<String> explainColumnFromDomainDataDistData(Map<String, String> kusciaAttributes) {
-        String value = kusciaAttributes.get("dist_data");
-        return parse(value);
-    }
-
     private void validateResourceConfig(ResourceVO resource, String nodeId) {
         double minCPU = stringToDouble(resource.getMinCPU(), nodeId);
         double maxCPU = stringToDouble(resource.getMaxCPU(), nodeId);
@@ -0,0 +1,178 @@
+/*
+ * Copyright 2024 Ant Group Co., Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.secretflow.secretpad.service.impl;
+
+import org.secretflow.secretpad.common.errorcode.SystemErrorCode;
+import org.secretflow.secretpad.common.exception.SecretpadException;
+import org.secretflow.secretpad.common.util.JsonUtils;
+import org.secretflow.secretpad.manager.integration.data.DataManager;
+import org.secretflow.secretpad.persistence.entity.ProjectModelPackDO;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import jakarta.annotation.Resource;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.secretflow.v1alpha1.common.Common;
+import org.secretflow.v1alpha1.kusciaapi.Domaindata;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.stream.Collectors;
+
+/**
+ * Resolve model pack metadata from kuscia domain data.
+ * <p>
+ * All domain data of a request are queried concurrently under one shared deadline. The party schemas of a
+ * model pack never change once the pack is exported, so they are cached by model id and report id.
+ */
+@Slf4j
+@Setter
+@Component
+public class ModelPackMetadataResolver {
+
+    private static final int CACHE_MAX_SIZE = 1024;
+
+    private final Cache<String, Map<String, List<String>>> partyColumnsCache = CacheBuilder.newBuilder()
+            .maximumSize(CACHE_MAX_SIZE)
+            .build();
+
+    @Resource
+    private DataManager dataManager;
+
+    @Autowired
+    @Qualifier("kusciaApiFutureTaskThreadPool")
+    private Executor executor;
+
+    @Value("${secretpad.model.metadata-timeout:10000}")
+    private long timeoutMillis;
+
+    /**
+     * Resolve the model schema columns owned by each party of the model pack
+     *
+     * @param projectModelPackDO model pack
+     * @param targetNodeId       node to query through in autonomy mode, null otherwise
+     * @return partyId -> own schema columns, in sample table order
+     */
+    public Map<String, List<String>> partyColumns(ProjectModelPackDO projectModelPackDO, String targetNodeId) {
+        String cacheKey = projectModelPackDO.getModelId() + ":" + projectModelPackDO.getModelReportId() + ":" + targetNodeId;
+        Map<String, List<String>> cached = partyColumnsCache.getIfPresent(cacheKey);
+        if (cached != null) {
+            return cached;
+        }
+        Map<String, String> partyTableMap = JsonUtils.toJavaMap(projectModelPackDO.getSampleTables(), String.class);
+        Map<String, String> reportIds = partyTableMap.keySet().stream()
+                .collect(Collectors.toMap(party -> party, party -> projectModelPackDO.getModelReportId()));
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        Map<String, CompletableFuture<Domaindata.DomainData>> reports = submit(reportIds, targetNodeId);
+        Map<String, CompletableFuture<Domaindata.DomainData>> tables = submit(partyTableMap, targetNodeId);
+        awaitAll(List.of(reports, tables), deadline);
+        Map<String, List<String>> partyColumns = new LinkedHashMap<>();
+        for (String party : partyTableMap.keySet()) {
+            //attributes contains both party of schema, the raw sample table filters its own
+            List<String> columns = explainColumns(result(reports.get(party), party).getAttributesMap().get("dist_data"));
+            Set<String> ownColumns = result(tables.get(party), party).getColumnsList().stream()
+                    .map(Common.DataColumn::getName)
+                    .collect(Collectors.toSet());
+            partyColumns.put(party, columns.stream().filter(ownColumns::contains).toList());
+        }
+        partyColumns = Collections.unmodifiableMap(partyColumns);
+        partyColumnsCache.put(cacheKey, partyColumns);
+        return partyColumns;
+    }
+
+    /**
+     * Query domain data of several parties concurrently
+     *
+     * @param domainDataIds partyId -> domainDataId
+     * @param targetNodeId  node to query through in autonomy mode, null otherwise
+     * @return partyId -> domain data
+     */
+    public Map<String, Domaindata.DomainData> queryDomainData(Map<String, String> domainDataIds, String targetNodeId) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        Map<String, CompletableFuture<Domaindata.DomainData>> futures = submit(domainDataIds, targetNodeId);
+        awaitAll(List.of(futures), deadline);
+        Map<String, Domaindata.DomainData> result = new LinkedHashMap<>();
+        futures.forEach((party, future) -> result.put(party, result(future, party)));
+        return result;
+    }
+
+    private Map<String, CompletableFuture<Domaindata.DomainData>> submit(Map<String, String> domainDataIds, String targetNodeId) {
+        Map<String, CompletableFuture<Domaindata.DomainData>> futures = new LinkedHashMap<>();
+        domainDataIds.forEach((party, domainDataId) -> futures.put(party,
+                CompletableFuture.supplyAsync(() -> dataManager.queryDomainData(party, domainDataId, targetNodeId), executor)));
+        return futures;
+    }
+
+    /**
+     * Wait until all queries are done or the shared deadline passes, every query still running then is cancelled
+     *
+     * @param futures  partyId -> query, per kind of domain data
+     * @param deadline deadline in {@link System#nanoTime()}
+     */
+    private void awaitAll(List<Map<String, CompletableFuture<Domaindata.DomainData>>> futures, long deadline) {
+        List<CompletableFuture<Domaindata.DomainData>> all = futures.stream().flatMap(m -> m.values().stream()).toList();
+        try {
+            CompletableFuture.allOf(all.toArray(new CompletableFuture[0])).get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            String pending = futures.stream().flatMap(m -> m.entrySet().stream())
+                    .filter(entry -> !entry.getValue().isDone())
+                    .map(Map.Entry::getKey)
+                    .distinct()
+                    .collect(Collectors.joining(","));
+            all.forEach(future -> future.cancel(true));
+            throw SecretpadException.of(SystemErrorCode.REMOTE_CALL_ERROR, e, "query domain data timeout, nodeId: " + pending);
+        } catch (InterruptedException e) {
+            all.forEach(future -> future.cancel(true));
+            Thread.currentThread().interrupt();
+            throw SecretpadException.of(SystemErrorCode.REMOTE_CALL_ERROR, e, "query domain data interrupted");
+        } catch (ExecutionException e) {
+            // a query failed, its error is thrown when its result is read
+        }
+    }
+
+    private Domaindata.DomainData result(CompletableFuture<Domaindata.DomainData> future, String party) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw SecretpadException.of(SystemErrorCode.REMOTE_CALL_ERROR, e, "query domain data interrupted, nodeId: " + party);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof SecretpadException secretpadException) {
+                throw secretpadException;
+            }
+            throw SecretpadException.of(SystemErrorCode.REMOTE_CALL_ERROR, e.getCause(), "query domain data failed, nodeId: " + party);
+        }
+    }
+
+    private List<String> explainColumns(String distData) {
+        log.info("parse root {}", distData);
+        JsonObject jsonObject = JsonParser.parseString(distData).getAsJsonObject();
+        String desc = jsonObject.getAsJsonObject("meta").get("desc").getAsString();
+        if (StringUtils.isNotEmpty(desc)) {
+            return List.of(desc.split(","));
+        }
+        return new ArrayList<>();
+    }
+}
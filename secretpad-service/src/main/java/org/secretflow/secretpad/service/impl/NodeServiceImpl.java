@@ -75,6 +75,7 @@ import java.util.stream.Collectors;
 public class NodeServiceImpl implements NodeService {
 
     private final static Logger LOGGER = LoggerFactory.getLogger(NodeServiceImpl.class);
+    private final static String ASCENDING_SORT_RULE = "ascending";
     @Autowired
     public DataService dataService;
     @Autowired
@@ -388,12 +389,14 @@ public class NodeServiceImpl implements NodeService {
             nodeIds.add(request.getOwnerId());
         }
 
-        List<NodeAllResultsVO> nodeAllResultsVOList = new CopyOnWriteArrayList<>();
+        // every node only provides the head of its listing up to the end of the requested page
+        int windowEnd = PageUtils.windowEnd(request.getPageSize(), request.getPageNumber());
+        Map<String, List<NodeAllResultsVO>> nodeResultVOs = new ConcurrentHashMap<>();
         AtomicInteger totalNodeResultNum = new AtomicInteger();
         ConcurrentMap<String, String> errorMap = new ConcurrentHashMap<>();
         List<CompletableFuture<Void>> futures = nodeIds.stream()
                 .map(nodeId -> CompletableFuture.supplyAsync(() -> {
-                    ListNodeResultRequest nodeResultRequest = createNodeRequest(request, nodeId);
+                    ListNodeResultRequest nodeResultRequest = createNodeRequest(request, nodeId, windowEnd);
                     return listResults(nodeResultRequest);
                 }, kusciaApiFutureThreadPool).handle((nodeResultsListVO, ex) -> {
                     if (ex != null) {
@@ -414,13 +417,11 @@ public class NodeServiceImpl implements NodeService {
                             return;
                         }
                         totalNodeResultNum.addAndGet(nodeResultsListVO.getTotalResultNums());
-                        nodeResultsListVO.getNodeResultsVOList().forEach(nodeResultsVO -> {
-                            nodeAllResultsVOList.add(NodeAllResultsVO.builder()
-                                    .nodeResultsVO(nodeResultsVO)
-                                    .nodeId(nodeId)
-                                    .nodeName(nodeDO.getName())
-                                    .build());
-                        });
+                        nodeResultVOs.put(nodeId, nodeResultsListVO.getNodeResultsVOList().stream().map(nodeResultsVO -> NodeAllResultsVO.builder()
+                                .nodeResultsVO(nodeResultsVO)
+                                .nodeId(nodeId)
+                                .nodeName(nodeDO.getName())
+                                .build()).toList());
                     }
                 })).toList();
         try {
@@ -437,7 +438,7 @@ public class NodeServiceImpl implements NodeService {
             throw SecretpadException.of(ConcurrentErrorCode.TASK_EXECUTION_ERROR, e);
         }
 
-        List<NodeAllResultsVO> rangeVOList = PageUtils.rangeList(nodeAllResultsVOList, request.getPageSize(), request.getPageNumber());
+        List<NodeAllResultsVO> rangeVOList = PageUtils.mergeSorted(nodeResultVOs.values(), nodeResultOrder(request.getTimeSortingRule()), request.getPageSize(), request.getPageNumber());
 
         //fill datatable info
         List<Domaindata.DomainData> domainDataList = datatableManager.findByIdGroup(rangeVOList.stream().map(it -> DatatableDTO.NodeDatatableId.from(it.getNodeId(), it.getNodeResultsVO().getDomainDataId())).toList(), (currentNodeId, extra) -> currentNodeId);
@@ -578,11 +579,11 @@ public class NodeServiceImpl implements NodeService {
         return managementList.stream().collect(Collectors.groupingBy(it -> it.getUpk().getDatatableId()));
     }
 
-    private ListNodeResultRequest createNodeRequest(ListNodeResultRequest request, String nodeId) {
+    private ListNodeResultRequest createNodeRequest(ListNodeResultRequest request, String nodeId, int windowEnd) {
         return ListNodeResultRequest.builder()
                 .ownerId(nodeId)
                 .teeNodeId(request.getTeeNodeId())
-                .pageSize(PageUtils.DEFAULT_PAGE_SIZE)
+                .pageSize(windowEnd)
                 .pageNumber(PageUtils.DEFAULT_PAGE_NUM)
                 .kindFilters(request.getKindFilters())
                 .dataVendorFilter(request.getDataVendorFilter())
@@ -591,6 +592,17 @@ public class NodeServiceImpl implements NodeService {
                 .build();
     }
 
+    /**
+     * Same order as the project result page of every node, latest first unless ascending is requested
+     */
+    private Comparator<NodeAllResultsVO> nodeResultOrder(String timeSortingRule) {
+        // same order as the project_result query, gmtCreate then refId, so pages stay stable when timestamps tie
+        Comparator<NodeAllResultsVO> order = Comparator
+                .comparingLong((NodeAllResultsVO it) -> DateTimes.rfc3339ToLong(it.getNodeResultsVO().getGmtCreate()))
+                .thenComparing(it -> it.getNodeResultsVO().getDomainDataId(), Comparator.nullsLast(Comparator.naturalOrder()));
+        return ASCENDING_SORT_RULE.equalsIgnoreCase(timeSortingRule) ? order : order.reversed();
+    }
+
     @Override
     public void updateNodeMasterNodeId(String instId) {
         nodeRepository.updateMasterNodeIdByInstid(instId, masterNodeId);
@@ -22,26 +22,22 @@ import org.secretflow.secretpad.common.exception.SecretpadException;
 import org.secretflow.secretpad.persistence.entity.ProjectTaskDO;
 import org.secretflow.secretpad.persistence.repository.NodeRepository;
 import org.secretflow.secretpad.persistence.repository.ProjectJobTaskRepository;
-import org.secretflow.secretpad.service.ICloudLogService;
-import org.secretflow.secretpad.service.model.CloudGraphNodeTaskLogsVO;
-import org.secretflow.secretpad.service.model.graph.GraphNodeCloudLogsRequest;
-import org.secretflow.secretpad.service.model.node.NodeSimpleInfo;
 import org.secretflow.secretpad.service.properties.LogConfigProperties;
 
 import com.aliyun.openservices.log.Client;
+import com.aliyun.openservices.log.common.LogContent;
 import com.aliyun.openservices.log.common.LogStore;
+import com.aliyun.openservices.log.common.QueriedLog;
 import com.aliyun.openservices.log.exception.LogException;
 import com.aliyun.openservices.log.request.CreateLogStoreRequest;
 import com.aliyun.openservices.log.request.CreateProjectRequest;
 import com.aliyun.openservices.log.request.GetLogStoreRequest;
 import com.aliyun.openservices.log.response.GetLogsResponse;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.lang3.StringUtils;
 
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.util.List;
-import java.util.Objects;
-import java.util.Optional;
-import java.util.stream.Collectors;
 
 
 /**
@@ -49,87 +45,64 @@ import java.util.stream.Collectors;
  * @date 2024/04/18
  */
 @Slf4j
-public class SLSCloudLogServiceImpl implements ICloudLogService {
-
-    private static final String searchIndex = "\"__tag__:__path__\"";
+public class SLSCloudLogServiceImpl extends AbstractCloudLogService {
+
+    private static final String searchIndex = "__tag__:__path__";
+    private static final String CONTENT_KEY = "content";
+    /**
+     * SLS returns at most 100 lines for one search request
+     */
+    private static final int MAX_PAGE_SIZE = 100;
     private static final String LOG_STORE_PREFIX = "secretpad-engin-log-";
     private static final String EMBED_ALICE = "alice";
     private static final String EMBED_BOB = "bob";
     private final String projectName;
     private final Client client;
-    private final ProjectJobTaskRepository taskRepository;
-    private final NodeRepository nodeRepository;
-    private String localNodeId;
-
-    private String platformType;
 
     public SLSCloudLogServiceImpl(LogConfigProperties.SLSConfig slsConfig, String platformType, String nodeId, ProjectJobTaskRepository taskRepository, NodeRepository nodeRepository) throws LogException {
+        super(taskRepository, nodeRepository, platformType, nodeId);
         this.projectName = slsConfig.getProject();
         this.client = new Client(slsConfig.getHost(), slsConfig.getAk(), slsConfig.getSk());
-        this.taskRepository = taskRepository;
-        this.nodeRepository = nodeRepository;
-        this.localNodeId = nodeId;
-        this.platformType = platformType;
         queryOrCreateProject(projectName);
         queryOrCreateLogStore(projectName, platformType, nodeId);
     }
 
     public SLSCloudLogServiceImpl(ProjectJobTaskRepository taskRepository, NodeRepository nodeRepository, Client client, LogConfigProperties.SLSConfig slsConfig, String platformType) {
-        this.taskRepository = taskRepository;
-        this.nodeRepository = nodeRepository;
+        super(taskRepository, nodeRepository, platformType, null);
         this.client = client;
         this.projectName = slsConfig.getProject();
-        this.platformType = platformType;
     }
 
+    /**
+     * Search the task log by the indexed log path, the path of a task log file contains the task id as a whole token
+     */
     @Override
-    public CloudGraphNodeTaskLogsVO fetchLog(GraphNodeCloudLogsRequest request) {
-        Optional<ProjectTaskDO> taskDOOptional;
-        //query appointed job history log
-        if (StringUtils.isNotBlank(request.getJobId()) && StringUtils.isNotBlank(request.getTaskId())) {
-            taskDOOptional = taskRepository.findById(new ProjectTaskDO.UPK(request.getProjectId(), request.getJobId(), request.getTaskId()));
-        } else {
-            //query latest job parties to fronted
-            if (Objects.nonNull(request.getQueryParties()) && request.getQueryParties() && StringUtils.isNotBlank(request.getGraphNodeId())) {
-                taskDOOptional = taskRepository.findLatestTasks(request.getProjectId(), request.getGraphNodeId());
-                if (taskDOOptional.isPresent()) {
-                    List<String> parties = taskDOOptional.get().getParties();
-                    List<NodeSimpleInfo> simpleInfos = nodeRepository.findByNodeIdIn(parties).stream().map(e -> NodeSimpleInfo.builder().nodeName(e.getName()).nodeId(e.getNodeId()).build()).collect(Collectors.toList());
-                    return CloudGraphNodeTaskLogsVO.buildQueryNodePartiesResult(simpleInfos);
-                }
-            } else if (StringUtils.isBlank(request.getGraphNodeId()) && StringUtils.isBlank(request.getJobId()) && StringUtils.isBlank(request.getTaskId())) {
-                //query SLS service ready status
-                return CloudGraphNodeTaskLogsVO.buildReadyResult();
-            } else {
-                //query latest job log
-                taskDOOptional = taskRepository.findLatestTasks(request.getProjectId(), request.getGraphNodeId());
-            }
-        }
-        if (taskDOOptional.isEmpty()) {
-            throw SecretpadException.of(JobErrorCode.PROJECT_JOB_TASK_NOT_EXISTS);
-        }
-        platformPermission(platformType, localNodeId, request.getNodeId());
-        ProjectTaskDO task = taskDOOptional.get();
-        String taskId = task.getUpk().getTaskId();
-        StringBuilder query = new StringBuilder("* |select content where ");
-        String querySql = query.append(searchIndex).append(" like ").append("'%").append(taskId).append("%'").append(" limit ").append(Integer.MAX_VALUE).toString();
-        log.info("query sls log,sql = {},logStore is {}", querySql, LOG_STORE_PREFIX + request.getNodeId());
+    protected LogPage queryLogs(ProjectTaskDO task, String nodeId, LocalDateTime from, LocalDateTime to, long position, int pageSize) {
+        String query = searchIndex + ": #\"" + task.getUpk().getTaskId() + "\"";
+        String logStore = LOG_STORE_PREFIX + nodeId;
+        log.info("query sls log, query = {}, logStore is {}, offset = {}", query, logStore, position);
         GetLogsResponse getLogsResponse;
         try {
-            getLogsResponse = client.GetLogs(projectName, LOG_STORE_PREFIX + request.getNodeId(), 0, (int) (System.currentTimeMillis() / 1000), "", querySql);
+            getLogsResponse = client.GetLogs(projectName, logStore, toEpochSecond(from), toEpochSecond(to), "", query, pageSize, position, false);
         } catch (LogException e) {
             throw SecretpadException.of(JobErrorCode.PROJECT_JOB_CLOUD_LOG_ERROR, e, e.GetErrorMessage());
         }
-        List<String> logs = getLogsResponse.getLogs().stream().flatMap(e -> e.GetLogItem().GetLogContents().stream()).map(e -> e.GetValue()).collect(Collectors.toList());
-        return new CloudGraphNodeTaskLogsVO(task.getStatus(), logs, true);
+        List<QueriedLog> queriedLogs = getLogsResponse.getLogs();
+        List<String> logs = queriedLogs.stream()
+                .flatMap(e -> e.GetLogItem().GetLogContents().stream())
+                .filter(e -> CONTENT_KEY.equals(e.GetKey()))
+                .map(LogContent::GetValue)
+                .toList();
+        return new LogPage(logs, position + queriedLogs.size(), queriedLogs.size() >= pageSize);
     }
 
-    private void platformPermission(String platform, String nodeId, String requesterNodeId) {
-        if (PlatformTypeEnum.valueOf(platform) == PlatformTypeEnum.AUTONOMY) {
-            if (!nodeId.equalsIgnoreCase(requesterNodeId)) {
-                throw SecretpadException.of(JobErrorCode.PROJECT_JOB_NODE_PERMISSION_ERROR);
-            }
-        }
+    @Override
+    protected int maxPageSize() {
+        return MAX_PAGE_SIZE;
+    }
+
+    private static int toEpochSecond(LocalDateTime dateTime) {
+        return (int) dateTime.toEpochSecond(ZoneOffset.UTC);
     }
 
     private void createProject(String projectName) throws LogException {
@@ -40,6 +40,7 @@ import org.secretflow.secretpad.scheduled.model.ScheduledIdRequest;
 import org.secretflow.secretpad.scheduled.model.ScheduledInfoRequest;
 import org.secretflow.secretpad.scheduled.model.ScheduledOfflineRequest;
 import org.secretflow.secretpad.scheduled.service.ISecretpadScheduledService;
+import org.secretflow.secretpad.scheduled.service.ScheduledTaskMaterializer;
 import org.secretflow.secretpad.service.GraphService;
 import org.secretflow.secretpad.service.ScheduledService;
 import org.secretflow.secretpad.service.graph.GraphContext;
@@ -83,7 +84,8 @@ import java.util.stream.Collectors;
  */
 @Slf4j
 @Service
-public class ScheduledServiceImpl implements ScheduledService {
+public class ScheduledServiceImpl implements ScheduledService, ScheduledTaskMaterializer {
+    private static final DateTimeFormatter SCHEDULE_DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyyMMdd");
     @Resource
     @Setter
     private ISecretpadScheduledService secretpadScheduledService;
@@ -165,72 +167,120 @@ public class ScheduledServiceImpl implements ScheduledService {
         projectScheduleDO.setGraphId(scheduledGraphCreateRequest.getGraphId());
         projectScheduleDO.setCreateTime(LocalDateTime.now());
         projectScheduleRepository.save(projectScheduleDO);
-        Set<String> matchingDateSet = new HashSet<>();
 
         if (CollectionUtils.isEmpty(cronGroup)) {
             throw SecretpadException.of(ScheduledErrorCode.SCHEDULE_CREATE_ERROR, "no scheduling dates available");
         }
-        List<String> matchingAllDates = new ArrayList<>();
-        cronGroup.forEach(cronExpression -> {
-            matchingAllDates.addAll(CronUtils.getMatchingDates(cronExpression, cron.getStartTime(), cron.getEndTime()));
-        });
-        if (CollectionUtils.isEmpty(matchingAllDates)) {
+        // only the first fire is rendered now, it surfaces render errors at creation, later fires are materialized by the triggers
+        String firstCron = null;
+        String firstDate = null;
+        for (String cronExpression : cronGroup) {
+            String date = CronUtils.getFirstMatchingDate(cronExpression, cron.getStartTime(), cron.getEndTime());
+            if (date != null && (firstDate == null || DateTimes.toLocalDateTime(date).isBefore(DateTimes.toLocalDateTime(firstDate)))) {
+                firstCron = cronExpression;
+                firstDate = date;
+            }
+        }
+        if (firstDate == null) {
             throw SecretpadException.of(ScheduledErrorCode.SCHEDULE_CREATE_ERROR, "no scheduling dates available");
         }
-        cronGroup.forEach(cronExpression -> {
-            List<String> matchingDates = CronUtils.getMatchingDates(cronExpression, cron.getStartTime(), cron.getEndTime());
-            log.info("createScheduler, cronExpression:{}, matchingDates:{}", cronExpression, matchingDates);
-            matchingDates.forEach(date -> {
-                if (matchingDateSet.contains(date)) {
-                    log.warn("createScheduler, cronExpression:{}, matchingDates:{}, duplicate date:{} skip", cronExpression, matchingDates, date);
-                    return;
-                }
-                ProjectScheduleTaskDO projectScheduleTaskDO = new ProjectScheduleTaskDO();
-                projectScheduleTaskDO.setProjectId(scheduledGraphCreateRequest.getProjectId());
-                projectScheduleTaskDO.setGraphId(scheduledGraphCreateRequest.getGraphId());
-                projectScheduleTaskDO.setScheduleId(scheduledGraphCreateRequest.getScheduleId());
-                ScheduledIdRequest scheduledIdRequest = new ScheduledIdRequest();
-                scheduledIdRequest.setProjectId(scheduledGraphCreateRequest.getProjectId());
-                scheduledIdRequest.setGraphId(scheduledGraphCreateRequest.getGraphId());
-                projectScheduleTaskDO.setScheduleTaskId(secretpadScheduledService.buildSchedulerId(scheduledIdRequest));
-                projectScheduleTaskDO.setCron(cronExpression);
-                projectScheduleTaskDO.setOwner(UserContext.getUser().getOwnerId());
-                projectScheduleTaskDO.setCreator(UserContext.getUserName());
-                projectScheduleTaskDO.setScheduleTaskExpectStartTime(DateTimes.toLocalDateTime(date));
-
-                StartGraphRequest startGraphRequest = new StartGraphRequest();
-                startGraphRequest.setProjectId(scheduledGraphCreateRequest.getProjectId());
-                startGraphRequest.setGraphId(scheduledGraphCreateRequest.getGraphId());
-                startGraphRequest.setNodes(scheduledGraphCreateRequest.getNodes());
-
-                GraphContext.setIsScheduled(true);
-                DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyyMMdd");
-                GraphContext.setScheduleExpectStartDate(projectScheduleTaskDO.getScheduleTaskExpectStartTime().format(formatter));
-                graphService.startGraph(startGraphRequest);
-
-                ProjectScheduleJobDO projectScheduleJobDO = convertToProjectScheduleJobDO(GraphContext.getProjectJobDO());
-                projectScheduleJobDO.setScheduleTaskId(projectScheduleTaskDO.getScheduleTaskId());
-                projectScheduleJobDO.setOwner(UserContext.getUser().getOwnerId());
-                projectScheduleJobRepository.save(projectScheduleJobDO);
-                Job.CreateJobRequest request = GraphContext.getRequest();
-                if (ObjectUtils.isEmpty(request)) {
-                    log.error("convertToProjectScheduleJobDO, request is null");
-                    throw SecretpadException.of(ScheduledErrorCode.REQUEST_IS_NULL);
-                }
-                projectScheduleTaskDO.setJobRequest(Base64.getEncoder().encodeToString(request.toByteArray()));
-                projectScheduleTaskDO.setScheduleJobId(projectScheduleJobDO.getUpk().getJobId());
-                projectScheduleTaskRepository.save(projectScheduleTaskDO);
-                secretpadScheduledService.addScheduler(
-                        projectScheduleJobDO.getUpk().getJobId(),
-                        projectScheduleDO.getScheduleId(),
-                        projectScheduleTaskDO,
-                        cronExpression
-                );
-                GraphContext.remove();
-                matchingDateSet.add(date);
-            });
-        });
+        log.info("createScheduler, cronGroup:{}, first cron:{}, first date:{}", cronGroup, firstCron, firstDate);
+        renderScheduleTask(projectScheduleDO, firstCron, DateTimes.toLocalDateTime(firstDate));
+
+        secretpadScheduledService.addScheduler(
+                projectScheduleDO.getScheduleId(),
+                cronGroup,
+                DateTimes.toLocalDateTime(cron.getStartTime()),
+                DateTimes.toLocalDateTime(cron.getEndTime())
+        );
+    }
+
+    /**
+     * materialize the schedule task of a fire time
+     *
+     * @param scheduleId      schedule id
+     * @param cron            cron expression that fired
+     * @param expectStartTime scheduled fire time
+     * @return schedule task, null if the schedule no longer runs
+     */
+    @Override
+    public ProjectScheduleTaskDO materialize(String scheduleId, String cron, LocalDateTime expectStartTime) {
+        Optional<ProjectScheduleDO> projectScheduleDOOptional = projectScheduleRepository.findById(scheduleId);
+        if (projectScheduleDOOptional.isEmpty() || ScheduledStatus.DOWN.equals(projectScheduleDOOptional.get().getStatus())) {
+            log.info("materialize, schedule not running, scheduleId:{}", scheduleId);
+            return null;
+        }
+        List<ProjectScheduleTaskDO> existing = projectScheduleTaskRepository.findByScheduleIdAndScheduleTaskExpectStartTime(scheduleId, expectStartTime);
+        if (!CollectionUtils.isEmpty(existing)) {
+            return existing.get(0);
+        }
+        ProjectScheduleDO projectScheduleDO = projectScheduleDOOptional.get();
+        UserContext.setBaseUser(UserContextDTO.builder().ownerId(projectScheduleDO.getOwner()).name(projectScheduleDO.getCreator()).build());
+        try {
+            return renderScheduleTask(projectScheduleDO, cron, expectStartTime);
+        } catch (Exception e) {
+            log.error("materialize, render schedule task error, scheduleId:{}, expectStartTime:{}", scheduleId, expectStartTime, e);
+            ProjectScheduleTaskDO projectScheduleTaskDO = newScheduleTask(projectScheduleDO, cron, expectStartTime);
+            projectScheduleTaskDO.setStatus(ScheduledStatus.FAILED);
+            return projectScheduleTaskRepository.save(projectScheduleTaskDO);
+        } finally {
+            UserContext.remove();
+        }
+    }
+
+    /**
+     * render the job of a schedule task and persist the schedule task with its job request
+     * the graph snapshot stored with the schedule is rendered, later graph edits do not change the scheduled fires
+     *
+     * @param projectScheduleDO schedule
+     * @param cronExpression    cron expression of the fire
+     * @param expectStartTime   expect start time of the fire
+     * @return saved schedule task
+     */
+    private ProjectScheduleTaskDO renderScheduleTask(ProjectScheduleDO projectScheduleDO, String cronExpression, LocalDateTime expectStartTime) {
+        ProjectScheduleTaskDO projectScheduleTaskDO = newScheduleTask(projectScheduleDO, cronExpression, expectStartTime);
+        ScheduledGraphCreateRequest scheduledGraphCreateRequest = projectScheduleDO.getRequest();
+        StartGraphRequest startGraphRequest = new StartGraphRequest();
+        startGraphRequest.setProjectId(scheduledGraphCreateRequest.getProjectId());
+        startGraphRequest.setGraphId(scheduledGraphCreateRequest.getGraphId());
+        startGraphRequest.setNodes(scheduledGraphCreateRequest.getNodes());
+        try {
+            GraphContext.setIsScheduled(true);
+            GraphContext.setScheduleExpectStartDate(expectStartTime.format(SCHEDULE_DATE_FORMATTER));
+            GraphContext.setScheduleGraph(projectScheduleDO.getGraphInfo());
+            graphService.startGraph(startGraphRequest);
+
+            ProjectScheduleJobDO projectScheduleJobDO = convertToProjectScheduleJobDO(GraphContext.getProjectJobDO());
+            projectScheduleJobDO.setScheduleTaskId(projectScheduleTaskDO.getScheduleTaskId());
+            projectScheduleJobDO.setOwner(projectScheduleDO.getOwner());
+            projectScheduleJobRepository.save(projectScheduleJobDO);
+            Job.CreateJobRequest request = GraphContext.getRequest();
+            if (ObjectUtils.isEmpty(request)) {
+                log.error("convertToProjectScheduleJobDO, request is null");
+                throw SecretpadException.of(ScheduledErrorCode.REQUEST_IS_NULL);
+            }
+            projectScheduleTaskDO.setJobRequest(Base64.getEncoder().encodeToString(request.toByteArray()));
+            projectScheduleTaskDO.setScheduleJobId(projectScheduleJobDO.getUpk().getJobId());
+            return projectScheduleTaskRepository.save(projectScheduleTaskDO);
+        } finally {
+            GraphContext.remove();
+        }
+    }
 
+    private ProjectScheduleTaskDO newScheduleTask(ProjectScheduleDO projectScheduleDO, String cronExpression, LocalDateTime expectStartTime) {
+        ProjectScheduleTaskDO projectScheduleTaskDO = new ProjectScheduleTaskDO();
+        projectScheduleTaskDO.setProjectId(projectScheduleDO.getProjectId());
+        projectScheduleTaskDO.setGraphId(projectScheduleDO.getGraphId());
+        projectScheduleTaskDO.setScheduleId(projectScheduleDO.getScheduleId());
+        ScheduledIdRequest scheduledIdRequest = new ScheduledIdRequest();
+        scheduledIdRequest.setProjectId(projectScheduleDO.getProjectId());
+        scheduledIdRequest.setGraphId(projectScheduleDO.getGraphId());
+        projectScheduleTaskDO.setScheduleTaskId(secretpadScheduledService.buildSchedulerId(scheduledIdRequest));
+        projectScheduleTaskDO.setCron(cronExpression);
+        projectScheduleTaskDO.setOwner(projectScheduleDO.getOwner());
+        projectScheduleTaskDO.setCreator(projectScheduleDO.getCreator());
+        projectScheduleTaskDO.setScheduleTaskExpectStartTime(expectStartTime);
+        return projectScheduleTaskDO;
     }
 
     /**
@@ -293,6 +343,7 @@ public class ScheduledServiceImpl implements ScheduledService {
             log.error("del, schedule is used, scheduleId:{}", request.getScheduleId());
             throw SecretpadException.of(ScheduledErrorCode.SCHEDULE_UP_NOT_DEL);
         }
+        secretpadScheduledService.deleteScheduler(projectScheduleDO.getScheduleId());
         projectScheduleRepository.deleteById(projectScheduleDO.getScheduleId());
     }
 
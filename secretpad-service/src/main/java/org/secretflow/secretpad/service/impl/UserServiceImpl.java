@@ -24,6 +24,7 @@ import org.secretflow.secretpad.persistence.entity.AccountsDO;
 import org.secretflow.secretpad.persistence.repository.UserAccountsRepository;
 import org.secretflow.secretpad.persistence.repository.UserTokensRepository;
 import org.secretflow.secretpad.service.UserService;
+import org.secretflow.secretpad.service.auth.TokenSessionCache;
 import org.secretflow.secretpad.service.model.auth.UserCreateRequest;
 import org.secretflow.secretpad.service.model.auth.UserUpdatePwdRequest;
 
@@ -53,6 +54,9 @@ public class UserServiceImpl implements UserService {
     @Autowired
     private UserTokensRepository userTokensRepository;
 
+    @Autowired
+    private TokenSessionCache tokenSessionCache;
+
     @Value("${secretpad.reset-password-error-max-attempts:5}")
     private Integer resetPasswordMaxAttempts;
 
@@ -119,6 +123,7 @@ public class UserServiceImpl implements UserService {
                 userAccountsRepository.save(userDO);
                 //after remove need remove user all token
                 userTokensRepository.deleteByName(request.getName());
+                tokenSessionCache.evictByName(request.getName());
             }
             return;
         }
@@ -24,8 +24,11 @@ import org.secretflow.secretpad.persistence.repository.ProjectJobTaskLogReposito
 import com.google.common.collect.Lists;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.ArrayList;
 import java.util.HashSet;
@@ -43,9 +46,17 @@ import java.util.stream.Collectors;
 @Component
 public class JobTaskLogEventListener {
 
+    /**
+     * Transaction resource key of the task logs pending in the current transaction
+     */
+    private static final String PENDING_LOGS = JobTaskLogEventListener.class.getName() + ".PENDING_LOGS";
+
     @Autowired
     private ProjectJobTaskLogRepository logRepository;
 
+    @Autowired
+    private ApplicationEventPublisher applicationEventPublisher;
+
     /**
      * Add task logs via task status transform event
      *
@@ -104,6 +115,45 @@ public class JobTaskLogEventListener {
         // remove duplicated logs
         Set<ProjectJobTaskLogDO> setWithoutDuplicates = new HashSet<>(logs);
         logs = new ArrayList<>(setWithoutDuplicates);
-        logRepository.saveAll(logs);
+        saveLogs(logs);
+        if (!logs.isEmpty()) {
+            // delivered to transactional listeners after commit, once the batch inserted before commit is readable
+            applicationEventPublisher.publishEvent(new ProjectJobTaskLogDO.AppendedEvent(this, task.getUpk().getJobId(), task.getUpk().getTaskId()));
+        }
+    }
+
+    /**
+     * Inside a transaction, logs of all task transitions are collected and inserted with one batch before commit,
+     * a job update with many tasks then costs one round trip instead of one per task
+     *
+     * @param logs task logs
+     */
+    @SuppressWarnings("unchecked")
+    private void saveLogs(List<ProjectJobTaskLogDO> logs) {
+        if (logs.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            logRepository.insertAllInBatch(logs);
+            return;
+        }
+        List<ProjectJobTaskLogDO> pending = (List<ProjectJobTaskLogDO>) TransactionSynchronizationManager.getResource(PENDING_LOGS);
+        if (pending == null) {
+            List<ProjectJobTaskLogDO> buffer = new ArrayList<>();
+            TransactionSynchronizationManager.bindResource(PENDING_LOGS, buffer);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    logRepository.insertAllInBatch(buffer);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(PENDING_LOGS);
+                }
+            });
+            pending = buffer;
+        }
+        pending.addAll(logs);
     }
 }
@@ -37,6 +37,16 @@ public class CloudGraphNodeTaskLogsVO extends GraphNodeTaskLogsVO {
 
     private List<NodeSimpleInfo> nodeParties;
 
+    /**
+     * continuation token of the next page, absent once the task is finished and all its logs are returned
+     */
+    private String nextCursor;
+
+    /**
+     * whether more logs are already available after this page
+     */
+    private Boolean hasMore;
+
     public CloudGraphNodeTaskLogsVO(GraphNodeTaskStatus status, List<String> logs, Boolean config) {
         super(status, logs);
         this.config = config;
@@ -21,7 +21,7 @@ import lombok.Builder;
 import lombok.Getter;
 import lombok.Setter;
 
-import java.io.InputStream;
+import java.io.File;
 
 /**
  * Download information
@@ -41,11 +41,20 @@ public class DownloadInfo {
     private String fileName;
 
     /**
-     * File path
+     * File length
      */
     @Schema(description = "file length")
-    private int fileLength;
+    private long fileLength;
 
-    @Schema(description = "file byte array")
-    private InputStream inputStream;
+    /**
+     * File to send, the source csv or the cached archive
+     */
+    @Schema(description = "file to send")
+    private File file;
+
+    /**
+     * Entity tag of the file content
+     */
+    @Schema(description = "entity tag")
+    private String etag;
 }
\ No newline at end of file
@@ -21,6 +21,8 @@ import lombok.Builder;
 import lombok.Getter;
 import lombok.Setter;
 
+import java.util.List;
+
 /**
  * Upload data result view object
  *
@@ -52,5 +54,20 @@ public class UploadDataResultVO {
      */
     @Schema(description = "data source type")
     private String datasourceType;
+    /**
+     * Stored file size in bytes
+     */
+    @Schema(description = "stored file size in bytes")
+    private Long size;
+    /**
+     * SHA-256 of the stored file
+     */
+    @Schema(description = "sha256 of the stored file")
+    private String sha256;
+    /**
+     * Columns sampled from the csv header, empty if the header is not found
+     */
+    @Schema(description = "columns sampled from the csv header")
+    private List<String> columns;
 
 }
\ No newline at end of file
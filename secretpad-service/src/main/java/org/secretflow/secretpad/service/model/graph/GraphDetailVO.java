@@ -61,6 +61,11 @@ public class GraphDetailVO {
      */
     private Integer maxParallelism;
 
+    /**
+     * Graph version, used as the base version of graph patches
+     */
+    private Long version;
+
     /**
      * data source configuration
      */
@@ -82,6 +87,7 @@ public class GraphDetailVO {
                 .nodes(GraphNodeDetail.fromDOList(graphDO.getNodes(), nodeStatus))
                 .edges(GraphEdge.fromDOList(graphDO.getEdges()))
                 .maxParallelism(graphDO.getMaxParallelism())
+                .version(graphDO.currentVersion())
                 .build();
     }
 
@@ -57,4 +57,14 @@ public class GraphNodeCloudLogsRequest {
      */
     private String nodeId;
 
+    /**
+     * continuation token returned by the previous page, blank for the first page
+     */
+    private String cursor;
+
+    /**
+     * max log lines of one page, the log source default and upper bound apply when absent
+     */
+    private Integer pageSize;
+
 }
\ No newline at end of file
@@ -26,7 +26,9 @@ import org.springframework.util.CollectionUtils;
 
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 /**
@@ -113,6 +115,46 @@ public class GraphNodeInfo implements Serializable {
                 .build();
     }
 
+    /**
+     * Copy graph node information, lists and a nodeDef given as maps and lists are copied, protobuf nodeDef is
+     * immutable and shared
+     *
+     * @param nodeInfo graph node information
+     * @return a new graph node information
+     */
+    public static GraphNodeInfo copyOf(GraphNodeInfo nodeInfo) {
+        return GraphNodeInfo.builder()
+                .codeName(nodeInfo.getCodeName())
+                .graphNodeId(nodeInfo.getGraphNodeId())
+                .label(nodeInfo.getLabel())
+                .x(nodeInfo.getX())
+                .y(nodeInfo.getY())
+                .inputs(nodeInfo.getInputs() == null ? null : new ArrayList<>(nodeInfo.getInputs()))
+                .outputs(nodeInfo.getOutputs() == null ? null : new ArrayList<>(nodeInfo.getOutputs()))
+                .nodeDef(copyNodeDef(nodeInfo.getNodeDef()))
+                .build();
+    }
+
+    /**
+     * Deep copy a nodeDef given as maps and lists, other values are returned as they are
+     *
+     * @param nodeDef nodeDef metadata model
+     * @return copied nodeDef
+     */
+    public static Object copyNodeDef(Object nodeDef) {
+        if (nodeDef instanceof Map<?, ?> map) {
+            Map<Object, Object> copy = new LinkedHashMap<>(map.size());
+            map.forEach((k, v) -> copy.put(k, copyNodeDef(v)));
+            return copy;
+        }
+        if (nodeDef instanceof List<?> list) {
+            List<Object> copy = new ArrayList<>(list.size());
+            list.forEach(v -> copy.add(copyNodeDef(v)));
+            return copy;
+        }
+        return nodeDef;
+    }
+
     /**
      * Batch build graph node information list via project graph node data object list
      *
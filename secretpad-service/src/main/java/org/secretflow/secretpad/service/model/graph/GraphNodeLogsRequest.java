@@ -42,4 +42,13 @@ public class GraphNodeLogsRequest {
      */
     @NotBlank
     private String graphNodeId;
-}
\ No newline at end of file
+    /**
+     * Id of the last log received, only later logs are returned, absent to read from the first log
+     */
+    private Long cursor;
+    /**
+     * Logs returned at most, out of range uses the default page size.
+     * Absent together with the cursor returns the whole log, absent with a cursor uses the default page size
+     */
+    private Integer pageSize;
+}
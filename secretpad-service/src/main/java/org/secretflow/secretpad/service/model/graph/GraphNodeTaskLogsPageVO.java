@@ -0,0 +1,46 @@
+/*
+ * Copyright 2024 Ant Group Co., Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.secretflow.secretpad.service.model.graph;
+
+import org.secretflow.secretpad.persistence.model.GraphNodeTaskStatus;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * One page of graph node task logs following a cursor
+ */
+@Getter
+@Setter
+public class GraphNodeTaskLogsPageVO extends GraphNodeTaskLogsVO {
+    /**
+     * Id of the last log of this page, pass it as cursor to receive later logs
+     */
+    private Long nextCursor;
+    /**
+     * Whether more logs are already available after this page
+     */
+    private Boolean hasMore;
+
+    public GraphNodeTaskLogsPageVO(GraphNodeTaskStatus status, List<String> logs, Long nextCursor, Boolean hasMore) {
+        super(status, logs);
+        this.nextCursor = nextCursor;
+        this.hasMore = hasMore;
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2024 Ant Group Co., Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.secretflow.secretpad.service.model.graph;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Patch graph request, only the listed nodes and edges are changed
+ */
+@Data
+public class PatchGraphRequest {
+    /**
+     * Project id, it can not be blank
+     */
+    @NotBlank
+    private String projectId;
+    /**
+     * Graph id, it can not be blank
+     */
+    @NotBlank
+    private String graphId;
+    /**
+     * Graph version the patch is based on, the patch is rejected when the graph has been updated since
+     */
+    @NotNull
+    private Long version;
+    /**
+     * Graph nodes to add or replace, matched by graph node id
+     */
+    private List<GraphNodeInfo> upsertNodes;
+    /**
+     * Graph node ids to remove
+     */
+    private List<String> removeNodeIds;
+    /**
+     * Graph edges to add or replace, matched by edge id
+     */
+    private List<GraphEdge> upsertEdges;
+    /**
+     * Graph edge ids to remove
+     */
+    private List<String> removeEdgeIds;
+    /**
+     * Graph max parallelism
+     */
+    private Integer maxParallelism;
+}
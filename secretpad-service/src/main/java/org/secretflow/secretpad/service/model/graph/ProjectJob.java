@@ -145,6 +145,27 @@ public class ProjectJob implements Serializable {
                 .build();
     }
 
+    /**
+     * Structural copy of a project job, tasks and graph nodes are copied so that rendering leaves the origin untouched
+     *
+     * @param job project job
+     * @return a new project job
+     */
+    public static ProjectJob copyOf(ProjectJob job) {
+        return ProjectJob.builder()
+                .projectId(job.getProjectId())
+                .graphId(job.getGraphId())
+                .name(job.getName())
+                .jobId(job.getJobId())
+                .fullNodes(job.getFullNodes() == null ? null : job.getFullNodes().stream().map(GraphNodeInfo::copyOf).collect(Collectors.toList()))
+                .edges(job.getEdges() == null ? null : job.getEdges().stream()
+                        .map(e -> new GraphEdge(e.getEdgeId(), e.getSource(), e.getSourceAnchor(), e.getTarget(), e.getTargetAnchor()))
+                        .collect(Collectors.toList()))
+                .tasks(job.getTasks() == null ? null : job.getTasks().stream().map(JobTask::copyOf).collect(Collectors.toList()))
+                .maxParallelism(job.getMaxParallelism())
+                .build();
+    }
+
     /**
      * Job task
      */
@@ -176,6 +197,16 @@ public class ProjectJob implements Serializable {
          */
         private GraphNodeInfo node;
 
+        public static JobTask copyOf(JobTask task) {
+            return JobTask.builder()
+                    .taskId(task.getTaskId())
+                    .parties(task.getParties() == null ? null : new ArrayList<>(task.getParties()))
+                    .status(task.getStatus())
+                    .dependencies(task.getDependencies() == null ? null : new ArrayList<>(task.getDependencies()))
+                    .node(task.getNode() == null ? null : GraphNodeInfo.copyOf(task.getNode()))
+                    .build();
+        }
+
         public static ProjectTaskDO toDO(ProjectJob job, JobTask task) {
             return ProjectTaskDO.builder()
                     .upk(new ProjectTaskDO.UPK(job.getProjectId(), job.getJobId(), task.getTaskId()))
@@ -0,0 +1,159 @@
+/*
+ * Copyright 2024 Ant Group Co., Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.secretflow.secretpad.service.model.project;
+
+import org.secretflow.secretpad.common.util.DateTimes;
+import org.secretflow.secretpad.persistence.entity.ProjectJobDO;
+import org.secretflow.secretpad.persistence.entity.ProjectJobTaskLogDO;
+import org.secretflow.secretpad.persistence.entity.ProjectResultDO;
+import org.secretflow.secretpad.persistence.entity.ProjectTaskDO;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Archived project job view object, a job moved out of the hot tables together with its tasks, logs and results
+ */
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ArchivedJobVO {
+
+    @Schema(description = "project id")
+    private String projectId;
+
+    @Schema(description = "job id")
+    private String jobId;
+
+    @Schema(description = "job name")
+    private String name;
+
+    @Schema(description = "graph id")
+    private String graphId;
+
+    @Schema(description = "job status")
+    private String status;
+
+    @Schema(description = "job error message")
+    private String errMsg;
+
+    @Schema(description = "job start time")
+    private String gmtCreate;
+
+    @Schema(description = "job update time")
+    private String gmtModified;
+
+    @Schema(description = "job finish time")
+    private String gmtFinished;
+
+    @Schema(description = "job archive time")
+    private String gmtArchived;
+
+    @Schema(description = "job tasks")
+    private List<Task> tasks;
+
+    @Schema(description = "job task logs")
+    private List<TaskLog> logs;
+
+    @Schema(description = "job results, only filled when results are archived")
+    private List<Result> results;
+
+    public static ArchivedJobVO from(ProjectJobDO jobDO, List<ProjectJobTaskLogDO> logs, List<ProjectResultDO> results) {
+        return ArchivedJobVO.builder()
+                .projectId(jobDO.getUpk().getProjectId())
+                .jobId(jobDO.getUpk().getJobId())
+                .name(jobDO.getName())
+                .graphId(jobDO.getGraphId())
+                .status(jobDO.getStatus().name())
+                .errMsg(jobDO.getErrMsg())
+                .gmtCreate(toRfc3339(jobDO.getGmtCreate()))
+                .gmtModified(toRfc3339(jobDO.getGmtModified()))
+                .gmtFinished(toRfc3339(jobDO.getFinishedTime()))
+                .gmtArchived(DateTimes.nowRfc3339())
+                .tasks(jobDO.getTasks() == null ? List.of() : jobDO.getTasks().values().stream().map(Task::from).toList())
+                .logs(logs.stream().map(TaskLog::from).toList())
+                .results(results.stream().map(Result::from).toList())
+                .build();
+    }
+
+    private static String toRfc3339(LocalDateTime time) {
+        return time == null ? null : DateTimes.toRfc3339(time);
+    }
+
+    @Getter
+    @Setter
+    @Builder
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Task {
+        private String taskId;
+        private String graphNodeId;
+        private String status;
+        private String errMsg;
+        private List<String> parties;
+        private String gmtCreate;
+        private String gmtModified;
+
+        public static Task from(ProjectTaskDO taskDO) {
+            return Task.builder()
+                    .taskId(taskDO.getUpk().getTaskId())
+                    .graphNodeId(taskDO.getGraphNodeId())
+                    .status(taskDO.getStatus().name())
+                    .errMsg(taskDO.getErrMsg())
+                    .parties(taskDO.getParties())
+                    .gmtCreate(toRfc3339(taskDO.getGmtCreate()))
+                    .gmtModified(toRfc3339(taskDO.getGmtModified()))
+                    .build();
+        }
+    }
+
+    @Getter
+    @Setter
+    @Builder
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class TaskLog {
+        private String taskId;
+        private String log;
+        private String gmtCreate;
+
+        public static TaskLog from(ProjectJobTaskLogDO logDO) {
+            return new TaskLog(logDO.getTaskId(), logDO.getLog(), toRfc3339(logDO.getGmtCreate()));
+        }
+    }
+
+    @Getter
+    @Setter
+    @Builder
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Result {
+        private String kind;
+        private String nodeId;
+        private String refId;
+        private String taskId;
+
+        public static Result from(ProjectResultDO resultDO) {
+            return new Result(resultDO.getUpk().getKind().name(), resultDO.getUpk().getNodeId(), resultDO.getUpk().getRefId(), resultDO.getTaskId());
+        }
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2024 Ant Group Co., Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.secretflow.secretpad.service.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Retention of finished job history, expired jobs are moved from the hot tables into compressed archive segments
+ */
+@ConfigurationProperties(prefix = "secretpad.retention")
+@Getter
+@Setter
+public class JobRetentionProperties {
+
+    /**
+     * Whether the retention task runs, archived history stays readable either way
+     */
+    private boolean enabled = false;
+
+    /**
+     * Finished jobs not modified within ttl are archived, null disables ttl based archival
+     */
+    private Duration ttl = Duration.ofDays(90);
+
+    /**
+     * Finished jobs beyond the newest ones of each project are archived, 0 disables count based archival
+     */
+    private int maxJobsPerProject = 0;
+
+    /**
+     * Jobs archived and deleted in one transaction
+     */
+    private int batchSize = 20;
+
+    /**
+     * Batches handled in one run, the rest is left to the next run
+     */
+    private int maxBatchesPerRun = 50;
+
+    /**
+     * Whether project results of archived jobs are archived too, results stay listed as node outputs if not
+     */
+    private boolean archiveResults = false;
+
+    /**
+     * Directory of archive segments
+     */
+    private String archiveDir = "./db/archive";
+}
@@ -33,6 +33,11 @@ public class LogConfigProperties {
 
     private SLSConfig sls;
 
+    /**
+     * Serve the cloud log api from the locally synced task logs when no cloud log service is configured
+     */
+    private boolean localFallback = false;
+
     @Getter
     @Setter
     public static class SLSConfig {
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2024 Ant Group Co., Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.secretflow.secretpad.service.schedule;
+
+import org.secretflow.secretpad.service.JobArchiveService;
+
+import jakarta.annotation.Resource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * JobRetentionMonitor, periodically archives finished job history
+ */
+@Component
+@ConditionalOnProperty(prefix = "secretpad.retention", name = "enabled", havingValue = "true")
+public class JobRetentionMonitor {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(JobRetentionMonitor.class);
+
+    @Resource
+    private JobArchiveService jobArchiveService;
+
+    @Scheduled(initialDelayString = "${secretpad.retention.initial-delay:60000}", fixedDelayString = "${secretpad.retention.interval:3600000}")
+    public void archive() {
+        try {
+            int archived = jobArchiveService.archiveFinishedJobs();
+            LOGGER.info("job retention finished, {} jobs archived", archived);
+        } catch (Exception e) {
+            LOGGER.error("job retention failed", e);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2024 Ant Group Co., Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.secretflow.secretpad.service.schedule;
+
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Votes a monitor has to look at again, marked by vote change events.
+ * <p>
+ * A full pass is pending initially and after each sweep, it covers changes no event was seen for,
+ * such as those made while the instance was down or by another instance.
+ */
+final class PendingVotes {
+
+    private final Set<String> voteIDs = ConcurrentHashMap.newKeySet();
+
+    private final AtomicBoolean fullPass = new AtomicBoolean(true);
+
+    void mark(String voteID) {
+        voteIDs.add(voteID);
+    }
+
+    void markAll() {
+        fullPass.set(true);
+    }
+
+    /**
+     * @return whether a full pass is pending, marked vote ids are dropped then since the pass covers them
+     */
+    boolean drainFullPass() {
+        if (!fullPass.getAndSet(false)) {
+            return false;
+        }
+        drain();
+        return true;
+    }
+
+    /**
+     * @return vote ids marked since the last drain
+     */
+    Set<String> drain() {
+        Set<String> drained = new HashSet<>();
+        for (Iterator<String> iterator = voteIDs.iterator(); iterator.hasNext(); ) {
+            drained.add(iterator.next());
+            iterator.remove();
+        }
+        return drained;
+    }
+}
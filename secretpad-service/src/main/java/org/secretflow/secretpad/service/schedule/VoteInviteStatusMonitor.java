@@ -21,7 +21,9 @@ import org.secretflow.secretpad.common.exception.SecretpadException;
 import org.secretflow.secretpad.common.util.Base64Utils;
 import org.secretflow.secretpad.common.util.EncryptUtils;
 import org.secretflow.secretpad.common.util.JsonUtils;
+import org.secretflow.secretpad.common.util.Sha256Utils;
 import org.secretflow.secretpad.manager.integration.node.NodeManager;
+import org.secretflow.secretpad.persistence.datasync.listener.VoteChangeListener;
 import org.secretflow.secretpad.persistence.entity.NodeDO;
 import org.secretflow.secretpad.persistence.entity.VoteInviteDO;
 import org.secretflow.secretpad.persistence.entity.VoteRequestDO;
@@ -36,6 +38,8 @@ import org.secretflow.secretpad.service.model.approval.VoteReplyBody;
 import org.secretflow.secretpad.service.model.approval.VoteReplyMessage;
 import org.secretflow.secretpad.service.model.approval.VoteRequestMessage;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.Lists;
 import jakarta.annotation.Resource;
 import lombok.Setter;
@@ -44,14 +48,21 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
 import org.springframework.util.CollectionUtils;
 
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
 import java.util.Set;
 
 /**
- * VoteInviteStatusMonitor.
+ * VoteInviteStatusMonitor, counts the votes of reviewing vote requests.
+ * <p>
+ * Votes are looked at again after a vote change event, and all reviewing votes on start and every sweep interval.
  *
  * @author cml
  * @date 2023/10/24
@@ -63,6 +74,7 @@ public class VoteInviteStatusMonitor {
     private static final Logger LOGGER = LoggerFactory.getLogger(VoteInviteStatusMonitor.class);
     private static final List<String> AUTONOMY_VOTE = Lists.newArrayList(VoteTypeEnum.PROJECT_CREATE.name(), VoteTypeEnum.PROJECT_ARCHIVE.name());
     private static final List<String> CENTER_VOTE = Lists.newArrayList(VoteTypeEnum.TEE_DOWNLOAD.name(), VoteTypeEnum.NODE_ROUTE.name());
+    private static final Duration VOTER_CERT_TTL = Duration.ofSeconds(30);
     @Resource
     private VoteInviteRepository voteInviteRepository;
     @Resource
@@ -74,9 +86,43 @@ public class VoteInviteStatusMonitor {
     @Resource
     private EnvService envService;
 
+    /**
+     * positively verified vote replies, keyed by cert chain fingerprint and signed payload hash,
+     * holding the voter cert the reply was checked against, a hit counts only while the voter keeps that cert
+     */
+    private final Cache<String, VerifiedReply> verifiedReplies = CacheBuilder.newBuilder().maximumSize(4096).build();
+
+    /**
+     * voter certs looked up from the node manager, a replaced cert is seen once its entry expires
+     */
+    private Cache<String, String> voterCerts = CacheBuilder.newBuilder().maximumSize(1024).expireAfterWrite(VOTER_CERT_TTL).build();
+
+    private final PendingVotes pendingVotes = new PendingVotes();
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onVoteChanged(VoteChangeListener.VoteChangedEvent event) {
+        pendingVotes.mark(event.getVoteID());
+    }
+
+    @Scheduled(initialDelayString = "${secretpad.vote.sweep-interval:60000}", fixedDelayString = "${secretpad.vote.sweep-interval:60000}")
+    public void sweep() {
+        pendingVotes.markAll();
+    }
+
     @Scheduled(initialDelay = 6000, fixedDelay = 1000)
     public void sync() {
-        List<VoteRequestDO> voteRequestDOS = voteRequestRepository.findByStatus(VoteStatusEnum.REVIEWING.getCode());
+        List<VoteRequestDO> voteRequestDOS;
+        if (pendingVotes.drainFullPass()) {
+            voteRequestDOS = voteRequestRepository.findByStatus(VoteStatusEnum.REVIEWING.getCode());
+        } else {
+            Set<String> voteIDs = pendingVotes.drain();
+            if (voteIDs.isEmpty()) {
+                return;
+            }
+            voteRequestDOS = voteRequestRepository.findAllById(voteIDs).stream()
+                    .filter(e -> VoteStatusEnum.REVIEWING.getCode().equals(e.getStatus()))
+                    .toList();
+        }
         if (!CollectionUtils.isEmpty(voteRequestDOS)) {
             voteRequestDOS.forEach(voteRequestDO -> {
                 String voteID = voteRequestDO.getVoteID();
@@ -96,20 +142,19 @@ public class VoteInviteStatusMonitor {
                     String initiator = voteRequestDO.getInitiator();
                     //only initiator can calculate the vote in project create vote
                     List<String> nodeIds = nodeRepository.findByInstId(initiator).stream().map(NodeDO::getNodeId).toList();
-                    if (InstServiceImpl.INST_ID.equals(initiator)) {
-                        for (String executor : executors) {
-                            if (nodeIds.contains(executor)) {
-                                verify(voteRequestDO, voteInviteDOS);
-                            }
-                        }
+                    if (InstServiceImpl.INST_ID.equals(initiator) && executors.stream().anyMatch(nodeIds::contains)) {
+                        verify(voteRequestDO, voteInviteDOS);
                     }
                 }
+                Integer status = voteRequestDO.getStatus();
                 if (voteInviteDOS.stream().anyMatch(e -> VoteStatusEnum.REJECTED.name().equals(e.getAction()))) {
                     voteRequestDO.setStatus(VoteStatusEnum.REJECTED.getCode());
                 } else if (voteInviteDOS.stream().allMatch(e -> VoteStatusEnum.APPROVED.name().equals(e.getAction()))) {
                     voteRequestDO.setStatus(VoteStatusEnum.APPROVED.getCode());
                 }
-                voteRequestRepository.save(voteRequestDO);
+                if (!Objects.equals(status, voteRequestDO.getStatus())) {
+                    voteRequestRepository.save(voteRequestDO);
+                }
                 LOGGER.debug("{} monitor,voteID = {}", type, voteRequestDO.getVoteID());
             });
         }
@@ -117,10 +162,13 @@ public class VoteInviteStatusMonitor {
     }
 
     private void verify(VoteRequestDO voteRequestDO, List<VoteInviteDO> voteInviteDOS) {
-        for (VoteInviteDO voteInviteDO : voteInviteDOS) {
-            if (!VoteStatusEnum.REVIEWING.name().equals(voteInviteDO.getAction())
-                    && !verify(voteInviteDO, voteRequestDO)
-            ) {
+        List<VoteInviteDO> replied = voteInviteDOS.stream()
+                .filter(e -> !VoteStatusEnum.REVIEWING.name().equals(e.getAction()))
+                .toList();
+        List<Boolean> verified = verify(replied, voteRequestDO);
+        for (int i = 0; i < replied.size(); i++) {
+            VoteInviteDO voteInviteDO = replied.get(i);
+            if (!verified.get(i)) {
                 //verify fail
                 LOGGER.info("in voteID->{} voteInvite participant {} verify fail", voteInviteDO.getUpk().getVoteID(), voteInviteDO.getUpk().getVotePartitionID());
                 String msg = String.format("in voteID-> %s,voteInvite participant %s verify fail", voteInviteDO.getUpk().getVoteID(), voteInviteDO.getUpk().getVotePartitionID());
@@ -144,51 +192,110 @@ public class VoteInviteStatusMonitor {
     }
 
     public boolean verify(VoteInviteDO voteInviteDO, VoteRequestDO voteRequestDO) {
+        return verify(List.of(voteInviteDO), voteRequestDO).get(0);
+    }
+
+    /**
+     * verify the replies to one vote request, the signatures of the replies not verified before are checked in one batch
+     *
+     * @param voteInviteDOS replied vote invites
+     * @param voteRequestDO vote request
+     * @return verify results, in the order of the replies
+     */
+    public List<Boolean> verify(List<VoteInviteDO> voteInviteDOS, VoteRequestDO voteRequestDO) {
         LOGGER.info("start verify!");
-        boolean result;
-        String voteMsg = voteInviteDO.getVoteMsg();
-        VoteReplyMessage voteReplyMessage = JsonUtils.toJavaObject(voteMsg, VoteReplyMessage.class);
-        String bodyBase64 = voteReplyMessage.getBody();
-        List<String> certChain = voteReplyMessage.getCertChain();
-        String signature = voteReplyMessage.getSignature();
-        String requestMsg = voteRequestDO.getRequestMsg();
-        VoteRequestMessage voteRequestMessage = JsonUtils.toJavaObject(requestMsg, VoteRequestMessage.class);
+        VoteRequestMessage voteRequestMessage = JsonUtils.toJavaObject(voteRequestDO.getRequestMsg(), VoteRequestMessage.class);
         String voteRequestSignatureBase64 = voteRequestMessage.getVoteRequestSignature();
-
-        String certString = Base64Utils.encode(certChain.get(0).getBytes());
-        try {
-            result = EncryptUtils.verifySHA256withRSA((bodyBase64 + voteRequestSignatureBase64).getBytes(), certString, signature);
-
-            if (!result) {
-                return false;
+        List<Boolean> results = new ArrayList<>(Collections.nCopies(voteInviteDOS.size(), Boolean.FALSE));
+        List<Integer> unverified = new ArrayList<>();
+        List<VoteReplyMessage> unverifiedReplies = new ArrayList<>();
+        List<EncryptUtils.SignedData> signedData = new ArrayList<>();
+        for (int i = 0; i < voteInviteDOS.size(); i++) {
+            VoteReplyMessage voteReplyMessage = JsonUtils.toJavaObject(voteInviteDOS.get(i).getVoteMsg(), VoteReplyMessage.class);
+            String verifiedKey = verifiedKey(voteReplyMessage, voteRequestSignatureBase64);
+            VerifiedReply verifiedReply = verifiedReplies.getIfPresent(verifiedKey);
+            if (verifiedReply != null) {
+                if (Objects.equals(verifiedReply.cert(), voterCert(verifiedReply.voter()))) {
+                    LOGGER.debug("vote reply verified before");
+                    results.set(i, Boolean.TRUE);
+                    continue;
+                }
+                // the voter cert changed since, check the reply against the current cert
+                verifiedReplies.invalidate(verifiedKey);
+            }
+            unverified.add(i);
+            unverifiedReplies.add(voteReplyMessage);
+            signedData.add(new EncryptUtils.SignedData((voteReplyMessage.getBody() + voteRequestSignatureBase64).getBytes(),
+                    Base64Utils.encode(voteReplyMessage.getCertChain().get(0).getBytes()), voteReplyMessage.getSignature()));
+        }
+        if (signedData.isEmpty()) {
+            return results;
+        }
+        List<Boolean> signatures = EncryptUtils.verifySHA256withRSA(signedData);
+        for (int j = 0; j < unverified.size(); j++) {
+            if (!signatures.get(j)) {
+                LOGGER.info("vote reply signature does not match,verify fail");
+                continue;
+            }
+            VoteReplyMessage voteReplyMessage = unverifiedReplies.get(j);
+            if (verifyCert(voteReplyMessage, verifiedKey(voteReplyMessage, voteRequestSignatureBase64))) {
+                results.set(unverified.get(j), Boolean.TRUE);
             }
-        } catch (Exception e) {
-            LOGGER.error("center verify vote reply signature error,{}", e.getMessage());
-            return false;
         }
+        return results;
+    }
+
+    /**
+     * check the signer of a reply with a valid signature is the voter, and cache the verified reply
+     */
+    private boolean verifyCert(VoteReplyMessage voteReplyMessage, String verifiedKey) {
+        List<String> certChain = voteReplyMessage.getCertChain();
         VoteReplyBody voteReplyBody;
         try {
-            voteReplyBody = JsonUtils.toJavaObject(new String(Base64Utils.decode(bodyBase64)), VoteReplyBody.class);
+            voteReplyBody = JsonUtils.toJavaObject(new String(Base64Utils.decode(voteReplyMessage.getBody())), VoteReplyBody.class);
         } catch (Exception e) {
             LOGGER.error("verify error", e);
             throw SecretpadException.of(SystemErrorCode.ENCODE_ERROR, e);
         }
         String voter = voteReplyBody.getVoter();
         String cert = nodeManager.getCert(voter);
+        if (cert != null) {
+            voterCerts.put(voter, cert);
+        }
+        String certString = Base64Utils.encode(certChain.get(0).getBytes());
         String rootCert = Base64Utils.encode(certChain.get(1).getBytes());
         if (!EncryptUtils.compareCertPubKey(cert, rootCert)) {
             LOGGER.info("cert does not match,verify fail");
             return false;
         }
         ArrayList<String> chains = Lists.newArrayList(certString, rootCert);
-        result = EncryptUtils.validateCertChain(chains);
-        if (!result) {
+        if (!EncryptUtils.validateCertChain(chains)) {
             LOGGER.info("certChain does not match,verify fail");
             return false;
         }
         LOGGER.info("verify success");
+        verifiedReplies.put(verifiedKey, new VerifiedReply(voter, cert));
         return true;
     }
 
+    private static String verifiedKey(VoteReplyMessage voteReplyMessage, String voteRequestSignatureBase64) {
+        return Sha256Utils.hash(String.join("\n", voteReplyMessage.getCertChain())) + ":"
+                + Sha256Utils.hash(voteReplyMessage.getBody() + voteRequestSignatureBase64 + "\n" + voteReplyMessage.getSignature());
+    }
+
+    private String voterCert(String voter) {
+        String cert = voterCerts.getIfPresent(voter);
+        if (cert == null) {
+            cert = nodeManager.getCert(voter);
+            if (cert != null) {
+                voterCerts.put(voter, cert);
+            }
+        }
+        return cert;
+    }
+
+    private record VerifiedReply(String voter, String cert) {
+    }
+
 }
 
@@ -20,6 +20,7 @@ import org.secretflow.secretpad.common.enums.PlatformTypeEnum;
 import org.secretflow.secretpad.common.util.Base64Utils;
 import org.secretflow.secretpad.common.util.EncryptUtils;
 import org.secretflow.secretpad.common.util.JsonUtils;
+import org.secretflow.secretpad.persistence.datasync.listener.VoteChangeListener;
 import org.secretflow.secretpad.persistence.entity.VoteRequestDO;
 import org.secretflow.secretpad.persistence.repository.VoteRequestRepository;
 import org.secretflow.secretpad.service.CertificateService;
@@ -41,15 +42,20 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
 import org.springframework.util.CollectionUtils;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
- * VoteRequestStatusMonitor.
+ * VoteRequestStatusMonitor, signs committed vote requests and calls back decided ones.
+ * <p>
+ * Votes are looked at again after a vote change event, and all committed votes on start and every sweep interval.
  *
  * @author cml
  * @date 2023/10/24
@@ -70,20 +76,51 @@ public class VoteRequestStatusMonitor {
     @Resource
     private EnvService envService;
 
+    private final PendingVotes pendingVotes = new PendingVotes();
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onVoteChanged(VoteChangeListener.VoteChangedEvent event) {
+        pendingVotes.mark(event.getVoteID());
+    }
+
+    /**
+     * failed call backs stay committed, they are retried by the sweep
+     */
+    @Scheduled(initialDelayString = "${secretpad.vote.sweep-interval:60000}", fixedDelayString = "${secretpad.vote.sweep-interval:60000}")
+    public void sweep() {
+        pendingVotes.markAll();
+    }
+
     @Scheduled(initialDelay = 6000, fixedDelay = 1000)
     public void sync() {
-        List<VoteRequestDO> maybeNotSigns = voteRequestRepository.findByStatusAndExecuteStatus(VoteStatusEnum.REVIEWING.getCode(), VoteExecuteEnum.COMMITTED.name());
+        List<VoteRequestDO> maybeNotSigns;
+        List<VoteRequestDO> notExecutedTasks;
+        List<VoteRequestDO> rejectedTasks;
+        if (pendingVotes.drainFullPass()) {
+            maybeNotSigns = voteRequestRepository.findByStatusAndExecuteStatus(VoteStatusEnum.REVIEWING.getCode(), VoteExecuteEnum.COMMITTED.name());
+            notExecutedTasks = voteRequestRepository.findByStatusAndExecuteStatus(VoteStatusEnum.APPROVED.getCode(), VoteExecuteEnum.COMMITTED.name());
+            rejectedTasks = voteRequestRepository.findByStatusAndExecuteStatus(VoteStatusEnum.REJECTED.getCode(), VoteExecuteEnum.COMMITTED.name());
+        } else {
+            Set<String> voteIDs = pendingVotes.drain();
+            if (voteIDs.isEmpty()) {
+                return;
+            }
+            Map<Integer, List<VoteRequestDO>> committed = voteRequestRepository.findAllById(voteIDs).stream()
+                    .filter(e -> VoteExecuteEnum.COMMITTED.name().equals(e.getExecuteStatus()))
+                    .collect(Collectors.groupingBy(VoteRequestDO::getStatus));
+            maybeNotSigns = committed.getOrDefault(VoteStatusEnum.REVIEWING.getCode(), List.of());
+            notExecutedTasks = committed.getOrDefault(VoteStatusEnum.APPROVED.getCode(), List.of());
+            rejectedTasks = committed.getOrDefault(VoteStatusEnum.REJECTED.getCode(), List.of());
+        }
         if (!envService.getPlatformType().equals(PlatformTypeEnum.AUTONOMY)) {
             sign(maybeNotSigns);
         }
-        List<VoteRequestDO> notExecutedTasks = voteRequestRepository.findByStatusAndExecuteStatus(VoteStatusEnum.APPROVED.getCode(), VoteExecuteEnum.COMMITTED.name());
         LOGGER.debug("notExecutedTasks = {} size = {}", notExecutedTasks, notExecutedTasks.size());
         if (!CollectionUtils.isEmpty(notExecutedTasks)) {
             LOGGER.debug("notExecutedTasks not empty,start sync");
             notExecutedTasks.forEach(e -> voteTypeHandlerMap.get(VoteTypeEnum.valueOf(e.getType())).doCallBackApproved(e));
             LOGGER.debug("notExecutedTasks not empty,end sync");
         }
-        List<VoteRequestDO> rejectedTasks = voteRequestRepository.findByStatusAndExecuteStatus(VoteStatusEnum.REJECTED.getCode(), VoteExecuteEnum.COMMITTED.name());
         if (!CollectionUtils.isEmpty(rejectedTasks)) {
             LOGGER.info("rejectedTasks not empty,start sync");
             rejectedTasks.forEach(e -> voteTypeHandlerMap.get(VoteTypeEnum.valueOf(e.getType())).doCallBackRejected(e));
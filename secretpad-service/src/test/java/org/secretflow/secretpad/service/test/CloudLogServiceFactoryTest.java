@@ -17,12 +17,15 @@
 package org.secretflow.secretpad.service.test;
 
 import org.secretflow.secretpad.persistence.repository.NodeRepository;
+import org.secretflow.secretpad.persistence.repository.ProjectJobTaskLogRepository;
 import org.secretflow.secretpad.persistence.repository.ProjectJobTaskRepository;
 import org.secretflow.secretpad.service.factory.CloudLogServiceFactory;
+import org.secretflow.secretpad.service.impl.LocalCloudLogServiceImpl;
 import org.secretflow.secretpad.service.properties.LogConfigProperties;
 
 import com.aliyun.openservices.log.Client;
 import com.aliyun.openservices.log.exception.LogException;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
@@ -44,6 +47,9 @@ public class CloudLogServiceFactoryTest {
     @Mock
     NodeRepository nodeRepository;
 
+    @Mock
+    ProjectJobTaskLogRepository jobTaskLogRepository;
+
     @Mock
     Client client;
 
@@ -57,7 +63,17 @@ public class CloudLogServiceFactoryTest {
         slsConfig.setProject(";pro");
         logConfigProperties.setSls(slsConfig);
 
-        CloudLogServiceFactory cloudLogServiceFactory = new CloudLogServiceFactory(logConfigProperties, taskRepository, nodeRepository);
+        CloudLogServiceFactory cloudLogServiceFactory = new CloudLogServiceFactory(logConfigProperties, taskRepository, nodeRepository, jobTaskLogRepository);
         cloudLogServiceFactory.getLogServiceInstance();
     }
+
+    @Test
+    void testLocalFallback() {
+        LogConfigProperties logConfigProperties = new LogConfigProperties();
+        CloudLogServiceFactory cloudLogServiceFactory = new CloudLogServiceFactory(logConfigProperties, taskRepository, nodeRepository, jobTaskLogRepository);
+        Assertions.assertNull(cloudLogServiceFactory.getLogServiceInstance());
+
+        logConfigProperties.setLocalFallback(true);
+        Assertions.assertInstanceOf(LocalCloudLogServiceImpl.class, cloudLogServiceFactory.getLogServiceInstance());
+    }
 }
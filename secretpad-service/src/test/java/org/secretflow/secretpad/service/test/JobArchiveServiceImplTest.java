@@ -0,0 +1,160 @@
+/*
+ * Copyright 2024 Ant Group Co., Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.secretflow.secretpad.service.test;
+
+import org.secretflow.secretpad.common.exception.SecretpadException;
+import org.secretflow.secretpad.persistence.entity.ProjectJobDO;
+import org.secretflow.secretpad.persistence.entity.ProjectJobTaskLogDO;
+import org.secretflow.secretpad.persistence.model.GraphJobStatus;
+import org.secretflow.secretpad.persistence.repository.ProjectJobRepository;
+import org.secretflow.secretpad.persistence.repository.ProjectJobTaskLogRepository;
+import org.secretflow.secretpad.persistence.repository.ProjectJobTaskRepository;
+import org.secretflow.secretpad.persistence.repository.ProjectResultRepository;
+import org.secretflow.secretpad.service.JobArchiveService;
+import org.secretflow.secretpad.service.impl.JobArchiveServiceImpl;
+import org.secretflow.secretpad.service.model.project.ArchivedJobVO;
+import org.secretflow.secretpad.service.properties.JobRetentionProperties;
+import org.secretflow.secretpad.service.schedule.JobRetentionMonitor;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class JobArchiveServiceImplTest {
+
+    @Mock
+    ProjectJobRepository jobRepository;
+
+    @Mock
+    ProjectJobTaskRepository taskRepository;
+
+    @Mock
+    ProjectJobTaskLogRepository taskLogRepository;
+
+    @Mock
+    ProjectResultRepository resultRepository;
+
+    @Mock
+    TransactionTemplate transactionTemplate;
+
+    @Spy
+    JobRetentionProperties properties = new JobRetentionProperties();
+
+    @InjectMocks
+    JobArchiveServiceImpl jobArchiveService;
+
+    @TempDir
+    Path archiveDir;
+
+    @BeforeEach
+    void setUp() {
+        properties.setArchiveDir(archiveDir.toString());
+    }
+
+    @Test
+    void archiveFinishedJobs() throws IOException {
+        when(jobRepository.findExpiredJobIds(anyCollection(), anyString(), eq(properties.getBatchSize())))
+                .thenReturn(List.of("job-1"), List.of());
+        when(jobRepository.findByJobIds(List.of("job-1"))).thenReturn(List.of(ProjectJobDO.builder()
+                .upk(new ProjectJobDO.UPK("project", "job-1"))
+                .name("job")
+                .graphId("graph")
+                .status(GraphJobStatus.SUCCEED)
+                .build()));
+        when(taskLogRepository.findAllByJobId("project", "job-1")).thenReturn(List.of(ProjectJobTaskLogDO.builder()
+                .projectId("project")
+                .jobId("job-1")
+                .taskId("task-1")
+                .log("task log")
+                .build()));
+        doAnswer(invocation -> {
+            invocation.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+
+        Assertions.assertEquals(1, jobArchiveService.archiveFinishedJobs());
+
+        try (Stream<Path> segments = Files.list(archiveDir)) {
+            List<Path> files = segments.toList();
+            Assertions.assertEquals(1, files.size());
+            Assertions.assertTrue(files.get(0).getFileName().toString().endsWith(".jsonl.gz"));
+        }
+        verify(taskLogRepository).deleteByJobId("project", "job-1");
+        verify(taskRepository).deleteAuthenticByJobId("project", "job-1");
+        verify(jobRepository).deleteAuthenticByJobId("project", "job-1");
+        verifyNoInteractions(resultRepository);
+
+        ArchivedJobVO archived = jobArchiveService.getArchivedJob("project", "job-1");
+        Assertions.assertEquals(GraphJobStatus.SUCCEED.name(), archived.getStatus());
+        Assertions.assertEquals("task log", archived.getLogs().get(0).getLog());
+        Assertions.assertThrows(SecretpadException.class, () -> jobArchiveService.getArchivedJob("project", "job-2"));
+    }
+
+    @Test
+    void archiveFinishedJobsOverflow() {
+        properties.setTtl(null);
+        properties.setMaxJobsPerProject(10);
+        when(jobRepository.findOverflowJobIds(anyCollection(), eq(10), anyInt())).thenReturn(List.of());
+
+        Assertions.assertEquals(0, jobArchiveService.archiveFinishedJobs());
+        verify(jobRepository, never()).findExpiredJobIds(anyCollection(), anyString(), anyInt());
+        verifyNoInteractions(transactionTemplate);
+    }
+
+    @Test
+    void archiveSkippedWhenRowsGone() throws IOException {
+        when(jobRepository.findExpiredJobIds(anyCollection(), anyString(), anyInt())).thenReturn(List.of("job-1"));
+        when(jobRepository.findByJobIds(List.of("job-1"))).thenReturn(List.of());
+
+        Assertions.assertEquals(0, jobArchiveService.archiveFinishedJobs());
+        verifyNoInteractions(transactionTemplate);
+        try (Stream<Path> segments = Files.list(archiveDir)) {
+            Assertions.assertEquals(0, segments.count());
+        }
+    }
+
+    @Test
+    void retentionMonitorSwallowsFailure() {
+        JobArchiveService archiveService = mock(JobArchiveService.class);
+        when(archiveService.archiveFinishedJobs()).thenThrow(new IllegalStateException("db down"));
+        JobRetentionMonitor monitor = new JobRetentionMonitor();
+        ReflectionTestUtils.setField(monitor, "jobArchiveService", archiveService);
+
+        Assertions.assertDoesNotThrow(monitor::archive);
+        verify(archiveService).archiveFinishedJobs();
+    }
+}
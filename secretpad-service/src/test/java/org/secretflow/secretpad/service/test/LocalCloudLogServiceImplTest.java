@@ -0,0 +1,130 @@
+/*
+ * Copyright 2024 Ant Group Co., Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.secretflow.secretpad.service.test;
+
+import org.secretflow.secretpad.common.errorcode.SystemErrorCode;
+import org.secretflow.secretpad.common.exception.SecretpadException;
+import org.secretflow.secretpad.persistence.entity.ProjectJobTaskLogDO;
+import org.secretflow.secretpad.persistence.entity.ProjectTaskDO;
+import org.secretflow.secretpad.persistence.model.GraphNodeTaskStatus;
+import org.secretflow.secretpad.persistence.repository.NodeRepository;
+import org.secretflow.secretpad.persistence.repository.ProjectJobTaskLogRepository;
+import org.secretflow.secretpad.persistence.repository.ProjectJobTaskRepository;
+import org.secretflow.secretpad.service.impl.LocalCloudLogServiceImpl;
+import org.secretflow.secretpad.service.model.CloudGraphNodeTaskLogsVO;
+import org.secretflow.secretpad.service.model.graph.GraphNodeCloudLogsRequest;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class LocalCloudLogServiceImplTest {
+
+    @Mock
+    private ProjectJobTaskRepository taskRepository;
+
+    @Mock
+    private NodeRepository nodeRepository;
+
+    @Mock
+    private ProjectJobTaskLogRepository jobTaskLogRepository;
+
+    private LocalCloudLogServiceImpl localCloudLogService;
+
+    private GraphNodeCloudLogsRequest request;
+
+    @BeforeEach
+    void setUp() {
+        localCloudLogService = new LocalCloudLogServiceImpl(taskRepository, nodeRepository, jobTaskLogRepository, "CENTER", "alice");
+        request = new GraphNodeCloudLogsRequest();
+        request.setProjectId("projectId");
+        request.setJobId("jobId");
+        request.setTaskId("taskId");
+        request.setNodeId("alice");
+        request.setPageSize(2);
+    }
+
+    @Test
+    void testRunningTaskKeepsCursor() {
+        mockTask(GraphNodeTaskStatus.RUNNING);
+        when(jobTaskLogRepository.findLogsAfterId(eq("jobId"), eq("taskId"), eq(0L), eq(PageRequest.ofSize(2))))
+                .thenReturn(List.of(taskLog(3L, "line1"), taskLog(7L, "line2")));
+        CloudGraphNodeTaskLogsVO firstPage = localCloudLogService.fetchLog(request);
+        Assertions.assertEquals(List.of("line1", "line2"), firstPage.getLogs());
+        Assertions.assertTrue(firstPage.getHasMore());
+
+        when(jobTaskLogRepository.findLogsAfterId(eq("jobId"), eq("taskId"), eq(7L), eq(PageRequest.ofSize(2))))
+                .thenReturn(List.of());
+        request.setCursor(firstPage.getNextCursor());
+        CloudGraphNodeTaskLogsVO tail = localCloudLogService.fetchLog(request);
+        Assertions.assertTrue(tail.getLogs().isEmpty());
+        Assertions.assertFalse(tail.getHasMore());
+        Assertions.assertEquals(firstPage.getNextCursor(), tail.getNextCursor());
+    }
+
+    @Test
+    void testFinishedTaskEndsWithoutCursor() {
+        mockTask(GraphNodeTaskStatus.SUCCEED);
+        when(jobTaskLogRepository.findLogsAfterId(eq("jobId"), eq("taskId"), eq(0L), eq(PageRequest.ofSize(2))))
+                .thenReturn(List.of(taskLog(3L, "line1")));
+        CloudGraphNodeTaskLogsVO page = localCloudLogService.fetchLog(request);
+        Assertions.assertEquals(List.of("line1"), page.getLogs());
+        Assertions.assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void testCursorOfOtherTaskRejected() {
+        mockTask(GraphNodeTaskStatus.RUNNING);
+        when(jobTaskLogRepository.findLogsAfterId(eq("jobId"), eq("taskId"), eq(0L), any()))
+                .thenReturn(List.of());
+        String cursor = localCloudLogService.fetchLog(request).getNextCursor();
+
+        ProjectTaskDO otherTask = ProjectTaskDO.builder()
+                .upk(new ProjectTaskDO.UPK("projectId", "jobId", "otherTaskId"))
+                .status(GraphNodeTaskStatus.RUNNING)
+                .build();
+        when(taskRepository.findById(any())).thenReturn(Optional.of(otherTask));
+        request.setTaskId("otherTaskId");
+        request.setCursor(cursor);
+        SecretpadException exception = Assertions.assertThrows(SecretpadException.class, () -> localCloudLogService.fetchLog(request));
+        Assertions.assertEquals(SystemErrorCode.VALIDATION_ERROR, exception.getErrorCode());
+    }
+
+    private void mockTask(GraphNodeTaskStatus status) {
+        ProjectTaskDO task = ProjectTaskDO.builder()
+                .upk(new ProjectTaskDO.UPK("projectId", "jobId", "taskId"))
+                .status(status)
+                .build();
+        when(taskRepository.findById(any())).thenReturn(Optional.of(task));
+    }
+
+    private ProjectJobTaskLogDO taskLog(Long id, String log) {
+        return ProjectJobTaskLogDO.builder().id(id).jobId("jobId").taskId("taskId").log(log).build();
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2024 Ant Group Co., Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.secretflow.secretpad.service.test;
+
+import org.secretflow.secretpad.common.errorcode.DataErrorCode;
+import org.secretflow.secretpad.common.errorcode.SystemErrorCode;
+import org.secretflow.secretpad.common.exception.SecretpadException;
+import org.secretflow.secretpad.common.util.JsonUtils;
+import org.secretflow.secretpad.manager.integration.data.DataManager;
+import org.secretflow.secretpad.persistence.entity.ProjectModelPackDO;
+import org.secretflow.secretpad.service.impl.ModelPackMetadataResolver;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.stubbing.Answer;
+import org.secretflow.v1alpha1.common.Common;
+import org.secretflow.v1alpha1.kusciaapi.Domaindata;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ModelPackMetadataResolverTest {
+
+    private static final String REPORT = """
+            {"name": "report", "type": "sf.report", "meta": {"name": "used schemas", "desc": "age,balance,job"}}
+            """;
+
+    @Mock
+    private DataManager dataManager;
+
+    private ExecutorService executor;
+
+    private ModelPackMetadataResolver resolver;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newFixedThreadPool(4);
+        resolver = new ModelPackMetadataResolver();
+        resolver.setDataManager(dataManager);
+        resolver.setExecutor(executor);
+        resolver.setTimeoutMillis(5000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void testPartyColumnsResolvedAndCached() {
+        ProjectModelPackDO modelPack = ProjectModelPackDO.builder()
+                .modelId("model")
+                .modelReportId("model-report")
+                .sampleTables(JsonUtils.toJSONString(Map.of("alice", "alice-table", "bob", "bob-table")))
+                .build();
+        Domaindata.DomainData report = Domaindata.DomainData.newBuilder().putAttributes("dist_data", REPORT).build();
+        when(dataManager.queryDomainData(anyString(), eq("model-report"), isNull())).thenReturn(report);
+        when(dataManager.queryDomainData("alice", "alice-table", null)).thenReturn(table("age", "balance"));
+        when(dataManager.queryDomainData("bob", "bob-table", null)).thenReturn(table("job", "id"));
+
+        Map<String, List<String>> partyColumns = resolver.partyColumns(modelPack, null);
+        Assertions.assertEquals(List.of("age", "balance"), partyColumns.get("alice"));
+        Assertions.assertEquals(List.of("job"), partyColumns.get("bob"));
+
+        Assertions.assertEquals(partyColumns, resolver.partyColumns(modelPack, null));
+        verify(dataManager, times(4)).queryDomainData(anyString(), anyString(), isNull());
+    }
+
+    @Test
+    void testQueryDomainDataKeepsRemoteError() {
+        lenient().when(dataManager.queryDomainData("alice", "model", null)).thenReturn(table("age"));
+        when(dataManager.queryDomainData("bob", "model", null)).thenThrow(SecretpadException.of(DataErrorCode.ILLEGAL_PARAMS_ERROR));
+
+        SecretpadException exception = Assertions.assertThrows(SecretpadException.class,
+                () -> resolver.queryDomainData(Map.of("alice", "model", "bob", "model"), null));
+        Assertions.assertEquals(DataErrorCode.ILLEGAL_PARAMS_ERROR, exception.getErrorCode());
+    }
+
+    @Test
+    void testQueryDomainDataTimeoutCancelsAll() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        Answer<Domaindata.DomainData> blocked = invocation -> {
+            release.await();
+            return table("age");
+        };
+        lenient().when(dataManager.queryDomainData("alice", "model", null)).thenReturn(table("age"));
+        when(dataManager.queryDomainData("bob", "model", null)).thenAnswer(blocked);
+        when(dataManager.queryDomainData("carol", "model", null)).thenAnswer(blocked);
+        resolver.setTimeoutMillis(200);
+        try {
+            long start = System.nanoTime();
+            SecretpadException exception = Assertions.assertThrows(SecretpadException.class,
+                    () -> resolver.queryDomainData(Map.of("alice", "model", "bob", "model", "carol", "model"), null));
+            Assertions.assertEquals(SystemErrorCode.REMOTE_CALL_ERROR, exception.getErrorCode());
+            // one shared deadline, not one timeout per pending query
+            Assertions.assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(2));
+        } finally {
+            release.countDown();
+        }
+    }
+
+    private Domaindata.DomainData table(String... columns) {
+        Domaindata.DomainData.Builder builder = Domaindata.DomainData.newBuilder();
+        for (String column : columns) {
+            builder.addColumns(Common.DataColumn.newBuilder().setName(column).setType("str"));
+        }
+        return builder.build();
+    }
+}
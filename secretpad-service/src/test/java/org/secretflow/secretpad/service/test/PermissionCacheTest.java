@@ -0,0 +1,82 @@
+/*
+ * Copyright 2024 Ant Group Co., Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.secretflow.secretpad.service.test;
+
+import org.secretflow.secretpad.common.enums.PermissionUserTypeEnum;
+import org.secretflow.secretpad.common.enums.ResourceTypeEnum;
+import org.secretflow.secretpad.persistence.datasync.listener.AuthorizationChangeListener;
+import org.secretflow.secretpad.persistence.entity.ProjectNodeDO;
+import org.secretflow.secretpad.persistence.repository.ProjectNodeRepository;
+import org.secretflow.secretpad.service.SysResourcesBizService;
+import org.secretflow.secretpad.service.auth.PermissionCache;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class PermissionCacheTest {
+
+    @Mock
+    private SysResourcesBizService sysResourcesBizService;
+
+    @Mock
+    private ProjectNodeRepository projectNodeRepository;
+
+    @InjectMocks
+    private PermissionCache permissionCache;
+
+    @Test
+    void testResourceCodesCached() {
+        when(sysResourcesBizService.queryResourceCodeByUsername(PermissionUserTypeEnum.NODE, ResourceTypeEnum.API, "alice"))
+                .thenReturn(Set.of("PRJ_LIST"));
+        Assertions.assertEquals(Set.of("PRJ_LIST"), permissionCache.resourceCodes(PermissionUserTypeEnum.NODE, ResourceTypeEnum.API, "alice"));
+        Assertions.assertEquals(Set.of("PRJ_LIST"), permissionCache.resourceCodes(PermissionUserTypeEnum.NODE, ResourceTypeEnum.API, "alice"));
+        verify(sysResourcesBizService, times(1)).queryResourceCodeByUsername(PermissionUserTypeEnum.NODE, ResourceTypeEnum.API, "alice");
+    }
+
+    @Test
+    void testInvalidatedByAuthorizationChange() {
+        ProjectNodeDO projectNodeDO = ProjectNodeDO.builder().upk(new ProjectNodeDO.UPK("p1", "alice")).build();
+        when(projectNodeRepository.findByNodeId("alice")).thenReturn(List.of(projectNodeDO));
+        Assertions.assertEquals(Set.of("p1"), permissionCache.projectIds("alice"));
+        permissionCache.projectIds("alice");
+        verify(projectNodeRepository, times(1)).findByNodeId("alice");
+
+        permissionCache.onAuthorizationChanged(new AuthorizationChangeListener.AuthorizationChangedEvent(projectNodeDO));
+        permissionCache.projectIds("alice");
+        verify(projectNodeRepository, times(2)).findByNodeId("alice");
+    }
+
+    @Test
+    void testDroppedOnRefresh() {
+        when(projectNodeRepository.findByNodeId("alice")).thenReturn(List.of());
+        permissionCache.projectIds("alice");
+        // changes committed by another instance are picked up on the next refresh
+        permissionCache.refresh();
+        permissionCache.projectIds("alice");
+        verify(projectNodeRepository, times(2)).findByNodeId("alice");
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2024 Ant Group Co., Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.secretflow.secretpad.service.test;
+
+import org.secretflow.secretpad.common.util.JsonUtils;
+import org.secretflow.secretpad.service.model.graph.GraphEdge;
+import org.secretflow.secretpad.service.model.graph.GraphNodeInfo;
+import org.secretflow.secretpad.service.model.graph.ProjectJob;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * ProjectJob copy test
+ */
+public class ProjectJobCopyTest {
+
+    @Test
+    public void testCopyIsIndependent() {
+        Map<String, Object> nodeDef = JsonUtils.toJavaMap("{\"domain\":\"psi\",\"name\":\"two_party_balanced_psi\",\"attrs\":[{\"s\":\"alice\"}]}");
+        GraphNodeInfo node = GraphNodeInfo.builder()
+                .graphNodeId("node-1")
+                .codeName("psi")
+                .inputs(new ArrayList<>(List.of("node-0-output-0")))
+                .outputs(new ArrayList<>(List.of("node-1-output-0")))
+                .nodeDef(nodeDef)
+                .build();
+        ProjectJob job = ProjectJob.builder()
+                .projectId("project")
+                .jobId("job")
+                .fullNodes(new ArrayList<>(List.of(node)))
+                .edges(new ArrayList<>(List.of(new GraphEdge("edge", "node-0", "node-0-output-0", "node-1", "node-1-input-0"))))
+                .tasks(new ArrayList<>(List.of(ProjectJob.JobTask.builder().taskId("task").parties(List.of("alice")).node(node).build())))
+                .build();
+
+        ProjectJob copy = ProjectJob.copyOf(job);
+        Assertions.assertEquals(job, copy);
+
+        ProjectJob.JobTask task = copy.getTasks().get(0);
+        task.getNode().getOutputs().set(0, "rendered");
+        task.getNode().setInputs(List.of());
+        ((Map<String, Object>) task.getNode().getNodeDef()).put("name", "changed");
+        copy.getTasks().add(ProjectJob.JobTask.builder().taskId("extra").build());
+
+        Assertions.assertEquals(1, job.getTasks().size());
+        Assertions.assertEquals("node-1-output-0", node.getOutputs().get(0));
+        Assertions.assertEquals(List.of("node-0-output-0"), node.getInputs());
+        Assertions.assertEquals("two_party_balanced_psi", nodeDef.get("name"));
+    }
+}
@@ -16,7 +16,11 @@
 
 package org.secretflow.secretpad.service.test;
 
+import org.secretflow.secretpad.common.util.JsonUtils;
+import org.secretflow.secretpad.common.util.ProtoMapConverter;
 import org.secretflow.secretpad.common.util.ProtoUtils;
+import org.secretflow.secretpad.service.graph.ComponentTools;
+import org.secretflow.secretpad.service.model.graph.GraphNodeInfo;
 
 import com.google.protobuf.Any;
 import com.google.protobuf.Descriptors;
@@ -24,12 +28,15 @@ import com.google.protobuf.InvalidProtocolBufferException;
 import com.google.protobuf.util.JsonFormat;
 import com.secretflow.spec.v1.*;
 import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.secretflow.proto.kuscia.TaskConfig;
 import org.secretflow.proto.pipeline.Pipeline;
 
 import java.io.IOException;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.TreeSet;
 
@@ -115,4 +122,46 @@ public class ProtoUtilsTest {
                 .print(build);
         log.info("json: {}", json);
     }
+
+    @Test
+    public void testFromObjectMatchesJson() throws IOException {
+        String str = "{\"attr_paths\":[\"protocol\",\"receiver\",\"precheck_input\",\"bucket_size\",\"input/receiver_input/key\"],\"attrs\":[{\"s\":\"ECDH_PSI_2PC\"},{\"s\":\"alice\"},{\"b\":true},{\"i64\":1048576},{\"ss\":[\"id1\"],\"custom\":{\"a\":[1,null,\"x\"]}}],\"domain\":\"psi\",\"name\":\"two_party_balanced_psi\",\"version\":\"0.0.1\",\"unknown\":{\"k\":1},\"outputUris\":[\"out\"]}";
+        Pipeline.NodeDef.Builder expected = Pipeline.NodeDef.newBuilder();
+        JsonFormat.parser().ignoringUnknownFields().merge(str, expected);
+        Map<String, Object> map = JsonUtils.toJavaMap(str);
+        Assertions.assertEquals(expected.build(), ProtoUtils.fromObject(map, Pipeline.NodeDef.newBuilder()));
+    }
+
+    @Test
+    public void testFromObjectFallsBackToJson() {
+        // int64 given as a json string is only understood by the json parser
+        Map<String, Object> map = Map.of("s", "psi", "i64", "42");
+        Assertions.assertThrows(ProtoMapConverter.UnsupportedValueException.class, () -> ProtoMapConverter.merge(map, Attribute.newBuilder()));
+        Attribute attribute = (Attribute) ProtoUtils.fromObject(map, Attribute.newBuilder());
+        Assertions.assertEquals("psi", attribute.getS());
+        Assertions.assertEquals(42L, attribute.getI64());
+    }
+
+    @Test
+    public void testFromObjectRejectsDuplicateField() {
+        // name and json name of one field, the json parser rejects the second one
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("is_na", true);
+        map.put("isNa", false);
+        Assertions.assertThrows(ProtoMapConverter.UnsupportedValueException.class, () -> ProtoMapConverter.merge(map, Attribute.newBuilder()));
+        Assertions.assertThrows(RuntimeException.class, () -> ProtoUtils.fromObject(map, Attribute.newBuilder()));
+    }
+
+    @Test
+    public void testCompiledNodeDefFollowsChanges() {
+        Map<String, Object> nodeDef = JsonUtils.toJavaMap("{\"domain\":\"read_data\",\"name\":\"datatable\",\"attrs\":[{\"s\":\"t1\"}]}");
+        GraphNodeInfo nodeInfo = new GraphNodeInfo();
+        nodeInfo.setGraphNodeId("compiled-node-def-test");
+        nodeInfo.setNodeDef(nodeDef);
+        Assertions.assertEquals("t1", ComponentTools.getDataTableId(nodeInfo));
+        Assertions.assertSame(ComponentTools.getNodeDef(nodeInfo), ComponentTools.getNodeDef(nodeInfo));
+
+        ((Map<String, Object>) ((List<Object>) nodeDef.get("attrs")).get(0)).put("s", "t2");
+        Assertions.assertEquals("t2", ComponentTools.getDataTableId(nodeInfo));
+    }
 }
@@ -18,16 +18,22 @@ package org.secretflow.secretpad.service.test;
 
 import org.secretflow.secretpad.persistence.entity.NodeDO;
 import org.secretflow.secretpad.persistence.entity.ProjectTaskDO;
+import org.secretflow.secretpad.persistence.model.GraphNodeTaskStatus;
 import org.secretflow.secretpad.persistence.repository.NodeRepository;
 import org.secretflow.secretpad.persistence.repository.ProjectJobTaskRepository;
 import org.secretflow.secretpad.service.impl.SLSCloudLogServiceImpl;
+import org.secretflow.secretpad.service.model.CloudGraphNodeTaskLogsVO;
 import org.secretflow.secretpad.service.model.graph.GraphNodeCloudLogsRequest;
 import org.secretflow.secretpad.service.properties.LogConfigProperties;
 
 import com.aliyun.openservices.log.Client;
+import com.aliyun.openservices.log.common.LogItem;
+import com.aliyun.openservices.log.common.QueriedLog;
 import com.aliyun.openservices.log.exception.LogException;
 import com.aliyun.openservices.log.request.CreateLogStoreRequest;
 import com.aliyun.openservices.log.request.GetLogStoreRequest;
+import com.aliyun.openservices.log.response.GetLogsResponse;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
@@ -36,6 +42,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.util.ReflectionUtils;
 
 import java.lang.reflect.Method;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Optional;
 
@@ -135,4 +142,50 @@ public class SLSCloudLogServiceImplTest {
         Mockito.when(nodeRepository.findByNodeIdIn(Mockito.any())).thenReturn(List.of(new NodeDO()));
         slsCouldLogService.fetchLog(graphNodeCloudLogsRequest);
     }
+
+    @Test
+    void testFetchLogPagedWithinTaskWindow() throws LogException {
+        LogConfigProperties.SLSConfig slsConfig = new LogConfigProperties.SLSConfig();
+        slsConfig.setProject("projectName");
+        SLSCloudLogServiceImpl slsCouldLogService = new SLSCloudLogServiceImpl(taskRepository, nodeRepository, client, slsConfig, "CENTER");
+        ProjectTaskDO task = ProjectTaskDO.builder()
+                .upk(new ProjectTaskDO.UPK("projectId", "jobId", "jobId-node-1"))
+                .status(GraphNodeTaskStatus.SUCCEED)
+                .build();
+        Mockito.when(taskRepository.findById(Mockito.any())).thenReturn(Optional.of(task));
+        GraphNodeCloudLogsRequest request = new GraphNodeCloudLogsRequest();
+        request.setProjectId("projectId");
+        request.setJobId("jobId");
+        request.setTaskId("jobId-node-1");
+        request.setNodeId("alice");
+        request.setPageSize(2);
+
+        Mockito.when(client.GetLogs(Mockito.eq("projectName"), Mockito.eq("secretpad-engin-log-alice"), Mockito.anyInt(), Mockito.anyInt(),
+                        Mockito.eq(""), Mockito.eq("__tag__:__path__: #\"jobId-node-1\""), Mockito.eq(2L), Mockito.eq(0L), Mockito.eq(false)))
+                .thenReturn(buildGetLogsResponse("line1", "line2"));
+        CloudGraphNodeTaskLogsVO firstPage = slsCouldLogService.fetchLog(request);
+        Assertions.assertEquals(List.of("line1", "line2"), firstPage.getLogs());
+        Assertions.assertTrue(firstPage.getHasMore());
+        Assertions.assertNotNull(firstPage.getNextCursor());
+
+        Mockito.when(client.GetLogs(Mockito.eq("projectName"), Mockito.eq("secretpad-engin-log-alice"), Mockito.anyInt(), Mockito.anyInt(),
+                        Mockito.eq(""), Mockito.anyString(), Mockito.eq(2L), Mockito.eq(2L), Mockito.eq(false)))
+                .thenReturn(buildGetLogsResponse("line3"));
+        request.setCursor(firstPage.getNextCursor());
+        CloudGraphNodeTaskLogsVO lastPage = slsCouldLogService.fetchLog(request);
+        Assertions.assertEquals(List.of("line3"), lastPage.getLogs());
+        Assertions.assertFalse(lastPage.getHasMore());
+        Assertions.assertNull(lastPage.getNextCursor());
+    }
+
+    private GetLogsResponse buildGetLogsResponse(String... lines) {
+        GetLogsResponse response = new GetLogsResponse(new HashMap<>());
+        for (String line : lines) {
+            LogItem logItem = new LogItem();
+            logItem.PushBack("content", line);
+            logItem.PushBack("__tag__:__path__", "/var/log/jobId-node-1/0.log");
+            response.AddLog(new QueriedLog("source", logItem));
+        }
+        return response;
+    }
 }
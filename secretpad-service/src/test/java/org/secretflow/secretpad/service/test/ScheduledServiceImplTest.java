@@ -0,0 +1,100 @@
+/*
+ * Copyright 2024 Ant Group Co., Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.secretflow.secretpad.service.test;
+
+import org.secretflow.secretpad.persistence.entity.*;
+import org.secretflow.secretpad.persistence.model.ScheduledGraphCreateRequest;
+import org.secretflow.secretpad.persistence.repository.ProjectScheduleJobRepository;
+import org.secretflow.secretpad.persistence.repository.ProjectScheduleRepository;
+import org.secretflow.secretpad.persistence.repository.ProjectScheduleTaskRepository;
+import org.secretflow.secretpad.scheduled.service.ISecretpadScheduledService;
+import org.secretflow.secretpad.service.GraphService;
+import org.secretflow.secretpad.service.graph.GraphContext;
+import org.secretflow.secretpad.service.impl.ScheduledServiceImpl;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.secretflow.v1alpha1.kusciaapi.Job;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class ScheduledServiceImplTest {
+
+    @Mock
+    private ISecretpadScheduledService secretpadScheduledService;
+
+    @Mock
+    private ProjectScheduleRepository projectScheduleRepository;
+
+    @Mock
+    private ProjectScheduleJobRepository projectScheduleJobRepository;
+
+    @Mock
+    private ProjectScheduleTaskRepository projectScheduleTaskRepository;
+
+    @Mock
+    private GraphService graphService;
+
+    @InjectMocks
+    private ScheduledServiceImpl scheduledService;
+
+    @Test
+    public void testMaterializeRendersGraphSnapshot() {
+        ProjectGraphDO snapshot = new ProjectGraphDO();
+        snapshot.setUpk(new ProjectGraphDO.UPK("projectId", "graphId"));
+        ProjectScheduleDO projectScheduleDO = new ProjectScheduleDO();
+        projectScheduleDO.setScheduleId("scheduleId");
+        projectScheduleDO.setProjectId("projectId");
+        projectScheduleDO.setGraphId("graphId");
+        projectScheduleDO.setOwner("owner");
+        projectScheduleDO.setGraphInfo(snapshot);
+        projectScheduleDO.setRequest(ScheduledGraphCreateRequest.builder().projectId("projectId").graphId("graphId").nodes(List.of("node1")).build());
+        LocalDateTime expectStartTime = LocalDateTime.of(2024, 5, 1, 8, 0);
+        when(projectScheduleRepository.findById("scheduleId")).thenReturn(Optional.of(projectScheduleDO));
+        when(projectScheduleTaskRepository.findByScheduleIdAndScheduleTaskExpectStartTime("scheduleId", expectStartTime)).thenReturn(Collections.emptyList());
+        when(secretpadScheduledService.buildSchedulerId(any())).thenReturn("taskId");
+        when(projectScheduleTaskRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        AtomicReference<ProjectGraphDO> rendered = new AtomicReference<>();
+        when(graphService.startGraph(any())).thenAnswer(invocation -> {
+            rendered.set(GraphContext.getScheduleGraph());
+            ProjectJobDO projectJobDO = new ProjectJobDO();
+            projectJobDO.setUpk(new ProjectJobDO.UPK("projectId", "jobId"));
+            GraphContext.setProjectJobDO(projectJobDO);
+            GraphContext.setRequest(Job.CreateJobRequest.newBuilder().setJobId("jobId").build());
+            return null;
+        });
+
+        ProjectScheduleTaskDO projectScheduleTaskDO = scheduledService.materialize("scheduleId", "0 0 8 * * ?", expectStartTime);
+
+        Assertions.assertSame(snapshot, rendered.get());
+        Assertions.assertEquals("jobId", projectScheduleTaskDO.getScheduleJobId());
+        Assertions.assertNull(GraphContext.getScheduleGraph());
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright 2024 Ant Group Co., Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.secretflow.secretpad.service.test;
+
+import org.secretflow.secretpad.common.dto.UserContextDTO;
+import org.secretflow.secretpad.persistence.entity.TokensDO;
+import org.secretflow.secretpad.persistence.repository.UserTokensRepository;
+import org.secretflow.secretpad.service.auth.TokenSessionCache;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class TokenSessionCacheTest {
+
+    @Mock
+    private UserTokensRepository userTokensRepository;
+
+    @InjectMocks
+    private TokenSessionCache tokenSessionCache;
+
+    private static TokensDO token(String token, LocalDateTime gmtToken) {
+        UserContextDTO user = UserContextDTO.builder().name("alice").token(token).build();
+        return TokensDO.builder().name("alice").token(token).gmtToken(gmtToken).sessionData(user.toJsonStr()).build();
+    }
+
+    @Test
+    void testSessionLoadedOnce() {
+        when(userTokensRepository.findByToken("t1")).thenReturn(Optional.of(token("t1", LocalDateTime.now())));
+        Optional<TokenSessionCache.Session> first = tokenSessionCache.get("t1");
+        Optional<TokenSessionCache.Session> second = tokenSessionCache.get("t1");
+        Assertions.assertTrue(first.isPresent());
+        Assertions.assertSame(first.get(), second.get());
+        Assertions.assertEquals("alice", first.get().getUser().getName());
+        verify(userTokensRepository, times(1)).findByToken("t1");
+    }
+
+    @Test
+    void testWriteBackOncePerInterval() {
+        when(userTokensRepository.findByToken("t1")).thenReturn(Optional.of(token("t1", LocalDateTime.now().minusMinutes(5))));
+        TokenSessionCache.Session session = tokenSessionCache.get("t1").orElseThrow();
+        tokenSessionCache.writeBack();
+        verify(userTokensRepository, never()).updateGmtToken(anyString(), any());
+
+        tokenSessionCache.touch(session);
+        tokenSessionCache.touch(session);
+        tokenSessionCache.writeBack();
+        tokenSessionCache.writeBack();
+        verify(userTokensRepository, times(1)).updateGmtToken(Mockito.eq("t1"), any());
+    }
+
+    @Test
+    void testExpiredSessionNotCached() {
+        when(userTokensRepository.findByToken("t1")).thenReturn(Optional.of(token("t1", LocalDateTime.now().minusDays(2))));
+        Assertions.assertTrue(tokenSessionCache.get("t1").orElseThrow().isExpired(LocalDateTime.now()));
+        tokenSessionCache.get("t1");
+        verify(userTokensRepository, times(2)).findByToken("t1");
+    }
+
+    @Test
+    void testEvict() {
+        when(userTokensRepository.findByToken(anyString())).thenAnswer(invocation -> Optional.of(token(invocation.getArgument(0), LocalDateTime.now())));
+        tokenSessionCache.get("t1");
+        tokenSessionCache.get("t2");
+        tokenSessionCache.evict("t1");
+        tokenSessionCache.get("t1");
+        verify(userTokensRepository, times(2)).findByToken("t1");
+
+        tokenSessionCache.evictByName("alice");
+        tokenSessionCache.get("t2");
+        verify(userTokensRepository, times(2)).findByToken("t2");
+        when(userTokensRepository.findByToken("t3")).thenReturn(Optional.empty());
+        Assertions.assertTrue(tokenSessionCache.get("t3").isEmpty());
+    }
+
+    @Test
+    void testEvictAfterCommit() {
+        when(userTokensRepository.findByToken("t1")).thenReturn(Optional.of(token("t1", LocalDateTime.now())));
+        tokenSessionCache.get("t1");
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            tokenSessionCache.evict("t1");
+            tokenSessionCache.get("t1");
+            verify(userTokensRepository, times(1)).findByToken("t1");
+
+            List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+            Assertions.assertEquals(1, synchronizations.size());
+            synchronizations.forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        tokenSessionCache.get("t1");
+        verify(userTokensRepository, times(2)).findByToken("t1");
+    }
+
+    @Test
+    void testRevalidateRemovedToken() {
+        ReflectionTestUtils.setField(tokenSessionCache, "revalidateInterval", 0L);
+        when(userTokensRepository.findByToken("t1")).thenReturn(Optional.of(token("t1", LocalDateTime.now())), Optional.empty());
+        Assertions.assertTrue(tokenSessionCache.get("t1").isPresent());
+        // token deleted by another instance
+        Assertions.assertTrue(tokenSessionCache.get("t1").isEmpty());
+        verify(userTokensRepository, times(2)).findByToken("t1");
+    }
+}
@@ -18,7 +18,12 @@ package org.secretflow.secretpad.service.test;
 
 import org.secretflow.secretpad.common.dto.UserContextDTO;
 import org.secretflow.secretpad.common.enums.PlatformTypeEnum;
+import org.secretflow.secretpad.common.util.Base64Utils;
+import org.secretflow.secretpad.common.util.EncryptUtils;
+import org.secretflow.secretpad.common.util.JsonUtils;
 import org.secretflow.secretpad.common.util.UserContext;
+import org.secretflow.secretpad.manager.integration.node.NodeManager;
+import org.secretflow.secretpad.persistence.datasync.listener.VoteChangeListener;
 import org.secretflow.secretpad.persistence.entity.NodeDO;
 import org.secretflow.secretpad.persistence.entity.VoteInviteDO;
 import org.secretflow.secretpad.persistence.entity.VoteRequestDO;
@@ -28,18 +33,30 @@ import org.secretflow.secretpad.persistence.repository.VoteRequestRepository;
 import org.secretflow.secretpad.service.EnvService;
 import org.secretflow.secretpad.service.enums.VoteStatusEnum;
 import org.secretflow.secretpad.service.enums.VoteTypeEnum;
+import org.secretflow.secretpad.service.model.approval.VoteReplyBody;
+import org.secretflow.secretpad.service.model.approval.VoteReplyMessage;
+import org.secretflow.secretpad.service.model.approval.VoteRequestMessage;
 import org.secretflow.secretpad.service.schedule.VoteInviteStatusMonitor;
 
+import com.google.common.base.Ticker;
+import com.google.common.cache.CacheBuilder;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
+import org.mockito.MockedStatic;
 import org.mockito.Mockito;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.Duration;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * @author yutu
@@ -60,6 +77,9 @@ public class VoteInviteStatusMonitorTest {
     @Mock
     private NodeRepository nodeRepository;
 
+    @Mock
+    private NodeManager nodeManager;
+
     @BeforeEach
     public void setup() {
         UserContextDTO userContextDTO = UserContextDTO.builder()
@@ -96,4 +116,112 @@ public class VoteInviteStatusMonitorTest {
         Mockito.when(voteInviteRepository.findByVoteID(Mockito.any())).thenReturn(voteInviteDOS);
         voteInviteStatusMonitor.sync();
     }
-}
\ No newline at end of file
+
+    @Test
+    void syncOnlyChangedVotes() {
+        voteInviteStatusMonitor.setVoteRequestRepository(voteRequestRepository);
+        voteInviteStatusMonitor.setVoteInviteRepository(voteInviteRepository);
+        Mockito.when(voteRequestRepository.findByStatus(VoteStatusEnum.REVIEWING.getCode())).thenReturn(List.of());
+        // initial full pass
+        voteInviteStatusMonitor.sync();
+        // nothing changed, nothing queried
+        voteInviteStatusMonitor.sync();
+        Mockito.verify(voteRequestRepository, Mockito.times(1)).findByStatus(Mockito.anyInt());
+        Mockito.verifyNoMoreInteractions(voteRequestRepository);
+
+        VoteRequestDO voteRequestDO = new VoteRequestDO();
+        voteRequestDO.setType(VoteTypeEnum.PROJECT_ARCHIVE.name());
+        voteRequestDO.setExecutors(List.of("bob"));
+        voteRequestDO.setVoteID("vote");
+        voteRequestDO.setInitiator("bob");
+        voteRequestDO.setStatus(VoteStatusEnum.REVIEWING.getCode());
+        Mockito.when(voteRequestRepository.findAllById(Set.of("vote"))).thenReturn(List.of(voteRequestDO));
+        Mockito.when(nodeRepository.findByInstId("bob")).thenReturn(List.of());
+        voteInviteStatusMonitor.setNodeRepository(nodeRepository);
+        VoteInviteDO voteInviteDO = new VoteInviteDO();
+        voteInviteDO.setUpk(new VoteInviteDO.UPK("vote", "alice"));
+        voteInviteDO.setAction(VoteStatusEnum.REVIEWING.name());
+        Mockito.when(voteInviteRepository.findByVoteID("vote")).thenReturn(List.of(voteInviteDO));
+
+        // still reviewing, no write
+        voteInviteStatusMonitor.onVoteChanged(new VoteChangeListener.VoteChangedEvent(voteInviteDO, "vote"));
+        voteInviteStatusMonitor.sync();
+        Mockito.verify(voteRequestRepository, Mockito.never()).save(Mockito.any());
+
+        // approved, written once
+        voteInviteDO.setAction(VoteStatusEnum.APPROVED.name());
+        voteInviteStatusMonitor.onVoteChanged(new VoteChangeListener.VoteChangedEvent(voteInviteDO, "vote"));
+        voteInviteStatusMonitor.sync();
+        Mockito.verify(voteRequestRepository, Mockito.times(1)).save(voteRequestDO);
+        Assertions.assertEquals(VoteStatusEnum.APPROVED.getCode(), voteRequestDO.getStatus());
+    }
+
+    @Test
+    void verifiedReplyRecheckedAfterCertChange() {
+        voteInviteStatusMonitor.setNodeManager(nodeManager);
+        AtomicLong nanos = new AtomicLong();
+        Ticker ticker = new Ticker() {
+            @Override
+            public long read() {
+                return nanos.get();
+            }
+        };
+        voteInviteStatusMonitor.setVoterCerts(CacheBuilder.newBuilder().ticker(ticker).expireAfterWrite(Duration.ofSeconds(30)).build());
+        String body = Base64Utils.encode(JsonUtils.toJSONString(VoteReplyBody.builder().voteRequestID("vote").voter("bob").action("APPROVE").build()).getBytes());
+        VoteInviteDO voteInviteDO = new VoteInviteDO();
+        voteInviteDO.setVoteMsg(JsonUtils.toJSONString(VoteReplyMessage.builder().body(body).certChain(List.of("cert", "root")).signature("signature").build()));
+        VoteRequestDO voteRequestDO = new VoteRequestDO();
+        voteRequestDO.setRequestMsg(JsonUtils.toJSONString(VoteRequestMessage.builder().voteRequestSignature("requestSignature").build()));
+        String rootCert = Base64Utils.encode("root".getBytes());
+        try (MockedStatic<EncryptUtils> encryptUtils = Mockito.mockStatic(EncryptUtils.class)) {
+            encryptUtils.when(() -> EncryptUtils.verifySHA256withRSA(Mockito.anyList())).thenAnswer(i -> Collections.nCopies(i.<List<?>>getArgument(0).size(), true));
+            encryptUtils.when(() -> EncryptUtils.validateCertChain(Mockito.anyList())).thenReturn(true);
+            encryptUtils.when(() -> EncryptUtils.compareCertPubKey("bobCert", rootCert)).thenReturn(true);
+            encryptUtils.when(() -> EncryptUtils.compareCertPubKey("rotatedCert", rootCert)).thenReturn(false);
+            Mockito.when(nodeManager.getCert("bob")).thenReturn("bobCert");
+
+            Assertions.assertTrue(voteInviteStatusMonitor.verify(voteInviteDO, voteRequestDO));
+            // cache hit, neither the signature nor the voter cert is looked at again
+            Assertions.assertTrue(voteInviteStatusMonitor.verify(voteInviteDO, voteRequestDO));
+            encryptUtils.verify(() -> EncryptUtils.verifySHA256withRSA(Mockito.anyList()), Mockito.times(1));
+            Mockito.verify(nodeManager, Mockito.times(1)).getCert("bob");
+
+            // the voter cert was replaced, the cached verification no longer counts once the cached cert expires
+            Mockito.when(nodeManager.getCert("bob")).thenReturn("rotatedCert");
+            Assertions.assertTrue(voteInviteStatusMonitor.verify(voteInviteDO, voteRequestDO));
+            nanos.addAndGet(Duration.ofSeconds(31).toNanos());
+            Assertions.assertFalse(voteInviteStatusMonitor.verify(voteInviteDO, voteRequestDO));
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void repliesVerifiedInOneBatch() {
+        voteInviteStatusMonitor.setNodeManager(nodeManager);
+        VoteRequestDO voteRequestDO = new VoteRequestDO();
+        voteRequestDO.setRequestMsg(JsonUtils.toJSONString(VoteRequestMessage.builder().voteRequestSignature("batchSignature").build()));
+        List<VoteInviteDO> replies = List.of(buildReply("alice", "aliceSignature"), buildReply("bob", "bobSignature"));
+        String rootCert = Base64Utils.encode("root".getBytes());
+        try (MockedStatic<EncryptUtils> encryptUtils = Mockito.mockStatic(EncryptUtils.class)) {
+            // the signature of bob does not match
+            encryptUtils.when(() -> EncryptUtils.verifySHA256withRSA(Mockito.anyList())).thenReturn(List.of(true, false));
+            encryptUtils.when(() -> EncryptUtils.validateCertChain(Mockito.anyList())).thenReturn(true);
+            encryptUtils.when(() -> EncryptUtils.compareCertPubKey("aliceCert", rootCert)).thenReturn(true);
+            Mockito.when(nodeManager.getCert("alice")).thenReturn("aliceCert");
+
+            Assertions.assertEquals(List.of(true, false), voteInviteStatusMonitor.verify(replies, voteRequestDO));
+
+            ArgumentCaptor<List<EncryptUtils.SignedData>> signedData = ArgumentCaptor.forClass(List.class);
+            encryptUtils.verify(() -> EncryptUtils.verifySHA256withRSA(signedData.capture()), Mockito.times(1));
+            Assertions.assertEquals(List.of("aliceSignature", "bobSignature"), signedData.getValue().stream().map(EncryptUtils.SignedData::sign).toList());
+            Mockito.verify(nodeManager, Mockito.never()).getCert("bob");
+        }
+    }
+
+    private VoteInviteDO buildReply(String voter, String signature) {
+        String body = Base64Utils.encode(JsonUtils.toJSONString(VoteReplyBody.builder().voteRequestID("batch").voter(voter).action("APPROVE").build()).getBytes());
+        VoteInviteDO voteInviteDO = new VoteInviteDO();
+        voteInviteDO.setVoteMsg(JsonUtils.toJSONString(VoteReplyMessage.builder().body(body).certChain(List.of(voter + "Cert", "root")).signature(signature).build()));
+        return voteInviteDO;
+    }
+}
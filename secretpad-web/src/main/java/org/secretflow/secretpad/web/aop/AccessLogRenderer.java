@@ -0,0 +1,116 @@
+/*
+ * Copyright 2024 Ant Group Co., Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.secretflow.secretpad.web.aop;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.core.io.InputStreamSource;
+import org.springframework.http.ResponseEntity;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.lang.reflect.Array;
+
+/**
+ * Renders access log values as text capped at a max length
+ * <p>
+ * Values are written into a bounded writer that stops the serialization once the cap is reached,
+ * so a large argument costs at most the cap in memory and time. Binary and stream values are
+ * rendered by type and size only.
+ */
+class AccessLogRenderer {
+
+    private final int maxLength;
+    private final ObjectWriter writer;
+
+    AccessLogRenderer(int maxLength, ObjectMapper objectMapper) {
+        this.maxLength = maxLength;
+        this.writer = objectMapper.writer().without(SerializationFeature.FAIL_ON_EMPTY_BEANS);
+    }
+
+    /**
+     * Render a value
+     *
+     * @param value argument or response
+     * @return text of at most max length, followed by a truncation marker when cut
+     */
+    String render(Object value) {
+        if (value == null || value instanceof Number || value instanceof Boolean || value instanceof Character || value instanceof Enum<?>) {
+            return String.valueOf(value);
+        }
+        if (value instanceof CharSequence text) {
+            if (text.length() <= maxLength) {
+                return text.toString();
+            }
+            return text.subSequence(0, maxLength) + "...(" + text.length() + " chars)";
+        }
+        if (value instanceof ResponseEntity<?> entity) {
+            return "status=" + entity.getStatusCode().value() + " body=" + render(entity.getBody());
+        }
+        if (value.getClass().isArray() && value.getClass().getComponentType().isPrimitive()) {
+            return value.getClass().getComponentType().getName() + "[" + Array.getLength(value) + "]";
+        }
+        if (value instanceof InputStreamSource || value instanceof InputStream || value instanceof OutputStream || value instanceof Reader) {
+            return value.getClass().getSimpleName();
+        }
+        BoundedWriter out = new BoundedWriter(maxLength);
+        try {
+            writer.writeValue(out, value);
+        } catch (IOException | RuntimeException e) {
+            if (!out.truncated) {
+                return value.getClass().getSimpleName();
+            }
+        }
+        return out.truncated ? out.buffer + "...(truncated)" : out.buffer.toString();
+    }
+
+    /**
+     * Writer keeping at most limit chars, it fails the write that crosses the limit to stop the serializer
+     */
+    private static class BoundedWriter extends Writer {
+        private final StringBuilder buffer = new StringBuilder();
+        private final int limit;
+        private boolean truncated;
+
+        private BoundedWriter(int limit) {
+            this.limit = limit;
+        }
+
+        @Override
+        public void write(char[] chars, int off, int len) throws IOException {
+            int remaining = limit - buffer.length();
+            if (len > remaining) {
+                buffer.append(chars, off, Math.max(remaining, 0));
+                truncated = true;
+                throw new IOException("access log value exceeds " + limit + " chars");
+            }
+            buffer.append(chars, off, len);
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
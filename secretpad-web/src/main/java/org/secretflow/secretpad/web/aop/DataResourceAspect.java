@@ -41,6 +41,9 @@ import org.springframework.util.CollectionUtils;
 import org.springframework.util.ReflectionUtils;
 
 import java.lang.reflect.Field;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * @author beiwei
@@ -61,6 +64,8 @@ public class DataResourceAspect {
     @Resource
     private WhiteListMethodConfig whiteListMethodConfig;
 
+    private final ConcurrentMap<FieldKey, Optional<Field>> resourceFields = new ConcurrentHashMap<>();
+
     @Pointcut("@annotation(org.secretflow.secretpad.common.annotation.resource.DataResource)")
     public void pointCut() {
     }
@@ -81,16 +86,13 @@ public class DataResourceAspect {
             // ignore check for center user
             return joinPoint.proceed();
         }
-        Object fieldValue;
-        try {
-            Field nodeIdField = data.getClass().getDeclaredField(dataResource.field());
-            nodeIdField.setAccessible(true);
-            fieldValue = ReflectionUtils.getField(nodeIdField, data);
-        } catch (NoSuchFieldException e) {
+        Optional<Field> nodeIdField = resourceField(data.getClass(), dataResource.field());
+        if (nodeIdField.isEmpty()) {
             String err = String.format("Invalid field. The field(%s) does not exist.", dataResource.field());
-            log.error("DataResourceAspect check error {}", err, e);
-            throw SecretpadException.of(AuthErrorCode.AUTH_FAILED, e, err);
+            log.error("DataResourceAspect check error {}", err);
+            throw SecretpadException.of(AuthErrorCode.AUTH_FAILED, err);
         }
+        Object fieldValue = ReflectionUtils.getField(nodeIdField.get(), data);
 
         if (!dataResourceAuth.check(dataResource.resourceType(), (String) fieldValue)) {
             String err = String.format("No permission to access the data %s(%s). owner_type(%s), owner_id(%s)",
@@ -101,4 +103,25 @@ public class DataResourceAspect {
         return joinPoint.proceed();
     }
 
+    /**
+     * Resolve the resource field of a request type once, the lookup result is kept per type and field name
+     *
+     * @param type      request type
+     * @param fieldName field name
+     * @return accessible field, empty if the type declares no such field
+     */
+    private Optional<Field> resourceField(Class<?> type, String fieldName) {
+        return resourceFields.computeIfAbsent(new FieldKey(type, fieldName), key -> {
+            try {
+                Field field = key.type().getDeclaredField(key.name());
+                field.setAccessible(true);
+                return Optional.of(field);
+            } catch (NoSuchFieldException e) {
+                return Optional.empty();
+            }
+        });
+    }
+
+    private record FieldKey(Class<?> type, String name) {
+    }
 }
@@ -16,35 +16,228 @@
 
 package org.secretflow.secretpad.web.aop;
 
+import org.secretflow.secretpad.common.dto.UserContextDTO;
+import org.secretflow.secretpad.common.util.UserContext;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lmax.disruptor.BlockingWaitStrategy;
+import com.lmax.disruptor.InsufficientCapacityException;
+import com.lmax.disruptor.RingBuffer;
+import com.lmax.disruptor.dsl.Disruptor;
+import com.lmax.disruptor.dsl.ProducerType;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
 import lombok.extern.slf4j.Slf4j;
-import org.aspectj.lang.JoinPoint;
-import org.aspectj.lang.annotation.AfterReturning;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
-import org.aspectj.lang.annotation.Before;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
+import org.springframework.validation.BindingResult;
+import org.springframework.web.multipart.MultipartFile;
 
-import java.util.Arrays;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
+ * Access log of controller calls
+ * <p>
+ * The request thread only records references into a preallocated ring buffer, arguments are rendered
+ * as key/value text by a single background thread, see {@link AccessLogRenderer} for the length cap. When the buffer is full the
+ * event is dropped and counted instead of blocking the request.
+ *
  * @author yutu
  * @date 2024/08/26
  */
 @Slf4j
 @Aspect
 @Component
-public class LoggingAspect {
+public class LoggingAspect implements DisposableBean {
+
+    private static final String TRACE_ID = "Trace-Id";
+
+    private final ConcurrentMap<Method, Endpoint> endpoints = new ConcurrentHashMap<>();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AccessLogRenderer renderer;
+    private final Disruptor<AccessEvent> disruptor;
+    private final RingBuffer<AccessEvent> ringBuffer;
+
+    public LoggingAspect(@Value("${secretpad.access-log.buffer-size:4096}") int bufferSize,
+                         @Value("${secretpad.access-log.max-arg-length:2048}") int maxArgLength,
+                         ObjectMapper objectMapper) {
+        this.renderer = new AccessLogRenderer(maxArgLength, objectMapper);
+        // ring buffer size must be a power of two
+        int size = Integer.highestOneBit(Math.max(bufferSize, 2) - 1) << 1;
+        this.disruptor = new Disruptor<>(AccessEvent::new, size, runnable -> {
+            Thread thread = new Thread(runnable, "access-log");
+            thread.setDaemon(true);
+            return thread;
+        }, ProducerType.MULTI, new BlockingWaitStrategy());
+        this.disruptor.handleEventsWith((event, sequence, endOfBatch) -> write(event));
+        this.ringBuffer = disruptor.start();
+    }
+
+    @Around("execution(* org.secretflow.secretpad.web.controller..*.*(..))")
+    public Object logAccess(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (!log.isInfoEnabled()) {
+            return joinPoint.proceed();
+        }
+        long start = System.nanoTime();
+        Object result = null;
+        Throwable error = null;
+        try {
+            result = joinPoint.proceed();
+            return result;
+        } catch (Throwable t) {
+            error = t;
+            throw t;
+        } finally {
+            publish(joinPoint, result, error, System.nanoTime() - start);
+        }
+    }
+
+    private void publish(ProceedingJoinPoint joinPoint, Object result, Throwable error, long elapsedNanos) {
+        long sequence;
+        try {
+            sequence = ringBuffer.tryNext();
+        } catch (InsufficientCapacityException e) {
+            dropped.incrementAndGet();
+            return;
+        }
+        AccessEvent event = ringBuffer.get(sequence);
+        try {
+            UserContextDTO user = UserContext.getUserOrNotExist();
+            event.endpoint = endpoints.computeIfAbsent(((MethodSignature) joinPoint.getSignature()).getMethod(), Endpoint::new);
+            event.args = joinPoint.getArgs();
+            event.response = result instanceof ResponseEntity ? result : null;
+            event.error = error;
+            event.elapsedNanos = elapsedNanos;
+            event.user = user == null ? null : user.getName();
+            event.traceId = MDC.get(TRACE_ID);
+        } finally {
+            ringBuffer.publish(sequence);
+        }
+    }
+
+    private void write(AccessEvent event) {
+        if (event.endpoint == null) {
+            event.clear();
+            return;
+        }
+        try {
+            if (event.traceId != null) {
+                MDC.put(TRACE_ID, event.traceId);
+            }
+            log.info("event=access endpoint={} user={} elapsedMs={} outcome={} args={}{}",
+                    event.endpoint.name, event.user, TimeUnit.NANOSECONDS.toMillis(event.elapsedNanos),
+                    event.error == null ? "ok" : event.error.getClass().getSimpleName(),
+                    renderArgs(event), event.response == null ? "" : " response=" + renderer.render(event.response));
+        } catch (RuntimeException e) {
+            log.warn("event=access_render_failed endpoint={} error={}", event.endpoint.name, e.getMessage());
+        } finally {
+            MDC.remove(TRACE_ID);
+            event.clear();
+        }
+        long count = dropped.getAndSet(0);
+        if (count > 0) {
+            log.warn("event=access_dropped count={}", count);
+        }
+    }
 
-    @Before("execution(* org.secretflow.secretpad.web.controller..*.*(..))")
-    public void logRequest(JoinPoint joinPoint) {
-        Object[] args = joinPoint.getArgs();
-        log.info("Executing: {}", joinPoint.getSignature() + ", Args: " + Arrays.toString(args));
+    private String renderArgs(AccessEvent event) {
+        Endpoint endpoint = event.endpoint;
+        StringBuilder builder = new StringBuilder("{");
+        for (int i = 0; i < endpoint.parameterNames.length && i < event.args.length; i++) {
+            ArgKind kind = endpoint.kinds[i];
+            if (kind == ArgKind.SKIP) {
+                continue;
+            }
+            if (builder.length() > 1) {
+                builder.append(", ");
+            }
+            builder.append(endpoint.parameterNames[i]).append('=');
+            Object arg = event.args[i];
+            if (kind == ArgKind.FILE && arg instanceof MultipartFile file) {
+                builder.append("file(").append(file.getOriginalFilename()).append(", ").append(file.getSize()).append(" bytes)");
+            } else {
+                builder.append(renderer.render(arg));
+            }
+        }
+        return builder.append('}').toString();
+    }
+
+    @Override
+    public void destroy() {
+        try {
+            disruptor.shutdown(5, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            log.warn("access log shutdown timeout, {} pending events discarded", ringBuffer.getBufferSize() - ringBuffer.remainingCapacity());
+            disruptor.halt();
+        }
     }
 
-    @AfterReturning(pointcut = "execution(* org.secretflow.secretpad.web.controller..*.*(..))", returning = "result")
-    public void logResponse(JoinPoint joinPoint, Object result) {
-        if (result instanceof ResponseEntity) {
-            log.info("Returning from: {}", joinPoint.getSignature() + ", Response: " + result);
+    private enum ArgKind {
+        VALUE, FILE, SKIP
+    }
+
+    /**
+     * Endpoint metadata resolved once per controller method
+     */
+    private static class Endpoint {
+        private final String name;
+        private final String[] parameterNames;
+        private final ArgKind[] kinds;
+
+        private Endpoint(Method method) {
+            this.name = method.getDeclaringClass().getSimpleName() + "." + method.getName();
+            Parameter[] parameters = method.getParameters();
+            this.parameterNames = new String[parameters.length];
+            this.kinds = new ArgKind[parameters.length];
+            for (int i = 0; i < parameters.length; i++) {
+                Class<?> type = parameters[i].getType();
+                parameterNames[i] = parameters[i].getName();
+                if (MultipartFile.class.isAssignableFrom(type)) {
+                    kinds[i] = ArgKind.FILE;
+                } else if (ServletRequest.class.isAssignableFrom(type) || ServletResponse.class.isAssignableFrom(type)
+                        || InputStream.class.isAssignableFrom(type) || OutputStream.class.isAssignableFrom(type)
+                        || BindingResult.class.isAssignableFrom(type)) {
+                    kinds[i] = ArgKind.SKIP;
+                } else {
+                    kinds[i] = ArgKind.VALUE;
+                }
+            }
+        }
+    }
+
+    /**
+     * Ring buffer slot, cleared after it is written to release the references
+     */
+    private static class AccessEvent {
+        private Endpoint endpoint;
+        private Object[] args;
+        private Object response;
+        private Throwable error;
+        private long elapsedNanos;
+        private String user;
+        private String traceId;
+
+        private void clear() {
+            endpoint = null;
+            args = null;
+            response = null;
+            error = null;
+            user = null;
+            traceId = null;
         }
     }
-}
\ No newline at end of file
+}
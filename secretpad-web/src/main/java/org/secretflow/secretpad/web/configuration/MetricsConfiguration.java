@@ -0,0 +1,63 @@
+/*
+ * Copyright 2024 Ant Group Co., Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.secretflow.secretpad.web.configuration;
+
+import org.secretflow.secretpad.web.interceptor.RequestMetricsInterceptor;
+
+import io.micrometer.core.instrument.config.MeterFilter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Configuration for request metrics
+ */
+@Configuration
+public class MetricsConfiguration implements WebMvcConfigurer {
+
+    /**
+     * Upper bound of distinct tag values per metric, further values are denied
+     */
+    private static final int MAX_TAG_VALUES = 500;
+
+    private final RequestMetricsInterceptor requestMetricsInterceptor;
+
+    @Autowired
+    public MetricsConfiguration(RequestMetricsInterceptor requestMetricsInterceptor) {
+        this.requestMetricsInterceptor = requestMetricsInterceptor;
+    }
+
+    /**
+     * Add interceptors and path patterns to registry
+     */
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(requestMetricsInterceptor).addPathPatterns("/**");
+    }
+
+    @Bean
+    public MeterFilter requestEndpointTagLimit() {
+        return MeterFilter.maximumAllowableTags(RequestMetricsInterceptor.METRIC_PREFIX, "endpoint", MAX_TAG_VALUES, MeterFilter.deny());
+    }
+
+    @Bean
+    public MeterFilter kusciaMethodTagLimit() {
+        return MeterFilter.maximumAllowableTags("kuscia.rpc", "method", MAX_TAG_VALUES, MeterFilter.deny());
+    }
+}
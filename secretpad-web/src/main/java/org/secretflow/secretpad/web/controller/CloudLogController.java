@@ -20,6 +20,7 @@ import org.secretflow.secretpad.common.annotation.resource.ApiResource;
 import org.secretflow.secretpad.common.annotation.resource.DataResource;
 import org.secretflow.secretpad.common.constant.resource.ApiResourceCodeConstants;
 import org.secretflow.secretpad.common.enums.DataResourceTypeEnum;
+import org.secretflow.secretpad.common.util.JsonUtils;
 import org.secretflow.secretpad.service.ICloudLogService;
 import org.secretflow.secretpad.service.model.CloudGraphNodeTaskLogsVO;
 import org.secretflow.secretpad.service.model.common.SecretPadResponse;
@@ -30,11 +31,17 @@ import jakarta.validation.Valid;
 import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.ApplicationContext;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.Objects;
 
 /**
@@ -67,4 +74,42 @@ public class CloudLogController {
         }
         return SecretPadResponse.success(cloudLogService.fetchLog(graphNodeLogsRequest));
     }
+
+    /**
+     * Stream graph node logs api, the logs available now are written page by page as newline delimited json,
+     * the last page carries the cursor to continue from
+     *
+     * @param graphNodeLogsRequest query graph node cloud logs request
+     * @return graph node task logs pages
+     */
+    @Operation(summary = "stream graph node cloud logs page by page")
+    @PostMapping(value = "/sls/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @DataResource(field = "projectId", resourceType = DataResourceTypeEnum.PROJECT_ID)
+    @ApiResource(code = ApiResourceCodeConstants.GRAPH_NODE_LOGS)
+    public ResponseEntity<StreamingResponseBody> streamCloudLog(@Valid @RequestBody GraphNodeCloudLogsRequest graphNodeLogsRequest) {
+        ObjectProvider<ICloudLogService> provider = applicationContext.getBeanProvider(ICloudLogService.class);
+        ICloudLogService cloudLogService = provider.getIfAvailable(() -> null);
+        if (Objects.isNull(cloudLogService)) {
+            CloudGraphNodeTaskLogsVO unReady = CloudGraphNodeTaskLogsVO.buildUnReadyResult();
+            return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(outputStream -> writePage(outputStream, unReady));
+        }
+        // the first page is fetched in the request thread, so request errors are still reported as usual
+        CloudGraphNodeTaskLogsVO firstPage = cloudLogService.fetchLog(graphNodeLogsRequest);
+        StreamingResponseBody body = outputStream -> {
+            CloudGraphNodeTaskLogsVO page = firstPage;
+            writePage(outputStream, page);
+            while (Boolean.TRUE.equals(page.getHasMore())) {
+                graphNodeLogsRequest.setCursor(page.getNextCursor());
+                page = cloudLogService.fetchLog(graphNodeLogsRequest);
+                writePage(outputStream, page);
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    private void writePage(OutputStream outputStream, CloudGraphNodeTaskLogsVO page) throws IOException {
+        outputStream.write(JsonUtils.toJSONString(page).getBytes(StandardCharsets.UTF_8));
+        outputStream.write('\n');
+        outputStream.flush();
+    }
 }
@@ -24,22 +24,27 @@ import org.secretflow.secretpad.common.errorcode.SystemErrorCode;
 import org.secretflow.secretpad.common.exception.SecretpadException;
 import org.secretflow.secretpad.service.DataService;
 import org.secretflow.secretpad.service.model.common.SecretPadResponse;
-import org.secretflow.secretpad.service.model.data.CreateDataRequest;
-import org.secretflow.secretpad.service.model.data.DownloadDataRequest;
-import org.secretflow.secretpad.service.model.data.DownloadInfo;
-import org.secretflow.secretpad.service.model.data.UploadDataResultVO;
+import org.secretflow.secretpad.service.model.data.*;
 
 import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
 import org.springframework.http.MediaType;
+import org.springframework.util.StreamUtils;
+import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.List;
 
 /**
  * Data controller
@@ -53,6 +58,14 @@ public class DataController {
 
     private final static Logger LOGGER = LoggerFactory.getLogger(DataController.class);
 
+    /**
+     * Tomcat sendfile request attributes, see org.apache.catalina.servlets.DefaultServlet
+     */
+    private final static String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private final static String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private final static String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private final static String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
     public final DataService dataService;
 
     @Autowired
@@ -77,6 +90,69 @@ public class DataController {
         return SecretPadResponse.success(dataService.upload(file, nodeId));
     }
 
+    /**
+     * Start a chunked upload api, for large files which are sent in several requests
+     *
+     * @param request init chunk upload request
+     * @return successful SecretPadResponse with upload id and offset
+     */
+    @ResponseBody
+    @PostMapping(value = "/upload/chunk/init", consumes = "application/json")
+    @DataResource(field = "nodeId", resourceType = DataResourceTypeEnum.NODE_ID)
+    @ApiResource(code = ApiResourceCodeConstants.DATA_UPLOAD)
+    public SecretPadResponse<ChunkUploadVO> initChunkUpload(@Valid @RequestBody InitChunkUploadRequest request) {
+        return SecretPadResponse.success(dataService.initChunkUpload(request));
+    }
+
+    /**
+     * Upload chunk api, the raw request body is the chunk content and is streamed to the part file
+     *
+     * @param nodeId      target nodeId
+     * @param uploadId    upload id
+     * @param offset      chunk offset, the bytes received so far
+     * @param httpRequest http servlet request
+     * @return successful SecretPadResponse with upload id and next offset
+     */
+    @ResponseBody
+    @PostMapping(value = "/upload/chunk", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    @ApiResource(code = ApiResourceCodeConstants.DATA_UPLOAD)
+    public SecretPadResponse<ChunkUploadVO> uploadChunk(
+            @RequestParam(value = "Node-Id") String nodeId,
+            @RequestParam(value = "uploadId") String uploadId,
+            @RequestParam(value = "offset") long offset,
+            HttpServletRequest httpRequest
+    ) throws IOException {
+        return SecretPadResponse.success(dataService.uploadChunk(nodeId, uploadId, offset, httpRequest.getInputStream()));
+    }
+
+    /**
+     * Query chunk upload api, returns the offset to resume from
+     *
+     * @param request chunk upload request
+     * @return successful SecretPadResponse with upload id and next offset
+     */
+    @ResponseBody
+    @PostMapping(value = "/upload/chunk/status", consumes = "application/json")
+    @DataResource(field = "nodeId", resourceType = DataResourceTypeEnum.NODE_ID)
+    @ApiResource(code = ApiResourceCodeConstants.DATA_UPLOAD)
+    public SecretPadResponse<ChunkUploadVO> chunkUploadStatus(@Valid @RequestBody ChunkUploadRequest request) {
+        return SecretPadResponse.success(dataService.chunkUploadStatus(request));
+    }
+
+    /**
+     * Complete chunk upload api
+     *
+     * @param request chunk upload request
+     * @return successful SecretPadResponse with upload data result view object
+     */
+    @ResponseBody
+    @PostMapping(value = "/upload/chunk/complete", consumes = "application/json")
+    @DataResource(field = "nodeId", resourceType = DataResourceTypeEnum.NODE_ID)
+    @ApiResource(code = ApiResourceCodeConstants.DATA_UPLOAD)
+    public SecretPadResponse<UploadDataResultVO> completeChunkUpload(@Valid @RequestBody ChunkUploadRequest request) {
+        return SecretPadResponse.success(dataService.completeChunkUpload(request));
+    }
+
     /**
      * Create data api
      *
@@ -95,38 +171,93 @@ public class DataController {
     }
 
     /**
-     * Download data api
+     * Download data api, supports single byte range and entity tag revalidation for resuming
      *
-     * @param response http servlet response
-     * @param request  download data request
+     * @param httpRequest http servlet request
+     * @param response    http servlet response
+     * @param request     download data request
      */
     @ResponseBody
     @PostMapping(value = "/download")
     @DataResource(field = "nodeId", resourceType = DataResourceTypeEnum.NODE_ID)
     @ApiResource(code = ApiResourceCodeConstants.DATA_DOWNLOAD)
-    public void download(HttpServletResponse response, @Valid @RequestBody DownloadDataRequest request) {
+    public void download(HttpServletRequest httpRequest, HttpServletResponse response, @Valid @RequestBody DownloadDataRequest request) {
         DownloadInfo downloadInfo = dataService.download(request);
+        long fileLength = downloadInfo.getFileLength();
+        String etag = downloadInfo.getEtag();
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        if (etag.equals(httpRequest.getHeader(HttpHeaders.IF_NONE_MATCH))) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
         response.setContentType(MediaType.APPLICATION_OCTET_STREAM_VALUE);
         response.setHeader("Content-Disposition", "attachment;filename*=UTF-8''" + downloadInfo.getFileName());
-        response.setContentLength(downloadInfo.getFileLength());
         try {
-            ServletOutputStream outputStream = response.getOutputStream();
-            InputStream inputStream = downloadInfo.getInputStream();
-            if(downloadInfo.getFileLength() == 0){
+            if (fileLength == 0) {
+                ServletOutputStream outputStream = response.getOutputStream();
                 response.setContentLength("No data".getBytes().length);
                 outputStream.write("No data".getBytes());
-            }else{
-                byte[] buf = new byte[1024];
-                int len;
-                while ((len = inputStream.read(buf)) > 0) {
-                    outputStream.write(buf, 0, len);
+                outputStream.close();
+                return;
+            }
+            long start = 0;
+            long end = fileLength - 1;
+            HttpRange range = requestedRange(httpRequest, etag);
+            if (range != null) {
+                try {
+                    start = range.getRangeStart(fileLength);
+                    end = range.getRangeEnd(fileLength);
+                } catch (IllegalArgumentException e) {
+                    response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + fileLength);
+                    response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                    return;
                 }
+                response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + fileLength);
+            }
+            response.setContentLengthLong(end - start + 1);
+            if (Boolean.TRUE.equals(httpRequest.getAttribute(SENDFILE_SUPPORT))) {
+                // the container sends the file with sendfile after the handler returns, the bytes never enter the jvm
+                httpRequest.setAttribute(SENDFILE_FILENAME, downloadInfo.getFile().getCanonicalPath());
+                httpRequest.setAttribute(SENDFILE_START, start);
+                httpRequest.setAttribute(SENDFILE_END, end + 1);
+                return;
+            }
+            // no sendfile support, e.g. tls connectors, copy through the servlet stream
+            ServletOutputStream outputStream = response.getOutputStream();
+            try (InputStream inputStream = Files.newInputStream(downloadInfo.getFile().toPath())) {
+                StreamUtils.copyRange(inputStream, outputStream, start, end);
             }
-            inputStream.close();
             outputStream.close();
         } catch (Exception e) {
             LOGGER.error(e.getMessage());
             throw SecretpadException.of(SystemErrorCode.UNKNOWN_ERROR, e);
         }
     }
+
+    /**
+     * Get the requested byte range, multiple ranges and ranges of a changed file are served as the whole file
+     *
+     * @param httpRequest http servlet request
+     * @param etag        entity tag of the file
+     * @return requested range or null
+     */
+    private HttpRange requestedRange(HttpServletRequest httpRequest, String etag) {
+        String rangeHeader = httpRequest.getHeader(HttpHeaders.RANGE);
+        if (!StringUtils.hasText(rangeHeader)) {
+            return null;
+        }
+        String ifRange = httpRequest.getHeader(HttpHeaders.IF_RANGE);
+        if (StringUtils.hasText(ifRange) && !etag.equals(ifRange)) {
+            return null;
+        }
+        try {
+            List<HttpRange> ranges = HttpRange.parseRanges(rangeHeader);
+            return ranges.size() == 1 ? ranges.get(0) : null;
+        } catch (IllegalArgumentException e) {
+            LOGGER.warn("Ignore invalid range header {}", rangeHeader);
+            return null;
+        }
+    }
 }
@@ -21,20 +21,27 @@ import org.secretflow.secretpad.common.annotation.resource.DataResource;
 import org.secretflow.secretpad.common.constant.resource.ApiResourceCodeConstants;
 import org.secretflow.secretpad.common.enums.DataResourceTypeEnum;
 import org.secretflow.secretpad.common.util.ProtoUtils;
+import org.secretflow.secretpad.service.ComponentService;
 import org.secretflow.secretpad.service.GraphService;
+import org.secretflow.secretpad.service.graph.ComponentRegistry;
 import org.secretflow.secretpad.service.model.common.SecretPadResponse;
 import org.secretflow.secretpad.service.model.graph.*;
 
 import io.swagger.v3.oas.annotations.Operation;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
-import java.util.Map;
 
 /**
  * Graph controller
@@ -49,6 +56,9 @@ public class GraphController {
     @Autowired
     private GraphService graphService;
 
+    @Autowired
+    private ComponentService componentService;
+
     /**
      * List component international config api
      *
@@ -57,8 +67,8 @@ public class GraphController {
     @PostMapping("/component/i18n")
     @Operation(summary = "component international config")
     @ApiResource(code = ApiResourceCodeConstants.GRAPH_COMM_I18N)
-    public SecretPadResponse<Object> listComponentI18n() {
-        return SecretPadResponse.success(graphService.listComponentI18n());
+    public ResponseEntity<String> listComponentI18n(HttpServletRequest request) {
+        return serialized(request, componentService.listComponentI18nResponse());
     }
 
     /**
@@ -69,8 +79,8 @@ public class GraphController {
     @PostMapping("/component/list")
     @Operation(summary = "component list")
     @ApiResource(code = ApiResourceCodeConstants.GRAPH_COMM_LIST)
-    public SecretPadResponse<Map<String, CompListVO>> listComponents() {
-        return SecretPadResponse.success(graphService.listComponents());
+    public ResponseEntity<String> listComponents(HttpServletRequest request) {
+        return serialized(request, componentService.listComponentsResponse());
     }
 
     /**
@@ -159,6 +169,20 @@ public class GraphController {
         return SecretPadResponse.success();
     }
 
+    /**
+     * Incrementally update graph api
+     *
+     * @param request patch graph request
+     * @return successful SecretPadResponse with patch graph view object
+     */
+    @Operation(summary = "incrementally update graph")
+    @PostMapping("/graph/patch")
+    @DataResource(field = "projectId", resourceType = DataResourceTypeEnum.PROJECT_ID)
+    @ApiResource(code = ApiResourceCodeConstants.GRAPH_UPDATE)
+    public SecretPadResponse<PatchGraphVO> patchGraph(@Valid @RequestBody PatchGraphRequest request) {
+        return SecretPadResponse.success(graphService.patchGraph(request));
+    }
+
     /**
      * Update graph node api
      *
@@ -246,19 +270,33 @@ public class GraphController {
     }
 
     /**
-     * Query graph node logs api
+     * Query graph node logs api, returns one page of the logs after the request cursor
      *
      * @param request query graph node logs request
-     * @return successful SecretPadResponse with graph node task logs view object
+     * @return successful SecretPadResponse with graph node task logs page view object
      */
     @Operation(summary = "graph node logs")
     @PostMapping("/graph/node/logs")
     @DataResource(field = "projectId", resourceType = DataResourceTypeEnum.PROJECT_ID)
     @ApiResource(code = ApiResourceCodeConstants.GRAPH_NODE_LOGS)
-    public SecretPadResponse<GraphNodeTaskLogsVO> getGraphNodeLogs(@Valid @RequestBody GraphNodeLogsRequest request) {
+    public SecretPadResponse<GraphNodeTaskLogsPageVO> getGraphNodeLogs(@Valid @RequestBody GraphNodeLogsRequest request) {
         return SecretPadResponse.success(graphService.getGraphNodeLogs(request));
     }
 
+    /**
+     * Stream graph node logs api, pushes the logs after the request cursor and every later log as server-sent events
+     *
+     * @param request query graph node logs request
+     * @return sse emitter of graph node task logs pages
+     */
+    @Operation(summary = "graph node logs stream")
+    @PostMapping(value = "/graph/node/logs/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @DataResource(field = "projectId", resourceType = DataResourceTypeEnum.PROJECT_ID)
+    @ApiResource(code = ApiResourceCodeConstants.GRAPH_NODE_LOGS)
+    public SseEmitter watchGraphNodeLogs(@Valid @RequestBody GraphNodeLogsRequest request) {
+        return graphService.watchGraphNodeLogs(request);
+    }
+
     /**
      * Refresh  node max index api
      *
@@ -273,4 +311,18 @@ public class GraphController {
         GraphNodeMaxIndexRefreshVO vo = graphService.refreshNodeMaxIndex(request);
         return SecretPadResponse.success(vo);
     }
+
+    /**
+     * Write a serialized component catalog response, not modified when the client holds the same etag
+     *
+     * @param request    http request
+     * @param serialized serialized response
+     * @return response entity
+     */
+    private ResponseEntity<String> serialized(HttpServletRequest request, ComponentRegistry.Serialized serialized) {
+        if (serialized.etag().equals(request.getHeader(HttpHeaders.IF_NONE_MATCH))) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(serialized.etag()).build();
+        }
+        return ResponseEntity.ok().eTag(serialized.etag()).contentType(MediaType.APPLICATION_JSON).body(serialized.body());
+    }
 }
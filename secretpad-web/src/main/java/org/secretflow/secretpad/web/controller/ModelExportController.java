@@ -25,10 +25,12 @@ import org.secretflow.secretpad.service.model.model.export.*;
 import com.google.protobuf.InvalidProtocolBufferException;
 import jakarta.annotation.Resource;
 import jakarta.validation.Valid;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 
@@ -57,6 +59,12 @@ public class ModelExportController {
         return SecretPadResponse.success(modelExportService.queryModel(request));
     }
 
+    @PostMapping(value = "/status/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE, consumes = "application/json")
+    @DataResource(field = "projectId", resourceType = DataResourceTypeEnum.PROJECT_ID)
+    public SseEmitter statusStream(@Valid @RequestBody ModelExportStatusRequest request) {
+        return modelExportService.watchModel(request);
+    }
+
     @PostMapping(value = "/modelPartyPath", produces = "application/json", consumes = "application/json")
     @DataResource(field = "projectId", resourceType = DataResourceTypeEnum.PROJECT_ID)
     public SecretPadResponse<List<ModelPartyPathResponse>> modelPartyPath(@Valid @RequestBody ModelPartyPathRequest request) {
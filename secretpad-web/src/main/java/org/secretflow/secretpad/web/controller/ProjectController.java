@@ -21,6 +21,7 @@ import org.secretflow.secretpad.common.annotation.resource.DataResource;
 import org.secretflow.secretpad.common.constant.resource.ApiResourceCodeConstants;
 import org.secretflow.secretpad.common.enums.DataResourceTypeEnum;
 import org.secretflow.secretpad.service.GraphService;
+import org.secretflow.secretpad.service.JobArchiveService;
 import org.secretflow.secretpad.service.NodeService;
 import org.secretflow.secretpad.service.ProjectService;
 import org.secretflow.secretpad.service.model.common.SecretPadResponse;
@@ -54,6 +55,9 @@ public class ProjectController {
     @Autowired
     private NodeService nodeService;
 
+    @Autowired
+    private JobArchiveService jobArchiveService;
+
     /**
      * Create a new project api
      *
@@ -239,6 +243,21 @@ public class ProjectController {
         return SecretPadResponse.success(projectService.getProjectJob(request.getProjectId(), request.getJobId()));
     }
 
+    /**
+     * Query archived project job detail api
+     *
+     * @param request get project job request
+     * @return successful SecretPadResponse with archived job view object
+     */
+    @ResponseBody
+    @PostMapping(value = "/job/archive/get")
+    @Operation(summary = "archived project job detail", description = "archived project job detail")
+    @DataResource(field = "projectId", resourceType = DataResourceTypeEnum.PROJECT_ID)
+    @ApiResource(code = ApiResourceCodeConstants.PRJ_JOB_GET)
+    public SecretPadResponse<ArchivedJobVO> getArchivedJob(@Valid @RequestBody GetProjectJobRequest request) {
+        return SecretPadResponse.success(jobArchiveService.getArchivedJob(request.getProjectId(), request.getJobId()));
+    }
+
     /**
      * Stop project job api
      *
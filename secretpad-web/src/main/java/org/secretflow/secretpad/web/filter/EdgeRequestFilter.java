@@ -19,9 +19,8 @@ package org.secretflow.secretpad.web.filter;
 import org.secretflow.secretpad.common.constant.SystemConstants;
 import org.secretflow.secretpad.common.errorcode.AuthErrorCode;
 import org.secretflow.secretpad.common.exception.SecretpadException;
-import org.secretflow.secretpad.persistence.entity.TokensDO;
-import org.secretflow.secretpad.persistence.repository.UserTokensRepository;
 import org.secretflow.secretpad.service.EnvService;
+import org.secretflow.secretpad.service.auth.TokenSessionCache;
 import org.secretflow.secretpad.service.model.common.SecretPadResponse;
 import org.secretflow.secretpad.web.util.AuthUtils;
 
@@ -34,30 +33,28 @@ import jakarta.servlet.http.HttpServletResponse;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
-import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
 import org.springframework.core.Ordered;
-import org.springframework.http.*;
-import org.springframework.http.converter.StringHttpMessageConverter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.StreamingHttpOutputMessage;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Component;
-import org.springframework.util.MultiValueMap;
 import org.springframework.util.StreamUtils;
+import org.springframework.web.client.DefaultResponseErrorHandler;
 import org.springframework.web.client.RestTemplate;
 
 import java.io.IOException;
-import java.io.InputStream;
 import java.io.OutputStream;
 import java.net.URI;
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
-import java.time.temporal.ChronoUnit;
-import java.util.Collections;
-import java.util.List;
-import java.util.Objects;
-import java.util.Optional;
+import java.util.*;
 
 
 /**
@@ -74,13 +71,23 @@ import java.util.Optional;
 @RequiredArgsConstructor
 public class EdgeRequestFilter implements Filter, Ordered {
     /**
-     * Expiration time
-     * one hour
+     * Headers relayed from the forwarded response, the body is passed through byte by byte
      */
-    private static final long EXPIRE = 60 * 60 * 24;
-    private final UserTokensRepository userTokensRepository;
+    private static final List<String> RESPONSE_HEADERS = List.of(HttpHeaders.CONTENT_TYPE, HttpHeaders.CONTENT_LENGTH,
+            HttpHeaders.CONTENT_DISPOSITION, HttpHeaders.CONTENT_RANGE, HttpHeaders.ACCEPT_RANGES, HttpHeaders.ETAG,
+            HttpHeaders.LAST_MODIFIED, HttpHeaders.CACHE_CONTROL);
+    /**
+     * Hop-by-hop headers, never forwarded
+     */
+    private static final Set<String> HOP_BY_HOP_HEADERS = Set.of("connection", "keep-alive", "proxy-authenticate",
+            "proxy-authorization", "te", "trailer", "transfer-encoding", "upgrade");
+    private final TokenSessionCache tokenSessionCache;
     private final ObjectMapper jacksonObjectMapper;
-    private final RestTemplate restTemplate = new RestTemplate();
+    /**
+     * Dedicated streaming client, HttpURLConnection keeps idle gateway connections alive for reuse
+     * and bodies are copied with the fixed StreamUtils buffer instead of being held in heap
+     */
+    private final RestTemplate restTemplate = streamingRestTemplate();
     private final EnvService envService;
     @Value("${secretpad.gateway}")
     private String kusciaLiteGateway;
@@ -91,12 +98,26 @@ public class EdgeRequestFilter implements Filter, Ordered {
     private List<String> forward;
     private List<String> include;
 
+    private static RestTemplate streamingRestTemplate() {
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setChunkSize(StreamUtils.BUFFER_SIZE);
+        RestTemplate template = new RestTemplate(requestFactory);
+        // pass the gateway status through instead of raising
+        template.setErrorHandler(new DefaultResponseErrorHandler() {
+            @Override
+            public boolean hasError(@NonNull ClientHttpResponse response) {
+                return false;
+            }
+        });
+        return template;
+    }
+
     @Override
     public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain) throws IOException, ServletException {
         HttpServletRequest req = (HttpServletRequest) request;
         HttpServletResponse resp = (HttpServletResponse) response;
         String uri = req.getServletPath();
-        log.info("uri raw {}", uri);
+        log.debug("uri raw {}", uri);
         if (forward.contains(uri)) {
             try {
                 checkUserLogin(req);
@@ -114,21 +135,18 @@ public class EdgeRequestFilter implements Filter, Ordered {
             }
             log.info("edge forward {} ", uri);
             String redirectUrl = "http://" + kusciaLiteGateway + uri;
-            MultiValueMap<String, String> headers = parseRequestHeader(req);
-            byte[] body = parseRequestBody(req);
-            @SuppressWarnings(value = {"rawtypes"})
-            RequestEntity requestEntity = new RequestEntity(body, headers, HttpMethod.POST, URI.create(redirectUrl));
-            restTemplate.getMessageConverters().set(1, new StringHttpMessageConverter(StandardCharsets.UTF_8));
-            ResponseEntity<String> result = restTemplate.exchange(requestEntity, String.class);
-            HttpHeaders resultHeaders = result.getHeaders();
-            log.info("resultHeaders {}", resultHeaders);
-            MediaType contentType = resultHeaders.getContentType();
-            if (contentType != null) {
-                resp.setContentType(contentType.toString());
-            }
-            resp.setCharacterEncoding("UTF-8");
-            resp.setStatus(result.getStatusCode().value());
-            resp.getWriter().write(Objects.requireNonNull(result.getBody()));
+            HttpHeaders headers = parseRequestHeader(req);
+            restTemplate.execute(URI.create(redirectUrl), HttpMethod.POST, forwardRequest -> {
+                forwardRequest.getHeaders().putAll(headers);
+                if (forwardRequest instanceof StreamingHttpOutputMessage streamingRequest) {
+                    streamingRequest.setBody(out -> StreamUtils.copy(req.getInputStream(), out));
+                } else {
+                    StreamUtils.copy(req.getInputStream(), forwardRequest.getBody());
+                }
+            }, forwardResponse -> {
+                writeResponse(forwardResponse, resp);
+                return null;
+            });
         } else {
             if (uri.startsWith("/api/v1alpha1") && !include.contains(uri)) {
                 response.setContentType("application/json");
@@ -151,15 +169,27 @@ public class EdgeRequestFilter implements Filter, Ordered {
         return Ordered.HIGHEST_PRECEDENCE;
     }
 
-    private byte[] parseRequestBody(HttpServletRequest request) throws IOException {
-        InputStream inputStream = request.getInputStream();
-        return StreamUtils.copyToByteArray(inputStream);
+    private void writeResponse(ClientHttpResponse forwardResponse, HttpServletResponse resp) throws IOException {
+        HttpHeaders resultHeaders = forwardResponse.getHeaders();
+        log.debug("resultHeaders {}", resultHeaders);
+        resp.setStatus(forwardResponse.getStatusCode().value());
+        for (String headerName : RESPONSE_HEADERS) {
+            List<String> values = resultHeaders.get(headerName);
+            if (values != null) {
+                values.forEach(value -> resp.addHeader(headerName, value));
+            }
+        }
+        StreamUtils.copy(forwardResponse.getBody(), resp.getOutputStream());
+        resp.flushBuffer();
     }
 
-    private MultiValueMap<String, String> parseRequestHeader(HttpServletRequest request) {
+    private HttpHeaders parseRequestHeader(HttpServletRequest request) {
         HttpHeaders httpHeaders = new HttpHeaders();
         List<String> headerNames = Collections.list(request.getHeaderNames());
         for (String headerName : headerNames) {
+            if (HOP_BY_HOP_HEADERS.contains(headerName.toLowerCase(Locale.ROOT))) {
+                continue;
+            }
             List<String> headerValues = Collections.list(request.getHeaders(headerName));
             for (String headerValue : headerValues) {
                 httpHeaders.add(headerName, headerValue);
@@ -169,24 +199,20 @@ public class EdgeRequestFilter implements Filter, Ordered {
         httpHeaders.add("host", routeHeader);
         httpHeaders.add("kuscia-origin-source", nodeId);
         httpHeaders.remove("accept-encoding");
-        log.info("httpHeaders {}", httpHeaders);
+        log.debug("httpHeaders {}", httpHeaders);
         return httpHeaders;
     }
 
     private void checkUserLogin(HttpServletRequest request) {
         String token = AuthUtils.findTokenInHeader(request);
-        Optional<TokensDO> tokensDO = userTokensRepository.findByToken(token);
-        if (tokensDO.isEmpty()) {
+        Optional<TokenSessionCache.Session> session = tokenSessionCache.get(token);
+        if (session.isEmpty()) {
             throw SecretpadException.of(AuthErrorCode.AUTH_FAILED, "Cannot find token in db, user not login in.");
         }
-        LocalDateTime now = LocalDateTime.now();
-        LocalDateTime gmtToken = tokensDO.get().getGmtToken();
-        long until = gmtToken.until(now, ChronoUnit.SECONDS);
-        if (until > EXPIRE) {
+        if (session.get().isExpired(LocalDateTime.now())) {
             throw SecretpadException.of(AuthErrorCode.AUTH_FAILED, "The login session is expire, please login again.");
         }
-        String sessionData = tokensDO.get().getSessionData();
-        if (StringUtils.isBlank(sessionData)) {
+        if (session.get().getUser() == null) {
             throw SecretpadException.of(AuthErrorCode.AUTH_FAILED, "The login session is null, please login again.");
         }
     }
@@ -197,4 +223,4 @@ public class EdgeRequestFilter implements Filter, Ordered {
         }
         return jacksonObjectMapper.writeValueAsString(object);
     }
-}
\ No newline at end of file
+}
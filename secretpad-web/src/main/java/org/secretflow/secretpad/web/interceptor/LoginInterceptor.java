@@ -24,12 +24,9 @@ import org.secretflow.secretpad.common.enums.UserOwnerTypeEnum;
 import org.secretflow.secretpad.common.errorcode.AuthErrorCode;
 import org.secretflow.secretpad.common.exception.SecretpadException;
 import org.secretflow.secretpad.common.util.UserContext;
-import org.secretflow.secretpad.persistence.entity.ProjectNodeDO;
-import org.secretflow.secretpad.persistence.entity.TokensDO;
-import org.secretflow.secretpad.persistence.repository.ProjectNodeRepository;
-import org.secretflow.secretpad.persistence.repository.UserTokensRepository;
 import org.secretflow.secretpad.service.EnvService;
-import org.secretflow.secretpad.service.SysResourcesBizService;
+import org.secretflow.secretpad.service.auth.PermissionCache;
+import org.secretflow.secretpad.service.auth.TokenSessionCache;
 import org.secretflow.secretpad.web.util.AuthUtils;
 
 import jakarta.annotation.Resource;
@@ -47,11 +44,7 @@ import org.springframework.web.servlet.HandlerInterceptor;
 import java.io.IOException;
 import java.io.PrintWriter;
 import java.time.LocalDateTime;
-import java.time.temporal.ChronoUnit;
-import java.util.List;
 import java.util.Optional;
-import java.util.Set;
-import java.util.stream.Collectors;
 
 /**
  * Login interceptor
@@ -63,19 +56,11 @@ import java.util.stream.Collectors;
 @Slf4j
 public class LoginInterceptor implements HandlerInterceptor {
 
-    /**
-     * Expiration time
-     * one hour
-     */
-    private static final long EXPIRE = 60 * 60 * 24;
+    private final TokenSessionCache tokenSessionCache;
 
-    private final UserTokensRepository userTokensRepository;
-
-    private final ProjectNodeRepository projectNodeRepository;
+    private final PermissionCache permissionCache;
     private final EnvService envService;
 
-    private final SysResourcesBizService sysResourcesBizService;
-
     @Value("${secretpad.auth.enabled:true}")
     private boolean enable;
 
@@ -89,12 +74,10 @@ public class LoginInterceptor implements HandlerInterceptor {
     private InnerPortPathConfig innerPortPathConfig;
 
     @Autowired
-    public LoginInterceptor(UserTokensRepository userTokensRepository, EnvService envService,
-                            SysResourcesBizService sysResourcesBizService, ProjectNodeRepository projectNodeRepository) {
-        this.userTokensRepository = userTokensRepository;
+    public LoginInterceptor(TokenSessionCache tokenSessionCache, EnvService envService, PermissionCache permissionCache) {
+        this.tokenSessionCache = tokenSessionCache;
         this.envService = envService;
-        this.sysResourcesBizService = sysResourcesBizService;
-        this.projectNodeRepository = projectNodeRepository;
+        this.permissionCache = permissionCache;
     }
 
     private UserContextDTO createTmpUserForPlatformType(PlatformTypeEnum platformType) {
@@ -167,17 +150,9 @@ public class LoginInterceptor implements HandlerInterceptor {
         virtualUser.setPlatformNodeId(envService.getPlatformNodeId());
         virtualUser.setDeployMode(deployMode);
 
-
-        // TODO cache
-
-        // fill project id
-        List<ProjectNodeDO> byNodeId = projectNodeRepository.findByNodeId(sourceNodeId);
-        Set<String> projectIds = byNodeId.stream().map(t -> t.getUpk().getProjectId()).collect(Collectors.toSet());
-        virtualUser.setProjectIds(projectIds);
-
-        // fill interface resource
-        Set<String> resourceCodeSet = sysResourcesBizService.queryResourceCodeByUsername(PermissionUserTypeEnum.NODE, ResourceTypeEnum.API, sourceNodeId);
-        virtualUser.setApiResources(resourceCodeSet);
+        // fill project id and interface resource, both resolved from the permission cache
+        virtualUser.setProjectIds(permissionCache.projectIds(sourceNodeId));
+        virtualUser.setApiResources(permissionCache.resourceCodes(PermissionUserTypeEnum.NODE, ResourceTypeEnum.API, sourceNodeId));
 
         UserContext.setBaseUser(virtualUser);
     }
@@ -185,30 +160,20 @@ public class LoginInterceptor implements HandlerInterceptor {
     private void processByUserRequest(HttpServletRequest request, HttpServletResponse response) {
         refuseByOutPortInvokeInnerPort(request, response);
         String token = AuthUtils.findTokenInHeader(request);
-        Optional<TokensDO> tokensDO = userTokensRepository.findByToken(token);
-        if (tokensDO.isEmpty()) {
+        Optional<TokenSessionCache.Session> session = tokenSessionCache.get(token);
+        if (session.isEmpty()) {
             throw SecretpadException.of(AuthErrorCode.AUTH_FAILED, "login is required");
         }
-        LocalDateTime now = LocalDateTime.now();
-        LocalDateTime gmtToken = tokensDO.get().getGmtToken();
-        long until = gmtToken.until(now, ChronoUnit.SECONDS);
-        if (until > EXPIRE) {
+        if (session.get().isExpired(LocalDateTime.now())) {
+            tokenSessionCache.evict(token);
             throw SecretpadException.of(AuthErrorCode.AUTH_FAILED, "login is expire, please login again.");
         }
-        userTokensRepository.saveAndFlush(
-                TokensDO.builder()
-                        .name(tokensDO.get().getName())
-                        .token(tokensDO.get().getToken())
-                        .gmtToken(LocalDateTime.now())
-                        .sessionData(tokensDO.get().getSessionData())
-                        .build()
-        );
-
-        String sessionData = tokensDO.get().getSessionData();
-        if (StringUtils.isBlank(sessionData)) {
+        UserContextDTO userContextDTO = session.get().getUser();
+        if (userContextDTO == null) {
             throw SecretpadException.of(AuthErrorCode.AUTH_FAILED, "login is required");
         }
-        UserContextDTO userContextDTO = UserContextDTO.fromJson(sessionData);
+        // token use time is written back by the session cache
+        tokenSessionCache.touch(session.get());
         UserContext.setBaseUser(userContextDTO);
     }
 
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2024 Ant Group Co., Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.secretflow.secretpad.web.interceptor;
+
+import org.secretflow.secretpad.common.util.RequestTimings;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records database and kuscia time of each controller call, tagged by controller method
+ */
+@Component
+public class RequestMetricsInterceptor implements HandlerInterceptor {
+
+    public static final String METRIC_PREFIX = "secretpad.request";
+
+    private final MeterRegistry meterRegistry;
+
+    public RequestMetricsInterceptor(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (handler instanceof HandlerMethod) {
+            RequestTimings.start();
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        RequestTimings timings = RequestTimings.current();
+        RequestTimings.remove();
+        if (timings == null || !(handler instanceof HandlerMethod handlerMethod)) {
+            return;
+        }
+        String endpoint = handlerMethod.getBeanType().getSimpleName() + "." + handlerMethod.getMethod().getName();
+        timer(METRIC_PREFIX + ".db", endpoint).record(timings.getDbNanos(), TimeUnit.NANOSECONDS);
+        if (timings.getRpcCalls() > 0) {
+            timer(METRIC_PREFIX + ".kuscia", endpoint).record(timings.getRpcNanos(), TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Timer timer(String name, String endpoint) {
+        return Timer.builder(name)
+                .tag("endpoint", endpoint)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofMillis(1))
+                .maximumExpectedValue(Duration.ofSeconds(30))
+                .register(meterRegistry);
+    }
+}
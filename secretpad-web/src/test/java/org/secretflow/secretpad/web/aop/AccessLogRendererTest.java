@@ -0,0 +1,93 @@
+/*
+ * Copyright 2024 Ant Group Co., Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.secretflow.secretpad.web.aop;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+class AccessLogRendererTest {
+
+    private final AccessLogRenderer renderer = new AccessLogRenderer(32, new ObjectMapper());
+
+    @Test
+    void renderSmallValues() {
+        Assertions.assertEquals("null", renderer.render(null));
+        Assertions.assertEquals("42", renderer.render(42));
+        Assertions.assertEquals("alice", renderer.render("alice"));
+        Assertions.assertEquals("{\"name\":\"alice\"}", renderer.render(Map.of("name", "alice")));
+    }
+
+    @Test
+    void capLongText() {
+        String rendered = renderer.render("x".repeat(1000));
+        Assertions.assertEquals("x".repeat(32) + "...(1000 chars)", rendered);
+    }
+
+    @Test
+    void stopSerializationAtCap() {
+        AtomicInteger visited = new AtomicInteger();
+        List<Item> items = IntStream.range(0, 100_000).mapToObj(i -> new Item(i, visited)).toList();
+
+        String rendered = renderer.render(items);
+
+        Assertions.assertTrue(rendered.endsWith("...(truncated)"));
+        Assertions.assertTrue(rendered.length() <= 32 + "...(truncated)".length());
+        // the serializer gives up near the cap instead of rendering the whole list
+        Assertions.assertTrue(visited.get() < 10_000, "visited " + visited.get());
+    }
+
+    @Test
+    void skipBinaryValues() {
+        Assertions.assertEquals("byte[1048576]", renderer.render(new byte[1 << 20]));
+        Assertions.assertEquals("ByteArrayResource", renderer.render(new ByteArrayResource(new byte[16])));
+        Assertions.assertEquals("status=200 body=byte[4]", renderer.render(ResponseEntity.ok(new byte[4])));
+    }
+
+    @Test
+    void fallBackToTypeName() {
+        Assertions.assertEquals("Unserializable", renderer.render(new Unserializable()));
+    }
+
+    static class Item {
+        private final int id;
+        private final AtomicInteger visited;
+
+        Item(int id, AtomicInteger visited) {
+            this.id = id;
+            this.visited = visited;
+        }
+
+        public int getId() {
+            visited.incrementAndGet();
+            return id;
+        }
+    }
+
+    static class Unserializable {
+        public Object getSelf() {
+            throw new IllegalStateException("not serializable");
+        }
+    }
+}
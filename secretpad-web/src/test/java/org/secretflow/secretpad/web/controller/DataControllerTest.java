@@ -18,6 +18,7 @@ package org.secretflow.secretpad.web.controller;
 
 import org.secretflow.secretpad.common.constant.resource.ApiResourceCodeConstants;
 import org.secretflow.secretpad.common.enums.DataSourceTypeEnum;
+import org.secretflow.secretpad.common.errorcode.DataErrorCode;
 import org.secretflow.secretpad.common.util.JsonUtils;
 import org.secretflow.secretpad.common.util.UserContext;
 import org.secretflow.secretpad.kuscia.v1alpha1.service.impl.KusciaGrpcClientAdapter;
@@ -30,25 +31,45 @@ import org.secretflow.secretpad.persistence.repository.ProjectGraphRepository;
 import org.secretflow.secretpad.persistence.repository.ProjectJobRepository;
 import org.secretflow.secretpad.persistence.repository.ProjectRepository;
 import org.secretflow.secretpad.persistence.repository.ProjectResultRepository;
+import org.secretflow.secretpad.service.impl.DataServiceImpl;
+import org.secretflow.secretpad.service.model.common.SecretPadResponse;
+import org.secretflow.secretpad.service.model.data.ChunkUploadRequest;
 import org.secretflow.secretpad.service.model.data.CreateDataRequest;
 import org.secretflow.secretpad.service.model.data.DownloadDataRequest;
+import org.secretflow.secretpad.service.model.data.InitChunkUploadRequest;
 import org.secretflow.secretpad.web.utils.FakerUtils;
 
+import jakarta.annotation.Resource;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.apache.commons.lang3.StringUtils;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.secretflow.v1alpha1.kusciaapi.Domaindata;
 import org.secretflow.v1alpha1.kusciaapi.Domaindatasource;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 
@@ -80,6 +101,9 @@ class DataControllerTest extends ControllerTest {
     @MockBean
     private KusciaGrpcClientAdapter kusciaGrpcClientAdapter;
 
+    @Resource
+    private DataServiceImpl dataService;
+
     @BeforeEach
     public void setUp() {
         Domaindatasource.QueryDomainDataSourceResponse response = Domaindatasource.QueryDomainDataSourceResponse.newBuilder()
@@ -101,6 +125,100 @@ class DataControllerTest extends ControllerTest {
         });
     }
 
+    @Test
+    void initChunkUpload() throws Exception {
+        assertResponse(() -> {
+            InitChunkUploadRequest request = InitChunkUploadRequest.builder()
+                    .nodeId(FakerUtils.fake(String.class))
+                    .fileName("test.csv")
+                    .build();
+            return MockMvcRequestBuilders.post(getMappingUrl(DataController.class, "initChunkUpload", InitChunkUploadRequest.class))
+                    .content(JsonUtils.toJSONString(request));
+        });
+    }
+
+    @Test
+    void chunkUploadStatusNotExists() throws Exception {
+        assertErrorCode(() -> {
+            ChunkUploadRequest request = ChunkUploadRequest.builder()
+                    .nodeId(FakerUtils.fake(String.class))
+                    .uploadId("notExists")
+                    .build();
+            return MockMvcRequestBuilders.post(getMappingUrl(DataController.class, "chunkUploadStatus", ChunkUploadRequest.class))
+                    .content(JsonUtils.toJSONString(request));
+        }, DataErrorCode.FILE_NOT_EXISTS_ERROR);
+    }
+
+    @Test
+    void chunkUploadResumeAndComplete() throws Exception {
+        String nodeId = "chunkNodeId";
+        Map<?, ?> init = chunkResponseData(MockMvcRequestBuilders.post(getMappingUrl(DataController.class, "initChunkUpload", InitChunkUploadRequest.class))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(JsonUtils.toJSONString(InitChunkUploadRequest.builder().nodeId(nodeId).fileName("test.csv").build())));
+        String uploadId = (String) init.get("uploadId");
+        Assertions.assertEquals(0, ((Number) init.get("offset")).intValue());
+
+        Map<?, ?> first = chunkResponseData(uploadChunk(nodeId, uploadId, 0, "id,age\n1,"));
+        Assertions.assertEquals(9, ((Number) first.get("offset")).intValue());
+
+        // a chunk sent again after a lost response does not match the received size
+        MockHttpServletResponse resent = mockMvc.perform(uploadChunk(nodeId, uploadId, 0, "id,age\n1,").accept(MediaType.APPLICATION_JSON))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andReturn().getResponse();
+        Assertions.assertEquals(DataErrorCode.ILLEGAL_PARAMS_ERROR.getCode(),
+                JsonUtils.toJavaObject(resent.getContentAsString(), SecretPadResponse.class).getStatus().getCode());
+
+        Map<?, ?> status = chunkResponseData(MockMvcRequestBuilders.post(getMappingUrl(DataController.class, "chunkUploadStatus", ChunkUploadRequest.class))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(JsonUtils.toJSONString(ChunkUploadRequest.builder().nodeId(nodeId).uploadId(uploadId).build())));
+        Assertions.assertEquals(9, ((Number) status.get("offset")).intValue());
+
+        chunkResponseData(uploadChunk(nodeId, uploadId, 9, "18\n"));
+        Map<?, ?> result = chunkResponseData(MockMvcRequestBuilders.post(getMappingUrl(DataController.class, "completeChunkUpload", ChunkUploadRequest.class))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(JsonUtils.toJSONString(ChunkUploadRequest.builder().nodeId(nodeId).uploadId(uploadId).build())));
+        Assertions.assertEquals("test.csv", result.get("name"));
+        Assertions.assertEquals(List.of("id", "age"), result.get("columns"));
+        Path target = Paths.get("./tmp/", nodeId, (String) result.get("realName"));
+        Assertions.assertEquals("id,age\n1,18\n", Files.readString(target));
+        Assertions.assertFalse(Files.exists(Paths.get(target + ".part")));
+
+        // the upload is gone once completed
+        assertErrorCode(() -> MockMvcRequestBuilders.post(getMappingUrl(DataController.class, "chunkUploadStatus", ChunkUploadRequest.class))
+                .content(JsonUtils.toJSONString(ChunkUploadRequest.builder().nodeId(nodeId).uploadId(uploadId).build())), DataErrorCode.FILE_NOT_EXISTS_ERROR);
+    }
+
+    @Test
+    void purgeOrphanChunkParts() throws Exception {
+        Path nodeDir = Files.createDirectories(Paths.get("./tmp/", "orphanNodeId"));
+        Path orphan = Files.writeString(nodeDir.resolve("orphan.csv.part"), "id,age\n");
+        Files.setLastModifiedTime(orphan, FileTime.fromMillis(System.currentTimeMillis() - Duration.ofHours(2).toMillis()));
+        Path recent = Files.writeString(nodeDir.resolve("recent.csv.part"), "id,age\n");
+
+        dataService.purgeIdleChunkUploads();
+
+        Assertions.assertFalse(Files.exists(orphan));
+        Assertions.assertTrue(Files.exists(recent));
+    }
+
+    private MockHttpServletRequestBuilder uploadChunk(String nodeId, String uploadId, long offset, String content) {
+        return MockMvcRequestBuilders.post(getMappingUrl(DataController.class, "uploadChunk", String.class, String.class, long.class, HttpServletRequest.class))
+                .param("Node-Id", nodeId)
+                .param("uploadId", uploadId)
+                .param("offset", String.valueOf(offset))
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .content(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private Map<?, ?> chunkResponseData(MockHttpServletRequestBuilder builder) throws Exception {
+        MockHttpServletResponse response = mockMvc.perform(builder.accept(MediaType.APPLICATION_JSON))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andReturn().getResponse();
+        SecretPadResponse<?> secretPadResponse = JsonUtils.toJavaObject(response.getContentAsString(), SecretPadResponse.class);
+        Assertions.assertEquals(0, secretPadResponse.getStatus().getCode());
+        return (Map<?, ?>) secretPadResponse.getData();
+    }
+
     @Test
     void createData() throws Exception {
         assertResponse(() -> {
@@ -181,11 +299,92 @@ class DataControllerTest extends ControllerTest {
                             .build()))
                     .thenReturn(domainDataResponse);
 
-            return MockMvcRequestBuilders.post(getMappingUrl(DataController.class, "download", HttpServletResponse.class, DownloadDataRequest.class))
+            return MockMvcRequestBuilders.post(getMappingUrl(DataController.class, "download", HttpServletRequest.class, HttpServletResponse.class, DownloadDataRequest.class))
                     .header("User-Agent", userAgent).content(JsonUtils.toJSONString(request));
         });
     }
 
+    @Test
+    void downloadRange() throws Exception {
+        DownloadDataRequest request = mockDownload("rangeFile", "0123456789");
+        MockHttpServletResponse response = mockMvc.perform(downloadRequest(request).header(HttpHeaders.RANGE, "bytes=2-5"))
+                .andExpect(MockMvcResultMatchers.status().isPartialContent())
+                .andReturn().getResponse();
+        Assertions.assertEquals("2345", response.getContentAsString());
+        Assertions.assertEquals("bytes 2-5/10", response.getHeader(HttpHeaders.CONTENT_RANGE));
+        Assertions.assertEquals(4, response.getContentLength());
+
+        // a range of a changed file is served as the whole file
+        response = mockMvc.perform(downloadRequest(request).header(HttpHeaders.RANGE, "bytes=2-5").header(HttpHeaders.IF_RANGE, "\"changed\""))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andReturn().getResponse();
+        Assertions.assertEquals("0123456789", response.getContentAsString());
+    }
+
+    @Test
+    void downloadNotModified() throws Exception {
+        DownloadDataRequest request = mockDownload("etagFile", "0123456789");
+        MockHttpServletResponse response = mockMvc.perform(downloadRequest(request))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andReturn().getResponse();
+        String etag = response.getHeader(HttpHeaders.ETAG);
+        Assertions.assertNotNull(etag);
+        Assertions.assertEquals("0123456789", response.getContentAsString());
+
+        response = mockMvc.perform(downloadRequest(request).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(MockMvcResultMatchers.status().isNotModified())
+                .andReturn().getResponse();
+        Assertions.assertEquals(0, response.getContentAsByteArray().length);
+    }
+
+    @Test
+    void downloadRangeNotSatisfiable() throws Exception {
+        DownloadDataRequest request = mockDownload("unsatisfiableFile", "0123456789");
+        MockHttpServletResponse response = mockMvc.perform(downloadRequest(request).header(HttpHeaders.RANGE, "bytes=20-30"))
+                .andExpect(MockMvcResultMatchers.status().isRequestedRangeNotSatisfiable())
+                .andReturn().getResponse();
+        Assertions.assertEquals("bytes */10", response.getHeader(HttpHeaders.CONTENT_RANGE));
+    }
+
+    private MockHttpServletRequestBuilder downloadRequest(DownloadDataRequest request) {
+        return MockMvcRequestBuilders.post(getMappingUrl(DataController.class, "download", HttpServletRequest.class, HttpServletResponse.class, DownloadDataRequest.class))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(JsonUtils.toJSONString(request));
+    }
+
+    private DownloadDataRequest mockDownload(String relativeUri, String content) throws IOException {
+        DownloadDataRequest request = FakerUtils.fake(DownloadDataRequest.class);
+        request.setNodeId("mockMvcNodeId");
+        Path file = Paths.get("./tmp/", request.getNodeId(), relativeUri);
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, content);
+
+        ProjectResultDO projectResultDO = FakerUtils.fake(ProjectResultDO.class);
+        projectResultDO.setGmtCreate(LocalDateTime.now());
+        Mockito.when(projectResultRepository.findByNodeIdAndRefId(request.getNodeId(), request.getDomainDataId()))
+                .thenReturn(Optional.of(projectResultDO));
+        ProjectDO projectDO = FakerUtils.fake(ProjectDO.class);
+        Mockito.when(projectRepository.findById(projectResultDO.getUpk().getProjectId()))
+                .thenReturn(Optional.of(projectDO));
+        ProjectJobDO projectJobDO = FakerUtils.fake(ProjectJobDO.class);
+        Mockito.when(projectJobRepository.findByJobId(projectResultDO.getJobId()))
+                .thenReturn(Optional.of(projectJobDO));
+        ProjectGraphDO projectGraphDO = FakerUtils.fake(ProjectGraphDO.class);
+        Mockito.when(projectGraphRepository.findByGraphId(projectJobDO.getGraphId(), projectDO.getProjectId()))
+                .thenReturn(Optional.of(projectGraphDO));
+        Domaindata.QueryDomainDataResponse domainDataResponse = Domaindata.QueryDomainDataResponse.newBuilder()
+                .setData(Domaindata.DomainData.newBuilder().setRelativeUri(relativeUri).setType("table").build())
+                .build();
+        Mockito.when(kusciaGrpcClientAdapter.queryDomainData(Domaindata.QueryDomainDataRequest.newBuilder()
+                        .setData(Domaindata.QueryDomainDataRequestData.newBuilder()
+                                .setDomainId(request.getNodeId())
+                                .setDomaindataId(request.getDomainDataId())
+                                .build())
+                        .build()))
+                .thenReturn(domainDataResponse);
+        return request;
+    }
+
     /**
      * downloadFileExists with domainData type is model
      * @throws Exception
@@ -231,7 +430,7 @@ class DataControllerTest extends ControllerTest {
                             .build()))
                     .thenReturn(domainDataResponse);
 
-            return MockMvcRequestBuilders.post(getMappingUrl(DataController.class, "download", HttpServletResponse.class, DownloadDataRequest.class))
+            return MockMvcRequestBuilders.post(getMappingUrl(DataController.class, "download", HttpServletRequest.class, HttpServletResponse.class, DownloadDataRequest.class))
                     .header("User-Agent", userAgent).content(JsonUtils.toJSONString(request));
         });
     }
@@ -281,7 +480,7 @@ class DataControllerTest extends ControllerTest {
                             .build()))
                     .thenReturn(domainDataResponse);
 
-            return MockMvcRequestBuilders.post(getMappingUrl(DataController.class, "download", HttpServletResponse.class, DownloadDataRequest.class))
+            return MockMvcRequestBuilders.post(getMappingUrl(DataController.class, "download", HttpServletRequest.class, HttpServletResponse.class, DownloadDataRequest.class))
                     .header("User - Agent", userAgent).content(JsonUtils.toJSONString(request));
         });
     }
@@ -333,7 +532,7 @@ class DataControllerTest extends ControllerTest {
                             .build()))
                     .thenReturn(domainDataResponse);
 
-            return MockMvcRequestBuilders.post(getMappingUrl(DataController.class, "download", HttpServletResponse.class, DownloadDataRequest.class))
+            return MockMvcRequestBuilders.post(getMappingUrl(DataController.class, "download", HttpServletRequest.class, HttpServletResponse.class, DownloadDataRequest.class))
                     .header("User-Agent", userAgent).content(JsonUtils.toJSONString(request));
         });
     }
@@ -382,7 +581,7 @@ class DataControllerTest extends ControllerTest {
                             .build()))
                     .thenReturn(domainDataResponse);
 
-            return MockMvcRequestBuilders.post(getMappingUrl(DataController.class, "download", HttpServletResponse.class, DownloadDataRequest.class))
+            return MockMvcRequestBuilders.post(getMappingUrl(DataController.class, "download", HttpServletRequest.class, HttpServletResponse.class, DownloadDataRequest.class))
                     .header("User-Agent", userAgent).content(JsonUtils.toJSONString(request));
         });
     }
@@ -431,7 +630,7 @@ class DataControllerTest extends ControllerTest {
                             .build()))
                     .thenReturn(domainDataResponse);
 
-            return MockMvcRequestBuilders.post(getMappingUrl(DataController.class, "download", HttpServletResponse.class, DownloadDataRequest.class))
+            return MockMvcRequestBuilders.post(getMappingUrl(DataController.class, "download", HttpServletRequest.class, HttpServletResponse.class, DownloadDataRequest.class))
                     .header("User-Agent", userAgent).content(JsonUtils.toJSONString(request));
         });
     }
@@ -22,21 +22,26 @@ import org.secretflow.secretpad.common.constant.ProjectConstants;
 import org.secretflow.secretpad.common.constant.resource.ApiResourceCodeConstants;
 import org.secretflow.secretpad.common.enums.PlatformTypeEnum;
 import org.secretflow.secretpad.common.enums.ProjectStatusEnum;
+import org.secretflow.secretpad.common.errorcode.GraphErrorCode;
 import org.secretflow.secretpad.common.errorcode.SystemErrorCode;
 import org.secretflow.secretpad.common.util.JsonUtils;
 import org.secretflow.secretpad.common.util.UserContext;
 import org.secretflow.secretpad.kuscia.v1alpha1.service.impl.KusciaGrpcClientAdapter;
 import org.secretflow.secretpad.persistence.entity.*;
 import org.secretflow.secretpad.persistence.model.GraphEdgeDO;
+import org.secretflow.secretpad.persistence.model.GraphNodeTaskStatus;
 import org.secretflow.secretpad.persistence.model.ParticipantNodeInstVO;
 import org.secretflow.secretpad.persistence.repository.*;
 import org.secretflow.secretpad.service.enums.VoteTypeEnum;
 import org.secretflow.secretpad.service.impl.EnvServiceImpl;
+import org.secretflow.secretpad.service.model.common.SecretPadResponse;
 import org.secretflow.secretpad.service.model.graph.*;
 import org.secretflow.secretpad.web.utils.FakerUtils;
 
 import com.google.common.collect.Lists;
 import jakarta.annotation.Resource;
+import jakarta.servlet.http.HttpServletRequest;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
@@ -44,11 +49,22 @@ import org.secretflow.v1alpha1.common.Common;
 import org.secretflow.v1alpha1.kusciaapi.DomainOuterClass;
 import org.secretflow.v1alpha1.kusciaapi.Domaindatasource;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.UnsupportedEncodingException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.stream.IntStream;
 
 import static org.mockito.Mockito.doNothing;
 
@@ -98,6 +114,15 @@ class GraphControllerTest extends ControllerTest {
     @MockBean
     private ProjectApprovalConfigRepository projectApprovalConfigRepository;
 
+    @Resource
+    private ProjectJobTaskLogRepository jobTaskLogRepository;
+
+    @Resource
+    private ApplicationEventPublisher applicationEventPublisher;
+
+    @Resource
+    private TransactionTemplate transactionTemplate;
+
     private ProjectNodeDO buildProjectNodeDO() {
         return ProjectNodeDO.builder().upk(new ProjectNodeDO.UPK(PROJECT_ID, "alice")).build();
     }
@@ -113,7 +138,7 @@ class GraphControllerTest extends ControllerTest {
     void listComponentI18n() throws Exception {
         assertResponse(() -> {
             doNothing().when(dataProxyService).updateDataSourceUseDataProxyInMaster();
-            return MockMvcRequestBuilders.post(getMappingUrl(GraphController.class, "listComponentI18n"));
+            return MockMvcRequestBuilders.post(getMappingUrl(GraphController.class, "listComponentI18n", HttpServletRequest.class));
         });
     }
 
@@ -121,10 +146,21 @@ class GraphControllerTest extends ControllerTest {
     void listComponents() throws Exception {
         assertResponse(() -> {
             doNothing().when(dataProxyService).updateDataSourceUseDataProxyInMaster();
-            return MockMvcRequestBuilders.post(getMappingUrl(GraphController.class, "listComponents"));
+            return MockMvcRequestBuilders.post(getMappingUrl(GraphController.class, "listComponents", HttpServletRequest.class));
         });
     }
 
+    @Test
+    void listComponentsNotModified() throws Exception {
+        String url = getMappingUrl(GraphController.class, "listComponents", HttpServletRequest.class);
+        String etag = mockMvc.perform(MockMvcRequestBuilders.post(url).contentType(MediaType.APPLICATION_JSON))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        Assertions.assertNotNull(etag);
+        mockMvc.perform(MockMvcRequestBuilders.post(url).contentType(MediaType.APPLICATION_JSON).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(MockMvcResultMatchers.status().isNotModified());
+    }
+
     @Test
     void createGraph() throws Exception {
         assertResponse(() -> {
@@ -260,6 +296,127 @@ class GraphControllerTest extends ControllerTest {
         }, SystemErrorCode.VALIDATION_ERROR);
     }
 
+    @Test
+    void patchGraph() throws Exception {
+        assertResponse(() -> {
+            PatchGraphRequest patchGraphRequest = FakerUtils.fake(PatchGraphRequest.class);
+            patchGraphRequest.setProjectId(PROJECT_ID);
+            patchGraphRequest.setVersion(3L);
+
+            UserContext.getUser().setApiResources(Set.of(ApiResourceCodeConstants.GRAPH_UPDATE));
+            Mockito.when(projectNodeRepository.findById(Mockito.any())).thenReturn(Optional.of(buildProjectNodeDO()));
+            ProjectGraphDO projectGraphDO = FakerUtils.fake(ProjectGraphDO.class);
+            projectGraphDO.setOwnerId(UserContext.getUser().getOwnerId());
+            projectGraphDO.setVersion(3L);
+            projectGraphDO.setNodes(new ArrayList<>(List.of(GraphNodeInfo.toDO(PROJECT_ID, patchGraphRequest.getGraphId(), patchGraphRequest.getUpsertNodes().get(0)))));
+            String nodeId = patchGraphRequest.getUpsertNodes().get(0).getGraphNodeId();
+            patchGraphRequest.setUpsertEdges(List.of(new GraphEdge("e1", nodeId, "out", nodeId, "in")));
+            Mockito.when(graphRepository.findById(Mockito.any()))
+                    .thenReturn(Optional.of(projectGraphDO));
+            Mockito.when(graphRepository.increaseVersion(PROJECT_ID, patchGraphRequest.getGraphId(), 3L)).thenReturn(1);
+            return MockMvcRequestBuilders.post(getMappingUrl(GraphController.class, "patchGraph", PatchGraphRequest.class))
+                    .content(JsonUtils.toJSONString(patchGraphRequest));
+        });
+    }
+
+    @Test
+    void patchGraphPrunesEdgesOfRemovedNodes() throws Exception {
+        ProjectGraphDO projectGraphDO = FakerUtils.fake(ProjectGraphDO.class);
+        assertResponse(() -> {
+            PatchGraphRequest patchGraphRequest = new PatchGraphRequest();
+            patchGraphRequest.setProjectId(PROJECT_ID);
+            patchGraphRequest.setGraphId(projectGraphDO.getUpk().getGraphId());
+            patchGraphRequest.setVersion(3L);
+            patchGraphRequest.setRemoveNodeIds(List.of("n2"));
+
+            UserContext.getUser().setApiResources(Set.of(ApiResourceCodeConstants.GRAPH_UPDATE));
+            Mockito.when(projectNodeRepository.findById(Mockito.any())).thenReturn(Optional.of(buildProjectNodeDO()));
+            projectGraphDO.setOwnerId(UserContext.getUser().getOwnerId());
+            projectGraphDO.setVersion(3L);
+            projectGraphDO.setNodes(new ArrayList<>(List.of(buildGraphNodeDO(projectGraphDO, "n1"), buildGraphNodeDO(projectGraphDO, "n2"),
+                    buildGraphNodeDO(projectGraphDO, "n3"))));
+            projectGraphDO.setEdges(new ArrayList<>(List.of(new GraphEdgeDO("e1", "n1", "out", "n2", "in"),
+                    new GraphEdgeDO("e2", "n2", "out", "n3", "in"), new GraphEdgeDO("e3", "n1", "out", "n3", "in"))));
+            Mockito.when(graphRepository.findById(Mockito.any()))
+                    .thenReturn(Optional.of(projectGraphDO));
+            Mockito.when(graphRepository.increaseVersion(PROJECT_ID, patchGraphRequest.getGraphId(), 3L)).thenReturn(1);
+            return MockMvcRequestBuilders.post(getMappingUrl(GraphController.class, "patchGraph", PatchGraphRequest.class))
+                    .content(JsonUtils.toJSONString(patchGraphRequest));
+        });
+        Assertions.assertEquals(List.of("e3"), projectGraphDO.getEdges().stream().map(GraphEdgeDO::getEdgeId).toList());
+        Assertions.assertEquals(4L, projectGraphDO.getVersion());
+    }
+
+    @Test
+    void patchGraphByEdgeToMissingNode() throws Exception {
+        assertErrorCode(() -> {
+            ProjectGraphDO projectGraphDO = FakerUtils.fake(ProjectGraphDO.class);
+            PatchGraphRequest patchGraphRequest = new PatchGraphRequest();
+            patchGraphRequest.setProjectId(PROJECT_ID);
+            patchGraphRequest.setGraphId(projectGraphDO.getUpk().getGraphId());
+            patchGraphRequest.setVersion(3L);
+            patchGraphRequest.setUpsertEdges(List.of(new GraphEdge("e1", "n1", "out", "missing", "in")));
+
+            UserContext.getUser().setApiResources(Set.of(ApiResourceCodeConstants.GRAPH_UPDATE));
+            Mockito.when(projectNodeRepository.findById(Mockito.any())).thenReturn(Optional.of(buildProjectNodeDO()));
+            projectGraphDO.setOwnerId(UserContext.getUser().getOwnerId());
+            projectGraphDO.setVersion(3L);
+            projectGraphDO.setNodes(new ArrayList<>(List.of(buildGraphNodeDO(projectGraphDO, "n1"))));
+            Mockito.when(graphRepository.findById(Mockito.any()))
+                    .thenReturn(Optional.of(projectGraphDO));
+            Mockito.when(graphRepository.increaseVersion(PROJECT_ID, patchGraphRequest.getGraphId(), 3L)).thenReturn(1);
+            return MockMvcRequestBuilders.post(getMappingUrl(GraphController.class, "patchGraph", PatchGraphRequest.class))
+                    .content(JsonUtils.toJSONString(patchGraphRequest));
+        }, GraphErrorCode.GRAPH_NODE_NOT_EXISTS);
+    }
+
+    @Test
+    void patchGraphByConcurrentPatch() throws Exception {
+        assertErrorCode(() -> {
+            PatchGraphRequest patchGraphRequest = FakerUtils.fake(PatchGraphRequest.class);
+            patchGraphRequest.setProjectId(PROJECT_ID);
+            patchGraphRequest.setVersion(3L);
+
+            UserContext.getUser().setApiResources(Set.of(ApiResourceCodeConstants.GRAPH_UPDATE));
+            Mockito.when(projectNodeRepository.findById(Mockito.any())).thenReturn(Optional.of(buildProjectNodeDO()));
+            ProjectGraphDO projectGraphDO = FakerUtils.fake(ProjectGraphDO.class);
+            projectGraphDO.setOwnerId(UserContext.getUser().getOwnerId());
+            projectGraphDO.setVersion(3L);
+            Mockito.when(graphRepository.findById(Mockito.any()))
+                    .thenReturn(Optional.of(projectGraphDO));
+            // another patch of version 3 updated the row first
+            Mockito.when(graphRepository.increaseVersion(PROJECT_ID, patchGraphRequest.getGraphId(), 3L)).thenReturn(0);
+            Mockito.when(graphRepository.findVersion(PROJECT_ID, patchGraphRequest.getGraphId())).thenReturn(4L);
+            return MockMvcRequestBuilders.post(getMappingUrl(GraphController.class, "patchGraph", PatchGraphRequest.class))
+                    .content(JsonUtils.toJSONString(patchGraphRequest));
+        }, GraphErrorCode.GRAPH_VERSION_CONFLICT);
+    }
+
+    private ProjectGraphNodeDO buildGraphNodeDO(ProjectGraphDO graphDO, String graphNodeId) {
+        ProjectGraphNodeDO nodeDO = FakerUtils.fake(ProjectGraphNodeDO.class);
+        nodeDO.setUpk(new ProjectGraphNodeDO.UPK(PROJECT_ID, graphDO.getUpk().getGraphId(), graphNodeId));
+        return nodeDO;
+    }
+
+    @Test
+    void patchGraphByVersionConflict() throws Exception {
+        assertErrorCode(() -> {
+            PatchGraphRequest patchGraphRequest = FakerUtils.fake(PatchGraphRequest.class);
+            patchGraphRequest.setProjectId(PROJECT_ID);
+            patchGraphRequest.setVersion(1L);
+
+            UserContext.getUser().setApiResources(Set.of(ApiResourceCodeConstants.GRAPH_UPDATE));
+            Mockito.when(projectNodeRepository.findById(Mockito.any())).thenReturn(Optional.of(buildProjectNodeDO()));
+            ProjectGraphDO projectGraphDO = FakerUtils.fake(ProjectGraphDO.class);
+            projectGraphDO.setOwnerId(UserContext.getUser().getOwnerId());
+            projectGraphDO.setVersion(2L);
+            Mockito.when(graphRepository.findById(Mockito.any()))
+                    .thenReturn(Optional.of(projectGraphDO));
+            return MockMvcRequestBuilders.post(getMappingUrl(GraphController.class, "patchGraph", PatchGraphRequest.class))
+                    .content(JsonUtils.toJSONString(patchGraphRequest));
+        }, GraphErrorCode.GRAPH_VERSION_CONFLICT);
+    }
+
     @Test
     void updateGraphNode() throws Exception {
         assertResponseWithEmptyData(() -> {
@@ -431,6 +588,7 @@ class GraphControllerTest extends ControllerTest {
             Mockito.when(projectRepository.findById(startGraphRequest.getProjectId()))
                     .thenReturn(Optional.of(ProjectDO.builder().computeMode(ProjectConstants.ComputeModeEnum.MPC.name()).build()));
             Mockito.when(datatableRepository.findByDatableId(Mockito.anyString(), Mockito.anyString())).thenReturn(Lists.newArrayList(buildProjectDatatableDO()));
+            Mockito.when(datatableRepository.findByDatableIds(Mockito.anyString(), Mockito.anyCollection())).thenReturn(Lists.newArrayList(buildProjectDatatableDO()));
 
             Mockito.when(datatableRepository.findById(Mockito.any(ProjectDatatableDO.UPK.class))).thenReturn(Optional.of(buildProjectDatatableDO()));
 
@@ -562,6 +720,8 @@ class GraphControllerTest extends ControllerTest {
         assertResponse(() -> {
             GraphNodeLogsRequest graphNodeLogsRequest = FakerUtils.fake(GraphNodeLogsRequest.class);
             graphNodeLogsRequest.setProjectId(PROJECT_ID);
+            graphNodeLogsRequest.setCursor(null);
+            graphNodeLogsRequest.setPageSize(null);
             doNothing().when(dataProxyService).updateDataSourceUseDataProxyInMaster();
 
             UserContext.getUser().setApiResources(Set.of(ApiResourceCodeConstants.GRAPH_NODE_LOGS));
@@ -578,6 +738,157 @@ class GraphControllerTest extends ControllerTest {
         });
     }
 
+    @Test
+    void getGraphNodeLogsAfterCursor() throws Exception {
+        ProjectTaskDO projectTaskDO = buildLogTask("logCursorJob", GraphNodeTaskStatus.RUNNING);
+        saveTaskLogs(projectTaskDO, "line 1", "line 2", "line 3");
+        GraphNodeLogsRequest request = buildGraphNodeLogsRequest(projectTaskDO, null, 2);
+
+        LinkedHashMap<?, ?> firstPage = postGraphNodeLogs(request);
+        Assertions.assertEquals(List.of("line 1", "line 2"), firstPage.get("logs"));
+        Assertions.assertEquals(Boolean.TRUE, firstPage.get("hasMore"));
+
+        request.setCursor(((Number) firstPage.get("nextCursor")).longValue());
+        LinkedHashMap<?, ?> lastPage = postGraphNodeLogs(request);
+        Assertions.assertEquals(List.of("line 3"), lastPage.get("logs"));
+        Assertions.assertEquals(Boolean.FALSE, lastPage.get("hasMore"));
+
+        request.setCursor(((Number) lastPage.get("nextCursor")).longValue());
+        Assertions.assertEquals(List.of(), postGraphNodeLogs(request).get("logs"));
+    }
+
+    @Test
+    void getGraphNodeLogsWithoutCursorReturnsWholeLog() throws Exception {
+        ProjectTaskDO projectTaskDO = buildLogTask("logWholeJob", GraphNodeTaskStatus.RUNNING);
+        String[] logs = IntStream.rangeClosed(1, 501).mapToObj(i -> "whole line " + i).toArray(String[]::new);
+        saveTaskLogs(projectTaskDO, logs);
+
+        LinkedHashMap<?, ?> wholeLog = postGraphNodeLogs(buildGraphNodeLogsRequest(projectTaskDO, null, null));
+        Assertions.assertEquals(List.of(logs), wholeLog.get("logs"));
+        Assertions.assertEquals(Boolean.FALSE, wholeLog.get("hasMore"));
+
+        LinkedHashMap<?, ?> firstPage = postGraphNodeLogs(buildGraphNodeLogsRequest(projectTaskDO, 0L, null));
+        Assertions.assertEquals(500, ((List<?>) firstPage.get("logs")).size());
+        Assertions.assertEquals(Boolean.TRUE, firstPage.get("hasMore"));
+    }
+
+    @Test
+    void watchGraphNodeLogsFinished() throws Exception {
+        ProjectTaskDO projectTaskDO = buildLogTask("logStreamJob", GraphNodeTaskStatus.SUCCEED);
+        saveTaskLogs(projectTaskDO, "stream line 1", "stream line 2");
+        GraphNodeLogsRequest request = buildGraphNodeLogsRequest(projectTaskDO, null, 1);
+
+        MvcResult mvcResult = mockMvc.perform(MockMvcRequestBuilders.post(getMappingUrl(GraphController.class, "watchGraphNodeLogs", GraphNodeLogsRequest.class))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.TEXT_EVENT_STREAM)
+                        .content(JsonUtils.toJSONString(request)))
+                .andExpect(MockMvcResultMatchers.request().asyncStarted())
+                .andReturn();
+        mvcResult.getAsyncResult();
+        String content = mvcResult.getResponse().getContentAsString();
+        Assertions.assertTrue(content.contains("stream line 1"));
+        Assertions.assertTrue(content.contains("stream line 2"));
+    }
+
+    @Test
+    void watchGraphNodeLogsRunning() throws Exception {
+        ProjectTaskDO projectTaskDO = buildLogTask("logLiveJob", GraphNodeTaskStatus.RUNNING);
+        saveTaskLogs(projectTaskDO, "live line 1");
+        GraphNodeLogsRequest request = buildGraphNodeLogsRequest(projectTaskDO, null, null);
+        Mockito.when(taskRepository.findById(projectTaskDO.getUpk())).thenReturn(Optional.of(projectTaskDO));
+        ProjectJobDO job = ProjectJobDO.builder()
+                .upk(new ProjectJobDO.UPK(PROJECT_ID, "logLiveJob"))
+                .tasks(Map.of(projectTaskDO.getUpk().getTaskId(), projectTaskDO))
+                .build();
+
+        MvcResult mvcResult = mockMvc.perform(MockMvcRequestBuilders.post(getMappingUrl(GraphController.class, "watchGraphNodeLogs", GraphNodeLogsRequest.class))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.TEXT_EVENT_STREAM)
+                        .content(JsonUtils.toJSONString(request)))
+                .andExpect(MockMvcResultMatchers.request().asyncStarted())
+                .andReturn();
+        Assertions.assertTrue(mvcResult.getResponse().getContentAsString().contains("live line 1"));
+
+        // the start log is written by the task log listener, and pushed once the transaction commits
+        String startLog = String.format("the jobId=%s, taskId=%s start", "logLiveJob", projectTaskDO.getUpk().getTaskId());
+        transactionTemplate.executeWithoutResult(status -> {
+            applicationEventPublisher.publishEvent(ProjectJobDO.TaskStatusTransformEvent.of(job, projectTaskDO.getUpk().getTaskId(),
+                    GraphNodeTaskStatus.INITIALIZED, GraphNodeTaskStatus.RUNNING, null));
+            Assertions.assertFalse(contentOf(mvcResult).contains(startLog));
+        });
+        awaitContent(mvcResult, startLog);
+
+        // failing without reasons writes no log, the stream still completes
+        projectTaskDO.setStatus(GraphNodeTaskStatus.FAILED);
+        transactionTemplate.executeWithoutResult(status -> applicationEventPublisher.publishEvent(ProjectJobDO.TaskStatusTransformEvent.of(job,
+                projectTaskDO.getUpk().getTaskId(), GraphNodeTaskStatus.RUNNING, GraphNodeTaskStatus.FAILED, List.of())));
+        mvcResult.getAsyncResult(5000);
+    }
+
+    private String contentOf(MvcResult mvcResult) {
+        try {
+            return mvcResult.getResponse().getContentAsString();
+        } catch (UnsupportedEncodingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void awaitContent(MvcResult mvcResult, String expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!contentOf(mvcResult).contains(expected)) {
+            Assertions.assertTrue(System.currentTimeMillis() < deadline, "not pushed: " + expected);
+            Thread.sleep(20);
+        }
+    }
+
+    private ProjectTaskDO buildLogTask(String jobId, GraphNodeTaskStatus status) {
+        ProjectTaskDO projectTaskDO = new ProjectTaskDO();
+        ProjectGraphNodeDO graphNode = new ProjectGraphNodeDO();
+        graphNode.setCodeName("stats/table_statistics");
+        projectTaskDO.setGraphNode(graphNode);
+        projectTaskDO.setStatus(status);
+        projectTaskDO.setUpk(new ProjectTaskDO.UPK(PROJECT_ID, jobId, jobId + "-node"));
+        return projectTaskDO;
+    }
+
+    private void saveTaskLogs(ProjectTaskDO task, String... logs) {
+        for (String log : logs) {
+            jobTaskLogRepository.saveAndFlush(ProjectJobTaskLogDO.builder()
+                    .projectId(task.getUpk().getProjectId())
+                    .jobId(task.getUpk().getJobId())
+                    .taskId(task.getUpk().getTaskId())
+                    .log(log)
+                    .build());
+        }
+    }
+
+    private GraphNodeLogsRequest buildGraphNodeLogsRequest(ProjectTaskDO task, Long cursor, Integer pageSize) {
+        GraphNodeLogsRequest request = new GraphNodeLogsRequest();
+        request.setProjectId(PROJECT_ID);
+        request.setGraphId("graphId");
+        request.setGraphNodeId("node");
+        request.setCursor(cursor);
+        request.setPageSize(pageSize);
+        UserContext.getUser().setApiResources(Set.of(ApiResourceCodeConstants.GRAPH_NODE_LOGS));
+        Mockito.when(projectNodeRepository.findById(Mockito.any())).thenReturn(Optional.of(buildProjectNodeDO()));
+        Mockito.when(taskRepository.findLatestTasks(PROJECT_ID, "node")).thenReturn(Optional.of(task));
+        return request;
+    }
+
+    private LinkedHashMap<?, ?> postGraphNodeLogs(GraphNodeLogsRequest request) throws Exception {
+        String content = mockMvc.perform(MockMvcRequestBuilders.post(getMappingUrl(GraphController.class, "getGraphNodeLogs", GraphNodeLogsRequest.class))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .content(JsonUtils.toJSONString(request)))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        SecretPadResponse<?> secretPadResponse = JsonUtils.toJavaObject(content, SecretPadResponse.class);
+        Assertions.assertEquals(0, secretPadResponse.getStatus().getCode());
+        return (LinkedHashMap<?, ?>) secretPadResponse.getData();
+    }
+
     @Test
     public void graphNodeMaxIndexRefresh() throws Exception {
         assertResponse(() -> {
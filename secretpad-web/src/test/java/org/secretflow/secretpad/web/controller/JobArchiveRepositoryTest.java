@@ -0,0 +1,153 @@
+/*
+ * Copyright 2024 Ant Group Co., Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.secretflow.secretpad.web.controller;
+
+import org.secretflow.secretpad.persistence.entity.ProjectGraphNodeDO;
+import org.secretflow.secretpad.persistence.entity.ProjectJobDO;
+import org.secretflow.secretpad.persistence.entity.ProjectJobTaskLogDO;
+import org.secretflow.secretpad.persistence.entity.ProjectTaskDO;
+import org.secretflow.secretpad.persistence.model.GraphJobStatus;
+import org.secretflow.secretpad.persistence.model.GraphNodeTaskStatus;
+import org.secretflow.secretpad.persistence.repository.ProjectJobRepository;
+import org.secretflow.secretpad.persistence.repository.ProjectJobTaskLogRepository;
+import org.secretflow.secretpad.persistence.repository.ProjectJobTaskRepository;
+
+import jakarta.annotation.Resource;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Runs the native candidate and delete queries of job retention against the sqlite schema
+ */
+public class JobArchiveRepositoryTest extends ControllerTest {
+
+    private static final List<String> FINISHED_STATUSES = List.of(GraphJobStatus.SUCCEED.name(), GraphJobStatus.FAILED.name(), GraphJobStatus.STOPPED.name());
+
+    private static final DateTimeFormatter GMT_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    @Resource
+    private ProjectJobRepository projectJobRepository;
+
+    @Resource
+    private ProjectJobTaskRepository projectJobTaskRepository;
+
+    @Resource
+    private ProjectJobTaskLogRepository projectJobTaskLogRepository;
+
+    @Resource
+    private JdbcTemplate jdbcTemplate;
+
+    private String projectId;
+
+    private String oldJob;
+
+    private String latestJob;
+
+    private String runningJob;
+
+    /**
+     * oldJob and latestJob both ran graph node n1, latestJob holds its latest task, runningJob is not finished
+     */
+    @BeforeEach
+    public void prepareJobs() {
+        projectId = "archive-" + UUID.randomUUID();
+        oldJob = "old-" + UUID.randomUUID();
+        latestJob = "latest-" + UUID.randomUUID();
+        runningJob = "running-" + UUID.randomUUID();
+        saveJob(oldJob, GraphJobStatus.SUCCEED);
+        saveJob(latestJob, GraphJobStatus.FAILED);
+        saveJob(runningJob, GraphJobStatus.RUNNING);
+        jdbcTemplate.update("update project_job set gmt_modified = ? where project_id = ?",
+                LocalDateTime.now(ZoneOffset.UTC).minusDays(30).format(GMT_FORMATTER), projectId);
+    }
+
+    @Test
+    public void findExpiredJobIds() {
+        String before = LocalDateTime.now(ZoneOffset.UTC).minusDays(1).format(GMT_FORMATTER);
+        List<String> expired = projectJobRepository.findExpiredJobIds(FINISHED_STATUSES, before, 10000);
+        Assertions.assertTrue(expired.contains(oldJob));
+        Assertions.assertFalse(expired.contains(latestJob));
+        Assertions.assertFalse(expired.contains(runningJob));
+
+        String longAgo = LocalDateTime.now(ZoneOffset.UTC).minusDays(60).format(GMT_FORMATTER);
+        Assertions.assertFalse(projectJobRepository.findExpiredJobIds(FINISHED_STATUSES, longAgo, 10000).contains(oldJob));
+    }
+
+    @Test
+    public void findOverflowJobIds() {
+        List<String> overflow = projectJobRepository.findOverflowJobIds(FINISHED_STATUSES, 1, 10000);
+        Assertions.assertTrue(overflow.contains(oldJob));
+        Assertions.assertFalse(overflow.contains(latestJob));
+        Assertions.assertFalse(overflow.contains(runningJob));
+
+        Assertions.assertFalse(projectJobRepository.findOverflowJobIds(FINISHED_STATUSES, 3, 10000).contains(oldJob));
+    }
+
+    @Test
+    public void deleteByJobId() {
+        Assertions.assertEquals(1, projectJobTaskLogRepository.findAllByJobId(projectId, oldJob).size());
+
+        projectJobTaskLogRepository.deleteByJobId(projectId, oldJob);
+        projectJobTaskRepository.deleteAuthenticByJobId(projectId, oldJob);
+        projectJobRepository.deleteAuthenticByJobId(projectId, oldJob);
+
+        Assertions.assertTrue(projectJobTaskLogRepository.findAllByJobId(projectId, oldJob).isEmpty());
+        Assertions.assertTrue(projectJobRepository.findByJobIds(List.of(oldJob)).isEmpty());
+        Assertions.assertEquals(0, jdbcTemplate.queryForObject("select count(*) from project_job_task where job_id = ?", Integer.class, oldJob));
+        Assertions.assertEquals(2, projectJobRepository.findByJobIds(List.of(latestJob, runningJob)).size());
+        Assertions.assertEquals(1, projectJobTaskLogRepository.findAllByJobId(projectId, latestJob).size());
+    }
+
+    private void saveJob(String jobId, GraphJobStatus status) {
+        projectJobRepository.saveAndFlush(ProjectJobDO.builder()
+                .upk(new ProjectJobDO.UPK(projectId, jobId))
+                .name("job")
+                .graphId("graph")
+                .status(status)
+                .build());
+        String taskId = jobId + "-n1";
+        projectJobTaskRepository.saveAndFlush(ProjectTaskDO.builder()
+                .upk(new ProjectTaskDO.UPK(projectId, jobId, taskId))
+                .status(GraphNodeTaskStatus.SUCCEED)
+                .graphNodeId("n1")
+                .parties(List.of("alice"))
+                .extraInfo(new ProjectTaskDO.ExtraInfo())
+                .graphNode(ProjectGraphNodeDO.builder()
+                        .upk(new ProjectGraphNodeDO.UPK(projectId, "graph", "n1"))
+                        .x(1)
+                        .y(1)
+                        .codeName("stats/table_statistics")
+                        .inputs(List.of())
+                        .outputs(List.of())
+                        .build())
+                .build());
+        projectJobTaskLogRepository.saveAndFlush(ProjectJobTaskLogDO.builder()
+                .projectId(projectId)
+                .jobId(jobId)
+                .taskId(taskId)
+                .log("log of " + jobId)
+                .build());
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2024 Ant Group Co., Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.secretflow.secretpad.web.controller;
+
+import org.secretflow.secretpad.common.enums.PlatformTypeEnum;
+import org.secretflow.secretpad.manager.integration.datatable.AbstractDatatableManager;
+import org.secretflow.secretpad.manager.integration.job.JobManager;
+import org.secretflow.secretpad.manager.integration.model.DatatableDTO;
+import org.secretflow.secretpad.persistence.entity.ProjectGraphNodeDO;
+import org.secretflow.secretpad.persistence.entity.ProjectModelDO;
+import org.secretflow.secretpad.persistence.entity.ProjectResultDO;
+import org.secretflow.secretpad.persistence.entity.ProjectTaskDO;
+import org.secretflow.secretpad.persistence.model.GraphNodeTaskStatus;
+import org.secretflow.secretpad.persistence.model.ResultKind;
+import org.secretflow.secretpad.persistence.repository.ProjectModelRepository;
+import org.secretflow.secretpad.persistence.repository.ProjectResultRepository;
+
+import jakarta.annotation.Resource;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Runs the bulk result sync of the job manager against the sqlite schema
+ */
+@TestPropertySource(properties = {
+        "job.sync.enabled=false"
+})
+public class JobResultSyncTest extends ControllerTest {
+
+    @MockBean
+    private AbstractDatatableManager datatableManager;
+
+    @Resource
+    private JobManager jobManager;
+
+    @Resource
+    private ProjectResultRepository resultRepository;
+
+    @Resource
+    private ProjectModelRepository modelRepository;
+
+    @Test
+    void syncResultsInsertsNewRowsAndMergesStoredRows() {
+        String projectId = "sync-" + UUID.randomUUID();
+        ProjectTaskDO task = buildSucceededTask(projectId);
+        String datatableId = task.getUpk().getJobId() + "-output";
+        Mockito.when(datatableManager.findByIds(Mockito.any(), Mockito.any())).thenReturn(Map.of(
+                DatatableDTO.NodeDatatableId.from("alice", datatableId),
+                DatatableDTO.builder().nodeId("alice").datatableId(datatableId).type("model").build()));
+        jobManager.setPlaformType(PlatformTypeEnum.CENTER.name());
+
+        jobManager.syncResults(List.of(task));
+        jobManager.syncResults(List.of(task));
+
+        ProjectResultDO.UPK resultUpk = new ProjectResultDO.UPK(projectId, ResultKind.Model, "alice", datatableId);
+        Assertions.assertTrue(resultRepository.findById(resultUpk).isPresent());
+        List<ProjectModelDO> models = modelRepository.findByProjectId(projectId);
+        Assertions.assertEquals(1, models.size());
+        Assertions.assertEquals(datatableId, models.get(0).getUpk().getModelId());
+    }
+
+    private ProjectTaskDO buildSucceededTask(String projectId) {
+        ProjectGraphNodeDO graphNode = new ProjectGraphNodeDO();
+        graphNode.setCodeName("ml.train/sgb_train");
+        graphNode.setOutputs(List.of("output"));
+        ProjectTaskDO task = new ProjectTaskDO();
+        task.setUpk(new ProjectTaskDO.UPK(projectId, "job" + UUID.randomUUID().toString().substring(0, 8), "task"));
+        task.setGraphNode(graphNode);
+        task.setParties(List.of("alice"));
+        task.setStatus(GraphNodeTaskStatus.SUCCEED);
+        return task;
+    }
+}
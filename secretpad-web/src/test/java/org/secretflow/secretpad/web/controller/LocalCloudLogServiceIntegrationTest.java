@@ -0,0 +1,114 @@
+/*
+ * Copyright 2024 Ant Group Co., Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.secretflow.secretpad.web.controller;
+
+import org.secretflow.secretpad.persistence.entity.ProjectGraphNodeDO;
+import org.secretflow.secretpad.persistence.entity.ProjectJobTaskLogDO;
+import org.secretflow.secretpad.persistence.entity.ProjectTaskDO;
+import org.secretflow.secretpad.persistence.model.GraphNodeTaskStatus;
+import org.secretflow.secretpad.persistence.repository.NodeRepository;
+import org.secretflow.secretpad.persistence.repository.ProjectJobTaskLogRepository;
+import org.secretflow.secretpad.persistence.repository.ProjectJobTaskRepository;
+import org.secretflow.secretpad.service.impl.LocalCloudLogServiceImpl;
+import org.secretflow.secretpad.service.model.CloudGraphNodeTaskLogsVO;
+import org.secretflow.secretpad.service.model.graph.GraphNodeCloudLogsRequest;
+
+import jakarta.annotation.Resource;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Integration test paging the task logs of the local cloud log service against the sqlite schema, the unit
+ * test of the paging is {@code LocalCloudLogServiceImplTest} in secretpad-service
+ */
+public class LocalCloudLogServiceIntegrationTest extends ControllerTest {
+
+    @Resource
+    private ProjectJobTaskRepository projectJobTaskRepository;
+
+    @Resource
+    private ProjectJobTaskLogRepository projectJobTaskLogRepository;
+
+    @Resource
+    private NodeRepository nodeRepository;
+
+    private LocalCloudLogServiceImpl localCloudLogService;
+
+    private String projectId;
+
+    private GraphNodeCloudLogsRequest request;
+
+    @BeforeEach
+    public void prepareTask() {
+        localCloudLogService = new LocalCloudLogServiceImpl(projectJobTaskRepository, nodeRepository, projectJobTaskLogRepository, "CENTER", "alice");
+        projectId = "cloudlog-" + UUID.randomUUID();
+        projectJobTaskRepository.saveAndFlush(ProjectTaskDO.builder()
+                .upk(new ProjectTaskDO.UPK(projectId, "job", "task"))
+                .status(GraphNodeTaskStatus.RUNNING)
+                .graphNodeId("n1")
+                .parties(List.of("alice"))
+                .extraInfo(new ProjectTaskDO.ExtraInfo())
+                .graphNode(ProjectGraphNodeDO.builder()
+                        .upk(new ProjectGraphNodeDO.UPK(projectId, "graph", "n1"))
+                        .x(1)
+                        .y(1)
+                        .codeName("stats/table_statistics")
+                        .inputs(List.of())
+                        .outputs(List.of())
+                        .build())
+                .build());
+        request = new GraphNodeCloudLogsRequest();
+        request.setProjectId(projectId);
+        request.setJobId("job");
+        request.setTaskId("task");
+        request.setNodeId("alice");
+        request.setPageSize(2);
+    }
+
+    @Test
+    public void fetchLogPagesByCursor() {
+        projectJobTaskLogRepository.insertAllInBatch(List.of(newLog("line1"), newLog("line2"), newLog("line3")));
+
+        CloudGraphNodeTaskLogsVO firstPage = localCloudLogService.fetchLog(request);
+        Assertions.assertEquals(List.of("line1", "line2"), firstPage.getLogs());
+        Assertions.assertTrue(firstPage.getHasMore());
+
+        request.setCursor(firstPage.getNextCursor());
+        CloudGraphNodeTaskLogsVO secondPage = localCloudLogService.fetchLog(request);
+        Assertions.assertEquals(List.of("line3"), secondPage.getLogs());
+        Assertions.assertFalse(secondPage.getHasMore());
+
+        // a running task keeps its cursor, lines written later are returned from it
+        projectJobTaskLogRepository.insertAllInBatch(List.of(newLog("line4")));
+        request.setCursor(secondPage.getNextCursor());
+        Assertions.assertEquals(List.of("line4"), localCloudLogService.fetchLog(request).getLogs());
+    }
+
+    private ProjectJobTaskLogDO newLog(String log) {
+        return ProjectJobTaskLogDO.builder()
+                .projectId(projectId)
+                .jobId("job")
+                .taskId("task")
+                .log(log)
+                .build();
+    }
+}
@@ -16,7 +16,6 @@
 
 package org.secretflow.secretpad.web.controller;
 
-import org.secretflow.secretpad.common.constant.CacheConstants;
 import org.secretflow.secretpad.common.constant.KusciaDataSourceConstants;
 import org.secretflow.secretpad.common.errorcode.GraphErrorCode;
 import org.secretflow.secretpad.common.errorcode.ModelExportErrorCode;
@@ -33,6 +32,7 @@ import org.secretflow.secretpad.persistence.model.GraphNodeTaskStatus;
 import org.secretflow.secretpad.persistence.model.PartyDataSource;
 import org.secretflow.secretpad.persistence.repository.*;
 import org.secretflow.secretpad.service.GraphService;
+import org.secretflow.secretpad.service.impl.ModelExportServiceImpl;
 import org.secretflow.secretpad.service.model.graph.GraphDetailVO;
 import org.secretflow.secretpad.service.model.model.export.ModelExportPackageRequest;
 import org.secretflow.secretpad.service.model.model.export.ModelExportStatusRequest;
@@ -42,16 +42,24 @@ import org.secretflow.secretpad.web.utils.FakerUtils;
 
 import com.google.common.collect.Lists;
 import jakarta.annotation.Resource;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.secretflow.v1alpha1.common.Common;
 import org.secretflow.v1alpha1.kusciaapi.Domaindatasource;
 import org.springframework.boot.test.mock.mockito.MockBean;
-import org.springframework.cache.Cache;
-import org.springframework.cache.CacheManager;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -83,7 +91,11 @@ public class ModelExportControllerTest extends ControllerTest {
     @MockBean
     private ProjectGraphNodeRepository projectGraphNodeRepository;
     @Resource
-    private CacheManager cacheManager;
+    private ModelExportJobRepository modelExportJobRepository;
+    @Resource
+    private ModelExportServiceImpl modelExportService;
+    @Resource
+    private JdbcTemplate jdbcTemplate;
     @MockBean
     private NodeRepository nodeRepository;
     @MockBean
@@ -214,8 +226,7 @@ public class ModelExportControllerTest extends ControllerTest {
     public void statusSuccess() throws Exception {
         assertResponse(() -> {
             ModelExportStatusRequest request = FakerUtils.fake(ModelExportStatusRequest.class);
-            Cache cache1 = cacheManager.getCache(CacheConstants.MODEL_EXPORT_CACHE);
-            cache1.put(request.getJobId(), JsonUtils.toJSONString(buildSuccessModelExportDTO()));
+            saveModelExportJob(request, buildSuccessModelExportDTO());
             return MockMvcRequestBuilders.post(getMappingUrl(ModelExportController.class, "status", ModelExportStatusRequest.class)).
                     content(JsonUtils.toJSONString(request));
         });
@@ -225,13 +236,26 @@ public class ModelExportControllerTest extends ControllerTest {
     public void statusFailed() throws Exception {
         assertResponse(() -> {
             ModelExportStatusRequest request = FakerUtils.fake(ModelExportStatusRequest.class);
-            Cache cache1 = cacheManager.getCache(CacheConstants.MODEL_EXPORT_CACHE);
-            cache1.put(request.getJobId(), JsonUtils.toJSONString(buildFailedModelExportDTO()));
+            saveModelExportJob(request, buildFailedModelExportDTO());
             return MockMvcRequestBuilders.post(getMappingUrl(ModelExportController.class, "status", ModelExportStatusRequest.class)).
                     content(JsonUtils.toJSONString(request));
         });
     }
 
+    @Test
+    public void statusStreamFinished() throws Exception {
+        ModelExportStatusRequest request = FakerUtils.fake(ModelExportStatusRequest.class);
+        saveModelExportJob(request, buildFailedModelExportDTO());
+        MvcResult mvcResult = mockMvc.perform(MockMvcRequestBuilders.post(getMappingUrl(ModelExportController.class, "statusStream", ModelExportStatusRequest.class))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.TEXT_EVENT_STREAM)
+                        .content(JsonUtils.toJSONString(request)))
+                .andExpect(MockMvcResultMatchers.request().asyncStarted())
+                .andReturn();
+        mvcResult.getAsyncResult();
+        Assertions.assertTrue(mvcResult.getResponse().getContentAsString().contains(GraphNodeTaskStatus.FAILED.name()));
+    }
+
     @Test
     public void statusJobNotFound() throws Exception {
         assertErrorCode(() -> {
@@ -241,6 +265,40 @@ public class ModelExportControllerTest extends ControllerTest {
         }, ModelExportErrorCode.MODEL_EXPORT_FAILED);
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    public void statusStreamJobNotFound() throws Exception {
+        ModelExportStatusRequest request = FakerUtils.fake(ModelExportStatusRequest.class);
+        mockMvc.perform(MockMvcRequestBuilders.post(getMappingUrl(ModelExportController.class, "statusStream", ModelExportStatusRequest.class))
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .content(JsonUtils.toJSONString(request)));
+        // the watcher registered before the status read is dropped again
+        Map<String, ?> watchers = (Map<String, ?>) ReflectionTestUtils.getField(modelExportService, "watchers");
+        Assertions.assertFalse(watchers.containsKey(request.getJobId()));
+    }
+
+    @Test
+    public void purgeFinishedJobs() {
+        String projectId = UUIDUtils.random(8);
+        ModelExportStatusRequest oldSucceed = buildStatusRequest(projectId);
+        ModelExportStatusRequest oldRunning = buildStatusRequest(projectId);
+        ModelExportStatusRequest recentFailed = buildStatusRequest(projectId);
+        saveModelExportJob(oldSucceed, buildSuccessModelExportDTO());
+        ModelExportDTO running = buildSuccessModelExportDTO();
+        running.setStatus(GraphNodeTaskStatus.RUNNING);
+        saveModelExportJob(oldRunning, running);
+        saveModelExportJob(recentFailed, buildFailedModelExportDTO());
+        String longAgo = LocalDateTime.now(ZoneOffset.UTC).minusDays(30).format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"));
+        jdbcTemplate.update("update model_export_job set gmt_modified = ? where job_id in (?, ?)", longAgo, oldSucceed.getJobId(), oldRunning.getJobId());
+
+        modelExportService.purgeFinishedJobs();
+
+        Assertions.assertTrue(modelExportJobRepository.findById(oldSucceed.getJobId()).isEmpty());
+        Assertions.assertTrue(modelExportJobRepository.findById(oldRunning.getJobId()).isPresent());
+        Assertions.assertTrue(modelExportJobRepository.findById(recentFailed.getJobId()).isPresent());
+    }
+
     @Test
     public void modelPartyPath() throws Exception {
         assertResponse(() -> {
@@ -248,7 +306,7 @@ public class ModelExportControllerTest extends ControllerTest {
             Mockito.when(kusciaGrpcClientAdapter.listDomainDataSource(Mockito.any())).thenReturn(buildBatchQueryDomainResponse(0));
             Mockito.when(taskRepository.findLatestTasks(Mockito.anyString(), Mockito.anyString())).thenReturn(Optional.of(buildProjectTaskDO()));
             Mockito.when(projectJobRepository.findByJobId(Mockito.anyString())).thenReturn(Optional.of(buildProjectJobDO()));
-            Mockito.when(nodeRepository.findByNodeId(Mockito.anyString())).thenReturn(buildNodeDO());
+            Mockito.when(nodeRepository.findByNodeIdIn(Mockito.any())).thenReturn(List.of(buildNodeDO("alice"), buildNodeDO("bob")));
             return MockMvcRequestBuilders.post(getMappingUrl(ModelExportController.class, "modelPartyPath", ModelPartyPathRequest.class)).
                     content(JsonUtils.toJSONString(request));
         });
@@ -259,7 +317,7 @@ public class ModelExportControllerTest extends ControllerTest {
         assertErrorCode(() -> {
             ModelPartyPathRequest request = FakerUtils.fake(ModelPartyPathRequest.class);
             Mockito.when(taskRepository.findLatestTasks(Mockito.anyString(), Mockito.anyString())).thenReturn(Optional.empty());
-            Mockito.when(nodeRepository.findByNodeId(Mockito.anyString())).thenReturn(buildNodeDO());
+            Mockito.when(nodeRepository.findByNodeIdIn(Mockito.any())).thenReturn(List.of(buildNodeDO("alice")));
             return MockMvcRequestBuilders.post(getMappingUrl(ModelExportController.class, "modelPartyPath", ModelPartyPathRequest.class)).
                     content(JsonUtils.toJSONString(request));
         }, GraphErrorCode.GRAPH_NODE_OUTPUT_NOT_EXISTS);
@@ -270,7 +328,7 @@ public class ModelExportControllerTest extends ControllerTest {
         assertErrorCode(() -> {
             ModelPartyPathRequest request = FakerUtils.fake(ModelPartyPathRequest.class);
             Mockito.when(taskRepository.findLatestTasks(Mockito.anyString(), Mockito.anyString())).thenReturn(Optional.of(buildProjectTaskDONoParties()));
-            Mockito.when(nodeRepository.findByNodeId(Mockito.anyString())).thenReturn(buildNodeDO());
+            Mockito.when(nodeRepository.findByNodeIdIn(Mockito.any())).thenReturn(List.of(buildNodeDO("alice")));
             return MockMvcRequestBuilders.post(getMappingUrl(ModelExportController.class, "modelPartyPath", ModelPartyPathRequest.class)).
                     content(JsonUtils.toJSONString(request));
         }, ModelExportErrorCode.MODEL_EXPORT_FAILED);
@@ -281,7 +339,7 @@ public class ModelExportControllerTest extends ControllerTest {
         assertErrorCode(() -> {
             ModelPartyPathRequest request = FakerUtils.fake(ModelPartyPathRequest.class);
             Mockito.when(taskRepository.findLatestTasks(Mockito.anyString(), Mockito.anyString())).thenReturn(Optional.of(buildProjectTaskDONoParties()));
-            Mockito.when(nodeRepository.findByNodeId(Mockito.anyString())).thenReturn(null);
+            Mockito.when(nodeRepository.findByNodeIdIn(Mockito.any())).thenReturn(List.of());
             return MockMvcRequestBuilders.post(getMappingUrl(ModelExportController.class, "modelPartyPath", ModelPartyPathRequest.class)).
                     content(JsonUtils.toJSONString(request));
         }, ModelExportErrorCode.MODEL_EXPORT_FAILED);
@@ -362,9 +420,22 @@ public class ModelExportControllerTest extends ControllerTest {
                 .build();
     }
 
-    private NodeDO buildNodeDO() {
+    private ModelExportStatusRequest buildStatusRequest(String projectId) {
+        ModelExportStatusRequest request = new ModelExportStatusRequest();
+        request.setProjectId(projectId);
+        request.setJobId(UUIDUtils.random(8));
+        return request;
+    }
+
+    private void saveModelExportJob(ModelExportStatusRequest request, ModelExportDTO modelExportDTO) {
+        modelExportDTO.setJobId(request.getJobId());
+        modelExportDTO.setProjectId(request.getProjectId());
+        modelExportJobRepository.save(modelExportDTO.toModelExportJob());
+    }
+
+    private NodeDO buildNodeDO(String nodeId) {
         return NodeDO.builder()
-                .nodeId(UUIDUtils.random(4))
+                .nodeId(nodeId)
                 .name("test")
                 .build();
     }
@@ -1548,7 +1548,7 @@ class NodeControllerTest extends ControllerTest {
             UserContext.getUser().setApiResources(Set.of(ApiResourceCodeConstants.NODE_RESULT_LIST));
 
             List<ProjectResultDO> projectResultDOS = buildProjectResultDOList();
-            Mockito.when(resultRepository.findByNodeId(anyString())).thenReturn(projectResultDOS);
+            Mockito.when(resultRepository.pageByNodeId(anyString(), any(), any(), any())).thenReturn(new PageImpl<>(projectResultDOS));
 
             Domaindata.BatchQueryDomainDataResponse batchQueryDomainDataResponse = buildBatchQueryDomainDataResponse(0);
             Mockito.when(kusciaGrpcClientAdapter.batchQueryDomainData(any())).thenReturn(batchQueryDomainDataResponse);
@@ -1591,7 +1591,7 @@ class NodeControllerTest extends ControllerTest {
             UserContext.getUser().setApiResources(Set.of(ApiResourceCodeConstants.NODE_RESULT_LIST));
 
             List<ProjectResultDO> projectResultDOS = buildProjectResultDOList();
-            Mockito.when(resultRepository.findByNodeId(anyString())).thenReturn(projectResultDOS);
+            Mockito.when(resultRepository.pageByNodeId(anyString(), any(), any(), any())).thenReturn(new PageImpl<>(projectResultDOS));
 
             Domaindata.BatchQueryDomainDataResponse batchQueryDomainDataResponse = buildBatchQueryDomainDataResponse(1);
             Mockito.when(kusciaGrpcClientAdapter.batchQueryDomainData(any())).thenReturn(batchQueryDomainDataResponse);
@@ -1623,7 +1623,7 @@ class NodeControllerTest extends ControllerTest {
             UserContext.getUser().setApiResources(Set.of(ApiResourceCodeConstants.NODE_RESULT_LIST));
 
             List<ProjectResultDO> projectResultDOS = buildProjectResultDOList();
-            Mockito.when(resultRepository.findByNodeId(anyString())).thenReturn(projectResultDOS);
+            Mockito.when(resultRepository.pageByNodeId(anyString(), any(), any(), any())).thenReturn(new PageImpl<>(projectResultDOS));
 
             Domaindata.BatchQueryDomainDataResponse batchQueryDomainDataResponse = buildBatchQueryDomainDataResponse(0);
             Mockito.when(kusciaGrpcClientAdapter.batchQueryDomainData(any())).thenReturn(batchQueryDomainDataResponse);
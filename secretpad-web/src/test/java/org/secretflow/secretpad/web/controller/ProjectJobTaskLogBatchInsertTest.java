@@ -0,0 +1,88 @@
+/*
+ * Copyright 2024 Ant Group Co., Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.secretflow.secretpad.web.controller;
+
+import org.secretflow.secretpad.persistence.entity.ProjectJobTaskLogDO;
+import org.secretflow.secretpad.persistence.repository.ProjectJobTaskLogRepository;
+
+import jakarta.annotation.Resource;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+/**
+ * Runs the task log jdbc batch insert against the sqlite schema
+ */
+public class ProjectJobTaskLogBatchInsertTest extends ControllerTest {
+
+    @Resource
+    private ProjectJobTaskLogRepository projectJobTaskLogRepository;
+
+    @Resource
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    public void insertAllInBatch() {
+        String projectId = "log-" + UUID.randomUUID();
+        List<ProjectJobTaskLogDO> logs = IntStream.range(0, 120).mapToObj(i -> newLog(projectId, "line " + i)).toList();
+
+        projectJobTaskLogRepository.insertAllInBatch(logs);
+
+        List<ProjectJobTaskLogDO> saved = projectJobTaskLogRepository.findAllByJobId(projectId, "job");
+        Assertions.assertEquals(120, saved.size());
+        for (int i = 0; i < saved.size(); i++) {
+            Assertions.assertEquals("line " + i, saved.get(i).getLog());
+            Assertions.assertNotNull(saved.get(i).getId());
+            Duration skew = Duration.between(saved.get(i).getGmtCreate(), LocalDateTime.now(ZoneOffset.UTC)).abs();
+            Assertions.assertTrue(skew.compareTo(Duration.ofMinutes(1)) < 0, "gmt_create is written in utc");
+        }
+    }
+
+    @Test
+    public void insertAllInBatchEmpty() {
+        Assertions.assertDoesNotThrow(() -> projectJobTaskLogRepository.insertAllInBatch(List.of()));
+        Assertions.assertDoesNotThrow(() -> projectJobTaskLogRepository.insertAllInBatch(null));
+    }
+
+    @Test
+    public void insertAllInBatchJoinsTransaction() {
+        String projectId = "log-" + UUID.randomUUID();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            projectJobTaskLogRepository.insertAllInBatch(List.of(newLog(projectId, "rolled back")));
+            status.setRollbackOnly();
+        });
+
+        Assertions.assertTrue(projectJobTaskLogRepository.findAllByJobId(projectId, "job").isEmpty());
+    }
+
+    private ProjectJobTaskLogDO newLog(String projectId, String log) {
+        return ProjectJobTaskLogDO.builder()
+                .projectId(projectId)
+                .jobId("job")
+                .taskId("task")
+                .log(log)
+                .build();
+    }
+}
@@ -16,9 +16,11 @@
 
 package org.secretflow.secretpad.web.filter;
 
+import org.secretflow.secretpad.common.dto.UserContextDTO;
 import org.secretflow.secretpad.persistence.entity.TokensDO;
 import org.secretflow.secretpad.persistence.repository.UserTokensRepository;
 import org.secretflow.secretpad.service.EnvService;
+import org.secretflow.secretpad.service.auth.TokenSessionCache;
 import org.secretflow.secretpad.web.constant.AuthConstants;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -30,6 +32,7 @@ import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.springframework.http.ResponseEntity;
@@ -58,6 +61,8 @@ public class EdgeRequestFilterTest {
 
     @Mock
     private UserTokensRepository userTokensRepository;
+    @InjectMocks
+    private TokenSessionCache tokenSessionCache;
     @Mock
     private ObjectMapper jacksonObjectMapper;
     @Mock
@@ -67,7 +72,7 @@ public class EdgeRequestFilterTest {
 
     @BeforeEach
     void setUp() {
-        edgeRequestFilter = new EdgeRequestFilter(userTokensRepository, jacksonObjectMapper, envService);
+        edgeRequestFilter = new EdgeRequestFilter(tokenSessionCache, jacksonObjectMapper, envService);
         request = mock(HttpServletRequest.class);
         response = mock(HttpServletResponse.class);
         chain = mock(FilterChain.class);
@@ -92,7 +97,7 @@ public class EdgeRequestFilterTest {
         TokensDO tokensDO = TokensDO.builder()
                 .gmtToken(LocalDateTime.now())
                 .token("123")
-                .sessionData("123")
+                .sessionData(UserContextDTO.builder().name("alice").build().toJsonStr())
                 .build();
         when(userTokensRepository.findByToken(Mockito.any())).thenReturn(Optional.of(tokensDO));
         ResponseEntity<String> result = ResponseEntity.ok("ok");
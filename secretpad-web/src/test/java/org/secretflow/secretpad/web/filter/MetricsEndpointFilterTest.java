@@ -0,0 +1,107 @@
+/*
+ * Copyright 2024 Ant Group Co., Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.secretflow.secretpad.web.filter;
+
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.Mockito;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+class MetricsEndpointFilterTest {
+
+    @Test
+    void hiddenWithoutToken() throws Exception {
+        MetricsEndpointFilter filter = new MetricsEndpointFilter("");
+        FilterChain chain = Mockito.mock(FilterChain.class);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/actuator/prometheus"), response, chain);
+
+        Assertions.assertEquals(404, response.getStatus());
+        Mockito.verifyNoInteractions(chain);
+    }
+
+    @Test
+    void rejectWrongToken() throws Exception {
+        MetricsEndpointFilter filter = new MetricsEndpointFilter("secret");
+        FilterChain chain = Mockito.mock(FilterChain.class);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/actuator/prometheus");
+        request.addHeader("Authorization", "Bearer other");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, chain);
+
+        Assertions.assertEquals(401, response.getStatus());
+        Mockito.verifyNoInteractions(chain);
+    }
+
+    @Test
+    void passWithToken() throws Exception {
+        MetricsEndpointFilter filter = new MetricsEndpointFilter("secret");
+        FilterChain chain = Mockito.mock(FilterChain.class);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/actuator/prometheus");
+        request.addHeader("Authorization", "Bearer secret");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, chain);
+
+        Mockito.verify(chain).doFilter(request, response);
+    }
+
+    @Test
+    void ignoreOtherPaths() throws Exception {
+        MetricsEndpointFilter filter = new MetricsEndpointFilter("");
+        FilterChain chain = Mockito.mock(FilterChain.class);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/actuator/health");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, chain);
+
+        Mockito.verify(chain).doFilter(request, response);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"/actuator/%70rometheus", "/actuator;a=b/prometheus", "/actuator/prometheus;jsessionid=1", "//actuator/prometheus", "/actuator/prometheus%3Bx"})
+    void hiddenForEncodedPaths(String uri) throws Exception {
+        MetricsEndpointFilter filter = new MetricsEndpointFilter("secret");
+        FilterChain chain = Mockito.mock(FilterChain.class);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("GET", uri), response, chain);
+
+        Assertions.assertEquals(401, response.getStatus());
+        Mockito.verifyNoInteractions(chain);
+    }
+
+    @Test
+    void hiddenUnderContextPath() throws Exception {
+        MetricsEndpointFilter filter = new MetricsEndpointFilter("");
+        FilterChain chain = Mockito.mock(FilterChain.class);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/pad/actuator/prometheus");
+        request.setContextPath("/pad");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, chain);
+
+        Assertions.assertEquals(404, response.getStatus());
+        Mockito.verifyNoInteractions(chain);
+    }
+}